@@ -0,0 +1,105 @@
+package com.example.demo.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.archive.ArchiveRun;
+import com.example.demo.archive.DeceasedArchiver;
+import com.example.demo.dataset.DatasetSize;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.PetType;
+import com.example.demo.readmodel.ReadModelService;
+
+/**
+ * Measures the living-only city queries with the deceased rows still in the hot tables ({@code archived=false})
+ * and once {@link DeceasedArchiver} moved them out ({@code archived=true}), on a synthetic dataset of each
+ * {@link DatasetSize} (select sizes with {@code -p size=MEDIUM,LARGE}).
+ * <p>
+ * The dataset is generated with a {@value #DECEASED_RATIO} deceased ratio, the share a long-lived instance
+ * accumulates, and everything deceased is archived before measuring. Queries cycle through the
+ * {@value #CITIES} most populated cities. The setup prints the size of the hot and archive tables and the
+ * archive run itself, so the output reports both sides of the trade.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DeceasedArchiveBenchmark {
+
+    private static final String DECEASED_RATIO = "0.3";
+    private static final int CITIES = 16;
+
+    @Param({"MEDIUM", "LARGE"})
+    private DatasetSize size;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private ConfigurableApplicationContext app;
+    private ReadModelService readModel;
+    private List<String> cities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = SpringApplication.run(UserPetManagerApplication.class,
+                "--server.port=0", "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false", "--app.logging.access.sample-rate=0",
+                "--app.sql.slow-query.enabled=false",
+                "--app.dataset.enabled=true", "--app.dataset.size=" + size,
+                "--app.dataset.deceased-ratio=" + DECEASED_RATIO,
+                "--app.archive.batch-size=10000", "--app.archive.pause=0ms");
+        readModel = app.getBean(ReadModelService.class);
+        JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+        if (archived) {
+            ArchiveRun run = app.getBean(DeceasedArchiver.class).archive(LocalDateTime.now());
+            System.out.println("Archive run: " + run);
+        }
+        cities = jdbc.queryForList("select city from address group by city order by count(*) desc limit ?",
+                String.class, CITIES);
+        for (String table : List.of("users", "pet", "user_pet_ownership",
+                "users_archive", "pet_archive", "user_pet_ownership_archive")) {
+            System.out.println(table + " rows: " + jdbc.queryForObject("select count(*) from " + table, Long.class));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<PetDto> petsByCity() {
+        return readModel.petsByCity(nextCity());
+    }
+
+    @Benchmark
+    public List<UserDto> usersByPetTypeAndCity() {
+        return readModel.usersByPetTypeAndCity(PetType.DOG, nextCity(), null);
+    }
+
+    private String nextCity() {
+        next = (next + 1) % cities.size();
+        return cities.get(next);
+    }
+}
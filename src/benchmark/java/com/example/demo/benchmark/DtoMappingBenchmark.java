@@ -0,0 +1,176 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.controller.OwnershipController;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+import com.example.demo.readmodel.ReadModelProperties;
+import com.example.demo.readmodel.ReadModelRepository;
+import com.example.demo.readmodel.ReadModelService;
+import com.example.demo.readmodel.StringDictionary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Row-to-DTO mapping of the {@link OwnershipController} read endpoints, with an in-memory
+ * {@link ReadModelRepository} standing in for the database so only the mapping and the dictionary
+ * lookups are measured (50 rows per call).
+ * <p>
+ * The rows are built in the setup: {@value #BATCHES} result sets, each with its own {@code String}
+ * copies as the JDBC driver would hand out, which the calls cycle through so the interning cost is
+ * included. After the first pass the copies have their hash codes cached, which a fresh driver string
+ * would not. The mapping methods emit a disabled {@code DtoMappingEvent}; these numbers include its
+ * (zero) cost.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    private static final int ROWS = 50;
+    private static final int BATCHES = 1024;
+
+    private final List<List<Object[]>> petBatches = new ArrayList<>(BATCHES);
+    private final List<List<Object[]>> userBatches = new ArrayList<>(BATCHES);
+    private int next;
+    private OwnershipController controller;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BATCHES; i++) {
+            petBatches.add(petRows());
+            userBatches.add(userRows());
+        }
+        ReadModelRepository repo = new ReadModelRepository() {
+            @Override
+            public List<Object[]> findPetsByUserName(String name, String firstName) {
+                return pets();
+            }
+
+            @Override
+            public List<Object[]> findPetsByCity(String city) {
+                return pets();
+            }
+
+            @Override
+            public List<Object[]> findUsersByPetTypeAndCity(PetType type, String city) {
+                return users();
+            }
+
+            @Override
+            public List<Object[]> findUsersWithoutAddressByPetTypeAndCity(PetType type, String city) {
+                return users();
+            }
+
+            @Override
+            public List<Object[]> findPetsByOwnerGenderAndCity(Gender gender, String city) {
+                return pets();
+            }
+
+            @Override
+            public List<Object[]> findUsersByName(String name, String firstName) {
+                return users().subList(0, 1);
+            }
+
+            @Override
+            public List<Object[]> findUsersWithoutAddressByName(String name, String firstName) {
+                return users().subList(0, 1);
+            }
+
+            @Override
+            public List<Object[]> findUsersByIds(Collection<Long> ids) {
+                return users();
+            }
+
+            @Override
+            public List<Object[]> findUsersWithoutAddressByIds(Collection<Long> ids) {
+                return users();
+            }
+
+            @Override
+            public List<Object[]> findPetsByIds(Collection<Long> ids) {
+                return pets();
+            }
+
+            @Override
+            public List<Object[]> findArchivedUsersByName(String name, String firstName) {
+                return List.of();
+            }
+
+            @Override
+            public List<Object[]> findArchivedUsersByIds(Collection<Long> ids) {
+                return List.of();
+            }
+
+            @Override
+            public List<Object[]> findArchivedPetsByIds(Collection<Long> ids) {
+                return List.of();
+            }
+
+            @Override
+            public List<Object[]> findHousehold(long userId, int depth, int limit) {
+                return List.of();
+            }
+        };
+        ReadModelProperties props = new ReadModelProperties();
+        StringDictionary dictionary = new StringDictionary(props, new SimpleMeterRegistry());
+        controller = new OwnershipController(null, null, null, new ReadModelService(repo, dictionary, props));
+    }
+
+    private List<Object[]> pets() {
+        next = (next + 1) % BATCHES;
+        return petBatches.get(next);
+    }
+
+    private List<Object[]> users() {
+        next = (next + 1) % BATCHES;
+        return userBatches.get(next);
+    }
+
+    private static List<Object[]> petRows() {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (long i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {i, "Rex" + (i % 5), 3, PetType.DOG, false});
+        }
+        return rows;
+    }
+
+    private static List<Object[]> userRows() {
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (long i = 0; i < ROWS; i++) {
+            rows.add(new Object[] {i, new String("Doe"), "Jane" + (i % 5), 30, Gender.FEMALE, false,
+                    1L, new String("paris"), new String("road"), new String("lavoisier"), "10"});
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<PetDto> petsByCity() {
+        return controller.petsByCity("paris", null);
+    }
+
+    @Benchmark
+    public List<UserDto> usersByPetTypeAndCity() {
+        return controller.usersByPetTypeAndCity(PetType.DOG, "paris", null);
+    }
+
+    @Benchmark
+    public List<PetDto> petsByUser() {
+        return controller.petsByUser("Doe", "Jane0", null);
+    }
+}
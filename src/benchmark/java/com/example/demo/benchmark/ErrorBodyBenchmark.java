@@ -0,0 +1,89 @@
+package com.example.demo.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import com.example.demo.controller.UserController;
+import com.example.demo.dto.UserCreateDto;
+import com.example.demo.exception.GlobalExceptionHandler;
+import com.example.demo.filter.TraceIdFilter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Error body construction of {@link GlobalExceptionHandler}, one benchmark per handler.
+ * <p>
+ * The exceptions are created once (a fresh stack trace would dominate), and the handler's logger is switched
+ * off so only the body is measured; the logging cost is covered by {@link LoggingOverheadBenchmark}. The
+ * validation handler still builds the exception message it passes to the logger.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorBodyBenchmark {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final Logger handlerLog = (Logger) LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private MethodArgumentNotValidException invalid;
+    private final IllegalArgumentException illegal = new IllegalArgumentException("Co-ownership not allowed");
+    private final RuntimeException notFound = new RuntimeException("User not found: 42");
+    private final CannotAcquireLockException conflict = new CannotAcquireLockException("busy");
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handlerLog.setLevel(Level.OFF);
+        MDC.put(TraceIdFilter.TRACE_ID, "4bf92f3577b34da6a3ce929d0e0e4736");
+        BeanPropertyBindingResult errors = new BeanPropertyBindingResult(
+                new UserCreateDto(" ", "Jane", -1, null, null), "userCreateDto");
+        errors.addError(new FieldError("userCreateDto", "name", "must not be blank"));
+        errors.addError(new FieldError("userCreateDto", "age", "must be greater than or equal to 0"));
+        MethodParameter parameter = new MethodParameter(
+                UserController.class.getMethod("create", UserCreateDto.class), 0);
+        invalid = new MethodArgumentNotValidException(parameter, errors);
+    }
+
+    @TearDown
+    public void tearDown() {
+        handlerLog.setLevel(null);
+        MDC.clear();
+    }
+
+    @Benchmark
+    public Map<String, Object> validation() {
+        return handler.handleValidation(invalid);
+    }
+
+    @Benchmark
+    public Map<String, Object> illegalArgument() {
+        return handler.handleIllegalArgument(illegal);
+    }
+
+    @Benchmark
+    public Map<String, Object> notFound() {
+        return handler.handleNotFound(notFound);
+    }
+
+    @Benchmark
+    public Map<String, Object> conflict() {
+        return handler.handlePessimisticConflicts(conflict);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.dataset.DatasetSize;
+import com.example.demo.dto.HouseholdDto;
+import com.example.demo.readmodel.ReadModelService;
+
+/**
+ * Compares the recursive household query of {@link ReadModelService#household} with the client-side traversal it
+ * replaces, on a synthetic dataset of each {@link DatasetSize} (select sizes with {@code -p size=MEDIUM,LARGE}).
+ * <p>
+ * The dataset is generated with larger households sharing most of their pets, which gives about 2.8 ownership
+ * rows per user: 2.8M at {@code LARGE}. Both sides follow up to {@value #DEPTH} hops from a user cycled through
+ * a fixed sample of owners. The client side issues what repeated {@code /ownerships/pets-by-user} calls amount
+ * to: for every user reached, one query for their living pets and one for the other living owners of those
+ * pets, breadth-first, without the HTTP round trips.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class HouseholdQueryBenchmark {
+
+    private static final int DEPTH = 3;
+    private static final int LIMIT = 100;
+    private static final int SAMPLE = 1024;
+    private static final String PETS = """
+            select p.id from user_pet_ownership o join pet p on p.id = o.pet_id
+            where o.user_id = ? and p.is_deceased = false
+            """;
+    private static final String OWNERS = """
+            select o.user_id from user_pet_ownership o join users u on u.id = o.user_id
+            where o.pet_id = ? and u.is_deceased = false
+            """;
+
+    @Param({"MEDIUM", "LARGE"})
+    private DatasetSize size;
+
+    private ConfigurableApplicationContext app;
+    private ReadModelService readModel;
+    private JdbcTemplate jdbc;
+    private long[] userIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = SpringApplication.run(UserPetManagerApplication.class,
+                "--server.port=0", "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false", "--app.logging.access.sample-rate=0",
+                "--app.dataset.enabled=true", "--app.dataset.size=" + size,
+                "--app.dataset.household-size=4", "--app.dataset.pets-per-household=3",
+                "--app.dataset.co-ownership-ratio=0.9");
+        readModel = app.getBean(ReadModelService.class);
+        jdbc = app.getBean(JdbcTemplate.class);
+        userIds = jdbc.queryForList("""
+                select user_id from user_pet_ownership
+                where mod(id, (select count(*) from user_pet_ownership) / ?) = 0
+                limit ?
+                """, Long.class, SAMPLE, SAMPLE).stream().mapToLong(Long::longValue).toArray();
+        System.out.println("Ownership rows: "
+                + jdbc.queryForObject("select count(*) from user_pet_ownership", Long.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public HouseholdDto recursiveQuery() {
+        return readModel.household(nextUser(), DEPTH, LIMIT);
+    }
+
+    @Benchmark
+    public Set<Long> clientSideTraversal() {
+        long start = nextUser();
+        Set<Long> seen = new HashSet<>(List.of(start));
+        List<Long> frontier = List.of(start);
+        for (int depth = 0; depth < DEPTH && !frontier.isEmpty() && seen.size() <= LIMIT; depth++) {
+            List<Long> reached = new ArrayList<>();
+            for (long user : frontier) {
+                for (long pet : jdbc.queryForList(PETS, Long.class, user)) {
+                    for (long owner : jdbc.queryForList(OWNERS, Long.class, pet)) {
+                        if (seen.add(owner)) {
+                            reached.add(owner);
+                        }
+                    }
+                }
+            }
+            frontier = reached;
+        }
+        seen.remove(start);
+        return seen;
+    }
+
+    private long nextUser() {
+        next = (next + 1) % userIds.length;
+        return userIds[next];
+    }
+}
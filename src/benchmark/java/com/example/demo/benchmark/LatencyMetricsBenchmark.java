@@ -0,0 +1,115 @@
+package com.example.demo.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.metrics.LatencyMetricsConfig;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Measures the per-call overhead of the latency advisors from {@link LatencyMetricsConfig}.
+ * <p>
+ * Compares a plain call, a call through a Spring AOP proxy without advice, and calls through the
+ * controller and transaction advisors recording into a Prometheus registry configured with SLO
+ * buckets as in production.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LatencyMetricsBenchmark {
+
+    @RestController
+    public static class EchoController {
+        public int echo(int value) {
+            return value + 1;
+        }
+    }
+
+    @Transactional
+    public static class EchoService {
+        public int echo(int value) {
+            return value + 1;
+        }
+    }
+
+    private EchoController plainController;
+    private EchoController proxiedController;
+    private EchoController timedController;
+    private EchoService timedService;
+    private int value;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(Duration.ofMillis(5).toNanos(), Duration.ofMillis(10).toNanos(),
+                                Duration.ofMillis(25).toNanos(), Duration.ofMillis(50).toNanos(),
+                                Duration.ofMillis(100).toNanos(), Duration.ofMillis(250).toNanos(),
+                                Duration.ofMillis(500).toNanos(), Duration.ofSeconds(1).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        });
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        var registryProvider = beans.getBeanProvider(MeterRegistry.class);
+
+        plainController = new EchoController();
+        proxiedController = proxy(new EchoController(), null);
+        timedController = proxy(new EchoController(), LatencyMetricsConfig.controllerLatencyAdvisor(registryProvider));
+        timedService = proxy(new EchoService(), LatencyMetricsConfig.transactionLatencyAdvisor(registryProvider));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, Advisor advisor) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        if (advisor != null) {
+            factory.addAdvisor(advisor);
+        }
+        return (T) factory.getProxy();
+    }
+
+    @Benchmark
+    public int plainCall() {
+        return plainController.echo(value++);
+    }
+
+    @Benchmark
+    public int proxyWithoutAdvice() {
+        return proxiedController.echo(value++);
+    }
+
+    @Benchmark
+    public int timedControllerCall() {
+        return timedController.echo(value++);
+    }
+
+    @Benchmark
+    public int timedServiceCall() {
+        return timedService.echo(value++);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.benchmark;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.MDC;
+
+import com.example.demo.logging.OverflowPolicyAsyncAppender;
+import com.example.demo.logging.StreamingConsoleAppender;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.ConsoleAppender;
+import net.logstash.logback.composite.loggingevent.LoggingEventFormattedTimestampJsonProvider;
+import net.logstash.logback.composite.loggingevent.LoggingEventPatternJsonProvider;
+import net.logstash.logback.encoder.LoggingEventCompositeJsonEncoder;
+
+/**
+ * Measures the logging cost of one HTTP request on the request thread.
+ * <ul>
+ *   <li>{@code syncTwoLines} - the previous set-up: synchronous {@link ConsoleAppender}, "REQ start" + "REQ end".</li>
+ *   <li>{@code asyncTwoLines} - same two lines through {@link OverflowPolicyAsyncAppender} and
+ *       {@link StreamingConsoleAppender}.</li>
+ *   <li>{@code asyncSampledLine} - the current filter: one access line, sampled at 10%.</li>
+ * </ul>
+ * All pipelines use the JSON pattern of {@code logback-spring.xml}; stdout is redirected to a null stream so
+ * the numbers exclude the terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoggingOverheadBenchmark {
+
+    private static final String PATTERN = """
+            {
+            "severity": "%-5level",
+            "serviceId": "bnp-user-pet-manager",
+            "transactionID":"%X{traceId:-}",
+            "correlationID":"%X{traceId:-}",
+            "pid":"1",
+            "class": "%logger{36}",
+            "message": "[%t] %message %n %ex{full}"
+            }""";
+    private static final double SAMPLE_RATE = 0.1;
+
+    private PrintStream originalOut;
+    private LoggerContext syncContext;
+    private LoggerContext asyncContext;
+    private Logger syncLogger;
+    private Logger asyncLogger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        MDC.put("traceId", "0af7651916cd43dd8448eb211c80319c");
+
+        syncContext = newContext();
+        ConsoleAppender<ILoggingEvent> console = new ConsoleAppender<>();
+        console.setContext(syncContext);
+        console.setEncoder(encoder(syncContext));
+        console.start();
+        syncLogger = logger(syncContext, console);
+
+        asyncContext = newContext();
+        StreamingConsoleAppender streaming = new StreamingConsoleAppender();
+        streaming.setContext(asyncContext);
+        streaming.setEncoder(encoder(asyncContext));
+        streaming.setImmediateFlush(false);
+        streaming.start();
+        OverflowPolicyAsyncAppender async = new OverflowPolicyAsyncAppender();
+        async.setContext(asyncContext);
+        async.addAppender(streaming);
+        async.start();
+        asyncLogger = logger(asyncContext, async);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        syncContext.stop();
+        asyncContext.stop();
+        MDC.clear();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public void syncTwoLines() {
+        twoLines(syncLogger);
+    }
+
+    @Benchmark
+    public void asyncTwoLines() {
+        twoLines(asyncLogger);
+    }
+
+    @Benchmark
+    public void asyncSampledLine() {
+        if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+            asyncLogger.info("REQ end method={} path={} status={} durationMs={} statements={} dbMs={} traceId={}",
+                    "GET", "/api/v1/ownerships/pets-by-city", 200, "1.234", 3, "0.456", MDC.get("traceId"));
+        }
+    }
+
+    private static void twoLines(Logger logger) {
+        logger.info("REQ start method={} path={} traceId={}", "GET", "/api/v1/ownerships/pets-by-city",
+                MDC.get("traceId"));
+        logger.info("REQ end status={} traceId={}", 200, MDC.get("traceId"));
+    }
+
+    private static LoggerContext newContext() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.start();
+        return context;
+    }
+
+    private static LoggingEventCompositeJsonEncoder encoder(LoggerContext context) {
+        LoggingEventCompositeJsonEncoder encoder = new LoggingEventCompositeJsonEncoder();
+        encoder.setContext(context);
+        LoggingEventFormattedTimestampJsonProvider timestamp = new LoggingEventFormattedTimestampJsonProvider();
+        timestamp.setTimeZone("UTC");
+        encoder.getProviders().addProvider(timestamp);
+        LoggingEventPatternJsonProvider pattern = new LoggingEventPatternJsonProvider();
+        pattern.setPattern(PATTERN);
+        encoder.getProviders().addProvider(pattern);
+        encoder.start();
+        return encoder;
+    }
+
+    private static Logger logger(LoggerContext context, Appender<ILoggingEvent> appender) {
+        Logger logger = context.getLogger("com.example.demo.filter.TraceIdFilter");
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+        return logger;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.controller.OwnershipController;
+import com.example.demo.dataset.DatasetSize;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.PetType;
+
+/**
+ * Measures the ownership queries against a synthetic dataset of each {@link DatasetSize}.
+ * <p>
+ * Each fork boots the application with {@code app.dataset.size} set to the {@code size} parameter; select sizes
+ * with {@code -p size=SMALL,MEDIUM}. The queries target the most populated city ({@code paris}), a mid-sized one
+ * and a popular homonym, through the controllers inside a read-only transaction as in a request.
+ * {@code userNamesByPetTypeAndLargestCity} asks for the {@code name,firstName} sparse fieldset, which skips
+ * the address join.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OwnershipQueryBenchmark {
+
+    private static final Set<String> NAMES = Set.of("name", "firstName");
+
+    @Param({"TINY", "SMALL"})
+    private DatasetSize size;
+
+    private ConfigurableApplicationContext app;
+    private OwnershipController controller;
+    private TransactionTemplate readTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = SpringApplication.run(UserPetManagerApplication.class,
+                "--server.port=0", "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false", "--app.logging.access.sample-rate=0",
+                "--app.dataset.enabled=true", "--app.dataset.size=" + size);
+        controller = app.getBean(OwnershipController.class);
+        readTx = new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+        readTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<PetDto> petsByLargestCity() {
+        return readTx.execute(status -> controller.petsByCity("paris", null));
+    }
+
+    @Benchmark
+    public List<PetDto> petsByMidSizedCity() {
+        return readTx.execute(status -> controller.petsByCity("city 50", null));
+    }
+
+    @Benchmark
+    public List<UserDto> usersByPetTypeAndLargestCity() {
+        return readTx.execute(status -> controller.usersByPetTypeAndCity(PetType.DOG, "paris", null));
+    }
+
+    @Benchmark
+    public List<UserDto> userNamesByPetTypeAndLargestCity() {
+        return readTx.execute(status -> controller.usersByPetTypeAndCity(PetType.DOG, "paris", NAMES));
+    }
+
+    @Benchmark
+    public List<PetDto> petsByWomenInLargestCity() {
+        return readTx.execute(status -> controller.petsByWomenInCity("paris", null));
+    }
+
+    @Benchmark
+    public List<PetDto> petsByHomonymUser() {
+        return readTx.execute(status -> controller.petsByUser("Smith", "Jane", null));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.dataset.DatasetSize;
+import com.example.demo.model.Gender;
+import com.example.demo.model.Pet;
+import com.example.demo.model.User;
+import com.example.demo.service.PetService;
+import com.example.demo.service.UserService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Compares the entity lookups of the largest city ({@code paris}) in read-write and read-only mode.
+ * <p>
+ * The {@code ReadWrite} benchmarks run the same JPQL as the repositories, without the read-only hint, in a
+ * read-write transaction: Hibernate snapshots every entity and dirty-checks them all at commit. The
+ * {@code ReadOnly} benchmarks call the services, whose read-only transactions and query hints skip both.
+ * Run with {@code -prof gc} to compare {@code gc.alloc.rate.norm} as well.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReadOnlyQueryBenchmark {
+
+    private static final String CITY = "paris";
+    private static final String PETS_BY_CITY = """
+            select p from Pet p join p.address a
+            where upper(a.city) = upper(:city) and p.deceased = false
+            """;
+    private static final String USERS_BY_GENDER_AND_CITY = """
+            select u from User u join u.address a
+            where u.gender = :gender and upper(a.city) = upper(:city)
+            """;
+
+    @Param({"MEDIUM"})
+    private DatasetSize size;
+
+    private ConfigurableApplicationContext app;
+    private PetService petService;
+    private UserService userService;
+    private EntityManagerFactory emf;
+    private TransactionTemplate readWriteTx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = SpringApplication.run(UserPetManagerApplication.class,
+                "--server.port=0", "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false", "--app.logging.access.sample-rate=0",
+                "--app.dataset.enabled=true", "--app.dataset.size=" + size);
+        petService = app.getBean(PetService.class);
+        userService = app.getBean(UserService.class);
+        emf = app.getBean(EntityManagerFactory.class);
+        readWriteTx = new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<Pet> petsByLargestCityReadWrite() {
+        return readWriteTx.execute(status -> entityManager().createQuery(PETS_BY_CITY, Pet.class)
+                .setParameter("city", CITY)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<Pet> petsByLargestCityReadOnly() {
+        return petService.byCity(CITY);
+    }
+
+    @Benchmark
+    public List<User> womenInLargestCityReadWrite() {
+        return readWriteTx.execute(status -> entityManager().createQuery(USERS_BY_GENDER_AND_CITY, User.class)
+                .setParameter("gender", Gender.FEMALE)
+                .setParameter("city", CITY)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<User> womenInLargestCityReadOnly() {
+        return userService.womenInCity(CITY);
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.benchmark;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.demo.trace.RandomTraceIdGenerator;
+import com.example.demo.trace.TraceContext;
+import com.example.demo.trace.TraceContextFactory;
+import com.example.demo.trace.TraceProperties;
+
+/**
+ * Trace ids per second: the previous {@code UUID.randomUUID()} against {@link RandomTraceIdGenerator}, and the
+ * full per-request cost of {@link TraceContextFactory} for new and continued traces.
+ * <p>
+ * Run with several threads ({@code -t 4}) to see the {@code SecureRandom} contention of the UUID variant.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TraceIdBenchmark {
+
+    private static final String INCOMING = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final RandomTraceIdGenerator ids = new RandomTraceIdGenerator();
+    private final TraceContextFactory factory = new TraceContextFactory(new TraceProperties(), ids);
+
+    @Benchmark
+    public String uuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String threadLocalRandomTraceId() {
+        return ids.newTraceId();
+    }
+
+    @Benchmark
+    public TraceContext newTraceContext() {
+        return factory.create(null);
+    }
+
+    @Benchmark
+    public TraceContext continuedTraceContext() {
+        return factory.create(INCOMING);
+    }
+}
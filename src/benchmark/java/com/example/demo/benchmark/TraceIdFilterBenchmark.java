@@ -0,0 +1,75 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.demo.filter.AccessLogProperties;
+import com.example.demo.filter.TraceIdFilter;
+import com.example.demo.sql.SqlTrackingProperties;
+import com.example.demo.trace.RandomTraceIdGenerator;
+import com.example.demo.trace.TraceContextFactory;
+import com.example.demo.trace.TraceProperties;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Per-request overhead of {@link TraceIdFilter}: trace context, MDC, response headers, SQL tracking scope and
+ * the {@code Server-Timing} wrapper.
+ * <p>
+ * {@code baseline} only creates the mock request/response and runs an empty chain; subtract it from
+ * {@code traceIdFilter}. The filter's logger is switched off, the access line being covered by
+ * {@link LoggingOverheadBenchmark}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TraceIdFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> response.getOutputStream().flush();
+
+    private final Logger filterLog = (Logger) LoggerFactory.getLogger(TraceIdFilter.class);
+    private final TraceIdFilter filter = new TraceIdFilter(new SqlTrackingProperties(), new AccessLogProperties(),
+            new TraceContextFactory(new TraceProperties(), new RandomTraceIdGenerator()));
+
+    @Setup
+    public void setUp() {
+        filterLog.setLevel(Level.OFF);
+    }
+
+    @TearDown
+    public void tearDown() {
+        filterLog.setLevel(null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse baseline() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ownerships/pets-by-city");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CHAIN.doFilter(request, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse traceIdFilter() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ownerships/pets-by-city");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, CHAIN);
+        return response;
+    }
+}
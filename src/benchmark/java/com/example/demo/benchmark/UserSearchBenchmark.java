@@ -0,0 +1,107 @@
+package com.example.demo.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.dataset.DatasetSize;
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.search.UserSearchIndex;
+
+/**
+ * Compares the in-memory {@link UserSearchIndex} with the SQL {@code LIKE '%...%'} scan it replaces, on a
+ * synthetic dataset of each {@link DatasetSize} (select sizes with {@code -p size=MEDIUM,LARGE}).
+ * <p>
+ * Each search returns the top 20 matches. The index handles a common surname, a prefix shared by many
+ * surnames, a two-word query with typos and a name nobody has; the SQL baseline only handles substrings,
+ * case-insensitively. It stops early once it has 20 rows of a common name, but a rare name makes it scan
+ * every row.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UserSearchBenchmark {
+
+    private static final int LIMIT = 20;
+    private static final String LIKE = """
+            select id, name, first_name from users
+            where lower(name) like ? or lower(first_name) like ?
+            order by id limit 20
+            """;
+
+    @Param({"SMALL", "MEDIUM"})
+    private DatasetSize size;
+
+    private ConfigurableApplicationContext app;
+    private UserSearchIndex index;
+    private JdbcTemplate jdbc;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = SpringApplication.run(UserPetManagerApplication.class,
+                "--server.port=0", "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false", "--app.logging.access.sample-rate=0",
+                "--app.dataset.enabled=true", "--app.dataset.size=" + size);
+        index = app.getBean(UserSearchIndex.class);
+        jdbc = app.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public List<UserSearchHit> indexCommonSurname() {
+        return index.search("smith", LIMIT);
+    }
+
+    @Benchmark
+    public List<UserSearchHit> indexPrefix() {
+        return index.search("ber", LIMIT);
+    }
+
+    @Benchmark
+    public List<UserSearchHit> indexTypos() {
+        return index.search("smiht jnae", LIMIT);
+    }
+
+    @Benchmark
+    public List<UserSearchHit> indexNoMatch() {
+        return index.search("dupont", LIMIT);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likeCommonSurname() {
+        return jdbc.queryForList(LIKE, "%smith%", "%smith%");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likePrefix() {
+        return jdbc.queryForList(LIKE, "%ber%", "%ber%");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> likeNoMatch() {
+        return jdbc.queryForList(LIKE, "%dupont%", "%dupont%");
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.contention;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a {@link LockContentionBenchmark} run, parsed from {@code --name=value} arguments. The three
+ * dimensions take comma-separated lists and every combination is run. Arguments that are not options are passed
+ * on to the application (e.g. {@code --spring.datasource.hikari.connection-timeout=1000}).
+ *
+ * @param threads   concurrent callers of {@code updateWithPessimisticLockAndRetry}
+ * @param hotSets   number of distinct user ids the callers update, picked uniformly
+ * @param poolSizes Hikari {@code maximum-pool-size}; the application is booted once per size
+ * @param warmup    time each scenario runs before it is measured
+ * @param duration  measured time of each scenario
+ * @param hold      extra time spent inside the locked transaction, simulating work while the row lock is held
+ * @param seed      seed of the id picks, so runs are repeatable
+ * @param output    JSON results file
+ * @param appArgs   arguments passed to the application
+ */
+record ContentionOptions(List<Integer> threads, List<Integer> hotSets, List<Integer> poolSizes, Duration warmup,
+                         Duration duration, Duration hold, long seed, Path output, String[] appArgs) {
+
+    static ContentionOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("threads", "1,4,16,64");
+        values.put("hot-set", "1,8,128");
+        values.put("pool", "5,10,20");
+        values.put("warmup", "2s");
+        values.put("duration", "5s");
+        values.put("hold", "0ms");
+        values.put("seed", "42");
+        values.put("output", "target/contention/contention-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (name != null && values.containsKey(name)) {
+                values.put(name, arg.substring(eq + 1));
+            } else if (!arg.isBlank()) {
+                appArgs.add(arg);
+            }
+        }
+        return new ContentionOptions(
+                ints(values.get("threads")),
+                ints(values.get("hot-set")),
+                ints(values.get("pool")),
+                duration(values.get("warmup")),
+                duration(values.get("duration")),
+                duration(values.get("hold")),
+                Long.parseLong(values.get("seed")),
+                Path.of(values.get("output")),
+                appArgs.toArray(String[]::new));
+    }
+
+    private static List<Integer> ints(String value) {
+        List<Integer> ints = Arrays.stream(value.split(",")).map(String::trim).map(Integer::parseInt).toList();
+        if (ints.isEmpty() || ints.stream().anyMatch(i -> i < 1)) {
+            throw new IllegalArgumentException("Expected positive integers: " + value);
+        }
+        return ints;
+    }
+
+    private static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v.endsWith("s") ? v.substring(0, v.length() - 1) : v));
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.demo.contention;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.metrics.LockMetrics;
+import com.example.demo.model.Address;
+import com.example.demo.model.Gender;
+import com.example.demo.model.User;
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+
+/**
+ * Hot-contention benchmark of {@link UserService#updateWithPessimisticLockAndRetry}: {@code threads} callers
+ * update user ids picked from a hot set of {@code hot-set} ids, in a closed loop, against the real Spring context
+ * and H2 with {@code LOCK_TIMEOUT=5000}.
+ * <p>
+ * The application is booted once per Hikari pool size, then every thread count / hot-set combination runs for
+ * {@code warmup} + {@code duration}. Each scenario reports:
+ * </p>
+ * <ul>
+ *   <li>successful updates per second and HDR latency percentiles of successful calls (retries included);</li>
+ *   <li>conflicts: calls failing with the lock exceptions {@code GlobalExceptionHandler} maps to 409, i.e.
+ *       after the retries were exhausted;</li>
+ *   <li>lock retries per call and exhausted retries, from the {@link LockMetrics} counters;</li>
+ *   <li>pool starvation: threads waiting for a connection (sampled every millisecond, mean and max) and calls
+ *       failing because no connection was available within {@code connection-timeout}.</li>
+ * </ul>
+ * <p>
+ * Results are printed as a table and written to a JSON file. Options are described in {@link ContentionOptions};
+ * run it with
+ * {@code mvn -Pbenchmark test-compile exec:exec@contention -Dcontention.args="--threads=8,32 --hot-set=1,16"}.
+ * </p>
+ */
+public final class LockContentionBenchmark {
+
+    private static final String ENTITY = "User";
+
+    private final ContentionOptions options;
+
+    LockContentionBenchmark(ContentionOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException {
+        ContentionOptions options = ContentionOptions.parse(args);
+        LockContentionBenchmark benchmark = new LockContentionBenchmark(options);
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        for (int pool : options.poolSizes()) {
+            scenarios.addAll(benchmark.runPool(pool));
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("startedAt", Instant.now().toString());
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("warmupSeconds", options.warmup().toSeconds());
+        config.put("durationSeconds", options.duration().toSeconds());
+        config.put("holdMs", options.hold().toMillis());
+        config.put("seed", options.seed());
+        results.put("config", config);
+        results.put("scenarios", scenarios);
+        Files.createDirectories(options.output().toAbsolutePath().getParent());
+        json.writeValue(options.output().toFile(), results);
+        print(scenarios);
+        System.out.println("Results written to " + options.output().toAbsolutePath());
+    }
+
+    private List<Map<String, Object>> runPool(int pool) {
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:contention-" + pool + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+                "--spring.datasource.hikari.maximum-pool-size=" + pool,
+                "--spring.datasource.hikari.minimum-idle=" + pool,
+                "--app.warmup.enabled=false",
+                "--app.logging.access.sample-rate=0"));
+        appArgs.addAll(List.of(options.appArgs()));
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        try (ConfigurableApplicationContext app =
+                     SpringApplication.run(UserPetManagerApplication.class, appArgs.toArray(String[]::new))) {
+            long[] ids = hotIds(app, options.hotSets().stream().mapToInt(Integer::intValue).max().orElse(1));
+            HikariPoolMXBean hikari = hikari(app.getBean(DataSource.class));
+            for (int threads : options.threads()) {
+                for (int hotSet : options.hotSets()) {
+                    Map<String, Object> scenario = new LinkedHashMap<>();
+                    scenario.put("pool", pool);
+                    scenario.put("threads", threads);
+                    scenario.put("hotSet", hotSet);
+                    scenario.putAll(new Scenario(app, hikari, ids, threads, hotSet).run());
+                    scenarios.add(scenario);
+                    System.out.printf("pool=%d threads=%d hotSet=%d done%n", pool, threads, hotSet);
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Returns the ids of the first {@code count} users, creating users at the first address when the seed is too
+     * small.
+     */
+    private static long[] hotIds(ConfigurableApplicationContext app, int count) {
+        UserRepository users = app.getBean(UserRepository.class);
+        Address address = app.getBean(AddressRepository.class).findAll().get(0);
+        for (long missing = count - users.count(); missing > 0; missing--) {
+            users.save(User.builder().name("Hot").firstName("User").age(30).gender(Gender.OTHER)
+                    .address(address).build());
+        }
+        return users.findAll().stream().mapToLong(User::getId).sorted().limit(count).toArray();
+    }
+
+    private static HikariPoolMXBean hikari(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        } catch (SQLException e) {
+            throw new IllegalStateException("The benchmark needs a Hikari pool", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(List<Map<String, Object>> scenarios) {
+        System.out.printf("%n%5s %7s %7s %9s %9s %9s %8s %9s %9s %9s %9s %9s %9s%n", "pool", "threads", "hotSet",
+                "ok/s", "409 %", "retry/op", "poolTO", "other", "p50 ms", "p99 ms", "max ms", "wait avg",
+                "wait max");
+        for (Map<String, Object> s : scenarios) {
+            Map<String, Object> latency = (Map<String, Object>) s.get("latency");
+            System.out.printf("%5s %7s %7s %9s %9s %9s %8s %9s %9s %9s %9s %9s %9s%n", s.get("pool"),
+                    s.get("threads"), s.get("hotSet"), s.get("throughputPerSecond"), s.get("conflictPercent"),
+                    s.get("retriesPerCall"), s.get("poolTimeouts"), s.get("otherErrors"), latency.get("p50Ms"),
+                    latency.get("p99Ms"), latency.get("maxMs"), s.get("awaitingConnectionMean"),
+                    s.get("awaitingConnectionMax"));
+        }
+    }
+
+    /**
+     * One thread count / hot-set combination: closed-loop callers plus a sampler of the pool.
+     */
+    private final class Scenario {
+        private final UserService userService;
+        private final MeterRegistry registry;
+        private final HikariPoolMXBean hikari;
+        private final long[] ids;
+        private final int threads;
+        private final int hotSet;
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder poolTimeouts = new LongAdder();
+        private final LongAdder other = new LongAdder();
+        private final List<Histogram> latencies = new ArrayList<>();
+        private volatile boolean measuring;
+        private volatile boolean stopped;
+
+        Scenario(ConfigurableApplicationContext app, HikariPoolMXBean hikari, long[] ids, int threads, int hotSet) {
+            this.userService = app.getBean(UserService.class);
+            this.registry = app.getBean(MeterRegistry.class);
+            this.hikari = hikari;
+            this.ids = ids;
+            this.threads = threads;
+            this.hotSet = hotSet;
+        }
+
+        Map<String, Object> run() {
+            CountDownLatch done = new CountDownLatch(threads);
+            for (int t = 0; t < threads; t++) {
+                Histogram histogram = new Histogram(TimeUnit.MINUTES.toNanos(5), 3);
+                latencies.add(histogram);
+                SplittableRandom rnd = new SplittableRandom(options.seed() + t);
+                Thread.ofPlatform().name("contention-" + t).daemon().start(() -> {
+                    try {
+                        loop(rnd, histogram);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            sleep(options.warmup().toNanos());
+            double retriesBefore = count(LockMetrics.RETRY_METRIC);
+            double exhaustedBefore = count(LockMetrics.EXHAUSTED_METRIC);
+            measuring = true;
+            long start = System.nanoTime();
+            long end = start + options.duration().toNanos();
+            long samples = 0;
+            long awaitingSum = 0;
+            int awaitingMax = 0;
+            while (System.nanoTime() < end) {
+                int awaiting = hikari.getThreadsAwaitingConnection();
+                awaitingSum += awaiting;
+                awaitingMax = Math.max(awaitingMax, awaiting);
+                samples++;
+                sleep(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            measuring = false;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double retries = count(LockMetrics.RETRY_METRIC) - retriesBefore;
+            double exhausted = count(LockMetrics.EXHAUSTED_METRIC) - exhaustedBefore;
+            stopped = true;
+            await(done);
+
+            Histogram all = new Histogram(TimeUnit.MINUTES.toNanos(5), 3);
+            latencies.forEach(all::add);
+            long calls = ok.sum() + conflicts.sum() + poolTimeouts.sum() + other.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("calls", calls);
+            result.put("throughputPerSecond", round(ok.sum() / seconds));
+            result.put("conflicts", conflicts.sum());
+            result.put("conflictPercent", round(calls == 0 ? 0 : 100.0 * conflicts.sum() / calls));
+            result.put("retries", (long) retries);
+            result.put("retriesPerCall", round(calls == 0 ? 0 : retries / calls));
+            result.put("exhaustedRetries", (long) exhausted);
+            result.put("poolTimeouts", poolTimeouts.sum());
+            result.put("otherErrors", other.sum());
+            result.put("awaitingConnectionMean", round(samples == 0 ? 0 : (double) awaitingSum / samples));
+            result.put("awaitingConnectionMax", awaitingMax);
+            result.put("latency", percentiles(all));
+            return result;
+        }
+
+        private void loop(SplittableRandom rnd, Histogram histogram) {
+            long holdNanos = options.hold().toNanos();
+            while (!stopped) {
+                long id = ids[rnd.nextInt(hotSet)];
+                int age = 1 + rnd.nextInt(99);
+                long start = System.nanoTime();
+                boolean measured = measuring;
+                try {
+                    userService.updateWithPessimisticLockAndRetry(id, u -> {
+                        u.setAge(age);
+                        if (holdNanos > 0) {
+                            LockSupport.parkNanos(holdNanos);
+                        }
+                    });
+                    if (measured && measuring) {
+                        histogram.recordValue(System.nanoTime() - start);
+                        ok.increment();
+                    }
+                } catch (PessimisticLockException | LockTimeoutException | CannotAcquireLockException e) {
+                    count(measured, conflicts);
+                } catch (CannotCreateTransactionException e) {
+                    count(measured, poolTimeouts);
+                } catch (RuntimeException e) {
+                    count(measured, other);
+                }
+            }
+        }
+
+        private void count(boolean measured, LongAdder adder) {
+            if (measured && measuring) {
+                adder.increment();
+            }
+        }
+
+        private double count(String metric) {
+            Counter counter = registry.find(metric).tag("entity", ENTITY).counter();
+            return counter == null ? 0 : counter.count();
+        }
+    }
+
+    private static Map<String, Object> percentiles(Histogram h) {
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("p50Ms", millis(h.getValueAtPercentile(50)));
+        p.put("p90Ms", millis(h.getValueAtPercentile(90)));
+        p.put("p99Ms", millis(h.getValueAtPercentile(99)));
+        p.put("p999Ms", millis(h.getValueAtPercentile(99.9)));
+        p.put("maxMs", millis(h.getMaxValue()));
+        return p;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static void sleep(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        for (long left = nanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static void await(CountDownLatch done) {
+        try {
+            if (!done.await(2, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Callers did not stop within 2 minutes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping callers", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and outcome counters of one endpoint. Latencies are measured from the intended send time
+ * of the request, so a stalled server shows up as latency rather than as fewer requests (no coordinated
+ * omission).
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(MAX_LATENCY, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void record(long latencyNanos, boolean error) {
+        latencyMicros.recordValue(Math.min(MAX_LATENCY, Math.max(0, latencyNanos / 1_000)));
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    void dropped() {
+        dropped.increment();
+    }
+
+    void reset() {
+        latencyMicros.reset();
+        errors.reset();
+        dropped.reset();
+    }
+
+    Histogram histogram() {
+        return latencyMicros;
+    }
+
+    /**
+     * @return the JSON-ready summary: counts, throughput and latency percentiles in milliseconds
+     */
+    Map<String, Object> summary(double seconds) {
+        return summary(latencyMicros, errors.sum(), dropped.sum(), seconds);
+    }
+
+    static Map<String, Object> summary(Histogram h, long errors, long dropped, double seconds) {
+        Map<String, Object> s = new LinkedHashMap<>();
+        s.put("requests", h.getTotalCount());
+        s.put("errors", errors);
+        s.put("dropped", dropped);
+        s.put("throughputPerSecond", round(h.getTotalCount() / seconds));
+        s.put("meanMs", round(h.getMean() / 1_000));
+        s.put("p50Ms", millis(h, 50));
+        s.put("p90Ms", millis(h, 90));
+        s.put("p99Ms", millis(h, 99));
+        s.put("p999Ms", millis(h, 99.9));
+        s.put("maxMs", round(h.getMaxValue() / 1_000.0));
+        return s;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long droppedCount() {
+        return dropped.sum();
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return round(h.getValueAtPercentile(percentile) / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+}
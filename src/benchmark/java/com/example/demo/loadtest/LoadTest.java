@@ -0,0 +1,188 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import com.example.demo.UserPetManagerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Self-contained end-to-end load test: boots the application on a random port, seeds data, then drives the
+ * configured {@link Operation} mix over HTTP and writes per-endpoint throughput and HDR latency percentiles to a
+ * JSON file.
+ * <p>
+ * Load follows an open model: arrivals are a Poisson process at {@code --rate} requests per second, sent
+ * asynchronously whether or not earlier requests have completed, and latency is measured from each request's
+ * scheduled time. Options are described in {@link LoadTestOptions}; run it with
+ * {@code mvn -Pbenchmark test-compile exec:exec@loadtest -Dloadtest.args="--rate=300 --duration=2m"}.
+ * </p>
+ */
+public final class LoadTest {
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    LoadTest(LoadTestOptions options, Workload workload) {
+        this.options = options;
+        this.workload = workload;
+        this.operations = options.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += options.mix().get(operations[i]);
+            cumulativeWeights[i] = sum;
+            stats.put(operations[i], new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String[] appArgs = new String[options.appArgs().length + 2];
+        appArgs[0] = "--server.port=0";
+        appArgs[1] = "--management.server.port=0";
+        System.arraycopy(options.appArgs(), 0, appArgs, 2, options.appArgs().length);
+
+        try (ConfigurableApplicationContext app = SpringApplication.run(UserPetManagerApplication.class, appArgs)) {
+            Environment env = app.getEnvironment();
+            URI base = URI.create("http://localhost:" + env.getRequiredProperty("local.server.port")
+                    + env.getProperty("server.servlet.context-path", ""));
+            ObjectMapper json = app.getBean(ObjectMapper.class);
+            Workload workload = new Workload(base, json);
+            workload.seed(options.seed());
+            LoadTest test = new LoadTest(options, workload);
+            Map<String, Object> results = test.run();
+            Files.createDirectories(options.output().toAbsolutePath().getParent());
+            json.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.output().toFile(), results);
+            test.print(results);
+            System.out.println("Results written to " + options.output().toAbsolutePath());
+        }
+    }
+
+    Map<String, Object> run() {
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long next = start;
+        while (true) {
+            next += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+            if (next >= end) {
+                break;
+            }
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(pick(), next, next >= measureFrom);
+        }
+        awaitCompletion();
+        return results(startedAt, options.duration().toNanos() / 1e9);
+    }
+
+    private void fire(Operation op, long scheduled, boolean measured) {
+        EndpointStats s = stats.get(op);
+        if (inFlight.get() >= options.maxInFlight()) {
+            if (measured) {
+                s.dropped();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        CompletableFuture<Boolean> response;
+        try {
+            response = workload.send(op);
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            throw e;
+        }
+        response.whenComplete((ok, failure) -> {
+            inFlight.decrementAndGet();
+            if (measured && (ok != null || failure != null)) {
+                s.record(System.nanoTime() - scheduled, failure != null || !ok);
+            }
+        });
+    }
+
+    private Operation pick() {
+        int r = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void awaitCompletion() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private Map<String, Object> results(Instant startedAt, double seconds) {
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        long dropped = 0;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Map<String, Object> mix = new LinkedHashMap<>();
+        for (Operation op : operations) {
+            EndpointStats s = stats.get(op);
+            all.add(s.histogram());
+            errors += s.errors();
+            dropped += s.droppedCount();
+            endpoints.put(op.label(), s.summary(seconds));
+            mix.put(op.label(), options.mix().get(op));
+        }
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("ratePerSecond", options.rate());
+        config.put("warmupSeconds", options.warmup().toSeconds());
+        config.put("durationSeconds", options.duration().toSeconds());
+        config.put("maxInFlight", options.maxInFlight());
+        config.put("seed", options.seed());
+        config.put("mix", mix);
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("startedAt", startedAt.toString());
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        results.put("config", config);
+        results.put("skipped", workload.skipped());
+        results.put("total", EndpointStats.summary(all, errors, dropped, seconds));
+        results.put("endpoints", endpoints);
+        return results;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void print(Map<String, Object> results) {
+        System.out.printf("%n%-45s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Map<String, Object> rows = new LinkedHashMap<>((Map<String, Object>) results.get("endpoints"));
+        rows.put("TOTAL", results.get("total"));
+        rows.forEach((label, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            System.out.printf("%-45s %9s %7s %9s %9s %9s %9s %9s%n", label, s.get("throughputPerSecond"),
+                    s.get("errors"), s.get("p50Ms"), s.get("p90Ms"), s.get("p99Ms"), s.get("p999Ms"), s.get("maxMs"));
+        });
+    }
+}
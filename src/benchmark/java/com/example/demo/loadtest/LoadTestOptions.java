@@ -0,0 +1,94 @@
+package com.example.demo.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a {@link LoadTest} run, parsed from {@code --name=value} arguments. Arguments that are not load-test
+ * options are passed on to the application (e.g. {@code --app.logging.access.sample-rate=0}).
+ *
+ * @param rate        target arrival rate, requests per second over all operations (open model)
+ * @param warmup      time the load runs before latencies are recorded
+ * @param duration    measured time
+ * @param maxInFlight requests outstanding at once; arrivals beyond it are counted as dropped
+ * @param seed        users and pets created before the run so queries and updates have data to hit
+ * @param mix         relative weight of each {@link Operation}
+ * @param output      JSON results file
+ * @param appArgs     arguments passed to the application; {@code --dataset=<size>} is shorthand for
+ *                    {@code --app.dataset.enabled=true --app.dataset.size=<size>}
+ */
+record LoadTestOptions(double rate, Duration warmup, Duration duration, int maxInFlight, int seed,
+                       Map<Operation, Integer> mix, Path output, String[] appArgs) {
+
+    static final String DEFAULT_MIX = "create-user=4,create-pet=6,link=4,update-user=3,update-pet=3,"
+            + "pets-by-user=25,pets-by-city=25,users-by-pet-type-and-city=20,pets-by-women-in-city=10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("rate", "200");
+        values.put("warmup", "10s");
+        values.put("duration", "60s");
+        values.put("max-in-flight", "512");
+        values.put("seed", "200");
+        values.put("mix", DEFAULT_MIX);
+        values.put("dataset", "");
+        values.put("output", "target/loadtest/loadtest-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (name != null && values.containsKey(name)) {
+                values.put(name, arg.substring(eq + 1));
+            } else if (!arg.isBlank()) {
+                appArgs.add(arg);
+            }
+        }
+        String dataset = values.get("dataset").trim();
+        if (!dataset.isEmpty()) {
+            appArgs.add("--app.dataset.enabled=true");
+            appArgs.add("--app.dataset.size=" + dataset.toUpperCase());
+        }
+        return new LoadTestOptions(
+                Double.parseDouble(values.get("rate")),
+                duration(values.get("warmup")),
+                duration(values.get("duration")),
+                Integer.parseInt(values.get("max-in-flight")),
+                Integer.parseInt(values.get("seed")),
+                mix(values.get("mix")),
+                Path.of(values.get("output")),
+                appArgs.toArray(String[]::new));
+    }
+
+    private static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v.endsWith("s") ? v.substring(0, v.length() - 1) : v));
+    }
+
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] kv = entry.trim().split("=");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromOption(kv[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The requests the {@link LoadTest} workload is made of. The label groups the statistics of one endpoint.
+ */
+enum Operation {
+
+    CREATE_USER("create-user", "POST /users"),
+    CREATE_PET("create-pet", "POST /pets"),
+    LINK("link", "POST /ownerships"),
+    UPDATE_USER("update-user", "PUT /users/{id}"),
+    UPDATE_PET("update-pet", "PUT /pets/{id}"),
+    PETS_BY_USER("pets-by-user", "GET /ownerships/pets-by-user"),
+    PETS_BY_CITY("pets-by-city", "GET /ownerships/pets-by-city"),
+    USERS_BY_PET_TYPE_AND_CITY("users-by-pet-type-and-city", "GET /ownerships/users-by-pet-type-and-city"),
+    PETS_BY_WOMEN_IN_CITY("pets-by-women-in-city", "GET /ownerships/pets-by-women-in-city");
+
+    private final String option;
+    private final String label;
+
+    Operation(String option, String label) {
+        this.option = option;
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation fromOption(String option) {
+        return Arrays.stream(values())
+                .filter(o -> o.option.equals(option))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + option));
+    }
+}
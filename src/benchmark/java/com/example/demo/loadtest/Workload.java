@@ -0,0 +1,215 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import com.example.demo.dto.AddressCreateDto;
+import com.example.demo.dto.OwnershipCreateDto;
+import com.example.demo.dto.PetCreateDto;
+import com.example.demo.dto.UserCreateDto;
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Builds and sends the requests of each {@link Operation} against a running application.
+ * <p>
+ * Users and pets are spread over a small set of addresses in four cities, with a few recurring names, so the
+ * by-name and by-city queries return rows and homonyms exist. Created ids are kept per address: updates
+ * change a known user or pet but keep its address, and {@link Operation#LINK} pairs a not yet linked pet with a
+ * user living at the same address, which is what the API requires.
+ * </p>
+ */
+final class Workload {
+
+    private static final String[] CITIES = {"paris", "mumbai", "london", "pune"};
+    private static final String[] NAMES = {"Doe", "Smith", "Martin", "Khan", "Patel", "Brown"};
+    private static final String[] FIRST_NAMES = {"John", "Jane", "Anna", "Ravi", "Lea", "Tom", "Mia", "Omar"};
+    private static final String[] PET_NAMES = {"Rex", "Milo", "Luna", "Bella", "Kiwi", "Nala"};
+    private static final List<AddressCreateDto> ADDRESSES = List.of(
+            new AddressCreateDto("paris", "road", "antoine lavoisier", "10"),
+            new AddressCreateDto("paris", "boulevard", "haussmann", "12"),
+            new AddressCreateDto("mumbai", "street", "marine drive", "200"),
+            new AddressCreateDto("mumbai", "road", "sv", "50"),
+            new AddressCreateDto("london", "avenue", "baker", "221B"),
+            new AddressCreateDto("london", "street", "abbey road", "3"),
+            new AddressCreateDto("pune", "road", "fc", "100"),
+            new AddressCreateDto("pune", "lane", "koregaon park", "7"));
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI base;
+    private final ObjectMapper json;
+    private final List<List<Long>> usersByAddress = new ArrayList<>();
+    private final List<Queue<Long>> unlinkedPetsByAddress = new ArrayList<>();
+    private final List<List<Long>> petsByAddress = new ArrayList<>();
+    private final AtomicLong skipped = new AtomicLong();
+
+    Workload(URI base, ObjectMapper json) {
+        this.base = base;
+        this.json = json;
+        for (int i = 0; i < ADDRESSES.size(); i++) {
+            usersByAddress.add(new ArrayList<>());
+            petsByAddress.add(new ArrayList<>());
+            unlinkedPetsByAddress.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Creates {@code count} users and as many pets, synchronously, so the measured run starts with data.
+     */
+    void seed(int count) {
+        for (int i = 0; i < count; i++) {
+            send(Operation.CREATE_USER).join();
+            send(Operation.CREATE_PET).join();
+        }
+    }
+
+    /**
+     * @return how many operations could not be sent because no suitable data existed yet
+     */
+    long skipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Sends one request of {@code op}.
+     *
+     * @return completes with {@code true} on a 2xx response; an already completed {@code null} future if the
+     *         operation was skipped
+     */
+    CompletableFuture<Boolean> send(Operation op) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        int address = rnd.nextInt(ADDRESSES.size());
+        String city = CITIES[rnd.nextInt(CITIES.length)];
+        return switch (op) {
+            case CREATE_USER -> post("/users", user(address), id -> add(usersByAddress.get(address), id));
+            case CREATE_PET -> post("/pets", pet(address), id -> {
+                unlinkedPetsByAddress.get(address).add(id);
+                add(petsByAddress.get(address), id);
+            });
+            case LINK -> link(address);
+            case UPDATE_USER -> put("/users/", pick(usersByAddress.get(address)), user(address));
+            case UPDATE_PET -> put("/pets/", pick(petsByAddress.get(address)), pet(address));
+            case PETS_BY_USER -> get("/ownerships/pets-by-user?name=" + pick(NAMES)
+                    + "&firstName=" + pick(FIRST_NAMES));
+            case PETS_BY_CITY -> get("/ownerships/pets-by-city?city=" + encode(city));
+            case USERS_BY_PET_TYPE_AND_CITY -> get("/ownerships/users-by-pet-type-and-city?petType="
+                    + PetType.values()[rnd.nextInt(PetType.values().length)] + "&city=" + encode(city));
+            case PETS_BY_WOMEN_IN_CITY -> get("/ownerships/pets-by-women-in-city?city=" + encode(city));
+        };
+    }
+
+    private CompletableFuture<Boolean> link(int address) {
+        Long user = pick(usersByAddress.get(address));
+        Long pet = user == null ? null : unlinkedPetsByAddress.get(address).poll();
+        if (pet == null) {
+            skipped.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(request("/ownerships").POST(body(new OwnershipCreateDto(user, pet))))
+                .thenApply(Workload::ok);
+    }
+
+    private CompletableFuture<Boolean> post(String path, Object dto, LongConsumer created) {
+        return send(request(path).POST(body(dto))).thenApply(response -> {
+            if (ok(response)) {
+                created.accept(id(response.body()));
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private CompletableFuture<Boolean> put(String path, Long id, Object dto) {
+        if (id == null) {
+            skipped.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+        return send(request(path + id).PUT(body(dto))).thenApply(Workload::ok);
+    }
+
+    private CompletableFuture<Boolean> get(String pathAndQuery) {
+        return send(request(pathAndQuery).GET()).thenApply(Workload::ok);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest.Builder request) {
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(base + pathAndQuery))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object dto) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(dto));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + dto, e);
+        }
+    }
+
+    private long id(String body) {
+        try {
+            JsonNode node = json.readTree(body);
+            return node.get("id").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected response: " + body, e);
+        }
+    }
+
+    private static UserCreateDto user(int address) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return new UserCreateDto(pick(NAMES), pick(FIRST_NAMES), 18 + rnd.nextInt(70),
+                Gender.values()[rnd.nextInt(Gender.values().length)], ADDRESSES.get(address));
+    }
+
+    private static PetCreateDto pet(int address) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return new PetCreateDto(pick(PET_NAMES), rnd.nextInt(20),
+                PetType.values()[rnd.nextInt(PetType.values().length)], ADDRESSES.get(address));
+    }
+
+    private static boolean ok(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String pick(String[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+
+    private static Long pick(List<Long> ids) {
+        synchronized (ids) {
+            return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        }
+    }
+
+    private static void add(List<Long> ids, long id) {
+        synchronized (ids) {
+            ids.add(id);
+        }
+    }
+}
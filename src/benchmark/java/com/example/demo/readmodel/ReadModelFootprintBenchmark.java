@@ -0,0 +1,195 @@
+package com.example.demo.readmodel;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.hibernate.Hibernate;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+import com.example.demo.model.Pet;
+import com.example.demo.model.PetType;
+import com.example.demo.model.User;
+import com.example.demo.service.PetService;
+import com.example.demo.service.UserPetOwnershipService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Retained-heap comparison of the entity queries and the {@link ReadModelService} projections.
+ * <p>
+ * The application is booted with a synthetic dataset of {@code users} users spread over a single
+ * city, so {@code pets-by-city} and {@code users-by-pet-type-and-city} return a large share of the
+ * rows. Each query then runs in three modes:
+ * </p>
+ * <ul>
+ *   <li>{@code entities} - the entity query, without the repositories' read-only hint, in a read-write
+ *       transaction: managed entities plus their dirty-checking snapshots in the persistence context;</li>
+ *   <li>{@code read-only-entities} - the service call, whose read-only transaction and query hint keep
+ *       no snapshots;</li>
+ *   <li>{@code read-model} - the scalar projection mapped to DTOs with shared strings.</li>
+ * </ul>
+ * <p>
+ * The heap is measured after a forced GC before the query and again while the result is still held
+ * inside the transaction, so the persistence context is counted. The difference is reported per row
+ * and scaled to 100k rows; the median of {@code samples} runs is kept. Run it with
+ * {@code mvn -Pbenchmark test-compile exec:exec@footprint -Dfootprint.args="--users=200000"}; any
+ * other argument is passed to the application.
+ * </p>
+ */
+public final class ReadModelFootprintBenchmark {
+
+    private static final long PER_ROWS = 100_000;
+    private static final String PETS_BY_CITY = """
+            select p from Pet p join p.address a
+            where upper(a.city) = upper(:city) and p.deceased = false
+            """;
+    private static final String USERS_BY_PET_TYPE_AND_CITY = """
+            select distinct u from UserPetOwnership o join o.user u join o.pet p join p.address a
+            where p.type = :type and lower(a.city) = lower(:city) and u.deceased = false and p.deceased = false
+            """;
+
+    private final ConfigurableApplicationContext app;
+    private final TransactionTemplate readWriteTx;
+    private final TransactionTemplate readOnlyTx;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final int samples;
+
+    private ReadModelFootprintBenchmark(ConfigurableApplicationContext app, int samples) {
+        this.app = app;
+        this.samples = samples;
+        PlatformTransactionManager txManager = app.getBean(PlatformTransactionManager.class);
+        this.readWriteTx = new TransactionTemplate(txManager);
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int users = 200_000;
+        int samples = 3;
+        Path output = Path.of("target/footprint/footprint.json");
+        List<String> appArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:footprint;DB_CLOSE_DELAY=-1",
+                "--app.warmup.enabled=false",
+                "--app.dataset.enabled=true",
+                "--app.dataset.cities=1"));
+        for (String arg : args) {
+            if (arg.startsWith("--users=")) {
+                users = Integer.parseInt(arg.substring("--users=".length()));
+            } else if (arg.startsWith("--samples=")) {
+                samples = Integer.parseInt(arg.substring("--samples=".length()));
+            } else if (arg.startsWith("--output=")) {
+                output = Path.of(arg.substring("--output=".length()));
+            } else if (!arg.isBlank()) {
+                appArgs.add(arg);
+            }
+        }
+        appArgs.add("--app.dataset.users=" + users);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("startedAt", Instant.now().toString());
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("maxHeapMiB", Runtime.getRuntime().maxMemory() >> 20);
+        results.put("users", users);
+        try (ConfigurableApplicationContext app =
+                     SpringApplication.run(UserPetManagerApplication.class, appArgs.toArray(String[]::new))) {
+            results.put("queries", new ReadModelFootprintBenchmark(app, samples).run());
+            results.put("dictionarySize", app.getBean(StringDictionary.class).size());
+        }
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private List<Map<String, Object>> run() {
+        String city = app.getBean(JdbcTemplate.class).queryForObject("""
+                select a.city from pet p join address a on a.id = p.address_id
+                group by a.city order by count(*) desc limit 1
+                """, String.class);
+        PetService petService = app.getBean(PetService.class);
+        UserPetOwnershipService ownershipService = app.getBean(UserPetOwnershipService.class);
+        ReadModelService readModel = app.getBean(ReadModelService.class);
+        EntityManagerFactory emf = app.getBean(EntityManagerFactory.class);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%-28s %-20s %10s %14s %16s%n", "query", "mode", "rows", "bytes/row", "MiB per 100k");
+        rows.add(measure("pets-by-city", "entities", readWriteTx,
+                () -> EntityManagerFactoryUtils.getTransactionalEntityManager(emf)
+                        .createQuery(PETS_BY_CITY, Pet.class).setParameter("city", city).getResultList()));
+        rows.add(measure("pets-by-city", "read-only-entities", readOnlyTx, () -> petService.byCity(city)));
+        rows.add(measure("pets-by-city", "read-model", readOnlyTx, () -> readModel.petsByCity(city)));
+        Supplier<List<User>> owners = () -> withAddresses(EntityManagerFactoryUtils.getTransactionalEntityManager(emf)
+                .createQuery(USERS_BY_PET_TYPE_AND_CITY, User.class)
+                .setParameter("type", PetType.DOG).setParameter("city", city).getResultList());
+        Supplier<List<User>> readOnlyOwners =
+                () -> withAddresses(ownershipService.usersByPetTypeAndCity(PetType.DOG, city));
+        rows.add(measure("users-by-pet-type-and-city", "entities", readWriteTx, owners));
+        rows.add(measure("users-by-pet-type-and-city", "read-only-entities", readOnlyTx, readOnlyOwners));
+        rows.add(measure("users-by-pet-type-and-city", "read-model", readOnlyTx,
+                () -> readModel.usersByPetTypeAndCity(PetType.DOG, city, null)));
+        return rows;
+    }
+
+    private static List<User> withAddresses(List<User> users) {
+        users.forEach(u -> Hibernate.initialize(u.getAddress()));
+        return users;
+    }
+
+    private Map<String, Object> measure(String query, String mode, TransactionTemplate tx,
+                                        Supplier<? extends List<?>> call) {
+        long[] retained = new long[samples];
+        int size = 0;
+        for (int i = 0; i < samples; i++) {
+            long before = usedHeap();
+            long[] sample = tx.execute(status -> {
+                List<?> result = call.get();
+                long after = usedHeap();
+                Reference.reachabilityFence(result);
+                return new long[] {after, result.size()};
+            });
+            retained[i] = sample[0] - before;
+            size = (int) sample[1];
+        }
+        Arrays.sort(retained);
+        long median = retained[samples / 2];
+        long perRow = size == 0 ? 0 : median / size;
+        double perHundredK = perRow * PER_ROWS / (1024.0 * 1024.0);
+        System.out.printf("%-28s %-20s %10d %14d %16.1f%n", query, mode, size, perRow, perHundredK);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("query", query);
+        row.put("mode", mode);
+        row.put("rows", size);
+        row.put("retainedBytes", median);
+        row.put("bytesPerRow", perRow);
+        row.put("mibPer100kRows", Math.round(perHundredK * 10) / 10.0);
+        return row;
+    }
+
+    private long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
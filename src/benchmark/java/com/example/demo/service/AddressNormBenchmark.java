@@ -0,0 +1,46 @@
+package com.example.demo.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Address field normalization: the previous {@code replaceAll("\\s+", " ")}, which compiles the pattern on
+ * every call, against {@link AddressService#norm(String)}.
+ * <p>
+ * Lives in the service package to reach the package-private {@code norm}. {@code single} is the common
+ * already-normalized input, {@code collapse} one with whitespace runs to fold.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AddressNormBenchmark {
+
+    @Param({"single", "collapse"})
+    public String input;
+
+    private String value;
+
+    @Setup
+    public void setUp() {
+        value = input.equals("single") ? "Antoine Lavoisier" : "  Antoine   Lavoisier\t";
+    }
+
+    @Benchmark
+    public String replaceAll() {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    @Benchmark
+    public String norm() {
+        return AddressService.norm(value);
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.demo.snapshot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.example.demo.dataset.DatasetGenerator;
+import com.example.demo.dataset.DatasetGenerator.DatasetStats;
+import com.example.demo.dataset.DatasetProperties;
+import com.example.demo.export.DatasetExporter;
+import com.example.demo.export.DatasetImporter;
+import com.example.demo.export.ExportProperties;
+import com.example.demo.export.TransferStats;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Warm-restart cost: restoring a {@link SnapshotStore} snapshot against replaying the same rows as a
+ * {@code data.sql}-style script of single-row inserts.
+ * <p>
+ * A source database is seeded with {@code data.sql} plus a synthetic dataset of {@code users} users (about 2.9
+ * rows per user over the four tables, so the default 3.5M users is about 10M rows), then written as a snapshot
+ * and, with {@code --replay=true}, as an insert script ({@code SCRIPT SIMPLE}). Each is then loaded into a fresh
+ * in-memory database holding only {@code schema.sql}, one database at a time. The snapshot side is timed in two
+ * steps, validation (mapping and checksumming the file) and restore. Run it with
+ * {@code mvn -Pbenchmark test-compile exec:exec@snapshot -Dsnapshot.args="--users=3500000"}; the default heap
+ * is 4 GB. 10M rows do not fit in it in memory: {@code --storage=file} keeps the databases in H2 files under
+ * {@code --dir} instead, which costs both sides the same page writes.
+ * </p>
+ */
+public final class SnapshotRestoreBenchmark {
+
+    private static final String TABLES = "address, users, pet, user_pet_ownership";
+
+    private SnapshotRestoreBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int users = 3_500_000;
+        boolean replay = true;
+        Path dir = Path.of("target/snapshot");
+        boolean file = false;
+        for (String arg : args) {
+            if (arg.startsWith("--users=")) {
+                users = Integer.parseInt(arg.substring("--users=".length()));
+            } else if (arg.startsWith("--replay=")) {
+                replay = Boolean.parseBoolean(arg.substring("--replay=".length()));
+            } else if (arg.startsWith("--storage=")) {
+                file = "file".equals(arg.substring("--storage=".length()));
+            } else if (arg.startsWith("--dir=")) {
+                dir = Path.of(arg.substring("--dir=".length()));
+            }
+        }
+        Files.createDirectories(dir);
+        SnapshotProperties snapshotProps = new SnapshotProperties();
+        snapshotProps.setFile(dir.resolve("pet-manager.snapshot"));
+        Path script = dir.resolve("data-replay.sql");
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("startedAt", Instant.now().toString());
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("maxHeapMiB", Runtime.getRuntime().maxMemory() >> 20);
+        results.put("users", users);
+        results.put("storage", file ? "file" : "mem");
+        String url = file ? "jdbc:h2:file:" + dir.toAbsolutePath() + "/" : "jdbc:h2:mem:";
+
+        DataSource source = database(url, "source");
+        DatasetProperties datasetProps = new DatasetProperties();
+        datasetProps.setUsers(users);
+        long start = System.nanoTime();
+        try (Connection connection = source.getConnection()) {
+            DatasetStats stats = new DatasetGenerator(datasetProps).load(connection);
+            results.put("generatedRows", stats.addresses() + stats.users() + stats.pets() + stats.ownerships());
+        }
+        results.put("generateMs", millis(start));
+        start = System.nanoTime();
+        SnapshotHeader header = store(snapshotProps, source).write();
+        results.put("snapshotWriteMs", millis(start));
+        results.put("snapshotBytes", SnapshotHeader.SIZE + header.payloadLength());
+        if (replay) {
+            writeInsertScript(source, script);
+            results.put("scriptBytes", Files.size(script));
+        }
+        shutdown(source);
+        System.out.println("Source written: " + results);
+
+        DataSource restored = database(url, "restored");
+        SnapshotStore store = store(snapshotProps, restored);
+        start = System.nanoTime();
+        if (store.validate().isEmpty()) {
+            throw new IllegalStateException("Snapshot rejected");
+        }
+        results.put("validateMs", millis(start));
+        start = System.nanoTime();
+        TransferStats stats = store.restore();
+        results.put("restoreMs", millis(start));
+        results.put("restoredRows", stats.addresses() + stats.users() + stats.pets() + stats.ownerships()
+                + stats.archived());
+        shutdown(restored);
+
+        if (replay) {
+            DataSource replayed = database(url, "replayed");
+            start = System.nanoTime();
+            try (Connection connection = replayed.getConnection(); Statement s = connection.createStatement()) {
+                s.execute("runscript from '" + script.toAbsolutePath() + "'");
+            }
+            results.put("replayMs", millis(start));
+            shutdown(replayed);
+        }
+
+        Path output = dir.resolve("snapshot.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), results);
+        System.out.println(results);
+        System.out.println("Results written to " + output.toAbsolutePath());
+    }
+
+    private static DataSource database(String url, String name) {
+        DataSource dataSource = new DriverManagerDataSource(url + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        if ("source".equals(name)) {
+            new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(dataSource);
+        }
+        return dataSource;
+    }
+
+    private static SnapshotStore store(SnapshotProperties props, DataSource dataSource) {
+        ExportProperties exportProps = new ExportProperties();
+        return new SnapshotStore(props, new DatasetExporter(exportProps, dataSource),
+                new DatasetImporter(exportProps, dataSource));
+    }
+
+    /**
+     * Keeps the single-row inserts of an H2 {@code SCRIPT SIMPLE} dump, the shape of a {@code data.sql}.
+     */
+    private static void writeInsertScript(DataSource dataSource, Path script) throws IOException, SQLException {
+        Path dump = script.resolveSibling("dump.sql");
+        try (Connection connection = dataSource.getConnection(); Statement s = connection.createStatement()) {
+            s.execute("script simple nosettings to '" + dump.toAbsolutePath() + "' table " + TABLES);
+        }
+        try (BufferedReader in = Files.newBufferedReader(dump); BufferedWriter out = Files.newBufferedWriter(script)) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (line.startsWith("INSERT")) {
+                    out.write(line);
+                    out.newLine();
+                }
+            }
+        }
+        Files.delete(dump);
+    }
+
+    private static void shutdown(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement s = connection.createStatement()) {
+            s.execute("drop all objects");
+            s.execute("shutdown");
+        }
+    }
+
+    private static long millis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
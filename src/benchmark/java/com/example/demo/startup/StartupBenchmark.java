@@ -0,0 +1,219 @@
+package com.example.demo.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Cold-start benchmark: launches the application in each {@link StartupMode} as a fresh process, {@code runs}
+ * times, and measures
+ * <ul>
+ *   <li>time to ready: from process launch until {@code /management/health/readiness} answers 200, which
+ *       includes the warm-up gating readiness;</li>
+ *   <li>the start-up time Spring Boot reports ({@code Started ... in N seconds});</li>
+ *   <li>the latency of the first API request ({@code GET /ownerships/pets-by-city}) once ready;</li>
+ *   <li>the resident set size of the process after that request (Linux only).</li>
+ * </ul>
+ * <p>
+ * With {@code --profiles=local,prod} every mode is also run with each Spring profile. Modes whose artifact is
+ * missing are skipped. Build the artifacts with {@code mvn -Pcds -DskipTests package}
+ * (and {@code mvn -Pnative native:compile} for {@code native}), then run
+ * {@code mvn -Pbenchmark test-compile exec:exec@startup -Dstartup.args="--runs=5"}. Options are described in
+ * {@link StartupOptions}; each run's output is kept next to the JSON results.
+ * </p>
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(3);
+
+    private final StartupOptions options;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    StartupBenchmark(StartupOptions options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        StartupOptions options = StartupOptions.parse(args);
+        Files.createDirectories(options.output().toAbsolutePath().getParent());
+        StartupBenchmark benchmark = new StartupBenchmark(options);
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (StartupMode mode : options.modes()) {
+            Path artifact = mode.artifact(options);
+            if (!Files.exists(artifact)) {
+                System.out.printf("Skipping %s: %s not found%n", mode.option(), artifact);
+                continue;
+            }
+            for (String profile : options.profiles()) {
+                String label = profile.isEmpty() ? mode.option() : mode.option() + "/" + profile;
+                modes.put(label, benchmark.run(mode, profile, label));
+            }
+        }
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("startedAt", Instant.now().toString());
+        results.put("javaVersion", Runtime.version().toString());
+        results.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        results.put("runs", options.runs());
+        results.put("appArgs", List.of(options.appArgs()));
+        results.put("modes", modes);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.output().toFile(), results);
+        print(modes);
+        System.out.println("Results written to " + options.output().toAbsolutePath());
+    }
+
+    private Map<String, Object> run(StartupMode mode, String profile, String label)
+            throws IOException, InterruptedException {
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (int i = 1; i <= options.runs(); i++) {
+            runs.add(coldStart(mode, profile, label, i));
+            System.out.printf("%s run %d: %s%n", label, i, runs.get(runs.size() - 1));
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("readyMedianMs", median(runs, "readyMs"));
+        summary.put("readyMinMs", min(runs, "readyMs"));
+        summary.put("startedMedianMs", median(runs, "startedMs"));
+        summary.put("firstRequestMedianMs", median(runs, "firstRequestMs"));
+        summary.put("firstRequestMaxMs", max(runs, "firstRequestMs"));
+        summary.put("rssMedianMb", median(runs, "rssMb"));
+        summary.put("runs", runs);
+        return summary;
+    }
+
+    private Map<String, Object> coldStart(StartupMode mode, String profile, String label, int run)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        int managementPort = freePort();
+        List<String> command = mode.command(options);
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=" + managementPort);
+        if (!profile.isEmpty()) {
+            command.add("--spring.profiles.active=" + profile);
+        }
+        command.addAll(Arrays.asList(options.appArgs()));
+        Path log = options.output().toAbsolutePath().getParent().resolve(label.replace('/', '-') + "-" + run + ".log");
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            URI readiness = URI.create("http://localhost:" + managementPort + "/management/health/readiness");
+            while (status(readiness) != 200) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(label + " exited with " + process.exitValue()
+                            + ", see " + log);
+                }
+                if (System.nanoTime() - launched > READY_TIMEOUT.toNanos()) {
+                    throw new IllegalStateException(label + " not ready within " + READY_TIMEOUT);
+                }
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            long ready = System.nanoTime();
+
+            URI first = URI.create("http://localhost:" + port + "/api/v1/ownerships/pets-by-city?city=paris");
+            long sent = System.nanoTime();
+            int firstStatus = status(first);
+            long answered = System.nanoTime();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("readyMs", millis(ready - launched));
+            result.put("startedMs", startedMillis(log));
+            result.put("firstRequestMs", millis(answered - sent));
+            result.put("firstRequestStatus", firstStatus);
+            result.put("rssMb", rssMb(process.pid()));
+            return result;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private int status(URI uri) throws InterruptedException {
+        try {
+            return http.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static double startedMillis(Path log) throws IOException {
+        Matcher m = STARTED.matcher(Files.readString(log));
+        return m.find() ? round(Double.parseDouble(m.group(1)) * 1000) : -1;
+    }
+
+    /**
+     * @return the resident set size of {@code pid} in MiB, or -1 where {@code /proc} is not available
+     */
+    private static double rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return round(Long.parseLong(line.replaceAll("\\D", "")) / 1024.0);
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(List<Map<String, Object>> runs, String key) {
+        double[] values = runs.stream().mapToDouble(r -> (double) r.get(key)).sorted().toArray();
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : round((values[mid - 1] + values[mid]) / 2);
+    }
+
+    private static double min(List<Map<String, Object>> runs, String key) {
+        return runs.stream().mapToDouble(r -> (double) r.get(key)).min().orElse(0);
+    }
+
+    private static double max(List<Map<String, Object>> runs, String key) {
+        return runs.stream().mapToDouble(r -> (double) r.get(key)).max().orElse(0);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> modes) {
+        System.out.printf("%n%-16s %12s %12s %14s %16s %16s %12s%n", "mode", "ready p50 ms", "ready min ms",
+                "started p50 ms", "1st request p50", "1st request max", "RSS p50 MiB");
+        modes.forEach((mode, value) -> {
+            Map<String, Object> s = (Map<String, Object>) value;
+            System.out.printf("%-16s %12s %12s %14s %16s %16s %12s%n", mode, s.get("readyMedianMs"),
+                    s.get("readyMinMs"), s.get("startedMedianMs"), s.get("firstRequestMedianMs"),
+                    s.get("firstRequestMaxMs"), s.get("rssMedianMb"));
+        });
+    }
+}
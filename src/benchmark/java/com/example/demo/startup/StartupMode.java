@@ -0,0 +1,75 @@
+package com.example.demo.startup;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * How the application is launched by {@link StartupBenchmark}. The JVM modes all run the extracted, AOT-processed
+ * jar of the {@code cds} build profile, so they differ only in the flags below.
+ */
+enum StartupMode {
+
+    /** Plain JVM start-up: AOT classes present but not used, no CDS archive. */
+    JAR(false, false),
+    /** Spring AOT initializers instead of runtime bean-definition parsing ({@code -Dspring.aot.enabled=true}). */
+    AOT(true, false),
+    /** Classes loaded from the AppCDS archive of the training run. */
+    CDS(false, true),
+    /** AOT and CDS together, the production configuration of the {@code cds} profile. */
+    AOT_CDS(true, true),
+    /** GraalVM native executable of the {@code native} profile. */
+    NATIVE(false, false);
+
+    private final boolean aot;
+    private final boolean cds;
+
+    StartupMode(boolean aot, boolean cds) {
+        this.aot = aot;
+        this.cds = cds;
+    }
+
+    String option() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    static StartupMode fromOption(String option) {
+        for (StartupMode mode : values()) {
+            if (mode.option().equals(option)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown mode '" + option + "'");
+    }
+
+    /**
+     * @return the command launching the application in this mode, without application arguments
+     */
+    List<String> command(StartupOptions options) {
+        if (this == NATIVE) {
+            return new ArrayList<>(List.of(options.nativeExecutable().toString()));
+        }
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        if (cds) {
+            command.add("-XX:SharedArchiveFile=" + options.archive());
+        }
+        if (aot) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        command.add("-jar");
+        command.add(options.jar().toString());
+        return command;
+    }
+
+    /**
+     * @return the file this mode needs, which {@link StartupBenchmark} checks before running it
+     */
+    Path artifact(StartupOptions options) {
+        if (this == NATIVE) {
+            return options.nativeExecutable();
+        }
+        return cds ? options.archive() : options.jar();
+    }
+}
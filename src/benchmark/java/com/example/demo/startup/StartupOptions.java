@@ -0,0 +1,74 @@
+package com.example.demo.startup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Options of a {@link StartupBenchmark} run, parsed from {@code --name=value} arguments. Arguments that are not
+ * options are passed on to every launched application (e.g. {@code --app.warmup.enabled=false}).
+ *
+ * @param modes            launch modes to compare, in order
+ * @param profiles         Spring profiles each mode is run with; an empty entry keeps the application's default
+ * @param runs             cold starts per mode; the medians are reported
+ * @param jar              extracted application jar of the {@code cds} profile
+ * @param archive          AppCDS archive of the {@code cds} profile
+ * @param nativeExecutable executable of the {@code native} profile
+ * @param output           JSON results file
+ * @param appArgs          arguments passed to the application
+ */
+record StartupOptions(List<StartupMode> modes, List<String> profiles, int runs, Path jar, Path archive, Path nativeExecutable, Path output,
+                      String[] appArgs) {
+
+    static StartupOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("modes", "jar,aot,cds,aot-cds,native");
+        values.put("profiles", "");
+        values.put("runs", "5");
+        values.put("jar", "");
+        values.put("archive", "target/cds/application.jsa");
+        values.put("native", "target/demo");
+        values.put("output", "target/startup/startup-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = arg.startsWith("--") && eq > 2 ? arg.substring(2, eq) : null;
+            if (name != null && values.containsKey(name)) {
+                values.put(name, arg.substring(eq + 1));
+            } else if (!arg.isBlank()) {
+                appArgs.add(arg);
+            }
+        }
+        return new StartupOptions(
+                Arrays.stream(values.get("modes").split(",")).map(String::trim).map(StartupMode::fromOption).toList(),
+                Arrays.stream(values.get("profiles").split(",", -1)).map(String::trim).toList(),
+                Integer.parseInt(values.get("runs")),
+                values.get("jar").isBlank() ? extractedJar() : Path.of(values.get("jar")),
+                Path.of(values.get("archive")),
+                Path.of(values.get("native")),
+                Path.of(values.get("output")),
+                appArgs.toArray(String[]::new));
+    }
+
+    private static Path extractedJar() {
+        Path dir = Path.of("target/cds");
+        if (!Files.isDirectory(dir)) {
+            return dir.resolve("missing.jar");
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.toString().endsWith(".jar")).findFirst().orElse(dir.resolve("missing.jar"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
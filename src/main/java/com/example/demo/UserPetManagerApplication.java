@@ -2,14 +2,18 @@ package com.example.demo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.retry.annotation.EnableRetry;
 
+import com.example.demo.config.PetManagerRuntimeHints;
+
 /**
  * The main entry point for the User Pet Manager Spring Boot application.
  * <p>
  * This class is annotated with {@link org.springframework.retry.annotation.EnableRetry}
  * to enable support for retryable operations, and {@link org.springframework.boot.autoconfigure.SpringBootApplication}
- * to mark it as a Spring Boot application.
+ * to mark it as a Spring Boot application. {@link PetManagerRuntimeHints} completes the hints of
+ * Spring AOT for a native image.
  * </p>
  * <p>
  * The {@code main} method starts the application using {@link org.springframework.boot.SpringApplication}.
@@ -17,6 +21,7 @@ import org.springframework.retry.annotation.EnableRetry;
  */
 @EnableRetry
 @SpringBootApplication
+@ImportRuntimeHints(PetManagerRuntimeHints.class)
 public class UserPetManagerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.example.demo.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the archive of deceased rows ({@code app.archive.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - run {@link DeceasedArchiver} every {@code interval}; off by default.</li>
+ *   <li>{@code after} - how long a user or pet stays in the hot tables once deceased.</li>
+ *   <li>{@code interval} - delay between two runs.</li>
+ *   <li>{@code batch-size} - users or pets moved per transaction.</li>
+ *   <li>{@code pause} - sleep between two batches, so a large backlog does not hold the write path.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    private boolean enabled;
+    private Duration after = Duration.ofDays(30);
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 1000;
+    private Duration pause = Duration.ofMillis(100);
+}
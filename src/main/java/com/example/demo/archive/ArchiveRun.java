@@ -0,0 +1,14 @@
+package com.example.demo.archive;
+
+import java.time.Duration;
+
+/**
+ * Counts of a completed archive run.
+ *
+ * @param users      rows moved to {@code users_archive}
+ * @param pets       rows moved to {@code pet_archive}
+ * @param ownerships rows moved to {@code user_pet_ownership_archive}
+ * @param elapsed    time spent, pauses included
+ */
+public record ArchiveRun(long users, long pets, long ownerships, Duration elapsed) {
+}
@@ -0,0 +1,60 @@
+package com.example.demo.archive;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the {@link DeceasedArchiver} every {@code app.archive.interval}, starting one interval after start-up.
+ * <p>
+ * Runs happen on a single background thread, one at a time. A failed run is logged and the next tick retries;
+ * on shutdown the thread is interrupted, which ends a run at its next pause between batches.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.archive", name = "enabled", havingValue = "true")
+public class ArchiveScheduler implements SmartLifecycle {
+
+    private final DeceasedArchiver archiver;
+    private final ArchiveProperties props;
+    private ScheduledExecutorService executor;
+
+    public ArchiveScheduler(DeceasedArchiver archiver, ArchiveProperties props) {
+        this.archiver = archiver;
+        this.props = props;
+    }
+
+    void runOnce() {
+        try {
+            archiver.archive();
+        } catch (RuntimeException e) {
+            log.warn("Archive run failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        long period = props.getInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("deceased-archiver").daemon().factory());
+        executor.scheduleWithFixedDelay(this::runOnce, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+}
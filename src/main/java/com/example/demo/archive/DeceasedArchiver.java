@@ -0,0 +1,190 @@
+package com.example.demo.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.search.UserSearchIndex;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves the users and pets deceased for longer than {@code app.archive.after}, with their ownerships, from the
+ * hot tables to the archive tables, so the living-only queries no longer scan past them.
+ * <p>
+ * A run moves the due users, then the due pets, in batches of {@code batch-size} rows, oldest death first, each
+ * batch in its own transaction: the ownerships of the batch are copied to {@code user_pet_ownership_archive} and
+ * deleted, then the rows themselves, with their ids. Batches are {@code pause} apart. Every archived row is
+ * published on the {@link ChangeLog}, and archived users leave the {@link UserSearchIndex}. Rows marked deceased
+ * before {@code deceased_at} was recorded have no date of death and stay hot.
+ * </p>
+ * <p>
+ * A failed batch (an ownership linked to a row while it was being moved) is rolled back and ends the run; the next
+ * run retries it. Moved rows are counted in {@value #ARCHIVED_METRIC} and the size of the hot tables, refreshed
+ * after each run, is published as {@value #HOT_ROWS_METRIC}, both tagged by table.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class DeceasedArchiver {
+
+    public static final String ARCHIVED_METRIC = "app.archive.rows";
+    public static final String HOT_ROWS_METRIC = "app.archive.hot.rows";
+
+    private static final String OWNERSHIPS = "user_pet_ownership";
+    private static final Table USERS = new Table("users", "users_archive", "user_id",
+            "id, name, first_name, age, gender, address_id, is_deceased, deceased_at", ChangeType.USER_ARCHIVED);
+    private static final Table PETS = new Table("pet", "pet_archive", "pet_id",
+            "id, name, age, type, is_deceased, deceased_at, address_id", ChangeType.PET_ARCHIVED);
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ChangeLog changeLog;
+    private final UserSearchIndex searchIndex;
+    private final ArchiveProperties props;
+    private final Map<String, Counter> archived = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> hotRows = new LinkedHashMap<>();
+
+    public DeceasedArchiver(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager txManager,
+                            ChangeLog changeLog, UserSearchIndex searchIndex, ArchiveProperties props,
+                            MeterRegistry meterRegistry) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(txManager);
+        this.changeLog = changeLog;
+        this.searchIndex = searchIndex;
+        this.props = props;
+        for (String table : List.of(USERS.hot(), PETS.hot(), OWNERSHIPS)) {
+            archived.put(table, Counter.builder(ARCHIVED_METRIC)
+                    .tag("table", table)
+                    .description("Rows moved from the hot tables to the archive tables")
+                    .register(meterRegistry));
+            // unknown until the first run
+            AtomicLong rows = new AtomicLong(-1);
+            hotRows.put(table, rows);
+            Gauge.builder(HOT_ROWS_METRIC, rows, r -> r.get() < 0 ? Double.NaN : r.get())
+                    .tag("table", table)
+                    .description("Rows left in the hot tables after the last archive run")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Archives the users and pets deceased for longer than {@code app.archive.after}.
+     *
+     * @return what was moved
+     */
+    public ArchiveRun archive() {
+        return archive(LocalDateTime.now().minus(props.getAfter()));
+    }
+
+    /**
+     * Archives the users and pets deceased before {@code cutoff}, with their ownerships.
+     *
+     * @param cutoff the dates of death to archive, exclusive
+     * @return what was moved
+     */
+    public synchronized ArchiveRun archive(LocalDateTime cutoff) {
+        long start = System.nanoTime();
+        Timestamp due = Timestamp.valueOf(cutoff);
+        long[] users = new long[2];
+        long[] pets = new long[2];
+        if (drain(USERS, due, users)) {
+            drain(PETS, due, pets);
+        }
+        hotRows.forEach((table, rows) -> rows.set(count(table)));
+        ArchiveRun run = new ArchiveRun(users[0], pets[0], users[1] + pets[1],
+                Duration.ofNanos(System.nanoTime() - start));
+        log.info("Archive run users={} pets={} ownerships={} hotUsers={} hotPets={} hotOwnerships={} durationMs={}",
+                run.users(), run.pets(), run.ownerships(), hotRows.get(USERS.hot()).get(),
+                hotRows.get(PETS.hot()).get(), hotRows.get(OWNERSHIPS).get(), run.elapsed().toMillis());
+        return run;
+    }
+
+    /**
+     * Moves the due rows of {@code table} batch by batch, adding the rows and ownerships moved to {@code moved}.
+     *
+     * @return whether the run may go on: {@code false} once a batch failed or the thread was interrupted
+     */
+    private boolean drain(Table table, Timestamp due, long[] moved) {
+        int limit = Math.max(1, props.getBatchSize());
+        while (true) {
+            Batch batch;
+            try {
+                batch = tx.execute(status -> moveBatch(table, due, limit));
+            } catch (DataAccessException e) {
+                log.warn("Archiving {} stopped, retried at the next run", table.hot(), e);
+                return false;
+            }
+            moved[0] += batch.ids().size();
+            moved[1] += batch.ownerships();
+            archived.get(table.hot()).increment(batch.ids().size());
+            archived.get(OWNERSHIPS).increment(batch.ownerships());
+            if (table == USERS) {
+                batch.ids().forEach(searchIndex::remove);
+            }
+            if (batch.ids().size() < limit) {
+                return true;
+            }
+            try {
+                Thread.sleep(props.getPause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    private Batch moveBatch(Table table, Timestamp due, int limit) {
+        List<Long> ids = jdbc.queryForList("SELECT id FROM " + table.hot()
+                        + " WHERE is_deceased AND deceased_at < :due ORDER BY deceased_at LIMIT :limit",
+                new MapSqlParameterSource("due", due).addValue("limit", limit), Long.class);
+        if (ids.isEmpty()) {
+            return new Batch(ids, 0);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()));
+        String owned = " FROM " + OWNERSHIPS + " WHERE " + table.ownershipColumn() + " IN (:ids)";
+        int ownerships = jdbc.update("INSERT INTO " + OWNERSHIPS + "_archive (id, user_id, pet_id, archived_at)"
+                + " SELECT id, user_id, pet_id, :now" + owned, params);
+        jdbc.update("DELETE" + owned, params);
+        jdbc.update("INSERT INTO " + table.archive() + " (" + table.columns() + ", archived_at) SELECT "
+                + table.columns() + ", :now FROM " + table.hot() + " WHERE id IN (:ids)", params);
+        jdbc.update("DELETE FROM " + table.hot() + " WHERE id IN (:ids)", params);
+        for (Long id : ids) {
+            changeLog.publish(table.change(), table == USERS ? id : null, table == PETS ? id : null);
+        }
+        return new Batch(ids, ownerships);
+    }
+
+    private long count(String table) {
+        Long rows = jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Map.of(), Long.class);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * A hot table, its archive, the ownership column pointing at it and the change published per archived row.
+     */
+    private record Table(String hot, String archive, String ownershipColumn, String columns, ChangeType change) {
+    }
+
+    private record Batch(List<Long> ids, int ownerships) {
+    }
+}
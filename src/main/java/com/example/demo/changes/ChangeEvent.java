@@ -0,0 +1,25 @@
+package com.example.demo.changes;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One committed change, as pushed on {@code GET /changes/stream}.
+ * <p>
+ * Events only carry ids: a consumer that needs the new state reads it from the other endpoints.
+ *
+ * @param seq    the position of the change in the change log, also sent as the SSE event id
+ * @param type   what changed
+ * @param userId the user concerned, absent for pet changes
+ * @param petId  the pet concerned, absent for user changes
+ * @param at     when the change was committed
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEvent(
+        long seq,
+        ChangeType type,
+        Long userId,
+        Long petId,
+        Instant at) {
+}
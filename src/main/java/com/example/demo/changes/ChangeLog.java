@@ -0,0 +1,111 @@
+package com.example.demo.changes;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-memory log of the recent entity and ownership changes, behind the change stream.
+ * <p>
+ * Changes are numbered from 1 in commit order and kept in a ring of {@code app.changes.buffer-size} slots:
+ * once it is full, every new change overwrites the oldest one. Readers ask for the changes after the last
+ * sequence number they saw; a reader whose position was overwritten (or that comes from before a restart)
+ * is told so and must resynchronize from the query endpoints.
+ * </p>
+ * <p>
+ * {@link #publish(ChangeType, Long, Long)} appends a change only once its transaction commits, so a rolled-back
+ * change is never streamed. Listeners are called after every append, outside the log's lock.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(ChangeProperties.class)
+public class ChangeLog {
+
+    private final ChangeEvent[] ring;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private long lastSeq;
+
+    public ChangeLog(ChangeProperties props) {
+        if (props.getBufferSize() < 1) {
+            throw new IllegalArgumentException("app.changes.buffer-size must be positive");
+        }
+        this.ring = new ChangeEvent[props.getBufferSize()];
+    }
+
+    /**
+     * Records a change once the surrounding transaction commits, or right away outside one.
+     *
+     * @param type   what changed
+     * @param userId the user concerned, or {@code null}
+     * @param petId  the pet concerned, or {@code null}
+     */
+    public void publish(ChangeType type, Long userId, Long petId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(type, userId, petId);
+                }
+            });
+        } else {
+            append(type, userId, petId);
+        }
+    }
+
+    /**
+     * Appends a change and notifies the listeners.
+     *
+     * @return the appended change
+     */
+    ChangeEvent append(ChangeType type, Long userId, Long petId) {
+        ChangeEvent event;
+        synchronized (this) {
+            event = new ChangeEvent(++lastSeq, type, userId, petId, Instant.now());
+            ring[(int) (event.seq() % ring.length)] = event;
+        }
+        listeners.forEach(Runnable::run);
+        return event;
+    }
+
+    /**
+     * Returns the changes following {@code seq}, oldest first.
+     *
+     * @param seq the last sequence number the reader saw, 0 for none
+     * @param max the most changes to return
+     * @return up to {@code max} changes, empty when the reader is up to date, or {@code null} when changes
+     *         following {@code seq} are no longer buffered or {@code seq} is unknown
+     */
+    public synchronized List<ChangeEvent> after(long seq, int max) {
+        if (seq < 0 || seq > lastSeq || seq < lastSeq - ring.length) {
+            return null;
+        }
+        int count = (int) Math.min(max, lastSeq - seq);
+        List<ChangeEvent> events = new ArrayList<>(count);
+        for (long next = seq + 1; next <= seq + count; next++) {
+            events.add(ring[(int) (next % ring.length)]);
+        }
+        return events;
+    }
+
+    /**
+     * @return the sequence number of the latest change, 0 before the first one
+     */
+    public synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * Registers a callback run after every appended change, on the committing thread; it must not block.
+     *
+     * @param listener the callback
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.changes;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the change stream ({@code app.changes.*}).
+ *
+ * <ul>
+ *   <li>{@code bufferSize} - how many recent changes are kept for {@code Last-Event-ID} resumption; also the
+ *       furthest a subscriber may fall behind before it is disconnected.</li>
+ *   <li>{@code batchSize} - changes copied out of the buffer per read while a subscriber catches up.</li>
+ *   <li>{@code maxSubscribers} - open streams; further requests get a 503.</li>
+ *   <li>{@code heartbeat} - interval of the comment lines that keep idle connections open through proxies.</li>
+ *   <li>{@code timeout} - lifetime of a stream; clients reconnect with their {@code Last-Event-ID}.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeProperties {
+
+    private int bufferSize = 10_000;
+    private int batchSize = 256;
+    private int maxSubscribers = 100;
+    private Duration heartbeat = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+}
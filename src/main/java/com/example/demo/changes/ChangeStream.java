@@ -0,0 +1,207 @@
+package com.example.demo.changes;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pushes the {@link ChangeLog} to the {@code GET /changes/stream} subscribers.
+ * <p>
+ * Each subscriber only holds its position in the log: there is no per-subscriber queue. A new change (or a
+ * heartbeat) merely signals the subscribers, and each one drains the log from its position on a virtual thread,
+ * one drain at a time per subscriber, however many signals arrived meanwhile. A slow consumer therefore blocks
+ * its own sender on the socket and nothing else; changes pile up in the shared, bounded log only. Once the log
+ * has overwritten the position of a subscriber, it is disconnected and counted in {@value #DROPPED_METRIC}.
+ * </p>
+ * <p>
+ * A subscriber resuming with a {@code Last-Event-ID} gets every change after it, or, when that id is no longer
+ * in the log (too old, or from before a restart), a {@value #RESET_EVENT} event carrying the id to resume from:
+ * it must reload what it needs from the query endpoints. Open streams are published as {@value #SUBSCRIBERS_METRIC}
+ * and closed before the web server shuts down gracefully, so they do not hold up the shutdown.
+ * </p>
+ */
+@Component
+public class ChangeStream implements SmartLifecycle {
+
+    public static final String SUBSCRIBERS_METRIC = "app.changes.subscribers";
+    public static final String DROPPED_METRIC = "app.changes.dropped";
+    public static final String RESET_EVENT = "reset";
+
+    private final ChangeLog changeLog;
+    private final ChangeProperties props;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Executor senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-stream-", 0).factory());
+    private final Counter dropped;
+    private ScheduledExecutorService heartbeats;
+
+    public ChangeStream(ChangeLog changeLog, ChangeProperties props, MeterRegistry meterRegistry) {
+        this.changeLog = changeLog;
+        this.props = props;
+        Gauge.builder(SUBSCRIBERS_METRIC, subscribers, Set::size)
+                .description("Open change streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Change streams closed because the subscriber fell behind the change log")
+                .register(meterRegistry);
+        changeLog.addListener(this::signalAll);
+    }
+
+    /**
+     * Opens a stream of the changes following {@code lastEventId}, or following the latest change when absent.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+     * @return the emitter to return from the controller, or empty when {@code max-subscribers} streams are open
+     */
+    public Optional<SseEmitter> open(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(props.getTimeout().toMillis());
+        return subscribe(emitter, lastEventId) ? Optional.of(emitter) : Optional.empty();
+    }
+
+    boolean subscribe(SseEmitter emitter, Long lastEventId) {
+        if (open.incrementAndGet() > props.getMaxSubscribers()) {
+            open.decrementAndGet();
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(emitter, lastEventId);
+        emitter.onCompletion(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        subscriber.signal();
+        return true;
+    }
+
+    private void signalAll() {
+        subscribers.forEach(Subscriber::signal);
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    @Override
+    public synchronized void start() {
+        long period = props.getHeartbeat().toMillis();
+        heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("change-heartbeat").daemon().factory());
+        heartbeats.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        heartbeats.shutdownNow();
+        heartbeats = null;
+        subscribers.forEach(Subscriber::complete);
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return heartbeats != null;
+    }
+
+    /**
+     * One open stream. {@code cursor} and {@code reset} are only touched by the drain, which the
+     * {@code pending} counter runs on one sender at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private long cursor;
+        private boolean reset;
+
+        Subscriber(SseEmitter emitter, Long lastEventId) {
+            this.emitter = emitter;
+            this.cursor = changeLog.lastSeq();
+            if (lastEventId != null && changeLog.after(lastEventId, 0) != null) {
+                this.cursor = lastEventId;
+            } else {
+                this.reset = lastEventId != null;
+            }
+        }
+
+        void heartbeat() {
+            heartbeatDue = true;
+            signal();
+        }
+
+        void signal() {
+            if (!closed.get() && pending.getAndIncrement() == 0) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!closed.get()) {
+                    try {
+                        send();
+                    } catch (IOException | RuntimeException e) {
+                        // client gone, stream already completed, or an event that could not be written:
+                        // an exception escaping here would skip the pending count and stall the stream
+                        close();
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void send() throws IOException {
+            if (reset) {
+                emitter.send(SseEmitter.event().name(RESET_EVENT).id(Long.toString(cursor)).data(cursor));
+                reset = false;
+            }
+            List<ChangeEvent> batch;
+            while ((batch = changeLog.after(cursor, props.getBatchSize())) == null || !batch.isEmpty()) {
+                if (batch == null) { // overwritten while this subscriber was still sending older changes
+                    dropped.increment();
+                    complete();
+                    return;
+                }
+                for (ChangeEvent event : batch) {
+                    emitter.send(SseEmitter.event().id(Long.toString(event.seq()))
+                            .data(event, MediaType.APPLICATION_JSON));
+                    cursor = event.seq();
+                }
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        void complete() {
+            emitter.complete();
+            close();
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                open.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.changes;
+
+/**
+ * Kinds of change pushed on the change stream.
+ */
+public enum ChangeType {
+    USER_CREATED,
+    USER_UPDATED,
+    USER_DECEASED,
+    PET_CREATED,
+    PET_UPDATED,
+    PET_DECEASED,
+    OWNERSHIP_LINKED,
+    USER_ARCHIVED,
+    PET_ARCHIVED
+}
@@ -1,6 +1,7 @@
 package com.example.demo.config;
 
 import org.springdoc.core.models.GroupedOpenApi;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,12 +14,14 @@ import io.swagger.v3.oas.models.info.Info;
  * This class defines beans for OpenAPI metadata and endpoint grouping using SpringDoc.
  * <ul>
  *   <li>{@link #apiInfo()} - Configures the OpenAPI specification with title, description, and version.</li>
- *   <li>{@link #publicApi()} - Groups public API endpoints for users, pets, addresses, and ownerships.</li>
+ *   <li>{@link #publicApi()} - Groups public API endpoints for users, pets, addresses, ownerships and the change stream.</li>
  * </ul>
  * <p>
  * Useful for generating interactive API documentation and organizing endpoints as the project grows.
+ * Skipped when springdoc is disabled ({@code prod} profile), which serves the precomputed {@code /openapi.json}.
  */
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", havingValue = "true", matchIfMissing = true)
 public class OpenApiConfig {
 
     @Bean
@@ -35,7 +38,7 @@ public class OpenApiConfig {
     public GroupedOpenApi publicApi() {
         return GroupedOpenApi.builder()
                 .group("public")
-                .pathsToMatch("/users/**", "/pets/**", "/addresses/**", "/ownerships/**")
+                .pathsToMatch("/users/**", "/pets/**", "/addresses/**", "/ownerships/**", "/changes/**")
                 .build();
     }
 }
@@ -0,0 +1,76 @@
+package com.example.demo.config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.example.demo.changes.ChangeEvent;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.dto.AddressCreateDto;
+import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.HouseholdDto;
+import com.example.demo.dto.HouseholdMemberDto;
+import com.example.demo.dto.IdsDto;
+import com.example.demo.dto.OwnershipCreateDto;
+import com.example.demo.dto.PetCreateDto;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserCreateDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.fields.SparseFieldsModule;
+import com.example.demo.metrics.LockMetrics;
+import com.example.demo.model.Address;
+import com.example.demo.model.Gender;
+import com.example.demo.model.Pet;
+import com.example.demo.model.PetType;
+import com.example.demo.model.User;
+import com.example.demo.model.UserPetOwnership;
+import com.example.demo.sql.SlowQueryDataSource;
+import com.example.demo.sql.SlowQueryLog;
+
+/**
+ * Runtime hints for a GraalVM native image ({@code mvn -Pnative native:compile}).
+ * <p>
+ * Spring AOT already covers the beans, the JPA managed types and the controller signatures; this registrar adds
+ * what it cannot infer:
+ * </p>
+ * <ul>
+ *   <li>Reflection on the DTOs, entities, actuator payloads and Jackson mix-ins, which Jackson and Hibernate bind
+ *       reflectively.</li>
+ *   <li>The JDK proxies {@link SlowQueryDataSource} creates around connections, statements and result sets.</li>
+ * </ul>
+ */
+public class PetManagerRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<Class<?>> BOUND_TYPES = List.of(
+            AddressCreateDto.class, AddressDto.class, BatchDto.class, HouseholdDto.class, HouseholdMemberDto.class,
+            IdsDto.class, OwnershipCreateDto.class, PetCreateDto.class, PetDto.class, UserCreateDto.class,
+            UserDto.class, UserSearchHit.class,
+            Address.class, User.class, Pet.class, UserPetOwnership.class, Gender.class, PetType.class,
+            SlowQueryLog.SlowShape.class, LockMetrics.HotRow.class, SparseFieldsModule.Filtered.class,
+            ChangeEvent.class, ChangeType.class);
+
+    static final List<Class<?>> PROXIED_JDBC_TYPES = List.of(
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class);
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : BOUND_TYPES) {
+            hints.reflection().registerType(type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+        for (Class<?> type : PROXIED_JDBC_TYPES) {
+            hints.proxies().registerJdkProxy(type);
+        }
+    }
+}
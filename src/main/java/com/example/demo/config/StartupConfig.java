@@ -0,0 +1,32 @@
+package com.example.demo.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/**
+ * Keeps the request hot path eager when {@code spring.main.lazy-initialization=true} (the {@code prod} profile).
+ * <p>
+ * Controllers, controller advice and services, with the repositories, entity manager factory and connection pool
+ * they depend on, are created at start-up, so the first request does not pay for them. Everything else
+ * (actuator endpoints, diagnostics, OpenAPI configuration...) is created on first use.
+ * </p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter hotPathEagerInitialization() {
+        return (beanName, beanDefinition, beanType) -> isHotPath(beanType);
+    }
+
+    static boolean isHotPath(Class<?> beanType) {
+        return AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, ControllerAdvice.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Service.class);
+    }
+}
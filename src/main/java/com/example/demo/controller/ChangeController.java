@@ -0,0 +1,63 @@
+package com.example.demo.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.changes.ChangeEvent;
+import com.example.demo.changes.ChangeStream;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * REST controller streaming the user, pet and ownership changes as server-sent events.
+ * <p>
+ * Each event carries a {@link ChangeEvent} as JSON data and its sequence number as id, so an
+ * {@code EventSource} resumes where it stopped after a reconnection. See {@link ChangeStream} for the
+ * {@code reset} event and the handling of slow consumers.
+ */
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+public class ChangeController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ChangeStream changeStream;
+
+    /**
+     * Opens a stream of the changes committed from now on, or after {@code Last-Event-ID} when resuming.
+     *
+     * @param lastEventId the id of the last event received before a reconnection
+     * @return the event stream, or 503 when too many streams are open
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(name = LAST_EVENT_ID, required = false) String lastEventId) {
+        return changeStream.open(parse(lastEventId))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                        .build());
+    }
+
+    /**
+     * An id this server did not issue cannot be resumed from: it is mapped to -1, which gets a reset.
+     */
+    private static Long parse(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.strip());
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.sql.SQLException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.demo.export.DatasetExporter;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Admin endpoint exporting the whole dataset for offline analytics, or to bootstrap another instance with
+ * {@code app.export.import-file}.
+ * <p>
+ * The file is written straight to the response by {@link DatasetExporter}, buffer by buffer, with chunked transfer
+ * encoding: its size is not known up front and it is never held in memory. The endpoint is not part of the public
+ * OpenAPI group.
+ * <p>
+ * The export carries every name and address, so the endpoint only exists with {@code app.export.enabled=true}
+ * (off by default).
+ */
+@RestController
+@ConditionalOnProperty(prefix = "app.export", name = "enabled", havingValue = "true")
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+public class ExportController {
+
+    static final MediaType COLUMNAR = MediaType.parseMediaType("application/vnd.pet-manager.columnar");
+    static final String FILE_NAME = "pet-manager.upmx";
+
+    private final DatasetExporter exporter;
+
+    /**
+     * Streams the {@code address}, {@code users}, {@code pet} and {@code user_pet_ownership} tables.
+     *
+     * @return the export, written once the response is committed
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        return ResponseEntity.ok()
+                .contentType(COLUMNAR)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(FILE_NAME).build()
+                        .toString())
+                .body(out -> {
+                    try {
+                        exporter.export(Channels.newChannel(out));
+                    } catch (SQLException e) {
+                        throw new IOException("Exporting the dataset failed", e);
+                    }
+                });
+    }
+}
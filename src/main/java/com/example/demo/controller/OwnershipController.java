@@ -1,23 +1,27 @@
 package com.example.demo.controller;
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.HouseholdDto;
 import com.example.demo.dto.OwnershipCreateDto;
 import com.example.demo.dto.PetDto;
 import com.example.demo.dto.UserDto;
-import com.example.demo.model.Address;
+import com.example.demo.fields.SparseFields;
+import com.example.demo.fields.SparseFieldset;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.model.User;
 import com.example.demo.model.UserPetOwnership;
+import com.example.demo.readmodel.ReadModelService;
 import com.example.demo.service.PetService;
 import com.example.demo.service.UserPetOwnershipService;
 import com.example.demo.service.UserService;
@@ -35,10 +39,13 @@ import lombok.RequiredArgsConstructor;
  *     <li>Retrieve pets from a specific city.</li>
  *     <li>Retrieve users that own a specific kind of pet from a specific city.</li>
  *     <li>Retrieve pets owned by women in a city.</li>
+ *     <li>Retrieve the household of a user: everyone connected to them through shared pets.</li>
  * </ul>
  * <p>
  * Utilizes {@link UserService}, {@link PetService}, and {@link UserPetOwnershipService}
- * for business logic and data access.
+ * for business logic and data access. The queries are served by {@link ReadModelService},
+ * which projects rows straight to DTOs without loading entities. They accept a {@code fields} sparse fieldset
+ * (e.g. {@code fields=name,firstName}); leaving {@code address} out of it also drops the address join.
  */
 @RestController
 @RequestMapping("/ownerships")
@@ -48,6 +55,7 @@ public class OwnershipController {
     private final UserService userService;
     private final PetService petService;
     private final UserPetOwnershipService ownershipService;
+    private final ReadModelService readModel;
 
     /**
      * Links a user and a pet at a specific address.
@@ -70,30 +78,29 @@ public class OwnershipController {
      *
      * @param name      the name of the user
      * @param firstName the first name of the user
+     * @param fields    the properties to return, all when absent
      * @return a list of pets owned by the user
      */
+    @SparseFieldset
     @GetMapping("/pets-by-user")
-    public List<PetDto> petsByUser(@RequestParam String name, @RequestParam String firstName) {
-        return userService.byNameFirstName(name, firstName).stream()
-                .flatMap(u -> ownershipService.byUser(u).stream())
-                .map(UserPetOwnership::getPet)
-                .filter(p -> !p.isDeceased())
-                .distinct()
-                .map(p -> new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased()))
-                .toList();
+    public List<PetDto> petsByUser(@RequestParam String name, @RequestParam String firstName,
+                                   @RequestParam(required = false) Set<String> fields) {
+        SparseFields.parse(fields, PetDto.class);
+        return readModel.petsByUser(name, firstName);
     }
 
     /**
      * Retrieves pets from a specific city.
      *
-     * @param city the city to search for pets
+     * @param city   the city to search for pets
+     * @param fields the properties to return, all when absent
      * @return a list of pets in the specified city
      */
+    @SparseFieldset
     @GetMapping("/pets-by-city")
-    public List<PetDto> petsByCity(@RequestParam String city) {
-        return petService.byCity(city).stream()
-                .map(this::toPetDto)
-                .toList();
+    public List<PetDto> petsByCity(@RequestParam String city, @RequestParam(required = false) Set<String> fields) {
+        SparseFields.parse(fields, PetDto.class);
+        return readModel.petsByCity(city);
     }
 
     /**
@@ -101,53 +108,44 @@ public class OwnershipController {
      *
      * @param petType the type of pet
      * @param city    the city to search for users
+     * @param fields  the properties to return, all when absent
      * @return a list of users that own the specified pet type in the specified city
      */
+    @SparseFieldset
     @GetMapping("/users-by-pet-type-and-city")
-    public List<UserDto> usersByPetTypeAndCity(@RequestParam PetType petType, @RequestParam String city) {
-        return ownershipService.usersByPetTypeAndCity(petType, city).stream()
-                .map(this::toUserDto)
-                .toList();
+    public List<UserDto> usersByPetTypeAndCity(@RequestParam PetType petType, @RequestParam String city,
+                                               @RequestParam(required = false) Set<String> fields) {
+        return readModel.usersByPetTypeAndCity(petType, city, SparseFields.parse(fields, UserDto.class));
     }
 
     /**
      * Retrieves pets owned by women in a specific city.
      *
-     * @param city the city to search for pets
+     * @param city   the city to search for pets
+     * @param fields the properties to return, all when absent
      * @return a list of pets owned by women in the specified city
      */
+    @SparseFieldset
     @GetMapping("/pets-by-women-in-city")
-    public List<PetDto> petsByWomenInCity(@RequestParam String city) {
-        // women in city → get their pets
-        return userService.womenInCity(city).stream()
-                .flatMap(u -> ownershipService.byUser(u).stream())
-                .map(UserPetOwnership::getPet)
-                .filter(p -> !p.isDeceased())
-                .distinct()
-                .map(p -> new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased()))
-                .toList();
+    public List<PetDto> petsByWomenInCity(@RequestParam String city,
+                                          @RequestParam(required = false) Set<String> fields) {
+        SparseFields.parse(fields, PetDto.class);
+        return readModel.petsByWomenInCity(city);
     }
 
     /**
-     * Maps a User entity to a UserDto.
+     * Retrieves the living users connected to a user through living pets they co-own: co-owners, their
+     * co-owners, and so on up to {@code depth} hops, nearest first.
      *
-     * @param u the User entity
-     * @return the mapped UserDto
+     * @param userId the id of the user
+     * @param depth  the most shared-pet hops to follow, lowered to {@code app.read-model.household-max-depth}
+     * @param limit  the most members to return, lowered to {@code app.read-model.household-max-members}
+     * @return the household members, and whether some were left out by the limit
      */
-    private UserDto toUserDto(User u) {
-        Address a = u.getAddress();
-        var ad = new AddressDto(a.getId(), a.getCity(), a.getType(), a.getAddressName(), a.getNumber());
-        return new UserDto(u.getId(), u.getName(), u.getFirstName(), u.getAge(), u.getGender(), ad, u.isDeceased());
-    }
-
-    /**
-     * Maps a Pet entity to a PetDto.
-     *
-     * @param p the Pet entity
-     * @return the mapped PetDto
-     */
-    private PetDto toPetDto(Pet p) {
-        return new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased());
+    @GetMapping("/household/{userId}")
+    public HouseholdDto household(@PathVariable Long userId, @RequestParam(defaultValue = "2") int depth,
+                                  @RequestParam(defaultValue = "100") int limit) {
+        userService.getOrThrow(userId);
+        return readModel.household(userId, depth, limit);
     }
 }
-
@@ -1,17 +1,28 @@
 package com.example.demo.controller;
 
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.IdsDto;
 import com.example.demo.dto.PetCreateDto;
 import com.example.demo.dto.PetDto;
+import com.example.demo.fields.SparseFields;
+import com.example.demo.fields.SparseFieldset;
+import com.example.demo.jfr.DtoMappingEvent;
 import com.example.demo.model.Address;
 import com.example.demo.model.Pet;
+import com.example.demo.readmodel.ReadModelService;
 import com.example.demo.service.AddressService;
 import com.example.demo.service.PetService;
 
@@ -21,22 +32,24 @@ import lombok.RequiredArgsConstructor;
 /**
  * REST controller for managing pets.
  * <p>
- * Provides endpoints to create, update, and mark pets as deceased.
+ * Provides endpoints to create, update, mark pets as deceased, and fetch many pets at once.
  * </p>
  *
  * <ul>
  *   <li><b>POST /pets</b>: Create a new pet.</li>
  *   <li><b>PUT /pets/{id}</b>: Update an existing pet with pessimistic locking and retry.</li>
  *   <li><b>PATCH /pets/{id}/death</b>: Mark a pet as deceased.</li>
+ *   <li><b>GET /pets?ids=1,2,3</b> and <b>POST /pets/by-ids</b>: Fetch many pets, in request order, listing unknown ids.</li>
  * </ul>
  *
  * Dependencies:
  * <ul>
  *   <li>{@link PetService} - Service for pet operations.</li>
  *   <li>{@link AddressService} - Service for address operations.</li>
+ *   <li>{@link ReadModelService} - Read-only batch lookups.</li>
  * </ul>
  *
- * All endpoints return {@link PetDto} objects.
+ * All endpoints return {@link PetDto} objects, wrapped in a {@link BatchDto} for the batch lookups.
  */
 @RestController
 @RequestMapping("/pets")
@@ -45,6 +58,7 @@ public class PetController {
 
     private final PetService petService;
     private final AddressService addressService;
+    private final ReadModelService readModel;
 
     /**
      * Creates a new pet.
@@ -94,7 +108,40 @@ public class PetController {
         return toDto(petService.markDeceased(id));
     }
 
+    /**
+     * Fetches many pets in one call.
+     *
+     * @param ids             the pet ids, comma-separated or repeated
+     * @param fields          the properties to return, all when absent
+     * @param includeArchived whether to look the ids missing from the hot tables up in the archive
+     * @return the pets found, in request order, and the ids that do not exist
+     */
+    @SparseFieldset
+    @GetMapping(params = "ids")
+    public BatchDto<PetDto> byIds(@RequestParam List<Long> ids, @RequestParam(required = false) Set<String> fields,
+                                  @RequestParam(defaultValue = "false") boolean includeArchived) {
+        SparseFields.parse(fields, PetDto.class);
+        return readModel.petsByIds(ids, includeArchived);
+    }
+
+    /**
+     * Fetches many pets in one call, for id sets too large for a query string.
+     *
+     * @param dto             the pet ids
+     * @param includeArchived whether to look the ids missing from the hot tables up in the archive
+     * @return the pets found, in request order, and the ids that do not exist
+     */
+    @PostMapping("/by-ids")
+    public BatchDto<PetDto> byIdsInBody(@Valid @RequestBody IdsDto dto,
+                                        @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return readModel.petsByIds(dto.ids(), includeArchived);
+    }
+
     private PetDto toDto(Pet p) {
-        return new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased());
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        PetDto dto = new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased());
+        event.finish(PetDto.class, p.getId());
+        return dto;
     }
 }
@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -14,10 +15,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.IdsDto;
 import com.example.demo.dto.UserCreateDto;
 import com.example.demo.dto.UserDto;
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.fields.SparseFields;
+import com.example.demo.fields.SparseFieldset;
+import com.example.demo.jfr.DtoMappingEvent;
 import com.example.demo.model.Address;
 import com.example.demo.model.User;
+import com.example.demo.readmodel.ReadModelService;
+import com.example.demo.search.UserSearchIndex;
 import com.example.demo.service.AddressService;
 import com.example.demo.service.UserService;
 
@@ -33,8 +42,12 @@ import lombok.RequiredArgsConstructor;
  *     <li><b>PUT /users/{id}</b>: Update user core fields and optionally move to a new address (also de-duplicated).</li>
  *     <li><b>PATCH /users/{id}/death</b>: Mark a user as deceased (soft delete).</li>
  *     <li><b>GET /users/by-name</b>: Find all users matching the given name and first name (handles homonyms).</li>
+ *     <li>Both GET lookups take an optional {@code fields} sparse fieldset, e.g. {@code fields=name,firstName}.</li>
+ *     <li><b>GET /users?ids=1,2,3</b> and <b>POST /users/by-ids</b>: Fetch many users at once, in request order, listing unknown ids.</li>
+ *     <li><b>GET /users/search</b>: Prefix and typo-tolerant search over names and first names, best match first.</li>
  * </ul>
- * Uses {@link UserService} for user operations and {@link AddressService} for address management.
+ * Uses {@link UserService} for user operations, {@link AddressService} for address management and
+ * {@link ReadModelService} for the read-only name search and {@link UserSearchIndex} for the fuzzy search.
  */
 @RestController
 @RequestMapping("/users")
@@ -43,6 +56,8 @@ public class UserController {
 
     private final UserService userService;
     private final AddressService addressService;
+    private final ReadModelService readModel;
+    private final UserSearchIndex searchIndex;
 
     /**
      * CREATE (insert) - address is created or reused (de-dup) behind the scenes.
@@ -100,11 +115,57 @@ public class UserController {
      *
      * @param name      the name of the user
      * @param firstName the first name of the user
+     * @param fields    the properties to return, all when absent; leaving {@code address} out skips its join
+     * @param includeArchived whether to also return users moved to the archive tables
      * @return a list of matching users
      */
+    @SparseFieldset
     @GetMapping("/by-name")
-    public List<UserDto> byName(@RequestParam String name, @RequestParam String firstName) {
-        return userService.byNameFirstName(name, firstName).stream().map(this::toDto).toList();
+    public List<UserDto> byName(@RequestParam String name, @RequestParam String firstName,
+                                @RequestParam(required = false) Set<String> fields,
+                                @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return readModel.usersByName(name, firstName, SparseFields.parse(fields, UserDto.class), includeArchived);
+    }
+
+    /**
+     * Fetches many users in one call.
+     *
+     * @param ids             the user ids, comma-separated or repeated
+     * @param fields          the properties to return, all when absent; leaving {@code address} out skips its join
+     * @param includeArchived whether to look the ids missing from the hot tables up in the archive
+     * @return the users found, in request order, and the ids that do not exist
+     */
+    @SparseFieldset
+    @GetMapping(params = "ids")
+    public BatchDto<UserDto> byIds(@RequestParam List<Long> ids, @RequestParam(required = false) Set<String> fields,
+                                   @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return readModel.usersByIds(ids, SparseFields.parse(fields, UserDto.class), includeArchived);
+    }
+
+    /**
+     * Fetches many users in one call, for id sets too large for a query string.
+     *
+     * @param dto             the user ids
+     * @param includeArchived whether to look the ids missing from the hot tables up in the archive
+     * @return the users found, in request order, and the ids that do not exist
+     */
+    @PostMapping("/by-ids")
+    public BatchDto<UserDto> byIdsInBody(@Valid @RequestBody IdsDto dto,
+                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return readModel.usersByIds(dto.ids(), null, includeArchived);
+    }
+
+    /**
+     * Searches users by name and first name, tolerating partial words and typos
+     * (e.g. {@code dupon jean} finds both "Dupont Jean" and "Dupond Jean").
+     *
+     * @param q     the words to look for, in any order
+     * @param limit the maximum number of results
+     * @return the matching users, best match first
+     */
+    @GetMapping("/search")
+    public List<UserSearchHit> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return searchIndex.search(q, limit);
     }
 
     /**
@@ -114,9 +175,13 @@ public class UserController {
      * @return the UserDto
      */
     private UserDto toDto(User u) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
         var a = u.getAddress();
         var ad = new AddressDto(a.getId(), a.getCity(), a.getType(), a.getAddressName(), a.getNumber());
-        return new UserDto(u.getId(), u.getName(), u.getFirstName(), u.getAge(), u.getGender(), ad, u.isDeceased());
+        UserDto dto = new UserDto(u.getId(), u.getName(), u.getFirstName(), u.getAge(), u.getGender(), ad, u.isDeceased());
+        event.finish(UserDto.class, u.getId());
+        return dto;
     }
 }
 
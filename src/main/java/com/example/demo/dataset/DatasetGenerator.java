@@ -0,0 +1,356 @@
+package com.example.demo.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+
+/**
+ * Generates a synthetic dataset with realistic skew and bulk-loads it into the schema with batched JDBC.
+ * <p>
+ * The data is built address by address, so it respects the same-address rule by construction:
+ * </p>
+ * <ul>
+ *   <li>City populations follow a Zipf distribution: a few cities hold most addresses.</li>
+ *   <li>Each address holds a household of users (geometric size, mean {@code household-size}). Members mostly
+ *       share a surname drawn from a Zipf distribution, so homonyms are common.</li>
+ *   <li>Pets live at a household's address (Poisson count, mean {@code pets-per-household}). In households of
+ *       several users, a {@code co-ownership-ratio} share of pets are owned by every member; the others have a
+ *       single owner.</li>
+ *   <li>A {@code deceased-ratio} share of users and pets are marked deceased, at a time up to three years
+ *       before the load, drawn from a second random stream so the other columns do not depend on it.</li>
+ * </ul>
+ * <p>
+ * A single {@link SplittableRandom} seeded with {@code seed} drives everything, so the same settings always
+ * produce the same rows. Ids are assigned explicitly after the highest existing ones (the {@code data.sql} seed
+ * stays in place), the whole load runs in one transaction, and the identity columns are restarted afterwards so
+ * the application keeps inserting after the generated rows.
+ * </p>
+ */
+public class DatasetGenerator {
+
+    private static final String[] CITIES = {
+            "paris", "mumbai", "london", "pune", "berlin", "madrid", "tokyo", "lagos", "lima", "cairo", "delhi",
+            "rome", "lyon", "osaka", "porto", "dakar", "quito", "oslo", "kyiv", "tunis"};
+    private static final String[] SURNAMES = {
+            "Doe", "Smith", "Martin", "Patel", "Khan", "Brown", "Garcia", "Nguyen", "Kumar", "Dubois", "Rossi",
+            "Müller", "Silva", "Kim", "Sato", "Okafor", "Lopez", "Wilson", "Singh", "Bernard"};
+    private static final String[] SURNAME_PREFIXES = {
+            "Al", "Ber", "Car", "Dal", "El", "Fer", "Gar", "Hal", "Is", "Jor", "Kal", "Lam", "Mor", "Nor", "Or",
+            "Par", "Ros", "Sal", "Tor", "Val"};
+    private static final String[] SURNAME_SUFFIXES = {
+            "and", "berg", "court", "dini", "ez", "ford", "gaard", "ian", "kov", "lin", "mann", "nez", "son",
+            "ter", "ville"};
+    private static final String[] FIRST_NAMES = {
+            "John", "Jane", "Anna", "Ravi", "Lea", "Tom", "Mia", "Omar", "Emma", "Noah", "Sara", "Ali", "Yuki",
+            "Lucas", "Chloe", "Arjun", "Ines", "Hugo", "Amara", "Leo", "Nina", "Ken", "Zoe", "Ivan", "Maya"};
+    private static final String[] STREET_TYPES = {"road", "street", "avenue", "boulevard", "lane", "place"};
+    private static final String[] STREET_NAMES = {
+            "antoine lavoisier", "marine drive", "baker", "haussmann", "fc", "sv", "abbey road", "victoria",
+            "station", "church", "market", "park", "river", "mill", "oak", "harbour", "castle", "garden"};
+    private static final String[] PET_NAMES = {
+            "Rex", "Milo", "Luna", "Bella", "Kiwi", "Nala", "Max", "Coco", "Simba", "Oscar", "Ziggy", "Pixel"};
+    /** Pet type weights, in {@link PetType} declaration order. */
+    private static final double[] PET_TYPE_WEIGHTS = {0.45, 0.38, 0.03, 0.04, 0.10};
+    private static final double SHARED_SURNAME_RATIO = 0.8;
+    private static final int MAX_HOUSEHOLD = 12;
+    private static final long DEATH_WINDOW_MILLIS = Duration.ofDays(3 * 365).toMillis();
+
+    private final DatasetProperties props;
+
+    public DatasetGenerator(DatasetProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * Generates the dataset and loads it through {@code connection}, committing once at the end.
+     *
+     * @param connection a connection to the application schema; its auto-commit mode is restored afterwards
+     * @return what was loaded
+     * @throws SQLException if an insert fails; the load is then rolled back
+     */
+    public DatasetStats load(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        Rows rows;
+        try (BatchWriter writer = new BatchWriter(connection, props.getBatchSize())) {
+            rows = generate(writer, new Rows(
+                    maxId(connection, "address"), maxId(connection, "users"),
+                    maxId(connection, "pet"), maxId(connection, "user_pet_ownership")));
+            writer.flush();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        try (Statement s = connection.createStatement()) {
+            restartIdentity(s, "address", rows.address);
+            restartIdentity(s, "users", rows.user);
+            restartIdentity(s, "pet", rows.pet);
+            restartIdentity(s, "user_pet_ownership", rows.ownership);
+        }
+        return new DatasetStats(rows.address - rows.baseAddress, rows.user - rows.baseUser,
+                rows.pet - rows.basePet, rows.ownership - rows.baseOwnership,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private Rows generate(BatchWriter writer, Rows ids) throws SQLException {
+        SplittableRandom rnd = new SplittableRandom(props.getSeed());
+        SplittableRandom deaths = new SplittableRandom(~props.getSeed());
+        long now = System.currentTimeMillis();
+        Zipf cities = new Zipf(props.getCities(), props.getCitySkew());
+        Zipf surnames = new Zipf(props.getSurnames(), props.getSurnameSkew());
+        Zipf firstNames = new Zipf(FIRST_NAMES.length, 0.8);
+        double householdContinue = Math.max(0, props.getHouseholdSize() - 1) / Math.max(1, props.getHouseholdSize());
+        int remaining = props.userCount();
+        while (remaining > 0) {
+            long address = ++ids.address;
+            writer.address(address, cityName(cities.sample(rnd)), STREET_TYPES[rnd.nextInt(STREET_TYPES.length)],
+                    STREET_NAMES[rnd.nextInt(STREET_NAMES.length)], Long.toString(address));
+
+            int household = Math.min(remaining, householdSize(rnd, householdContinue));
+            String familyName = surname(surnames.sample(rnd));
+            long firstUser = ids.user + 1;
+            for (int i = 0; i < household; i++) {
+                String name = rnd.nextDouble() < SHARED_SURNAME_RATIO ? familyName : surname(surnames.sample(rnd));
+                writer.user(++ids.user, name, FIRST_NAMES[firstNames.sample(rnd)], 18 + rnd.nextInt(78),
+                        gender(rnd), address, deathDate(deceased(rnd), deaths, now));
+            }
+            remaining -= household;
+
+            int pets = poisson(rnd, props.getPetsPerHousehold());
+            for (int i = 0; i < pets; i++) {
+                long pet = ++ids.pet;
+                writer.pet(pet, PET_NAMES[rnd.nextInt(PET_NAMES.length)], rnd.nextInt(20), petType(rnd),
+                        deathDate(deceased(rnd), deaths, now), address);
+                if (household > 1 && rnd.nextDouble() < props.getCoOwnershipRatio()) {
+                    for (long user = firstUser; user <= ids.user; user++) {
+                        writer.ownership(++ids.ownership, user, pet);
+                    }
+                } else {
+                    writer.ownership(++ids.ownership, firstUser + rnd.nextInt(household), pet);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private boolean deceased(SplittableRandom rnd) {
+        return rnd.nextDouble() < props.getDeceasedRatio();
+    }
+
+    private static Timestamp deathDate(boolean deceased, SplittableRandom deaths, long now) {
+        return deceased ? new Timestamp(now - deaths.nextLong(DEATH_WINDOW_MILLIS)) : null;
+    }
+
+    private static int householdSize(SplittableRandom rnd, double continueProbability) {
+        int size = 1;
+        while (size < MAX_HOUSEHOLD && rnd.nextDouble() < continueProbability) {
+            size++;
+        }
+        return size;
+    }
+
+    private static int poisson(SplittableRandom rnd, double mean) {
+        double limit = Math.exp(-mean);
+        double p = rnd.nextDouble();
+        int k = 0;
+        while (p > limit) {
+            p *= rnd.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    private static String gender(SplittableRandom rnd) {
+        double g = rnd.nextDouble();
+        return (g < 0.49 ? Gender.FEMALE : g < 0.98 ? Gender.MALE : Gender.OTHER).name();
+    }
+
+    private static String petType(SplittableRandom rnd) {
+        double t = rnd.nextDouble();
+        for (int i = 0; i < PET_TYPE_WEIGHTS.length; i++) {
+            t -= PET_TYPE_WEIGHTS[i];
+            if (t < 0) {
+                return PetType.values()[i].name();
+            }
+        }
+        return PetType.OTHER.name();
+    }
+
+    static String cityName(int rank) {
+        return rank < CITIES.length ? CITIES[rank] : "city " + (rank + 1);
+    }
+
+    static String surname(int rank) {
+        if (rank < SURNAMES.length) {
+            return SURNAMES[rank];
+        }
+        int i = rank - SURNAMES.length;
+        int combos = SURNAME_PREFIXES.length * SURNAME_SUFFIXES.length;
+        String name = SURNAME_PREFIXES[i % SURNAME_PREFIXES.length]
+                + SURNAME_SUFFIXES[(i / SURNAME_PREFIXES.length) % SURNAME_SUFFIXES.length];
+        return i < combos ? name : name + "-" + (i / combos);
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement s = connection.createStatement();
+             ResultSet rs = s.executeQuery("select coalesce(max(id), 0) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void restartIdentity(Statement s, String table, long lastId) throws SQLException {
+        s.execute("alter table " + table + " alter column id restart with " + (lastId + 1));
+    }
+
+    /**
+     * Counts of a completed load.
+     */
+    public record DatasetStats(long addresses, long users, long pets, long ownerships, Duration elapsed) {
+    }
+
+    /**
+     * Last id used per table, starting from the highest existing ones.
+     */
+    private static final class Rows {
+        private final long baseAddress;
+        private final long baseUser;
+        private final long basePet;
+        private final long baseOwnership;
+        private long address;
+        private long user;
+        private long pet;
+        private long ownership;
+
+        Rows(long address, long user, long pet, long ownership) {
+            this.baseAddress = this.address = address;
+            this.baseUser = this.user = user;
+            this.basePet = this.pet = pet;
+            this.baseOwnership = this.ownership = ownership;
+        }
+    }
+
+    /**
+     * Samples ranks {@code 0..n-1} with probability proportional to {@code 1 / (rank + 1)^skew}.
+     */
+    static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double skew) {
+            cumulative = new double[Math.max(1, n)];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += 1 / Math.pow(i + 1, skew);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < cumulative.length; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom rnd) {
+            int i = Arrays.binarySearch(cumulative, rnd.nextDouble());
+            return Math.min(cumulative.length - 1, i >= 0 ? i : -i - 1);
+        }
+    }
+
+    /**
+     * Batches the inserts of the four tables and executes them in foreign-key order whenever one batch is full.
+     */
+    private static final class BatchWriter implements AutoCloseable {
+        private final int batchSize;
+        private final PreparedStatement addresses;
+        private final PreparedStatement users;
+        private final PreparedStatement pets;
+        private final PreparedStatement ownerships;
+        private int pending;
+
+        BatchWriter(Connection c, int batchSize) throws SQLException {
+            this.batchSize = Math.max(1, batchSize);
+            this.addresses = c.prepareStatement(
+                    "insert into address (id, city, type, address_name, number) values (?, ?, ?, ?, ?)");
+            this.users = c.prepareStatement("insert into users (id, name, first_name, age, gender, address_id, "
+                    + "is_deceased, deceased_at) values (?, ?, ?, ?, ?, ?, ?, ?)");
+            this.pets = c.prepareStatement("insert into pet (id, name, age, type, is_deceased, deceased_at, "
+                    + "address_id) values (?, ?, ?, ?, ?, ?, ?)");
+            this.ownerships = c.prepareStatement(
+                    "insert into user_pet_ownership (id, user_id, pet_id) values (?, ?, ?)");
+        }
+
+        void address(long id, String city, String type, String name, String number) throws SQLException {
+            addresses.setLong(1, id);
+            addresses.setString(2, city);
+            addresses.setString(3, type);
+            addresses.setString(4, name);
+            addresses.setString(5, number);
+            add(addresses);
+        }
+
+        void user(long id, String name, String firstName, int age, String gender, long address, Timestamp deceasedAt)
+                throws SQLException {
+            users.setLong(1, id);
+            users.setString(2, name);
+            users.setString(3, firstName);
+            users.setInt(4, age);
+            users.setString(5, gender);
+            users.setLong(6, address);
+            users.setBoolean(7, deceasedAt != null);
+            users.setTimestamp(8, deceasedAt);
+            add(users);
+        }
+
+        void pet(long id, String name, int age, String type, Timestamp deceasedAt, long address) throws SQLException {
+            pets.setLong(1, id);
+            pets.setString(2, name);
+            pets.setInt(3, age);
+            pets.setString(4, type);
+            pets.setBoolean(5, deceasedAt != null);
+            pets.setTimestamp(6, deceasedAt);
+            pets.setLong(7, address);
+            add(pets);
+        }
+
+        void ownership(long id, long user, long pet) throws SQLException {
+            ownerships.setLong(1, id);
+            ownerships.setLong(2, user);
+            ownerships.setLong(3, pet);
+            add(ownerships);
+        }
+
+        private void add(PreparedStatement statement) throws SQLException {
+            statement.addBatch();
+            if (++pending >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            addresses.executeBatch();
+            users.executeBatch();
+            pets.executeBatch();
+            ownerships.executeBatch();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            addresses.close();
+            users.close();
+            pets.close();
+            ownerships.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.dataset;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dataset.DatasetGenerator.DatasetStats;
+import com.example.demo.snapshot.SnapshotDatabaseInitializer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the synthetic dataset of {@link DatasetGenerator} at start-up when {@code app.dataset.enabled=true}.
+ * <p>
+ * It runs as the first {@link ApplicationRunner}, before the warm-up, so the warm-up and the readiness probe
+ * see the full dataset. Unlike the warm-up, a failed load fails the start-up: a scale test must not silently
+ * run against the small seed. The inserts go through the unwrapped JDBC connection, bypassing the statement
+ * timing of the slow-query log. It is skipped when the database was restored from the snapshot, which already
+ * holds the dataset loaded before it was written.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(DatasetProperties.class)
+@ConditionalOnProperty(prefix = "app.dataset", name = "enabled", havingValue = "true")
+public class DatasetLoader implements ApplicationRunner {
+
+    private final DatasetProperties props;
+    private final DataSource dataSource;
+    private final ObjectProvider<SnapshotDatabaseInitializer> snapshot;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SnapshotDatabaseInitializer initializer = snapshot.getIfAvailable();
+        if (initializer != null && initializer.isRestored()) {
+            log.info("Dataset loading skipped, the database was restored from the snapshot");
+            return;
+        }
+        DatasetStats stats;
+        try (Connection pooled = dataSource.getConnection()) {
+            stats = new DatasetGenerator(props).load(pooled.unwrap(Connection.class));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Loading the synthetic dataset failed", e);
+        }
+        log.info("Dataset loaded users={} seed={} addresses={} pets={} ownerships={} durationMs={}",
+                stats.users(), props.getSeed(), stats.addresses(), stats.pets(), stats.ownerships(),
+                stats.elapsed().toMillis());
+    }
+}
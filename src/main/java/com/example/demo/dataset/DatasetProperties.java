@@ -0,0 +1,50 @@
+package com.example.demo.dataset;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the synthetic dataset loaded at start-up ({@code app.dataset.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - generates and loads the dataset before the warm-up; off by default.</li>
+ *   <li>{@code size} - preset number of users; {@code users} overrides it when positive.</li>
+ *   <li>{@code seed} - the same seed and settings always produce the same rows.</li>
+ *   <li>{@code cities} / {@code citySkew} - number of cities and the Zipf exponent of their population.</li>
+ *   <li>{@code surnames} / {@code surnameSkew} - number of surnames and the Zipf exponent of their frequency;
+ *       a high skew yields many homonyms.</li>
+ *   <li>{@code householdSize} - mean number of users per address.</li>
+ *   <li>{@code petsPerHousehold} - mean number of pets per address.</li>
+ *   <li>{@code coOwnershipRatio} - share of pets in multi-person households owned by every member.</li>
+ *   <li>{@code deceasedRatio} - share of users and pets marked deceased.</li>
+ *   <li>{@code batchSize} - rows per JDBC batch.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.dataset")
+public class DatasetProperties {
+
+    private boolean enabled = false;
+    private DatasetSize size = DatasetSize.SMALL;
+    private int users = 0;
+    private long seed = 42;
+    private int cities = 500;
+    private double citySkew = 1.1;
+    private int surnames = 300;
+    private double surnameSkew = 1.2;
+    private double householdSize = 2.4;
+    private double petsPerHousehold = 1.3;
+    private double coOwnershipRatio = 0.3;
+    private double deceasedRatio = 0.03;
+    private int batchSize = 5_000;
+
+    /**
+     * @return the number of users to generate: {@code users} if positive, otherwise the preset of {@code size}
+     */
+    public int userCount() {
+        return users > 0 ? users : size.users();
+    }
+}
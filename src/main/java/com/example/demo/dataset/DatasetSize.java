@@ -0,0 +1,24 @@
+package com.example.demo.dataset;
+
+/**
+ * Dataset size presets, by number of users. Pets, addresses and ownerships follow from the distribution
+ * settings of {@link DatasetProperties}.
+ */
+public enum DatasetSize {
+
+    TINY(1_000),
+    SMALL(10_000),
+    MEDIUM(100_000),
+    LARGE(1_000_000),
+    HUGE(5_000_000);
+
+    private final int users;
+
+    DatasetSize(int users) {
+        this.users = users;
+    }
+
+    public int users() {
+        return users;
+    }
+}
@@ -12,7 +12,7 @@ package com.example.demo.dto;
  * @param number      the address number
  */
 public record AddressDto(
-        Long id,
+        long id,
         String city,
         String type,
         String addressName,
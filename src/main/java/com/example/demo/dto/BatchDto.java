@@ -0,0 +1,17 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a batch lookup by id.
+ * <p>
+ * Ids that do not exist are listed in {@code missing} instead of failing the whole batch.
+ *
+ * @param items   the records found, in the order their ids were requested (duplicates removed)
+ * @param missing the requested ids that were not found, in request order
+ * @param <T>     the record type
+ */
+public record BatchDto<T>(
+        List<T> items,
+        List<Long> missing) {
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the users connected to a user through shared pets.
+ * <p>
+ * When more members are found than were asked for, the closest ones are kept and {@code truncated} is set.
+ *
+ * @param members   the members, nearest first then by id; the queried user is not included
+ * @param truncated whether members beyond the limit were left out
+ */
+public record HouseholdDto(
+        List<HouseholdMemberDto> members,
+        boolean truncated) {
+}
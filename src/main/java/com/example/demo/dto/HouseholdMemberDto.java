@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+/**
+ * DTO for one member of a user's household, as returned by the household query.
+ *
+ * @param id        the unique identifier of the user
+ * @param name      the name of the user
+ * @param firstName the first name of the user
+ * @param depth     the fewest shared-pet hops from the queried user; 1 for a direct co-owner
+ */
+public record HouseholdMemberDto(
+        long id,
+        String name,
+        String firstName,
+        int depth) {
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for a batch lookup by id, for id sets too large for a query string.
+ *
+ * @param ids the ids to fetch, in the order the results should come back
+ */
+public record IdsDto(
+        @NotNull List<@NotNull Long> ids) {
+}
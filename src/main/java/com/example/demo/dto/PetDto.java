@@ -14,7 +14,7 @@ import com.example.demo.model.PetType;
  * @param address the address of the pet
  */
 public record PetDto(
-    Long id,
+    long id,
     String name,
     Integer age,
     PetType type,
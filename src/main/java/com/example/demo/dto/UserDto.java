@@ -12,7 +12,7 @@ import com.example.demo.model.Gender;
  * @param firstName   the first name of the user
  */
 public record UserDto(
-                Long id,
+                long id,
                 String name,
                 String firstName,
                 Integer age,
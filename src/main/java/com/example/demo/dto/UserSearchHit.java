@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+/**
+ * DTO for one result of the user name search.
+ * <p>
+ * Carries just enough to pick the right user; the full record is available from the other user endpoints.
+ *
+ * @param id        the unique identifier of the user
+ * @param name      the name of the user
+ * @param firstName the first name of the user
+ * @param score     the match score; higher is better (exact match 3 per query word, prefix 2-3, typo 1-2)
+ */
+public record UserSearchHit(
+        long id,
+        String name,
+        String firstName,
+        double score) {
+}
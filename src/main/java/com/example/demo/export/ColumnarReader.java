@@ -0,0 +1,267 @@
+package com.example.demo.export;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.example.demo.export.ExportTable.Column;
+
+/**
+ * Reads back the format of {@link ColumnarWriter}, one block of rows at a time.
+ * <p>
+ * A file that does not start with the expected magic and version, lists other columns than this version of
+ * {@link ExportTable}, or ends before its terminator is rejected with an {@link IOException}.
+ * </p>
+ */
+final class ColumnarReader {
+
+    /** Upper bounds that keep a corrupted length from allocating gigabytes. */
+    private static final int MAX_BLOCK_ROWS = 1 << 20;
+    private static final int MAX_VALUE_BYTES = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final int dictionaryMaxEntries;
+    private long bytesRead;
+
+    private List<Column> columns;
+    private long[][] numbers;
+    private String[][] strings;
+    private long[] previous;
+    private List<List<String>> dictionaries;
+
+    ColumnarReader(ReadableByteChannel channel, ExportProperties props) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate((int) Math.max(16, props.getBufferSize().toBytes())).limit(0);
+        this.dictionaryMaxEntries = props.getDictionaryMaxEntries();
+    }
+
+    void readHeader() throws IOException {
+        byte[] magic = new byte[ColumnarWriter.MAGIC.length];
+        for (int i = 0; i < magic.length; i++) {
+            magic[i] = get();
+        }
+        if (!Arrays.equals(magic, ColumnarWriter.MAGIC)) {
+            throw new IOException("Not a pet manager export");
+        }
+        int version = get();
+        if (version != ColumnarWriter.VERSION) {
+            throw new IOException("Unsupported export version " + version + ", expected " + ColumnarWriter.VERSION);
+        }
+    }
+
+    /**
+     * @return the next table, or {@code null} at the end of the file
+     */
+    ExportTable nextTable() throws IOException {
+        int tag = get();
+        if (tag == 0) {
+            return null;
+        }
+        ExportTable[] tables = ExportTable.values();
+        if (tag < 1 || tag > tables.length) {
+            throw new IOException("Unknown table tag " + tag);
+        }
+        ExportTable table = tables[tag - 1];
+        long n = getVarLong();
+        if (n != table.columns().size()) {
+            throw new IOException(table.table() + " has " + n + " columns, expected " + table.columns().size());
+        }
+        List<Column> found = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            String name = new String(getBytes(), StandardCharsets.US_ASCII);
+            int kind = get();
+            if (kind < 0 || kind >= ExportTable.Kind.values().length) {
+                throw new IOException("Unknown column kind " + kind + " for " + table.table() + "." + name);
+            }
+            found.add(new Column(name, ExportTable.Kind.values()[kind]));
+        }
+        if (!found.equals(table.columns())) {
+            throw new IOException("Columns of " + table.table() + " do not match: " + found);
+        }
+        columns = table.columns();
+        numbers = new long[columns.size()][];
+        strings = new String[columns.size()][];
+        previous = new long[columns.size()];
+        dictionaries = new ArrayList<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            dictionaries.add(new ArrayList<>());
+        }
+        return table;
+    }
+
+    /**
+     * Decodes the next block of the current table.
+     *
+     * @return its number of rows, 0 at the end of the table
+     */
+    int nextBlock() throws IOException {
+        long rows = getVarLong();
+        if (rows < 0 || rows > MAX_BLOCK_ROWS) {
+            throw new IOException("Block of " + rows + " rows exceeds " + MAX_BLOCK_ROWS);
+        }
+        for (int c = 0; c < columns.size() && rows > 0; c++) {
+            switch (columns.get(c).kind()) {
+                case ID, REF -> readDeltas(c, (int) rows);
+                case INT, TIMESTAMP -> readInts(c, (int) rows);
+                case STRING -> readStrings(c, (int) rows);
+                case BOOL -> readBits(c, (int) rows);
+            }
+        }
+        return (int) rows;
+    }
+
+    /**
+     * @return the value of an {@code ID}, {@code REF} or {@code INT} column, {@link ColumnarWriter#NULL} for a
+     *         {@code null} integer
+     */
+    long getLong(int column, int row) {
+        return numbers[column][row];
+    }
+
+    /**
+     * @return the value of a {@code TIMESTAMP} column, or {@code null}
+     */
+    LocalDateTime getTimestamp(int column, int row) {
+        long micros = numbers[column][row];
+        if (micros == ColumnarWriter.NULL) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, ColumnarWriter.MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, ColumnarWriter.MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    boolean getBoolean(int column, int row) {
+        return numbers[column][row] != 0;
+    }
+
+    String getString(int column, int row) {
+        return strings[column][row];
+    }
+
+    /**
+     * @return the number of bytes consumed so far
+     */
+    long bytesRead() {
+        return bytesRead - buffer.remaining();
+    }
+
+    private void readDeltas(int column, int rows) throws IOException {
+        long[] values = numbers(column, rows);
+        long last = previous[column];
+        for (int r = 0; r < rows; r++) {
+            last += unzigzag(getVarLong());
+            values[r] = last;
+        }
+        previous[column] = last;
+    }
+
+    private void readInts(int column, int rows) throws IOException {
+        long[] values = numbers(column, rows);
+        for (int r = 0; r < rows; r++) {
+            long v = getVarLong();
+            values[r] = v == 0 ? ColumnarWriter.NULL : unzigzag(v - 1);
+        }
+    }
+
+    private void readStrings(int column, int rows) throws IOException {
+        if (strings[column] == null || strings[column].length < rows) {
+            strings[column] = new String[rows];
+        }
+        String[] values = strings[column];
+        List<String> dictionary = dictionaries.get(column);
+        for (int r = 0; r < rows; r++) {
+            long code = getVarLong();
+            if (code == 0) {
+                values[r] = null;
+            } else if (code == 1) {
+                values[r] = new String(getBytes(), StandardCharsets.UTF_8);
+                if (dictionary.size() < dictionaryMaxEntries) {
+                    dictionary.add(values[r]);
+                }
+            } else if (code - 2 < dictionary.size()) {
+                values[r] = dictionary.get((int) (code - 2));
+            } else {
+                throw new IOException("Unknown dictionary code " + code + " in " + columns.get(column).name());
+            }
+        }
+    }
+
+    private void readBits(int column, int rows) throws IOException {
+        long[] values = numbers(column, rows);
+        for (int r = 0; r < rows; r += 8) {
+            int bits = get();
+            for (int b = 0; b < 8 && r + b < rows; b++) {
+                values[r + b] = (bits >>> b) & 1;
+            }
+        }
+    }
+
+    private long[] numbers(int column, int rows) {
+        if (numbers[column] == null || numbers[column].length < rows) {
+            numbers[column] = new long[rows];
+        }
+        return numbers[column];
+    }
+
+    private byte[] getBytes() throws IOException {
+        long length = getVarLong();
+        if (length < 0 || length > MAX_VALUE_BYTES) {
+            throw new IOException("Value of " + length + " bytes exceeds " + MAX_VALUE_BYTES);
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                fill();
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.get(bytes, offset, n);
+            offset += n;
+        }
+        return bytes;
+    }
+
+    private long getVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private byte get() throws IOException {
+        if (!buffer.hasRemaining()) {
+            fill();
+        }
+        return buffer.get();
+    }
+
+    private void fill() throws IOException {
+        buffer.clear();
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+        buffer.flip();
+        if (n < 0) {
+            throw new EOFException("Truncated export file after " + bytesRead + " bytes");
+        }
+        bytesRead += n;
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.demo.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import com.example.demo.export.ExportTable.Column;
+
+/**
+ * Encodes tables into the columnar export format and writes it to a channel, one buffer at a time.
+ * <pre>
+ * file   := "UPMX" version table* 0
+ * table  := tag columnCount (name kind)* block* 0
+ * block  := rowCount column-1-values ... column-n-values
+ * </pre>
+ * <p>
+ * {@code version} and {@code kind} are single bytes, {@code tag} is the {@link ExportTable} ordinal plus one;
+ * every other number is an unsigned LEB128 varint. Rows are grouped in blocks of {@code block-rows}, and a block
+ * stores each column contiguously:
+ * </p>
+ * <ul>
+ *   <li>{@code ID} and {@code REF}: zigzag-encoded delta from the previous row of the table, so ascending ids
+ *       take one byte each;</li>
+ *   <li>{@code INT} and {@code TIMESTAMP}: 0 for {@code null}, otherwise the zigzag-encoded value plus one. A
+ *       timestamp is the number of microseconds from 1970-01-01T00:00 to the date-time itself, read as a
+ *       {@link LocalDateTime}: no time zone is involved on either side;</li>
+ *   <li>{@code STRING}: 0 for {@code null}, 1 followed by the UTF-8 length and bytes for a value seen for the
+ *       first time, otherwise 2 plus its index in the column's dictionary. New values join the dictionary until
+ *       it holds {@code dictionary-max-entries}; both sides apply the same rule, so the dictionary is never
+ *       written out;</li>
+ *   <li>{@code BOOL}: a bitmap, one bit per row.</li>
+ * </ul>
+ */
+final class ColumnarWriter {
+
+    static final byte[] MAGIC = {'U', 'P', 'M', 'X'};
+    static final int VERSION = 3;
+    static final long MICROS_PER_SECOND = 1_000_000;
+    static final long NULL = Long.MIN_VALUE;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final int blockRows;
+    private final int dictionaryMaxEntries;
+    private long bytesWritten;
+
+    private List<Column> columns;
+    private long[][] numbers;
+    private String[][] strings;
+    private long[] previous;
+    private List<Map<String, Integer>> dictionaries;
+    private int rows;
+    private long tableRows;
+
+    ColumnarWriter(WritableByteChannel channel, ExportProperties props) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate((int) Math.max(16, props.getBufferSize().toBytes()));
+        this.blockRows = Math.max(1, props.getBlockRows());
+        this.dictionaryMaxEntries = props.getDictionaryMaxEntries();
+    }
+
+    void writeHeader() throws IOException {
+        ensure(MAGIC.length + 1);
+        buffer.put(MAGIC).put((byte) VERSION);
+    }
+
+    void startTable(ExportTable table) throws IOException {
+        columns = table.columns();
+        int n = columns.size();
+        numbers = new long[n][];
+        strings = new String[n][];
+        dictionaries = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (columns.get(i).kind() == ExportTable.Kind.STRING) {
+                strings[i] = new String[blockRows];
+                dictionaries.add(new HashMap<>());
+            } else {
+                numbers[i] = new long[blockRows];
+                dictionaries.add(null);
+            }
+        }
+        previous = new long[n];
+        rows = 0;
+        tableRows = 0;
+        ensure(1);
+        buffer.put((byte) (table.ordinal() + 1));
+        putVarLong(n);
+        for (Column column : columns) {
+            putBytes(column.name().getBytes(StandardCharsets.US_ASCII));
+            ensure(1);
+            buffer.put((byte) column.kind().ordinal());
+        }
+    }
+
+    /**
+     * Sets an {@code ID}, {@code REF}, {@code INT} or {@code BOOL} (0 or 1) column of the current row.
+     */
+    void setLong(int column, long value) {
+        numbers[column][rows] = value;
+    }
+
+    /**
+     * Sets a {@code TIMESTAMP} column of the current row; nanoseconds below the microsecond are dropped, as in
+     * a {@code TIMESTAMP} column.
+     */
+    void setTimestamp(int column, LocalDateTime value) {
+        if (value == null) {
+            setNull(column);
+        } else {
+            numbers[column][rows] = Math.addExact(
+                    Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), MICROS_PER_SECOND),
+                    value.getNano() / 1_000);
+        }
+    }
+
+    void setBoolean(int column, boolean value) {
+        numbers[column][rows] = value ? 1 : 0;
+    }
+
+    void setString(int column, String value) {
+        strings[column][rows] = value;
+    }
+
+    /**
+     * Sets an {@code INT}, {@code TIMESTAMP} or {@code STRING} column of the current row to {@code null}.
+     */
+    void setNull(int column) {
+        if (strings[column] != null) {
+            strings[column][rows] = null;
+        } else {
+            numbers[column][rows] = NULL;
+        }
+    }
+
+    void endRow() throws IOException {
+        if (++rows == blockRows) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * @return the number of rows written for the table
+     */
+    long endTable() throws IOException {
+        if (rows > 0) {
+            writeBlock();
+        }
+        putVarLong(0);
+        return tableRows;
+    }
+
+    /**
+     * Ends the file and writes out what is still buffered.
+     *
+     * @return the size of the file
+     */
+    long finish() throws IOException {
+        ensure(1);
+        buffer.put((byte) 0);
+        flush();
+        return bytesWritten;
+    }
+
+    private void writeBlock() throws IOException {
+        putVarLong(rows);
+        for (int c = 0; c < columns.size(); c++) {
+            switch (columns.get(c).kind()) {
+                case ID, REF -> writeDeltas(c);
+                case INT, TIMESTAMP -> writeInts(numbers[c]);
+                case STRING -> writeStrings(strings[c], dictionaries.get(c));
+                case BOOL -> writeBits(numbers[c]);
+            }
+        }
+        tableRows += rows;
+        rows = 0;
+    }
+
+    private void writeDeltas(int column) throws IOException {
+        long[] values = numbers[column];
+        long last = previous[column];
+        for (int r = 0; r < rows; r++) {
+            putVarLong(zigzag(values[r] - last));
+            last = values[r];
+        }
+        previous[column] = last;
+    }
+
+    private void writeInts(long[] values) throws IOException {
+        for (int r = 0; r < rows; r++) {
+            putVarLong(values[r] == NULL ? 0 : zigzag(values[r]) + 1);
+        }
+    }
+
+    private void writeStrings(String[] values, Map<String, Integer> dictionary) throws IOException {
+        for (int r = 0; r < rows; r++) {
+            String value = values[r];
+            if (value == null) {
+                putVarLong(0);
+                continue;
+            }
+            Integer code = dictionary.get(value);
+            if (code != null) {
+                putVarLong(code + 2L);
+                continue;
+            }
+            putVarLong(1);
+            putBytes(value.getBytes(StandardCharsets.UTF_8));
+            if (dictionary.size() < dictionaryMaxEntries) {
+                dictionary.put(value, dictionary.size());
+            }
+        }
+    }
+
+    private void writeBits(long[] values) throws IOException {
+        for (int r = 0; r < rows; r += 8) {
+            int bits = 0;
+            for (int b = 0; b < 8 && r + b < rows; b++) {
+                bits |= (int) values[r + b] << b;
+            }
+            ensure(1);
+            buffer.put((byte) bits);
+        }
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        putVarLong(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+        }
+    }
+
+    private void putVarLong(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
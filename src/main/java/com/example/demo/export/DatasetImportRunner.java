@@ -0,0 +1,43 @@
+package com.example.demo.export;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bootstraps a fresh instance from an export when {@code app.export.import-file} is set.
+ * <p>
+ * Like the synthetic dataset loader, it runs before the search index is built and before the warm-up, and a
+ * failed import fails the start-up rather than leaving the instance with the seed data.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.export", name = "import-file")
+public class DatasetImportRunner implements ApplicationRunner {
+
+    private final ExportProperties props;
+    private final DatasetImporter importer;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Path file = Path.of(props.getImportFile());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            importer.importFrom(channel);
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Importing " + file + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demo.export;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.export.ExportTable.Column;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a file written by {@link DatasetExporter}, replacing the content of the hot and archive tables.
+ * <p>
+ * Existing rows are deleted and the exported ones inserted with their ids, in batches of
+ * {@code import-batch-size}, all in one transaction: a truncated or corrupted file rolls everything back. The
+ * identity columns are then restarted after the highest imported ids, hot or archived, so the application keeps
+ * inserting after them. The inserts go through the unwrapped JDBC connection, bypassing the statement timing of the slow-query
+ * log.
+ * </p>
+ * <p>
+ * {@link #bulkLoad} commits every batch instead, for a database that is empty and discarded on failure: a single
+ * transaction of millions of rows makes the database keep an undo log of all of them.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(ExportProperties.class)
+public class DatasetImporter {
+
+    private final ExportProperties props;
+    private final DataSource dataSource;
+
+    /**
+     * Replaces the dataset with the content of {@code channel}, which is left open.
+     *
+     * @param channel the export to read
+     * @return what was imported
+     * @throws IOException  if the file cannot be read or is not a complete export
+     * @throws SQLException if an insert fails
+     */
+    public TransferStats importFrom(ReadableByteChannel channel) throws IOException, SQLException {
+        return load(channel, true);
+    }
+
+    /**
+     * Like {@link #importFrom}, but commits every batch: a failure leaves the rows of the previous batches.
+     *
+     * @param channel the export to read
+     * @return what was loaded
+     * @throws IOException  if the file cannot be read or is not a complete export
+     * @throws SQLException if an insert fails
+     */
+    public TransferStats bulkLoad(ReadableByteChannel channel) throws IOException, SQLException {
+        return load(channel, false);
+    }
+
+    private TransferStats load(ReadableByteChannel channel, boolean atomic) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long[] rows = new long[ExportTable.values().length];
+        ColumnarReader reader = new ColumnarReader(channel, props);
+        try (Connection pooled = dataSource.getConnection()) {
+            Connection connection = pooled.unwrap(Connection.class);
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                reader.readHeader();
+                deleteAll(connection);
+                ExportTable[] expected = ExportTable.values();
+                int next = 0;
+                for (ExportTable table = reader.nextTable(); table != null; table = reader.nextTable()) {
+                    if (next == expected.length || table != expected[next]) {
+                        throw new IOException("Unexpected table " + table.table() + " at position " + (next + 1));
+                    }
+                    rows[next++] = insert(connection, table, reader, atomic);
+                }
+                if (next < expected.length) {
+                    throw new IOException("Export file is missing table " + expected[next].table());
+                }
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            try (Statement s = connection.createStatement()) {
+                for (ExportTable table : ExportTable.values()) {
+                    if (table.identity()) {
+                        restartIdentity(s, table);
+                    }
+                }
+            }
+        }
+        TransferStats stats = TransferStats.of(rows, reader.bytesRead(), start);
+        log.info("Dataset imported addresses={} users={} pets={} ownerships={} archived={} bytes={} durationMs={}",
+                stats.addresses(), stats.users(), stats.pets(), stats.ownerships(), stats.archived(), stats.bytes(),
+                stats.elapsed().toMillis());
+        return stats;
+    }
+
+    private long insert(Connection connection, ExportTable table, ColumnarReader reader, boolean atomic)
+            throws IOException, SQLException {
+        List<Column> columns = table.columns();
+        int batchSize = Math.max(1, props.getImportBatchSize());
+        long total = 0;
+        int pending = 0;
+        try (PreparedStatement statement = connection.prepareStatement(table.insertSql())) {
+            for (int rows = reader.nextBlock(); rows > 0; rows = reader.nextBlock()) {
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < columns.size(); c++) {
+                        switch (columns.get(c).kind()) {
+                            case ID, REF -> statement.setLong(c + 1, reader.getLong(c, r));
+                            case INT -> {
+                                long value = reader.getLong(c, r);
+                                if (value == ColumnarWriter.NULL) {
+                                    statement.setNull(c + 1, Types.INTEGER);
+                                } else {
+                                    statement.setInt(c + 1, (int) value);
+                                }
+                            }
+                            case STRING -> statement.setString(c + 1, reader.getString(c, r));
+                            case BOOL -> statement.setBoolean(c + 1, reader.getBoolean(c, r));
+                            case TIMESTAMP -> {
+                                LocalDateTime value = reader.getTimestamp(c, r);
+                                if (value == null) {
+                                    statement.setNull(c + 1, Types.TIMESTAMP);
+                                } else {
+                                    statement.setObject(c + 1, value);
+                                }
+                            }
+                        }
+                    }
+                    statement.addBatch();
+                    if (++pending == batchSize) {
+                        statement.executeBatch();
+                        if (!atomic) {
+                            connection.commit();
+                        }
+                        pending = 0;
+                    }
+                }
+                total += rows;
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+            }
+        }
+        return total;
+    }
+
+    private static void deleteAll(Connection connection) throws SQLException {
+        ExportTable[] tables = ExportTable.values();
+        try (Statement s = connection.createStatement()) {
+            for (int i = tables.length - 1; i >= 0; i--) {
+                s.executeUpdate("delete from " + tables[i].table());
+            }
+        }
+    }
+
+    /**
+     * Restarts the identity of {@code table} after its highest id, and after the highest id of its archive: an
+     * archived row keeps its id, so a new row must not take it again.
+     */
+    private static void restartIdentity(Statement s, ExportTable table) throws SQLException {
+        String lastIdSql = "select coalesce(max(id), 0) from " + table.table();
+        if (table.archive() != null) {
+            lastIdSql = "select greatest((" + lastIdSql + "), (select coalesce(max(id), 0) from "
+                    + table.archive().table() + "))";
+        }
+        long lastId;
+        try (ResultSet rs = s.executeQuery(lastIdSql)) {
+            rs.next();
+            lastId = rs.getLong(1);
+        }
+        s.execute("alter table " + table.table() + " alter column id restart with " + (lastId + 1));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.demo.export;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the columnar dataset export and import ({@code app.export.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - serve {@code GET /admin/export}; off by default, since the file holds every name and
+ *       address. Importing and snapshots do not depend on it.</li>
+ *   <li>{@code fetchSize} - rows per round trip of the export cursor.</li>
+ *   <li>{@code blockRows} - rows per column block; bounds the rows held in memory on both sides.</li>
+ *   <li>{@code bufferSize} - size of the channel buffer, hence of each chunk written to the response.</li>
+ *   <li>{@code dictionaryMaxEntries} - distinct values remembered per string column; further new values are
+ *       written inline every time.</li>
+ *   <li>{@code importFile} - export file loaded at start-up, replacing the database content; none by default.</li>
+ *   <li>{@code importBatchSize} - rows per JDBC batch of the import.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+
+    private boolean enabled;
+    private int fetchSize = 10_000;
+    private int blockRows = 8_192;
+    private DataSize bufferSize = DataSize.ofKilobytes(64);
+    private int dictionaryMaxEntries = 65_536;
+    private String importFile;
+    private int importBatchSize = 5_000;
+}
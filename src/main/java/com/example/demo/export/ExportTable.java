@@ -0,0 +1,116 @@
+package com.example.demo.export;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The tables of an export, in foreign-key order, with their columns and how each one is encoded: the hot tables,
+ * then the archive tables of {@code DeceasedArchiver}.
+ */
+public enum ExportTable {
+
+    ADDRESS("address", true, List.of(
+            new Column("id", Kind.ID), new Column("city", Kind.STRING), new Column("type", Kind.STRING),
+            new Column("address_name", Kind.STRING), new Column("number", Kind.STRING))),
+    USERS("users", true, List.of(
+            new Column("id", Kind.ID), new Column("name", Kind.STRING), new Column("first_name", Kind.STRING),
+            new Column("age", Kind.INT), new Column("gender", Kind.STRING), new Column("address_id", Kind.REF),
+            new Column("is_deceased", Kind.BOOL), new Column("deceased_at", Kind.TIMESTAMP))),
+    PET("pet", true, List.of(
+            new Column("id", Kind.ID), new Column("name", Kind.STRING), new Column("age", Kind.INT),
+            new Column("type", Kind.STRING), new Column("is_deceased", Kind.BOOL),
+            new Column("deceased_at", Kind.TIMESTAMP), new Column("address_id", Kind.REF))),
+    OWNERSHIP("user_pet_ownership", true, List.of(
+            new Column("id", Kind.ID), new Column("user_id", Kind.REF), new Column("pet_id", Kind.REF))),
+    USERS_ARCHIVE("users_archive", false, List.of(
+            new Column("id", Kind.ID), new Column("name", Kind.STRING), new Column("first_name", Kind.STRING),
+            new Column("age", Kind.INT), new Column("gender", Kind.STRING), new Column("address_id", Kind.REF),
+            new Column("is_deceased", Kind.BOOL), new Column("deceased_at", Kind.TIMESTAMP),
+            new Column("archived_at", Kind.TIMESTAMP))),
+    PET_ARCHIVE("pet_archive", false, List.of(
+            new Column("id", Kind.ID), new Column("name", Kind.STRING), new Column("age", Kind.INT),
+            new Column("type", Kind.STRING), new Column("is_deceased", Kind.BOOL),
+            new Column("deceased_at", Kind.TIMESTAMP), new Column("address_id", Kind.REF),
+            new Column("archived_at", Kind.TIMESTAMP))),
+    OWNERSHIP_ARCHIVE("user_pet_ownership_archive", false, List.of(
+            new Column("id", Kind.ID), new Column("user_id", Kind.REF), new Column("pet_id", Kind.REF),
+            new Column("archived_at", Kind.TIMESTAMP)));
+
+    private final String table;
+    private final boolean identity;
+    private final List<Column> columns;
+
+    ExportTable(String table, boolean identity, List<Column> columns) {
+        this.table = table;
+        this.identity = identity;
+        this.columns = columns;
+    }
+
+    public String table() {
+        return table;
+    }
+
+    /**
+     * @return whether {@code id} is an identity column, restarted after the highest imported id of the table and
+     *         of its {@link #archive()}; the archive tables keep the ids of the rows they received
+     */
+    public boolean identity() {
+        return identity;
+    }
+
+    /**
+     * @return the table the archived rows of this one move to, with their ids, or {@code null}
+     */
+    public ExportTable archive() {
+        return switch (this) {
+            case USERS -> USERS_ARCHIVE;
+            case PET -> PET_ARCHIVE;
+            case OWNERSHIP -> OWNERSHIP_ARCHIVE;
+            default -> null;
+        };
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    String selectSql() {
+        return "select " + columnList() + " from " + table + " order by id";
+    }
+
+    String insertSql() {
+        return "insert into " + table + " (" + columnList() + ") values ("
+                + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")";
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * How a column is encoded.
+     */
+    public enum Kind {
+        /** Primary key, exported in ascending order: delta from the previous row, mostly 1. */
+        ID,
+        /** Foreign key: delta from the previous row, small when rows of one parent are adjacent. */
+        REF,
+        /** Nullable text: dictionary code, the value itself the first time it is seen. */
+        STRING,
+        /** Nullable integer. */
+        INT,
+        /** Flag, one bit per row. */
+        BOOL,
+        /** Nullable timestamp without time zone: microseconds since 1970-01-01T00:00, encoded like {@code INT}. */
+        TIMESTAMP
+    }
+
+    /**
+     * One column of a table.
+     *
+     * @param name the SQL column name
+     * @param kind its encoding
+     */
+    public record Column(String name, Kind kind) {
+    }
+}
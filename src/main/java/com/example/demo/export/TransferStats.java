@@ -0,0 +1,26 @@
+package com.example.demo.export;
+
+import java.time.Duration;
+
+/**
+ * Counts of a completed export or import.
+ *
+ * @param addresses  rows of {@code address}
+ * @param users      rows of {@code users}
+ * @param pets       rows of {@code pet}
+ * @param ownerships rows of {@code user_pet_ownership}
+ * @param archived   rows of the three archive tables
+ * @param bytes      size of the export file
+ * @param elapsed    time spent
+ */
+public record TransferStats(long addresses, long users, long pets, long ownerships, long archived, long bytes,
+                            Duration elapsed) {
+
+    static TransferStats of(long[] rows, long bytes, long startNanos) {
+        return new TransferStats(rows[ExportTable.ADDRESS.ordinal()], rows[ExportTable.USERS.ordinal()],
+                rows[ExportTable.PET.ordinal()], rows[ExportTable.OWNERSHIP.ordinal()],
+                rows[ExportTable.USERS_ARCHIVE.ordinal()] + rows[ExportTable.PET_ARCHIVE.ordinal()]
+                        + rows[ExportTable.OWNERSHIP_ARCHIVE.ordinal()],
+                bytes, Duration.ofNanos(System.nanoTime() - startNanos));
+    }
+}
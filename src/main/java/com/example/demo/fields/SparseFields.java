@@ -0,0 +1,80 @@
+package com.example.demo.fields;
+
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsing of the {@code fields} request parameter of the list endpoints.
+ * <p>
+ * A sparse fieldset names the top-level properties of the response record to keep, comma-separated or
+ * repeated ({@code fields=name,firstName}). The {@value #ID} property is always kept so that clients can
+ * follow up on a row. A missing or blank parameter means every property, which is represented by
+ * {@code null} rather than by the full set so that callers can skip the check entirely.
+ * </p>
+ */
+public final class SparseFields {
+
+    public static final String PARAM = "fields";
+    public static final String FILTER = "sparseFields";
+    public static final String ID = "id";
+
+    private SparseFields() {
+    }
+
+    /**
+     * Parses and validates a sparse fieldset against the properties of a response record.
+     *
+     * @param requested the raw parameter values; may be {@code null}
+     * @param type      the response record
+     * @return the properties to keep, {@value #ID} included, or {@code null} for all of them
+     * @throws IllegalArgumentException if a name is not a property of {@code type}
+     */
+    public static Set<String> parse(Collection<String> requested, Class<? extends Record> type) {
+        Set<String> fields = split(requested);
+        if (fields.isEmpty()) {
+            return null;
+        }
+        List<String> known = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getName).toList();
+        for (String field : fields) {
+            if (!known.contains(field)) {
+                throw new IllegalArgumentException(
+                        "Unknown field '" + field + "' for " + type.getSimpleName() + ", expected one of " + known);
+            }
+        }
+        fields.add(ID);
+        return fields;
+    }
+
+    /**
+     * Splits the raw parameter values on commas, dropping blanks.
+     *
+     * @param requested the raw parameter values; may be {@code null}
+     * @return the distinct names in request order, empty when none was given
+     */
+    public static Set<String> split(Collection<String> requested) {
+        Set<String> fields = new LinkedHashSet<>();
+        if (requested != null) {
+            for (String value : requested) {
+                for (String name : value.split(",")) {
+                    if (!name.isBlank()) {
+                        fields.add(name.strip());
+                    }
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @param fields a parsed fieldset, {@code null} meaning every property
+     * @param field  a property name
+     * @return whether {@code field} is part of the response
+     */
+    public static boolean includes(Set<String> fields, String field) {
+        return fields == null || fields.contains(field);
+    }
+}
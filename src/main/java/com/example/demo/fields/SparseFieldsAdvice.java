@@ -0,0 +1,51 @@
+package com.example.demo.fields;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Writes only the requested properties of the list DTOs for handlers annotated with {@link SparseFieldset}.
+ * <p>
+ * The handler has already validated the {@code fields} parameter, so this advice only splits it again and
+ * installs a {@value SparseFields#FILTER} filter keeping those properties and {@value SparseFields#ID}.
+ * Error responses are written by other handlers and are never filtered.
+ * </p>
+ */
+@RestControllerAdvice
+public class SparseFieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return super.supports(returnType, converterType) && returnType.hasMethodAnnotation(SparseFieldset.class);
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String[] values = servletRequest.getServletRequest().getParameterValues(SparseFields.PARAM);
+        Set<String> fields = SparseFields.split(values == null ? null : Arrays.asList(values));
+        if (fields.isEmpty()) {
+            return;
+        }
+        fields.add(SparseFields.ID);
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .addFilter(SparseFields.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.fields;
+
+import org.springframework.stereotype.Component;
+
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Jackson module attaching the {@value SparseFields#FILTER} property filter to the list DTOs.
+ * <p>
+ * The filter is declared through a mix-in rather than on the records themselves, so that only the
+ * application's {@link ObjectMapper} knows about it. That mapper also gets a default filter provider
+ * that serializes every property; {@link SparseFieldsAdvice} replaces it per response when a fieldset
+ * was requested.
+ * </p>
+ */
+@Component
+public class SparseFieldsModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public SparseFieldsModule() {
+        super(SparseFieldsModule.class.getSimpleName());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.setMixInAnnotations(UserDto.class, Filtered.class);
+        context.setMixInAnnotations(PetDto.class, Filtered.class);
+        ObjectMapper mapper = context.getOwner();
+        mapper.setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Mix-in carrying the filter id.
+     */
+    @JsonFilter(SparseFields.FILTER)
+    public interface Filtered {
+    }
+}
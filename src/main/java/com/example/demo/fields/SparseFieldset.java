@@ -0,0 +1,21 @@
+package com.example.demo.fields;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose {@code fields} request parameter trims the {@code UserDto} and {@code PetDto}
+ * properties written to the response.
+ * <p>
+ * The handler is expected to validate the parameter with {@link SparseFields#parse} and may use it to select
+ * fewer columns; {@link SparseFieldsAdvice} then drops the properties that were not asked for.
+ * </p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SparseFieldset {
+}
@@ -0,0 +1,26 @@
+package com.example.demo.filter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the access log line written by {@link TraceIdFilter} ({@code app.logging.access.*}).
+ *
+ * <ul>
+ *   <li>{@code sampleRate} - fraction of successful, fast requests that are logged ({@code 1.0} logs all).</li>
+ *   <li>{@code slowThreshold} - requests taking at least this long are always logged.</li>
+ * </ul>
+ * Requests answered with a 4xx/5xx status or failing with an exception are always logged.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.logging.access")
+public class AccessLogProperties {
+
+    private double sampleRate = 0.1;
+    private Duration slowThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,73 @@
+package com.example.demo.filter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.function.Supplier;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper that adds a {@code Server-Timing} header just before the response can be committed.
+ * <p>
+ * Spring MVC flushes the body as soon as it is written, so the header cannot be added after the filter
+ * chain returns. Instead it is added when the body is first requested (by then the handler has finished
+ * its database work), on errors and redirects, or by {@link #addServerTimingIfAbsent()} for empty bodies.
+ * </p>
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final Supplier<String> serverTiming;
+    private boolean added;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, Supplier<String> serverTiming) {
+        super(response);
+        this.serverTiming = serverTiming;
+    }
+
+    void addServerTimingIfAbsent() {
+        if (!added && !isCommitted()) {
+            addHeader(SERVER_TIMING, serverTiming.get());
+        }
+        added = true;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        addServerTimingIfAbsent();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        addServerTimingIfAbsent();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        addServerTimingIfAbsent();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        addServerTimingIfAbsent();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        addServerTimingIfAbsent();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        addServerTimingIfAbsent();
+        super.sendRedirect(location);
+    }
+}
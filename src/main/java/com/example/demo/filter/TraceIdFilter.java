@@ -1,51 +1,140 @@
 package com.example.demo.filter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 
-import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.example.demo.sql.SqlRequestStats;
+import com.example.demo.sql.SqlStatementTracker;
+import com.example.demo.sql.SqlTrackingProperties;
+import com.example.demo.trace.TraceContext;
+import com.example.demo.trace.TraceContextFactory;
+import com.example.demo.trace.W3CTraceparent;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * A servlet filter that generates a unique trace ID for each HTTP request and adds it to the logging context (MDC)
- * and response headers. This enables tracing of requests across logs and services.
+ * A servlet filter that assigns a W3C trace context to each HTTP request and adds its trace ID to the logging context
+ * (MDC) and response headers. This enables tracing of requests across logs and services.
  * <p>
  * The filter:
  * <ul>
- *   <li>Generates a UUID as the trace ID for each request.</li>
- *   <li>Puts the trace ID into the MDC for logging correlation.</li>
- *   <li>Sets the trace ID as a response header for downstream services or clients.</li>
- *   <li>Logs the start and end of each request, including HTTP method, path, status, and trace ID.</li>
- *   <li>Removes the trace ID from the MDC after the request is processed to avoid leakage between requests.</li>
+ *   <li>Continues the trace of an incoming {@code traceparent} header, or starts a new one
+ *       ({@link TraceContextFactory}).</li>
+ *   <li>Puts the trace and span IDs into the MDC for logging correlation.</li>
+ *   <li>Sets the trace ID and the {@code traceparent} of its span as response headers for downstream services or
+ *       clients.</li>
+ *   <li>Logs the end of each request, including HTTP method, path, status, duration and trace ID; successful
+ *       requests are sampled ({@link AccessLogProperties}), errors and slow requests are always logged.</li>
+ *   <li>Counts the SQL statements and DB time of the request ({@link SqlStatementTracker}), reports them in the
+ *       access log line and a {@code Server-Timing} header, and warns on too many or repeated (N+1) statements.</li>
+ *   <li>Removes the trace context from the thread and the MDC after the request is processed to avoid leakage
+ *       between requests.</li>
  * </ul>
  * This filter should be registered as a Spring component and will execute once per request.
  */
 @Slf4j
 @Component
+@RequiredArgsConstructor
+@Import(TraceContextFactory.class)
+@EnableConfigurationProperties({SqlTrackingProperties.class, AccessLogProperties.class})
 public class TraceIdFilter extends OncePerRequestFilter {
 
     public static final String TRACE_ID = "traceId";
 
+    private final SqlTrackingProperties sqlTracking;
+    private final AccessLogProperties accessLog;
+    private final TraceContextFactory traceContexts;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String traceId = UUID.randomUUID().toString();
-        MDC.put(TRACE_ID, traceId);
+        long start = System.nanoTime();
+        TraceContext trace = traceContexts.create(request.getHeader(W3CTraceparent.HEADER));
+        String traceId = trace.traceId();
+        TraceContext.Scope scope = trace.makeCurrent();
         response.setHeader(TRACE_ID, traceId);
-        log.info("REQ start method={} path={} traceId={}", request.getMethod(), request.getRequestURI(), MDC.get(TRACE_ID));
+        response.setHeader(W3CTraceparent.HEADER, trace.traceparent());
+        log.debug("REQ start method={} path={} traceId={}", request.getMethod(), request.getRequestURI(), traceId);
+        SqlRequestStats sql = sqlTracking.isEnabled()
+                ? SqlStatementTracker.start(trace.spanId(), traceId,
+                        request.getMethod() + " " + request.getRequestURI())
+                : null;
+        ServerTimingResponseWrapper timed = sql == null
+                ? null
+                : new ServerTimingResponseWrapper(response, () -> serverTiming(sql));
+        boolean failed = true;
         try {
-            filterChain.doFilter(request, response);
+            filterChain.doFilter(request, timed == null ? response : timed);
+            failed = false;
         } finally {
-            log.info("REQ end status={} traceId={}", response.getStatus(), MDC.get(TRACE_ID));
-            MDC.remove(TRACE_ID);
+            if (timed != null) {
+                timed.addServerTimingIfAbsent();
+                SqlStatementTracker.stop(trace.spanId());
+            }
+            long elapsed = System.nanoTime() - start;
+            if (shouldLog(response.getStatus(), failed, elapsed)) {
+                logEnd(request, response.getStatus(), elapsed, sql, traceId);
+            }
+            if (sql != null) {
+                warnOnSqlBudget(sql);
+            }
+            scope.close();
+        }
+    }
+
+    /**
+     * Errors and slow requests are always logged; the remaining requests are sampled.
+     */
+    private boolean shouldLog(int status, boolean failed, long elapsedNanos) {
+        if (failed || status >= 400 || elapsedNanos >= accessLog.getSlowThreshold().toNanos()) {
+            return true;
+        }
+        double rate = accessLog.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static void logEnd(HttpServletRequest request, int status, long elapsedNanos, SqlRequestStats sql,
+                               String traceId) {
+        if (sql == null) {
+            log.info("REQ end method={} path={} status={} durationMs={} traceId={}", request.getMethod(),
+                    request.getRequestURI(), status, millis(elapsedNanos), traceId);
+        } else {
+            log.info("REQ end method={} path={} status={} durationMs={} statements={} dbMs={} traceId={}",
+                    request.getMethod(), request.getRequestURI(), status, millis(elapsedNanos),
+                    sql.getStatementCount(), millis(sql.getDbTimeNanos()), traceId);
         }
     }
+
+    private void warnOnSqlBudget(SqlRequestStats sql) {
+        if (sql.getStatementCount() > sqlTracking.getWarnStatements()) {
+            log.warn("SQL budget exceeded endpoint={} statements={} threshold={}",
+                    sql.getEndpoint(), sql.getStatementCount(), sqlTracking.getWarnStatements());
+        }
+        Map.Entry<String, Integer> repeated = sql.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= sqlTracking.getWarnRepeated()) {
+            log.warn("Possible N+1 endpoint={} executions={} sql={}",
+                    sql.getEndpoint(), repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private static String serverTiming(SqlRequestStats sql) {
+        return "db;dur=" + millis(sql.getDbTimeNanos()) + ";desc=\"" + sql.getStatementCount() + " statements\"";
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
 }
@@ -0,0 +1,54 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code AddressService.findOrCreate} call, with how the address was resolved.
+ */
+@Name(AddressLookupEvent.NAME)
+@Label("Address Find Or Create")
+@Category({"Pet Manager", "Service"})
+@Description("Resolution of an address through the de-duplication path")
+@Enabled(false)
+@StackTrace(false)
+public final class AddressLookupEvent extends TracedEvent {
+
+    public static final String NAME = "com.example.demo.AddressFindOrCreate";
+
+    /**
+     * How the address was resolved.
+     */
+    public enum Outcome {
+        /** An existing address matched. */
+        HIT,
+        /** A new address was inserted. */
+        INSERT,
+        /** The insert lost a race with a concurrent one and the winner was re-read. */
+        RACE_RETRY
+    }
+
+    @Label("City")
+    String city;
+
+    @Label("Outcome")
+    String outcome;
+
+    /**
+     * Ends the event and commits it if a recording has it enabled.
+     *
+     * @param city    the normalized city
+     * @param outcome how the address was resolved
+     */
+    public void finish(String city, Outcome outcome) {
+        if (shouldCommit()) {
+            this.city = city;
+            this.outcome = outcome.name();
+            commitTraced();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Mapping of one entity to its response DTO in a controller. Mapping touches the entity's lazy
+ * associations, so this is where lazy-loading queries show up.
+ */
+@Name(DtoMappingEvent.NAME)
+@Label("DTO Mapping")
+@Category({"Pet Manager", "Web"})
+@Description("Mapping of an entity to its response DTO")
+@Enabled(false)
+@StackTrace(false)
+public final class DtoMappingEvent extends TracedEvent {
+
+    public static final String NAME = "com.example.demo.DtoMapping";
+
+    @Label("DTO Type")
+    String dtoType;
+
+    @Label("Entity Id")
+    long entityId;
+
+    /**
+     * Ends the event and commits it if a recording has it enabled.
+     *
+     * @param dtoType the DTO class produced
+     * @param id      the mapped entity id
+     */
+    public void finish(Class<?> dtoType, Long id) {
+        if (shouldCommit()) {
+            this.dtoType = dtoType.getSimpleName();
+            this.entityId = id != null ? id : 0L;
+            commitTraced();
+        }
+    }
+}
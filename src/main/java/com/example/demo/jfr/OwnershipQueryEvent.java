@@ -0,0 +1,42 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One ownership query of {@code UserPetOwnershipService}, with the number of rows it returned.
+ */
+@Name(OwnershipQueryEvent.NAME)
+@Label("Ownership Query")
+@Category({"Pet Manager", "Service"})
+@Description("User-pet ownership query and the rows it returned")
+@Enabled(false)
+@StackTrace(false)
+public final class OwnershipQueryEvent extends TracedEvent {
+
+    public static final String NAME = "com.example.demo.OwnershipQuery";
+
+    @Label("Query")
+    String query;
+
+    @Label("Rows")
+    int rows;
+
+    /**
+     * Ends the event and commits it if a recording has it enabled.
+     *
+     * @param query the service method that ran the query
+     * @param rows  the number of rows returned
+     */
+    public void finish(String query, int rows) {
+        if (shouldCommit()) {
+            this.query = query;
+            this.rows = rows;
+            commitTraced();
+        }
+    }
+}
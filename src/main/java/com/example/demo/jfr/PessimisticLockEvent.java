@@ -0,0 +1,52 @@
+package com.example.demo.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One attempt to take a {@code PESSIMISTIC_WRITE} row lock in an {@code updateWithPessimisticLockAndRetry} call.
+ * The event duration is the lock wait.
+ */
+@Name(PessimisticLockEvent.NAME)
+@Label("Pessimistic Lock")
+@Category({"Pet Manager", "Service"})
+@Description("Wait for a row lock taken by an update, one event per @Retryable attempt")
+@Enabled(false)
+public final class PessimisticLockEvent extends TracedEvent {
+
+    public static final String NAME = "com.example.demo.PessimisticLock";
+
+    @Label("Entity")
+    String entity;
+
+    @Label("Entity Id")
+    long entityId;
+
+    @Label("Attempt")
+    @Description("1 for the first attempt, incremented on every retry")
+    int attempt;
+
+    @Label("Acquired")
+    boolean acquired;
+
+    /**
+     * Ends the event and commits it if a recording has it enabled.
+     *
+     * @param entity   the locked entity type
+     * @param id       the locked row id
+     * @param attempt  the attempt number, starting at 1
+     * @param acquired whether the lock was obtained
+     */
+    public void finish(String entity, Long id, int attempt, boolean acquired) {
+        if (shouldCommit()) {
+            this.entity = entity;
+            this.entityId = id != null ? id : 0L;
+            this.attempt = attempt;
+            this.acquired = acquired;
+            commitTraced();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.jfr;
+
+import com.example.demo.trace.TraceContext;
+
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the application's JFR events: carries the trace id of the request that emitted the event,
+ * so a recording can be joined with the logs and the {@code traceparent} response header.
+ * <p>
+ * All events are {@code @Enabled(false)}: until a recording enables them (see {@code src/main/jfr/pet-manager.jfc})
+ * {@code begin()} and {@code shouldCommit()} are no-ops the JIT folds away, and the event object itself is
+ * eliminated by escape analysis. Fields are therefore only populated once {@link #shouldCommit()} returned
+ * {@code true}.
+ * </p>
+ */
+abstract class TracedEvent extends Event {
+
+    @Label("Trace Id")
+    @Description("W3C trace id of the request that emitted the event")
+    String traceId;
+
+    /**
+     * Fills in the trace id of the current thread and commits the event.
+     */
+    final void commitTraced() {
+        TraceContext trace = TraceContext.current();
+        traceId = trace != null ? trace.traceId() : null;
+        commit();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.util.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+
+/**
+ * Asynchronous appender backed by a bounded ring buffer (LMAX disruptor) with a configurable overflow policy.
+ * <p>
+ * Application threads only copy the event into the ring buffer; a single worker thread encodes and writes it
+ * through the attached appenders and flushes them at the end of each batch. When the buffer runs full:
+ * </p>
+ * <ul>
+ *   <li>{@link OverflowPolicy#DROP_INFO} (default) - events below {@code WARN} are dropped once fewer than
+ *       {@code discardingThreshold} slots remain (default: a fifth of the buffer), keeping room for warnings
+ *       and errors, which wait for a free slot.</li>
+ *   <li>{@link OverflowPolicy#BLOCK} - every event waits for a free slot; nothing is lost but a stalled stdout
+ *       back-pressures the request threads.</li>
+ * </ul>
+ * <p>
+ * Dropped events are counted and reported through the logback status manager every
+ * {@code droppedWarnFrequency} drops.
+ * </p>
+ */
+public class OverflowPolicyAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    public enum OverflowPolicy { DROP_INFO, BLOCK }
+
+    @Getter
+    @Setter
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_INFO;
+    @Getter
+    @Setter
+    private int discardingThreshold = -1;
+    @Setter
+    private int droppedWarnFrequency = 1000;
+
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    public void start() {
+        // both policies wait for a slot for the events they keep; DROP_INFO sheds the rest before the buffer fills
+        setAppendTimeout(Duration.buildByMilliseconds(-1));
+        if (discardingThreshold < 0) {
+            discardingThreshold = getRingBufferSize() / 5;
+        }
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (overflowPolicy == OverflowPolicy.DROP_INFO
+                && isStarted()
+                && !event.getLevel().isGreaterOrEqual(Level.WARN)
+                && getDisruptor().getRingBuffer().remainingCapacity() < discardingThreshold) {
+            dropped.increment();
+            long total = dropped.sum();
+            if (total == 1 || total % droppedWarnFrequency == 0) {
+                addWarn("Ring buffer nearly full, dropped " + total + " events below WARN so far");
+            }
+            return;
+        }
+        super.append(event);
+    }
+
+    /**
+     * @return the number of events dropped by the {@link OverflowPolicy#DROP_INFO} policy since start
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.ConsoleAppender;
+import lombok.Getter;
+import lombok.Setter;
+import net.logstash.logback.encoder.StreamingEncoder;
+
+/**
+ * Console appender that lets a {@link StreamingEncoder} (such as the logstash JSON encoders) write straight into a
+ * reusable output buffer instead of allocating a {@code byte[]} per event.
+ * <p>
+ * With {@code immediateFlush=false} the buffer is only written to stdout when it fills up or when
+ * {@link #flush()} is called - {@link OverflowPolicyAsyncAppender} does that at the end of every batch - so
+ * a burst of events costs one write instead of one per event. Encoders that do not stream fall back to the
+ * regular {@link ConsoleAppender} path.
+ * </p>
+ */
+public class StreamingConsoleAppender extends ConsoleAppender<ILoggingEvent> implements Flushable {
+
+    @Getter
+    @Setter
+    private int bufferSize = 64 * 1024;
+
+    private BatchBuffer buffer;
+
+    @Override
+    public void start() {
+        super.start();
+        if (isStarted()) {
+            buffer = new BatchBuffer(getOutputStream(), bufferSize);
+            setOutputStream(buffer);
+        }
+    }
+
+    @Override
+    protected void writeOut(ILoggingEvent event) throws IOException {
+        if (!(encoder instanceof StreamingEncoder<?>)) {
+            super.writeOut(event);
+            if (isImmediateFlush()) {
+                flush();
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        StreamingEncoder<ILoggingEvent> streaming = (StreamingEncoder<ILoggingEvent>) encoder;
+        streamWriteLock.lock();
+        try {
+            streaming.encode(event, buffer);
+            if (isImmediateFlush()) {
+                buffer.flushToTarget();
+            }
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        streamWriteLock.lock();
+        try {
+            if (buffer != null) {
+                buffer.flushToTarget();
+            }
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+
+    /**
+     * Buffer that ignores the per-event {@code flush()} issued by encoders; only {@link #flushToTarget()}
+     * (and closing) push the buffered bytes to the console.
+     */
+    private static final class BatchBuffer extends BufferedOutputStream {
+
+        BatchBuffer(OutputStream target, int size) {
+            super(target, size);
+        }
+
+        @Override
+        public void flush() {
+            // batched: see flushToTarget()
+        }
+
+        void flushToTarget() throws IOException {
+            super.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushToTarget();
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.metrics;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.SingletonSupplier;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuration for latency timers around controllers and transactional service boundaries.
+ * <p>
+ * Registers two advisors backed by {@link LatencyMetricsInterceptor}:
+ * <ul>
+ *   <li>{@value #CONTROLLER_METRIC} - time spent inside {@code @RestController} methods. Comparing it with
+ *       {@code http.server.requests} isolates framework and JSON serialization time.</li>
+ *   <li>{@value #SERVICE_METRIC} - time spent at the application's {@code @Transactional} boundaries,
+ *       including retries and the commit (the advisor is ordered outermost).</li>
+ * </ul>
+ * <p>
+ * Repository methods are already timed by Spring Boot as {@code spring.data.repository.invocations}.
+ * Histogram buckets for the three families are set with the standard
+ * {@code management.metrics.distribution.slo.*} properties. Disable with {@code app.metrics.latency.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.metrics.latency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LatencyMetricsConfig {
+
+    public static final String CONTROLLER_METRIC = "app.controller";
+    public static final String SERVICE_METRIC = "app.service.transaction";
+
+    private static final String APP_PACKAGE = "com.example.demo.";
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor controllerLatencyAdvisor(ObjectProvider<MeterRegistry> registry) {
+        var pointcut = AnnotationMatchingPointcut.forClassAnnotation(RestController.class);
+        return advisor(pointcut, new LatencyMetricsInterceptor(CONTROLLER_METRIC, SingletonSupplier.of(registry::getObject)));
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor transactionLatencyAdvisor(ObjectProvider<MeterRegistry> registry) {
+        var pointcut = new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(Transactional.class))
+                .union(AnnotationMatchingPointcut.forMethodAnnotation(Transactional.class))
+                .intersection((ClassFilter) type -> type.getName().startsWith(APP_PACKAGE));
+        return advisor(pointcut, new LatencyMetricsInterceptor(SERVICE_METRIC, SingletonSupplier.of(registry::getObject)));
+    }
+
+    private static Advisor advisor(Pointcut pointcut, LatencyMetricsInterceptor interceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut, interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
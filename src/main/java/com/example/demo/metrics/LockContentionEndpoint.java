@@ -0,0 +1,26 @@
+package com.example.demo.metrics;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint ({@code /management/lockcontention} on the management port) listing the rows with the most
+ * pessimistic lock contention in the recent window, hottest first.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "lockcontention")
+public class LockContentionEndpoint {
+
+    private final LockMetrics lockMetrics;
+
+    @ReadOperation
+    public List<LockMetrics.HotRow> hottestRows() {
+        return lockMetrics.hottestRows();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.demo.metrics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.support.RetrySynchronizationManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.jfr.PessimisticLockEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Metrics for the pessimistic {@code lockForUpdate} paths of the services.
+ * <p>
+ * All meters are tagged by {@code entity}:
+ * </p>
+ * <ul>
+ *   <li>{@value #WAIT_METRIC} - time spent acquiring the row lock, tagged {@code outcome} {@code ACQUIRED}
+ *       or {@code FAILED}.</li>
+ *   <li>{@value #HOLD_METRIC} - time from acquisition until the owning transaction completes, tagged
+ *       {@code outcome} {@code COMMITTED} or {@code ROLLED_BACK}.</li>
+ *   <li>{@value #RETRY_METRIC} - {@code @Retryable} re-attempts after a lock failure
+ *       (see {@link LockRetryListener}).</li>
+ *   <li>{@value #EXHAUSTED_METRIC} - updates that ran out of attempts and were answered with 409 Conflict.</li>
+ * </ul>
+ * <p>
+ * Rows whose lock wait reaches {@code app.metrics.lock.contention-threshold}, or whose lock attempt fails,
+ * are also tracked individually so {@link LockContentionEndpoint} can list the hottest ones.
+ * Every attempt also emits a {@link PessimisticLockEvent} for JFR recordings.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LockMetricsProperties.class)
+public class LockMetrics {
+
+    public static final String WAIT_METRIC = "app.lock.wait";
+    public static final String HOLD_METRIC = "app.lock.hold";
+    public static final String RETRY_METRIC = "app.lock.retries";
+    public static final String EXHAUSTED_METRIC = "app.lock.exhausted";
+
+    /** Retry context attribute holding the entity whose lock the retried operation takes. */
+    static final String ENTITY_ATTRIBUTE = LockMetrics.class.getName() + ".entity";
+
+    private final MeterRegistry registry;
+    private final LockMetricsProperties props;
+    private final ConcurrentMap<RowKey, RowContention> rows = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code lockCall}, timing the wait for the row lock and, on success, the hold time until the
+     * surrounding transaction completes.
+     *
+     * @param entity   the entity type, used as the {@code entity} tag
+     * @param id       the locked row id
+     * @param lockCall the repository call acquiring the lock
+     * @return the result of {@code lockCall}
+     */
+    public <T> T lock(String entity, Long id, Supplier<T> lockCall) {
+        RetryContext retry = RetrySynchronizationManager.getContext();
+        if (retry != null) {
+            retry.setAttribute(ENTITY_ATTRIBUTE, entity);
+        }
+        int attempt = retry != null ? retry.getRetryCount() + 1 : 1;
+        PessimisticLockEvent event = new PessimisticLockEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = lockCall.get();
+        } catch (RuntimeException e) {
+            event.finish(entity, id, attempt, false);
+            long waited = System.nanoTime() - start;
+            timer(WAIT_METRIC, entity, "FAILED").record(waited, TimeUnit.NANOSECONDS);
+            if (isLockFailure(e)) {
+                contention(entity, id, waited, true);
+            }
+            throw e;
+        }
+        long acquired = System.nanoTime();
+        event.finish(entity, id, attempt, true);
+        timer(WAIT_METRIC, entity, "ACQUIRED").record(acquired - start, TimeUnit.NANOSECONDS);
+        if (acquired - start >= props.getContentionThreshold().toNanos()) {
+            contention(entity, id, acquired - start, false);
+        }
+        if (result != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    String outcome = status == STATUS_COMMITTED ? "COMMITTED" : "ROLLED_BACK";
+                    timer(HOLD_METRIC, entity, outcome).record(System.nanoTime() - acquired, TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+        return result;
+    }
+
+    void retried(String entity, int retries) {
+        counter(RETRY_METRIC, entity).increment(retries);
+    }
+
+    void exhausted(String entity) {
+        counter(EXHAUSTED_METRIC, entity).increment();
+    }
+
+    /**
+     * @return the rows with the most lock wait time within the configured window, hottest first
+     */
+    public List<HotRow> hottestRows() {
+        long cutoff = System.nanoTime() - props.getWindow().toNanos();
+        rows.values().removeIf(r -> r.lastContended.get() - cutoff < 0);
+        return rows.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(HotRow::totalWaitMs).reversed())
+                .limit(props.getTop())
+                .toList();
+    }
+
+    static boolean isLockFailure(Throwable t) {
+        return t instanceof PessimisticLockException
+                || t instanceof LockTimeoutException
+                || t instanceof CannotAcquireLockException;
+    }
+
+    private void contention(String entity, Long id, long waitedNanos, boolean failed) {
+        RowKey key = new RowKey(entity, id);
+        RowContention row = rows.get(key);
+        if (row == null) {
+            if (rows.size() >= props.getMaxTrackedRows()) {
+                return;
+            }
+            row = rows.computeIfAbsent(key, k -> new RowContention());
+        }
+        row.record(waitedNanos, failed);
+    }
+
+    private Timer timer(String name, String entity, String outcome) {
+        return Timer.builder(name).tag("entity", entity).tag("outcome", outcome).register(registry);
+    }
+
+    private Counter counter(String name, String entity) {
+        return Counter.builder(name).tag("entity", entity).register(registry);
+    }
+
+    /**
+     * Contention summary of one row, as listed by {@link LockContentionEndpoint}.
+     */
+    public record HotRow(String entity, Long id, long contended, long failed, double totalWaitMs, double maxWaitMs) {
+    }
+
+    private record RowKey(String entity, Long id) {
+    }
+
+    private static final class RowContention {
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final AtomicLong lastContended = new AtomicLong(System.nanoTime());
+
+        void record(long waited, boolean lockFailed) {
+            contended.increment();
+            if (lockFailed) {
+                failed.increment();
+            }
+            waitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            lastContended.set(System.nanoTime());
+        }
+
+        HotRow snapshot(RowKey key) {
+            return new HotRow(key.entity(), key.id(), contended.sum(), failed.sum(),
+                    waitNanos.sum() / 1_000_000.0, maxWaitNanos.get() / 1_000_000.0);
+        }
+    }
+}
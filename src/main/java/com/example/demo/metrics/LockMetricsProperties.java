@@ -0,0 +1,29 @@
+package com.example.demo.metrics;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for pessimistic lock contention tracking ({@code app.metrics.lock.*}).
+ *
+ * <ul>
+ *   <li>{@code contentionThreshold} - a lock wait at least this long counts as contention for the row.</li>
+ *   <li>{@code window} - rows without contention for this long drop out of the hot-row list.</li>
+ *   <li>{@code maxTrackedRows} - upper bound on tracked rows; new rows are ignored once it is reached.</li>
+ *   <li>{@code top} - how many rows the {@code lockcontention} endpoint returns.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.metrics.lock")
+public class LockMetricsProperties {
+
+    private Duration contentionThreshold = Duration.ofMillis(5);
+    private Duration window = Duration.ofMinutes(5);
+    private int maxTrackedRows = 1000;
+    private int top = 10;
+}
@@ -0,0 +1,40 @@
+package com.example.demo.metrics;
+
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Global {@link RetryListener} counting the re-attempts and exhaustions of the pessimistic lock updates.
+ * <p>
+ * Spring Retry applies every {@code RetryListener} bean to all {@code @Retryable} methods; only operations that
+ * went through {@link LockMetrics#lock} carry the entity attribute and are counted. An exhausted lock failure
+ * propagates to {@code GlobalExceptionHandler}, which answers 409 Conflict.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class LockRetryListener implements RetryListener {
+
+    private final LockMetrics lockMetrics;
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                               Throwable throwable) {
+        String entity = (String) context.getAttribute(LockMetrics.ENTITY_ATTRIBUTE);
+        if (entity == null) {
+            return;
+        }
+        // every failed attempt was retried, except the last one when the operation gave up
+        int retries = context.getRetryCount() - (throwable == null ? 0 : 1);
+        if (retries > 0) {
+            lockMetrics.retried(entity, retries);
+        }
+        if (LockMetrics.isLockFailure(throwable)) {
+            lockMetrics.exhausted(entity);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -21,11 +23,14 @@ public class Pet {
     @Enumerated(EnumType.STRING)
     private PetType type;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
 
     @Builder.Default
     @Column(name = "is_deceased")
     private boolean deceased = false;
+
+    @Column(name = "deceased_at")
+    private LocalDateTime deceasedAt;
 }
@@ -1,5 +1,7 @@
 package com.example.demo.model;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,7 +12,10 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Table(name = "users")
+@NamedEntityGraph(name = User.WITH_ADDRESS, attributeNodes = @NamedAttributeNode("address"))
 public class User {
+    public static final String WITH_ADDRESS = "User.withAddress";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -31,4 +36,7 @@ public class User {
     @Builder.Default
     @Column(name = "is_deceased")
     private boolean deceased = false;
+
+    @Column(name = "deceased_at")
+    private LocalDateTime deceasedAt;
 }
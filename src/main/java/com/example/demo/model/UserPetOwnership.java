@@ -10,13 +10,18 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 @Table(name = "user_pet_ownership", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id", "pet_id" }))
+@NamedEntityGraph(name = UserPetOwnership.WITH_PET, attributeNodes = @NamedAttributeNode("pet"))
+@NamedEntityGraph(name = UserPetOwnership.WITH_USER, attributeNodes = @NamedAttributeNode("user"))
 public class UserPetOwnership {
+    public static final String WITH_PET = "UserPetOwnership.withPet";
+    public static final String WITH_USER = "UserPetOwnership.withUser";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private User user;
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Pet pet;
 }
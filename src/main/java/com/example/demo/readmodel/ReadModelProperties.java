@@ -0,0 +1,37 @@
+package com.example.demo.readmodel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the read model behind the query endpoints ({@code app.read-model.*}).
+ *
+ * <ul>
+ *   <li>{@code dictionaryMaxEntries} - upper bound on the distinct strings kept by {@link StringDictionary};
+ *       once reached, new values are returned as-is instead of being interned.</li>
+ *   <li>{@code dictionaryMaxLength} - strings longer than this are never interned, so free-text values
+ *       cannot crowd the dictionary out.</li>
+ *   <li>{@code batchChunkSize} - ids per {@code IN} list of a batch lookup; larger id sets run several
+ *       queries.</li>
+ *   <li>{@code batchMaxIds} - the most distinct ids one batch lookup may ask for.</li>
+ *   <li>{@code householdMaxDepth} - the most shared-pet hops a household query may follow; larger requested
+ *       depths are lowered to it. It is the only bound on the database work of the query: every hop expands
+ *       the whole previous frontier, so keep it low.</li>
+ *   <li>{@code householdMaxMembers} - the most members one household query returns; larger requested limits
+ *       are lowered to it. It trims the response after the traversal, not the traversal itself.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.read-model")
+public class ReadModelProperties {
+
+    private int dictionaryMaxEntries = 100_000;
+    private int dictionaryMaxLength = 64;
+    private int batchChunkSize = 500;
+    private int batchMaxIds = 10_000;
+    private int householdMaxDepth = 3;
+    private int householdMaxMembers = 500;
+}
@@ -0,0 +1,248 @@
+package com.example.demo.readmodel;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+import com.example.demo.model.UserPetOwnership;
+
+/**
+ * Scalar projections behind the query endpoints.
+ * <p>
+ * Every query selects columns rather than entities, so Hibernate returns plain {@code Object[]} rows:
+ * nothing is added to the persistence context, no dirty-checking snapshot is kept, and the eager
+ * {@code Pet.address} association is not resolved one row at a time. Each filter is pushed into a
+ * single join instead of being applied in memory.
+ * </p>
+ * <p>
+ * Pet rows are {@code [id, name, age, type, deceased]}; user rows are
+ * {@code [id, name, firstName, age, gender, deceased, addressId, city, type, addressName, number]}, or
+ * {@code [id, name, firstName, age, gender, deceased]} for the {@code WithoutAddress} variants. Those serve
+ * sparse fieldsets that leave the address out: they skip the join to {@code addresses} and only require
+ * the foreign key to be set, so they return the same users as their counterpart.
+ * Results are ordered by id so that pages are stable, except for the lookups by id, whose caller restores the
+ * requested order.
+ * </p>
+ * <p>
+ * {@link #findHousehold(long, int, int)} is a native query, as JPQL has no recursive common table expression, and
+ * so are the {@code findArchived*} lookups: the archive tables have no entity. Their rows have the same shape,
+ * except that gender and pet type come back as strings.
+ * </p>
+ */
+public interface ReadModelRepository extends Repository<UserPetOwnership, Long> {
+
+    /**
+     * Living pets owned by any user with the given name and first name (homonyms included).
+     */
+    @Query("""
+                select distinct p.id, p.name, p.age, p.type, p.deceased
+                from UserPetOwnership o
+                join o.user u
+                join o.pet p
+                where u.name = :name
+                  and u.firstName = :firstName
+                  and p.deceased = false
+                order by p.id
+            """)
+    List<Object[]> findPetsByUserName(@Param("name") String name, @Param("firstName") String firstName);
+
+    /**
+     * Living pets kept at an address of the given city (case-insensitive).
+     */
+    @Query("""
+                select p.id, p.name, p.age, p.type, p.deceased
+                from Pet p
+                join p.address a
+                where upper(a.city) = upper(:city)
+                  and p.deceased = false
+                order by p.id
+            """)
+    List<Object[]> findPetsByCity(@Param("city") String city);
+
+    /**
+     * Living users owning a living pet of the given type kept in the given city (case-insensitive).
+     */
+    @Query("""
+                select distinct u.id, u.name, u.firstName, u.age, u.gender, u.deceased,
+                       ua.id, ua.city, ua.type, ua.addressName, ua.number
+                from UserPetOwnership o
+                join o.user u
+                join u.address ua
+                join o.pet p
+                join p.address a
+                where p.type = :type
+                  and lower(a.city) = lower(:city)
+                  and u.deceased = false
+                  and p.deceased = false
+                order by u.id
+            """)
+    List<Object[]> findUsersByPetTypeAndCity(@Param("type") PetType type, @Param("city") String city);
+
+    /**
+     * {@link #findUsersByPetTypeAndCity(PetType, String)} without the users' address.
+     */
+    @Query("""
+                select distinct u.id, u.name, u.firstName, u.age, u.gender, u.deceased
+                from UserPetOwnership o
+                join o.user u
+                join o.pet p
+                join p.address a
+                where p.type = :type
+                  and lower(a.city) = lower(:city)
+                  and u.address is not null
+                  and u.deceased = false
+                  and p.deceased = false
+                order by u.id
+            """)
+    List<Object[]> findUsersWithoutAddressByPetTypeAndCity(@Param("type") PetType type, @Param("city") String city);
+
+    /**
+     * Living pets owned by users of the given gender living in the given city (case-insensitive).
+     */
+    @Query("""
+                select distinct p.id, p.name, p.age, p.type, p.deceased
+                from UserPetOwnership o
+                join o.user u
+                join u.address ua
+                join o.pet p
+                where u.gender = :gender
+                  and upper(ua.city) = upper(:city)
+                  and p.deceased = false
+                order by p.id
+            """)
+    List<Object[]> findPetsByOwnerGenderAndCity(@Param("gender") Gender gender, @Param("city") String city);
+
+    /**
+     * Users with the given name and first name, with their address.
+     */
+    @Query("""
+                select u.id, u.name, u.firstName, u.age, u.gender, u.deceased,
+                       a.id, a.city, a.type, a.addressName, a.number
+                from User u
+                join u.address a
+                where u.name = :name
+                  and u.firstName = :firstName
+                order by u.id
+            """)
+    List<Object[]> findUsersByName(@Param("name") String name, @Param("firstName") String firstName);
+
+    /**
+     * {@link #findUsersByName(String, String)} without the address.
+     */
+    @Query("""
+                select u.id, u.name, u.firstName, u.age, u.gender, u.deceased
+                from User u
+                where u.name = :name
+                  and u.firstName = :firstName
+                  and u.address is not null
+                order by u.id
+            """)
+    List<Object[]> findUsersWithoutAddressByName(@Param("name") String name, @Param("firstName") String firstName);
+
+    /**
+     * Users with the given ids, with their address; unknown ids are ignored.
+     */
+    @Query("""
+                select u.id, u.name, u.firstName, u.age, u.gender, u.deceased,
+                       a.id, a.city, a.type, a.addressName, a.number
+                from User u
+                join u.address a
+                where u.id in :ids
+            """)
+    List<Object[]> findUsersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * {@link #findUsersByIds(Collection)} without the address.
+     */
+    @Query("""
+                select u.id, u.name, u.firstName, u.age, u.gender, u.deceased
+                from User u
+                where u.id in :ids
+                  and u.address is not null
+            """)
+    List<Object[]> findUsersWithoutAddressByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Pets with the given ids; unknown ids are ignored.
+     */
+    @Query("""
+                select p.id, p.name, p.age, p.type, p.deceased
+                from Pet p
+                where p.id in :ids
+            """)
+    List<Object[]> findPetsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * {@link #findUsersByName(String, String)} over {@code users_archive}.
+     */
+    @Query(nativeQuery = true, value = """
+                select u.id, u.name, u.first_name, u.age, u.gender, u.is_deceased,
+                       a.id, a.city, a.type, a.address_name, a.number
+                from users_archive u
+                join address a on a.id = u.address_id
+                where u.name = :name
+                  and u.first_name = :firstName
+                order by u.id
+            """)
+    List<Object[]> findArchivedUsersByName(@Param("name") String name, @Param("firstName") String firstName);
+
+    /**
+     * {@link #findUsersByIds(Collection)} over {@code users_archive}.
+     */
+    @Query(nativeQuery = true, value = """
+                select u.id, u.name, u.first_name, u.age, u.gender, u.is_deceased,
+                       a.id, a.city, a.type, a.address_name, a.number
+                from users_archive u
+                join address a on a.id = u.address_id
+                where u.id in :ids
+            """)
+    List<Object[]> findArchivedUsersByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * {@link #findPetsByIds(Collection)} over {@code pet_archive}.
+     */
+    @Query(nativeQuery = true, value = """
+                select p.id, p.name, p.age, p.type, p.is_deceased
+                from pet_archive p
+                where p.id in :ids
+            """)
+    List<Object[]> findArchivedPetsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Living users connected to the given user through living pets they co-own, directly or through other
+     * co-owners, up to {@code depth} hops away, as {@code [id, name, firstName, depth]} rows ordered by
+     * depth then id. Each hop of the recursion is deduplicated, so a user reached along several paths is
+     * expanded once per depth, and the given user is never expanded again.
+     * <p>
+     * {@code limit} only applies once the recursion is done: the traversal itself is bounded by {@code depth}
+     * alone, and costs up to the size of the connected co-ownership graph within that many hops.
+     * </p>
+     */
+    @Query(nativeQuery = true, value = """
+                with recursive household(user_id, depth) as (
+                    select cast(:userId as bigint), 0
+                    union
+                    select o2.user_id, h.depth + 1
+                    from household h
+                    join user_pet_ownership o1 on o1.user_id = h.user_id
+                    join pet p on p.id = o1.pet_id and p.is_deceased = false
+                    join user_pet_ownership o2 on o2.pet_id = o1.pet_id and o2.user_id <> h.user_id
+                                               and o2.user_id <> :userId
+                    join users u on u.id = o2.user_id and u.is_deceased = false
+                    where h.depth < :depth
+                )
+                select u.id, u.name, u.first_name, min(h.depth)
+                from household h
+                join users u on u.id = h.user_id
+                where h.user_id <> :userId
+                group by u.id, u.name, u.first_name
+                order by 4, u.id
+                limit :limit
+            """)
+    List<Object[]> findHousehold(@Param("userId") long userId, @Param("depth") int depth, @Param("limit") int limit);
+}
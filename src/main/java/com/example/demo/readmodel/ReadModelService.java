@@ -0,0 +1,249 @@
+package com.example.demo.readmodel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.HouseholdDto;
+import com.example.demo.dto.HouseholdMemberDto;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.fields.SparseFields;
+import com.example.demo.jfr.DtoMappingEvent;
+import com.example.demo.jfr.OwnershipQueryEvent;
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Read-only side of the ownership queries.
+ * <p>
+ * Rows come from the scalar projections of {@link ReadModelRepository} and are mapped straight to
+ * the response records, with primitive ids and every repeated string shared through the
+ * {@link StringDictionary}. No managed entity is created, so a large result costs the records alone
+ * rather than entities, their snapshots and their proxies. Address numbers are not interned: they
+ * are close to unique per row.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@link #petsByUser(String, String)} - living pets of every user with that name.</li>
+ *   <li>{@link #petsByCity(String)} - living pets in a city.</li>
+ *   <li>{@link #usersByPetTypeAndCity(PetType, String, Set)} - living owners of a pet type in a city.</li>
+ *   <li>{@link #petsByWomenInCity(String)} - living pets of women living in a city.</li>
+ *   <li>{@link #usersByName(String, String, Set, boolean)} - users with that name.</li>
+ *   <li>{@link #usersByIds(List, Set, boolean)} and {@link #petsByIds(List, boolean)} - batch lookups in request
+ *       order, with {@code IN} lists of at most {@code app.read-model.batch-chunk-size} ids; unknown ids are
+ *       reported as missing.</li>
+ *   <li>{@link #household(long, int, int)} - living users sharing a living pet with a user, transitively, in one
+ *       recursive query. The response is capped by {@code app.read-model.household-max-members}, but only
+ *       {@code app.read-model.household-max-depth} bounds the traversal the database runs.</li>
+ * </ul>
+ *
+ * The user queries take the sparse fieldset of the request ({@code null} for every field): when it leaves
+ * out {@code address}, the address-less projection is used and {@link UserDto#address()} is {@code null}.
+ * The name and id lookups also read the archive tables when {@code includeArchived} is set, the archive
+ * only for the ids the hot tables did not have.
+ * Each query emits an {@link OwnershipQueryEvent} and each row a {@link DtoMappingEvent}.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReadModelService {
+
+    private final ReadModelRepository repo;
+    private final StringDictionary dictionary;
+    private final ReadModelProperties props;
+
+    public List<PetDto> petsByUser(String name, String firstName) {
+        return query("readModel.petsByUser", () -> repo.findPetsByUserName(name, firstName), this::toPetDto);
+    }
+
+    public List<PetDto> petsByCity(String city) {
+        return query("readModel.petsByCity", () -> repo.findPetsByCity(city), this::toPetDto);
+    }
+
+    public List<UserDto> usersByPetTypeAndCity(PetType type, String city, Set<String> fields) {
+        return query("readModel.usersByPetTypeAndCity", () -> withAddress(fields)
+                ? repo.findUsersByPetTypeAndCity(type, city)
+                : repo.findUsersWithoutAddressByPetTypeAndCity(type, city), this::toUserDto);
+    }
+
+    public List<PetDto> petsByWomenInCity(String city) {
+        return query("readModel.petsByWomenInCity", () -> repo.findPetsByOwnerGenderAndCity(Gender.FEMALE, city),
+                this::toPetDto);
+    }
+
+    public List<UserDto> usersByName(String name, String firstName, Set<String> fields, boolean includeArchived) {
+        List<UserDto> users = query("readModel.usersByName", () -> withAddress(fields)
+                ? repo.findUsersByName(name, firstName)
+                : repo.findUsersWithoutAddressByName(name, firstName), this::toUserDto);
+        if (!includeArchived) {
+            return users;
+        }
+        List<UserDto> archived = query("readModel.usersByName.archived",
+                () -> repo.findArchivedUsersByName(name, firstName), archivedUserMapper(fields));
+        if (archived.isEmpty()) {
+            return users;
+        }
+        List<UserDto> merged = new ArrayList<>(users.size() + archived.size());
+        merged.addAll(users);
+        merged.addAll(archived);
+        merged.sort(Comparator.comparingLong(UserDto::id));
+        return merged;
+    }
+
+    public BatchDto<UserDto> usersByIds(List<Long> ids, Set<String> fields, boolean includeArchived) {
+        return byIds("readModel.usersByIds", ids,
+                withAddress(fields) ? repo::findUsersByIds : repo::findUsersWithoutAddressByIds,
+                this::toUserDto, includeArchived ? repo::findArchivedUsersByIds : null, archivedUserMapper(fields),
+                UserDto::id);
+    }
+
+    public BatchDto<PetDto> petsByIds(List<Long> ids, boolean includeArchived) {
+        return byIds("readModel.petsByIds", ids, repo::findPetsByIds, this::toPetDto,
+                includeArchived ? repo::findArchivedPetsByIds : null, this::toPetDto, PetDto::id);
+    }
+
+    public HouseholdDto household(long userId, int depth, int limit) {
+        int maxDepth = Math.clamp(depth, 1, Math.max(1, props.getHouseholdMaxDepth()));
+        int maxMembers = Math.clamp(limit, 1, Math.max(1, props.getHouseholdMaxMembers()));
+        List<HouseholdMemberDto> members = query("readModel.household",
+                () -> repo.findHousehold(userId, maxDepth, maxMembers + 1), this::toHouseholdMemberDto);
+        boolean truncated = members.size() > maxMembers;
+        return new HouseholdDto(truncated ? members.subList(0, maxMembers) : members, truncated);
+    }
+
+    /**
+     * Looks the ids up with {@code call}, then those still missing with {@code archiveCall} unless it is
+     * {@code null}, and returns the results in request order.
+     */
+    private <T> BatchDto<T> byIds(String name, List<Long> ids, Function<List<Long>, List<Object[]>> call,
+                                  Function<Object[], T> mapper, Function<List<Long>, List<Object[]>> archiveCall,
+                                  Function<Object[], T> archiveMapper, ToLongFunction<T> idOf) {
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (distinct.size() > props.getBatchMaxIds()) {
+            throw new IllegalArgumentException(
+                    "At most " + props.getBatchMaxIds() + " ids per request, got " + distinct.size());
+        }
+        List<Long> requested = new ArrayList<>(distinct);
+        Map<Long, T> found = HashMap.newHashMap(requested.size());
+        fetchChunked(name, requested, call, mapper, idOf, found);
+        if (archiveCall != null && found.size() < requested.size()) {
+            List<Long> notFound = requested.stream().filter(id -> !found.containsKey(id)).toList();
+            fetchChunked(name + ".archived", notFound, archiveCall, archiveMapper, idOf, found);
+        }
+        List<T> items = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            T dto = found.get(id);
+            if (dto != null) {
+                items.add(dto);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchDto<>(items, missing);
+    }
+
+    private <T> void fetchChunked(String name, List<Long> ids, Function<List<Long>, List<Object[]>> call,
+                                  Function<Object[], T> mapper, ToLongFunction<T> idOf, Map<Long, T> found) {
+        int chunk = Math.max(1, props.getBatchChunkSize());
+        for (int from = 0; from < ids.size(); from += chunk) {
+            List<Long> slice = ids.subList(from, Math.min(from + chunk, ids.size()));
+            for (T dto : query(name, () -> call.apply(slice), mapper)) {
+                found.put(idOf.applyAsLong(dto), dto);
+            }
+        }
+    }
+
+    /**
+     * Maps archived user rows, which always carry the address, without it when the fieldset leaves it out.
+     */
+    private Function<Object[], UserDto> archivedUserMapper(Set<String> fields) {
+        return withAddress(fields) ? this::toUserDto : r -> toUserDto(Arrays.copyOf(r, 6));
+    }
+
+    private static boolean withAddress(Set<String> fields) {
+        return SparseFields.includes(fields, "address");
+    }
+
+    private static <T> List<T> query(String name, Supplier<List<Object[]>> call, Function<Object[], T> mapper) {
+        OwnershipQueryEvent event = new OwnershipQueryEvent();
+        event.begin();
+        List<Object[]> rows = call.get();
+        event.finish(name, rows.size());
+        List<T> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(mapper.apply(row));
+        }
+        return result;
+    }
+
+    private PetDto toPetDto(Object[] r) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        long id = (Long) r[0];
+        PetDto dto = new PetDto(id, dictionary.intern((String) r[1]), (Integer) r[2], petType(r[3]), (Boolean) r[4]);
+        event.finish(PetDto.class, id);
+        return dto;
+    }
+
+    private HouseholdMemberDto toHouseholdMemberDto(Object[] r) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        long id = ((Number) r[0]).longValue();
+        HouseholdMemberDto dto = new HouseholdMemberDto(id, dictionary.intern((String) r[1]),
+                dictionary.intern((String) r[2]), ((Number) r[3]).intValue());
+        event.finish(HouseholdMemberDto.class, id);
+        return dto;
+    }
+
+    private UserDto toUserDto(Object[] r) {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        long id = (Long) r[0];
+        AddressDto address = r.length == 6 ? null : new AddressDto((Long) r[6],
+                dictionary.intern((String) r[7]),
+                dictionary.intern((String) r[8]),
+                dictionary.intern((String) r[9]),
+                (String) r[10]);
+        UserDto dto = new UserDto(id,
+                dictionary.intern((String) r[1]),
+                dictionary.intern((String) r[2]),
+                (Integer) r[3],
+                gender(r[4]),
+                address,
+                (Boolean) r[5]);
+        event.finish(UserDto.class, id);
+        return dto;
+    }
+
+    /**
+     * @return the gender of an entity projection, or parsed from the string of a native one
+     */
+    private static Gender gender(Object value) {
+        return value instanceof String name ? Gender.valueOf(name) : (Gender) value;
+    }
+
+    /**
+     * @return the pet type of an entity projection, or parsed from the string of a native one
+     */
+    private static PetType petType(Object value) {
+        return value instanceof String name ? PetType.valueOf(name) : (PetType) value;
+    }
+}
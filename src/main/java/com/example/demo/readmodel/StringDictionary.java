@@ -0,0 +1,69 @@
+package com.example.demo.readmodel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Process-wide dictionary of the low-cardinality strings carried by the read model.
+ * <p>
+ * The JDBC driver materializes a fresh {@link String} for every column of every row, so a result of
+ * 100k pets in one city holds 100k copies of the same handful of type, name and city values. Interning
+ * them here makes every row point at one shared instance: the reference is the dictionary code (4 bytes
+ * with compressed oops) and no decode step is needed when the DTO is serialized.
+ * </p>
+ * <p>
+ * The dictionary is bounded by {@link ReadModelProperties#getDictionaryMaxEntries()} and only interns
+ * values up to {@link ReadModelProperties#getDictionaryMaxLength()} characters; anything else is
+ * returned unchanged. Its size is published as the {@value #METRIC} gauge.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(ReadModelProperties.class)
+public class StringDictionary {
+
+    public static final String METRIC = "app.read-model.dictionary.size";
+
+    private final ConcurrentMap<String, String> entries = new ConcurrentHashMap<>();
+    private final ReadModelProperties props;
+
+    public StringDictionary(ReadModelProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        Gauge.builder(METRIC, entries, ConcurrentMap::size)
+                .description("Distinct strings shared by the read model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the shared instance equal to {@code value}, adding it if there is room.
+     *
+     * @param value the string read from the database; may be {@code null}
+     * @return the canonical instance, or {@code value} itself when it is not eligible
+     */
+    public String intern(String value) {
+        if (value == null || value.length() > props.getDictionaryMaxLength()) {
+            return value;
+        }
+        String shared = entries.get(value);
+        if (shared != null) {
+            return shared;
+        }
+        if (entries.size() >= props.getDictionaryMaxEntries()) {
+            return value;
+        }
+        shared = entries.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+
+    /**
+     * @return the number of distinct strings currently held
+     */
+    public int size() {
+        return entries.size();
+    }
+}
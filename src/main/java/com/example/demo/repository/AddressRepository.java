@@ -1,7 +1,12 @@
 package com.example.demo.repository;
 
+import java.util.List;
 import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
 import com.example.demo.model.Address;
 
 /**
@@ -22,6 +27,10 @@ import com.example.demo.model.Address;
  *     Retrieves an {@link Address} entity matching the specified city, type, address name, and number,
  *     ignoring case sensitivity for all fields.
  *   </li>
+ *   <li>
+ *     {@code findMostPopulated}:
+ *     Retrieves the addresses with the most residents, used to warm the application up before readiness.
+ *   </li>
  * </ul>
  * </p>
  */
@@ -39,4 +48,13 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
      */
     Optional<Address> findByCityIgnoreCaseAndTypeIgnoreCaseAndAddressNameIgnoreCaseAndNumberIgnoreCase(
             String city, String type, String addressName, String number);
+
+    /**
+     * Retrieves the addresses with the most users living at them, most populated first.
+     *
+     * @param pageable the page to return; only the limit is meaningful
+     * @return the most populated addresses
+     */
+    @Query("select a from User u join u.address a group by a order by count(u) desc, a.id")
+    List<Address> findMostPopulated(Pageable pageable);
 }
@@ -2,6 +2,7 @@ package com.example.demo.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -18,6 +19,8 @@ import jakarta.persistence.QueryHint;
  * Repository interface for managing {@link Pet} entities.
  * <p>
  * Provides methods to perform CRUD operations and custom queries on Pet data.
+ * The list queries load read-only entities ({@value HibernateHints#HINT_READ_ONLY}), without
+ * dirty-checking snapshots.
  * </p>
  *
  * <p>
@@ -47,6 +50,7 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      * @param type the type of pet to search for
      * @return a list of matching {@link Pet} entities
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Pet> findByType(PetType type);
 
     /**
@@ -56,6 +60,7 @@ public interface PetRepository extends JpaRepository<Pet, Long> {
      * @param city the city to search for (case-insensitive)
      * @return a list of matching {@link Pet} entities
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<Pet> findByAddress_CityIgnoreCaseAndDeceasedFalse(String city);
 
     /**
@@ -2,8 +2,11 @@ package com.example.demo.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.example.demo.model.Pet;
@@ -11,28 +14,38 @@ import com.example.demo.model.PetType;
 import com.example.demo.model.User;
 import com.example.demo.model.UserPetOwnership;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for managing {@link UserPetOwnership} entities.
  * <p>
  * Provides methods to perform CRUD operations and custom queries on User-Pet ownership data.
+ * The queries load read-only entities ({@value HibernateHints#HINT_READ_ONLY}), without
+ * dirty-checking snapshots.
  * </p>
  */
 public interface UserPetOwnershipRepository extends JpaRepository<UserPetOwnership, Long> {
 
     /**
-     * Retrieves a list of {@link UserPetOwnership} entities associated with the specified user.
+     * Retrieves a list of {@link UserPetOwnership} entities associated with the specified user,
+     * with their pet fetched in the same statement ({@link UserPetOwnership#WITH_PET}).
      *
      * @param user the user to search for
      * @return a list of matching {@link UserPetOwnership} entities
      */
+    @EntityGraph(UserPetOwnership.WITH_PET)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<UserPetOwnership> findByUser(User user);
 
     /**
-     * Retrieves a list of {@link UserPetOwnership} entities associated with the specified pet.
+     * Retrieves a list of {@link UserPetOwnership} entities associated with the specified pet,
+     * with their user fetched in the same statement ({@link UserPetOwnership#WITH_USER}).
      *
      * @param pet the pet to search for
      * @return a list of matching {@link UserPetOwnership} entities
      */
+    @EntityGraph(UserPetOwnership.WITH_USER)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<UserPetOwnership> findByPet(Pet pet);
 
     /**
@@ -42,6 +55,7 @@ public interface UserPetOwnershipRepository extends JpaRepository<UserPetOwnersh
      * @param city the city to search for (case-insensitive)
      * @return a list of distinct users who own pets of the specified type in the given city
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
                 select distinct u
                 from UserPetOwnership o
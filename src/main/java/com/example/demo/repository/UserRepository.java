@@ -1,7 +1,10 @@
 package com.example.demo.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
@@ -20,10 +23,13 @@ import jakarta.persistence.QueryHint;
  * <p>
  * Provides methods for querying users by name, first name, gender, and city,
  * as well as a method for acquiring a pessimistic write lock on a user entity.
+ * The list queries load read-only entities ({@value HibernateHints#HINT_READ_ONLY}): Hibernate keeps no
+ * dirty-checking snapshot for them and never flushes them, even inside a read-write transaction.
  * </p>
  *
  * <ul>
  *   <li>{@code findByNameAndFirstName(String name, String firstName)}: Finds users by their name and first name.</li>
+ *   <li>{@code findWithAddressById(Long id)}: Finds a user together with its address, for responses that map it.</li>
  *   <li>{@code findByGenderAndAddress_CityIgnoreCase(Gender gender, String city)}: Finds users by gender and city (case-insensitive).</li>
  *   <li>{@code lockForUpdate(Long id)}: Acquires a pessimistic write lock on the user with the specified ID, with a lock timeout of 5000ms.</li>
  * </ul>
@@ -37,8 +43,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param firstName the first name of the user to search for
      * @return a list of {@link User} entities that match the given name and first name
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<User> findByNameAndFirstName(String name, String firstName);
 
+    /**
+     * Retrieves a user and its address in one statement ({@link User#WITH_ADDRESS} fetch plan).
+     * <p>
+     * The address is lazy and open-session-in-view is off, so callers that map it after the transaction
+     * must load it up front.
+     * </p>
+     *
+     * @param id the ID of the user
+     * @return the user with an initialized address, or empty if no user has that ID
+     */
+    @EntityGraph(User.WITH_ADDRESS)
+    Optional<User> findWithAddressById(Long id);
+
     /**
      * Retrieves a list of users filtered by gender and city (case-insensitive).
      *
@@ -46,6 +66,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param city the city to filter users by (case-insensitive)
      * @return a list of users matching the specified gender and city
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     List<User> findByGenderAndAddress_CityIgnoreCase(Gender gender, String city);
 
     /**
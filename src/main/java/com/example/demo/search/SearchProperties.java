@@ -0,0 +1,29 @@
+package com.example.demo.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the in-memory user name search ({@code app.search.*}).
+ *
+ * <ul>
+ *   <li>{@code maxResults} - upper bound on the {@code limit} a caller may ask for.</li>
+ *   <li>{@code maxCandidates} - how many users a query may score before it returns what it has; bounds the
+ *       cost of very broad queries such as a one-letter prefix.</li>
+ *   <li>{@code maxEdits} - the most typos tolerated in a query word; words of four letters or less get one,
+ *       words under {@code minFuzzyLength} none.</li>
+ *   <li>{@code minFuzzyLength} - the shortest query word matched with typos.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.search")
+public class SearchProperties {
+
+    private int maxResults = 50;
+    private int maxCandidates = 10_000;
+    private int maxEdits = 2;
+    private int minFuzzyLength = 3;
+}
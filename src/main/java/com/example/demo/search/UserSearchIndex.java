@@ -0,0 +1,593 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.model.User;
+
+/**
+ * In-memory index behind the prefix and typo-tolerant user name search.
+ * <p>
+ * Names and first names are split into words, folded to lower case without accents ({@code Müller} matches
+ * {@code muller}) and stored once as <i>terms</i>. Homonyms share their terms, so the term dictionary stays
+ * small even with millions of users. Each term keeps the sorted slots of the users carrying it, and each user
+ * slot keeps its term ids, its id and its display names, shared between homonyms through a map of the index's
+ * own. They stay out of the read model's bounded {@code StringDictionary}, which millions of names would fill
+ * before any city or address value reached it.
+ * </p>
+ * <p>
+ * Every query word is matched against the terms in three ways:
+ * </p>
+ * <ul>
+ *   <li>exact, scored 3;</li>
+ *   <li>prefix, through the sorted term map, scored between 2 and 3 (closer to the full word is better);</li>
+ *   <li>typo, for words of at least {@code min-fuzzy-length} letters: terms sharing enough trigrams with the
+ *       word (or, for words too short for trigrams to tell, starting with the same letter) are checked with a
+ *       bounded Damerau-Levenshtein distance of at most {@code max-edits}, scored between 1 and 2.</li>
+ * </ul>
+ * <p>
+ * A user matches when every query word matches one of its terms, and scores the sum of the best match of each
+ * word. The scan walks the users of the word with the fewest candidates, best term first, and stops as soon as
+ * no remaining term can beat the current top results, or after {@code max-candidates} users. Ties keep the scan
+ * order: better term first, then alphabetical term, then indexing order.
+ * </p>
+ * <p>
+ * The index is built at start-up by {@link UserSearchIndexLoader} and kept current by {@link #index(User)},
+ * which applies a change only once its transaction commits, and by {@link #remove(long)} for archived users.
+ * Reads and writes are guarded by a read-write lock.
+ * </p>
+ */
+@Component
+@EnableConfigurationProperties(SearchProperties.class)
+public class UserSearchIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final int[] NO_TERMS = new int[0];
+    private static final double EXACT = 3;
+    private static final double PREFIX = 2;
+    private static final double TYPO = 1;
+    private static final Comparator<Candidate> RANKING =
+            Comparator.comparingDouble(Candidate::score).reversed().thenComparingInt(Candidate::order);
+
+    private final SearchProperties props;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+    private final List<String> terms = new ArrayList<>();
+    private final List<IntList> postings = new ArrayList<>();
+    private final Map<String, IntList> trigrams = new HashMap<>();
+    private final Map<String, String> displayNames = new HashMap<>();
+
+    private final LongIntMap slots = new LongIntMap();
+    private long[] ids = new long[1024];
+    private String[] names = new String[1024];
+    private String[] firstNames = new String[1024];
+    private int[][] slotTerms = new int[1024][];
+    private int size;
+    private int removed;
+
+    public UserSearchIndex(SearchProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * Indexes the user's current names once the surrounding transaction commits, or right away outside one.
+     * A rolled-back change never reaches the index.
+     *
+     * @param user the saved user
+     */
+    public void index(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        long id = user.getId();
+        String name = user.getName();
+        String firstName = user.getFirstName();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(id, name, firstName);
+                }
+            });
+        } else {
+            put(id, name, firstName);
+        }
+    }
+
+    /**
+     * Adds a user or replaces the names indexed for it.
+     *
+     * @param id        the user id
+     * @param name      the name of the user
+     * @param firstName the first name of the user
+     */
+    public void put(long id, String name, String firstName) {
+        lock.writeLock().lock();
+        try {
+            int[] updated = termsOf(name, firstName);
+            int slot = slots.get(id);
+            if (slot < 0) {
+                slot = allocate(id);
+            }
+            int[] previous = slotTerms[slot];
+            if (previous == null) {
+                previous = NO_TERMS;
+                removed--;
+            }
+            for (int term : previous) {
+                if (!contains(updated, term)) {
+                    postings.get(term).removeSorted(slot);
+                }
+            }
+            for (int term : updated) {
+                if (!contains(previous, term)) {
+                    postings.get(term).addSorted(slot);
+                }
+            }
+            slotTerms[slot] = updated;
+            names[slot] = share(name);
+            firstNames[slot] = share(firstName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a user from the results; its slot is kept, empty, and reused if the id is put again.
+     *
+     * @param id the user id
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slots.get(id);
+            if (slot < 0 || slotTerms[slot] == null) {
+                return;
+            }
+            for (int term : slotTerms[slot]) {
+                postings.get(term).removeSorted(slot);
+            }
+            slotTerms[slot] = null;
+            names[slot] = null;
+            firstNames[slot] = null;
+            removed++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the users whose names match every word of the query, by prefix or with typos, best first.
+     *
+     * @param query the words to look for, in any order
+     * @param limit the maximum number of results, capped by {@code app.search.max-results}
+     * @return the ranked matches; empty when the query has no word
+     */
+    public List<UserSearchHit> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        int max = Math.clamp(limit, 1, Math.max(1, props.getMaxResults()));
+        lock.readLock().lock();
+        try {
+            List<Map<Integer, Double>> matches = new ArrayList<>(words.size());
+            for (String word : words) {
+                Map<Integer, Double> terms = matchTerms(word);
+                if (terms.isEmpty()) {
+                    return List.of();
+                }
+                matches.add(terms);
+            }
+            return collect(matches, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed users
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size - removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct terms
+     */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<UserSearchHit> collect(List<Map<Integer, Double>> matches, int max) {
+        int driver = 0;
+        long fewest = Long.MAX_VALUE;
+        for (int w = 0; w < matches.size(); w++) {
+            long candidates = 0;
+            for (int term : matches.get(w).keySet()) {
+                candidates += postings.get(term).size();
+            }
+            if (candidates < fewest) {
+                fewest = candidates;
+                driver = w;
+            }
+        }
+        double others = 0;
+        for (int w = 0; w < matches.size(); w++) {
+            if (w != driver) {
+                others += matches.get(w).values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+            }
+        }
+        List<Map.Entry<Integer, Double>> driving = new ArrayList<>(matches.get(driver).entrySet());
+        driving.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(e -> terms.get(e.getKey())));
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(max + 1, RANKING.reversed());
+        Set<Integer> seen = new HashSet<>();
+        int budget = props.getMaxCandidates();
+        int order = 0;
+        scan:
+        for (Map.Entry<Integer, Double> term : driving) {
+            IntList users = postings.get(term.getKey());
+            for (int i = 0; i < users.size(); i++) {
+                // later candidates lose ties, and the terms are sorted by score: nothing left can enter the top
+                if (top.size() == max && term.getValue() + others <= top.peek().score()) {
+                    break scan;
+                }
+                if (budget-- <= 0) {
+                    break scan;
+                }
+                int slot = users.get(i);
+                if (!seen.add(slot)) {
+                    continue;
+                }
+                double score = score(slot, matches);
+                if (score > 0) {
+                    top.offer(new Candidate(slot, score, order++));
+                    if (top.size() > max) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<UserSearchHit> hits = new ArrayList<>(ranked.size());
+        for (Candidate c : ranked) {
+            hits.add(new UserSearchHit(ids[c.slot()], names[c.slot()], firstNames[c.slot()], c.score()));
+        }
+        return hits;
+    }
+
+    private double score(int slot, List<Map<Integer, Double>> matches) {
+        double total = 0;
+        for (Map<Integer, Double> terms : matches) {
+            double best = 0;
+            for (int term : slotTerms[slot]) {
+                Double score = terms.get(term);
+                if (score != null && score > best) {
+                    best = score;
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private Map<Integer, Double> matchTerms(String word) {
+        Map<Integer, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Integer> e : termIds.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+            int length = e.getKey().length();
+            matches.put(e.getValue(), length == word.length() ? EXACT : PREFIX + (double) word.length() / length);
+        }
+        int maxEdits = maxEdits(word.length());
+        if (maxEdits > 0) {
+            Set<String> grams = trigrams(word);
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                IntList withGram = trigrams.get(gram);
+                for (int i = 0; withGram != null && i < withGram.size(); i++) {
+                    shared.merge(withGram.get(i), 1, Integer::sum);
+                }
+            }
+            // one edit changes at most four trigrams (a transposition; three otherwise); when that rules nothing
+            // out (short words), the terms with the same first letter are checked as well
+            int minShared = grams.size() - 4 * maxEdits;
+            if (minShared < 1) {
+                IntList sameInitial = trigrams.get(initial(word));
+                for (int i = 0; sameInitial != null && i < sameInitial.size(); i++) {
+                    shared.putIfAbsent(sameInitial.get(i), 1);
+                }
+            }
+            for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+                String term = terms.get(e.getKey());
+                if (e.getValue() < minShared || matches.containsKey(e.getKey())
+                        || Math.abs(term.length() - word.length()) > maxEdits) {
+                    continue;
+                }
+                int distance = distance(word, term, maxEdits);
+                if (distance <= maxEdits) {
+                    matches.put(e.getKey(), TYPO + (double) (maxEdits + 1 - distance) / (maxEdits + 1));
+                }
+            }
+        }
+        matches.keySet().removeIf(term -> postings.get(term).size() == 0);
+        return matches;
+    }
+
+    private int maxEdits(int length) {
+        if (length < props.getMinFuzzyLength()) {
+            return 0;
+        }
+        return length <= 4 ? Math.min(1, props.getMaxEdits()) : props.getMaxEdits();
+    }
+
+    private String share(String displayName) {
+        return displayName == null ? null : displayNames.computeIfAbsent(displayName, Function.identity());
+    }
+
+    private int[] termsOf(String name, String firstName) {
+        Set<String> words = new LinkedHashSet<>(words(name));
+        words.addAll(words(firstName));
+        int[] result = new int[words.size()];
+        int i = 0;
+        for (String word : words) {
+            result[i++] = termId(word);
+        }
+        return result;
+    }
+
+    private int termId(String word) {
+        Integer id = termIds.get(word);
+        if (id != null) {
+            return id;
+        }
+        int created = terms.size();
+        terms.add(word);
+        termIds.put(word, created);
+        postings.add(new IntList());
+        for (String gram : trigrams(word)) {
+            trigrams.computeIfAbsent(gram, g -> new IntList()).add(created);
+        }
+        trigrams.computeIfAbsent(initial(word), g -> new IntList()).add(created);
+        return created;
+    }
+
+    private int allocate(long id) {
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            slotTerms = Arrays.copyOf(slotTerms, capacity);
+        }
+        int slot = size++;
+        ids[slot] = id;
+        slotTerms[slot] = NO_TERMS;
+        slots.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Splits a name into lower-case words without accents.
+     */
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(WORD_SEPARATOR.split(folded)).filter(w -> !w.isEmpty()).distinct().toList();
+    }
+
+    /**
+     * Trigrams of the word padded with {@code ^} and {@code $}, so the first and last letters weigh as much as
+     * the others.
+     */
+    static Set<String> trigrams(String word) {
+        String padded = "^" + word + "$";
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Key of the terms starting with the word's first letter; two characters long, so it never collides with
+     * a trigram.
+     */
+    private static String initial(String word) {
+        return "^" + word.charAt(0);
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus adjacent transpositions), or {@code max + 1} as soon
+     * as it is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        int[] before = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, before[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Candidate(int slot, double score, int order) {
+    }
+
+    /**
+     * Growable {@code int} array; the user lists of the terms are kept sorted.
+     */
+    static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addSorted(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = value;
+            size++;
+        }
+
+        void removeSorted(int value) {
+            int at = Arrays.binarySearch(values, 0, size, value);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from user id to slot, without the boxing of a {@code HashMap<Long, Integer>}.
+     * A removed user keeps its slot, so ids are never removed and there are no tombstones.
+     */
+    static final class LongIntMap {
+
+        private static final long FREE = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(1024);
+        private int[] values = new int[1024];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == FREE) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                long[] oldKeys = keys;
+                int[] oldValues = values;
+                keys = newKeys(oldKeys.length * 2);
+                values = new int[oldKeys.length * 2];
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldKeys[i] != FREE) {
+                        put(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != FREE && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == FREE) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, FREE);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
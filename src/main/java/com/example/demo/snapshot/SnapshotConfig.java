@@ -0,0 +1,34 @@
+package com.example.demo.snapshot;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replaces the {@code spring.sql.init} initializer with a {@link SnapshotDatabaseInitializer}, which skips
+ * {@code data.sql} and restores the snapshot instead when {@link SnapshotStore#validate()} accepts it. Enable with
+ * {@code app.snapshot.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public SnapshotDatabaseInitializer snapshotDatabaseInitializer(DataSource dataSource,
+                                                                   SqlInitializationProperties properties,
+                                                                   SnapshotStore store) {
+        boolean restore = store.validate().isPresent();
+        DatabaseInitializationSettings settings = SqlDataSourceScriptDatabaseInitializer.getSettings(properties);
+        if (restore) {
+            settings.setDataLocations(List.of());
+        }
+        return new SnapshotDatabaseInitializer(dataSource, settings, store, restore);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.snapshot;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+
+/**
+ * The {@code spring.sql.init} initializer of the application when {@code app.snapshot.enabled=true}: it runs
+ * {@code schema.sql} as usual, then restores the snapshot in place of {@code data.sql} when one was validated,
+ * still before JPA and the rest of the application touch the database.
+ */
+public class SnapshotDatabaseInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+    private final SnapshotStore store;
+    private final boolean restore;
+    private volatile boolean restored;
+
+    /**
+     * @param settings the {@code spring.sql.init} settings, without the data scripts when {@code restore} is set
+     * @param restore  whether to restore the snapshot of {@code store}
+     */
+    SnapshotDatabaseInitializer(DataSource dataSource, DatabaseInitializationSettings settings, SnapshotStore store,
+                                boolean restore) {
+        super(dataSource, settings);
+        this.store = store;
+        this.restore = restore;
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        boolean initialized = super.initializeDatabase();
+        if (!restore || !initialized) {
+            return initialized;
+        }
+        try {
+            store.restore();
+        } catch (IOException | SQLException e) {
+            throw new IllegalStateException("Restoring the snapshot failed", e);
+        }
+        restored = true;
+        return true;
+    }
+
+    /**
+     * @return whether the database content comes from the snapshot rather than from {@code data.sql}
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+}
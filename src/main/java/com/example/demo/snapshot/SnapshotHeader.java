@@ -0,0 +1,87 @@
+package com.example.demo.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import com.example.demo.export.ExportTable;
+import com.example.demo.export.ExportTable.Column;
+
+/**
+ * The fixed-size header of a snapshot file, which the payload, a columnar export of the hot and archive
+ * tables, follows.
+ * <pre>
+ * "UPMS" version(int) layout(int) createdAt(long, epoch ms) payloadLength(long) payloadCrc(int) headerCrc(int)
+ * </pre>
+ * <p>
+ * Both checksums are CRC-32C. {@code layout} is the checksum of the exported tables and columns, so a snapshot
+ * written before a schema change is ignored rather than restored into the wrong columns.
+ * </p>
+ *
+ * @param version       format version of the file
+ * @param layout        checksum of the exported tables and columns
+ * @param createdAt     when the snapshot was written
+ * @param payloadLength size of the payload following the header
+ * @param payloadCrc    checksum of the payload
+ */
+record SnapshotHeader(int version, int layout, Instant createdAt, long payloadLength, int payloadCrc) {
+
+    static final byte[] MAGIC = {'U', 'P', 'M', 'S'};
+    // 2: the payload's timestamps became zone-free microseconds (export format 3)
+    static final int VERSION = 2;
+    static final int SIZE = 36;
+    static final int LAYOUT = layoutOf(ExportTable.values());
+
+    ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE)
+                .put(MAGIC)
+                .putInt(version)
+                .putInt(layout)
+                .putLong(createdAt.toEpochMilli())
+                .putLong(payloadLength)
+                .putInt(payloadCrc);
+        buffer.putInt(crc(buffer.array(), SIZE - 4));
+        return buffer.flip();
+    }
+
+    /**
+     * @param buffer the first {@value #SIZE} bytes of the file
+     * @throws IOException if they are not an intact snapshot header
+     */
+    static SnapshotHeader decode(ByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[SIZE];
+        buffer.get(bytes);
+        if (!Arrays.equals(bytes, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IOException("Not a pet manager snapshot");
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes, MAGIC.length, SIZE - MAGIC.length);
+        SnapshotHeader decoded = new SnapshotHeader(header.getInt(), header.getInt(),
+                Instant.ofEpochMilli(header.getLong()), header.getLong(), header.getInt());
+        if (header.getInt() != crc(bytes, SIZE - 4)) {
+            throw new IOException("Header checksum mismatch");
+        }
+        return decoded;
+    }
+
+    static int layoutOf(ExportTable... tables) {
+        StringBuilder layout = new StringBuilder();
+        for (ExportTable table : tables) {
+            layout.append(table.table()).append('(');
+            for (Column column : table.columns()) {
+                layout.append(column.name()).append(' ').append(column.kind()).append(',');
+            }
+            layout.append(')');
+        }
+        byte[] bytes = layout.toString().getBytes(StandardCharsets.US_ASCII);
+        return crc(bytes, bytes.length);
+    }
+
+    private static int crc(byte[] bytes, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+}
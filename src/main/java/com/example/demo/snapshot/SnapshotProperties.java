@@ -0,0 +1,30 @@
+package com.example.demo.snapshot;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the warm-restart snapshot ({@code app.snapshot.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - restore the database from {@code file} at start-up instead of running {@code data.sql},
+ *       and keep the file up to date; off by default, on in the {@code local} profile.</li>
+ *   <li>{@code file} - where the snapshot is written; replaced atomically by each new snapshot.</li>
+ *   <li>{@code interval} - how often a new snapshot is written if the data changed; one is also written on
+ *       shutdown.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled;
+    private Path file = Path.of(System.getProperty("java.io.tmpdir"), "pet-manager.snapshot");
+    private Duration interval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,89 @@
+package com.example.demo.snapshot;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.changes.ChangeLog;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes a new snapshot every {@code app.snapshot.interval}, and once more on shutdown, whenever the
+ * {@link ChangeLog} moved since the last one.
+ * <p>
+ * A database seeded from {@code data.sql} (or loaded at start-up) gets its first snapshot at the first tick; a
+ * restored one only once it changes. It stops after the web server, so the shutdown snapshot includes the
+ * requests drained by the graceful shutdown. A failed write is logged and retried at the next tick.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotScheduler implements SmartLifecycle {
+
+    private static final long NEVER = -1;
+
+    private final SnapshotStore store;
+    private final ChangeLog changeLog;
+    private final SnapshotProperties props;
+    private long snapshotSeq;
+    private ScheduledExecutorService executor;
+
+    public SnapshotScheduler(SnapshotStore store, SnapshotDatabaseInitializer initializer, ChangeLog changeLog,
+                             SnapshotProperties props) {
+        this.store = store;
+        this.changeLog = changeLog;
+        this.props = props;
+        this.snapshotSeq = initializer.isRestored() ? changeLog.lastSeq() : NEVER;
+    }
+
+    synchronized void snapshotIfChanged() {
+        long seq = changeLog.lastSeq();
+        if (seq == snapshotSeq) {
+            return;
+        }
+        try {
+            store.write();
+            snapshotSeq = seq;
+        } catch (IOException | SQLException | RuntimeException e) {
+            log.warn("Writing the snapshot failed", e);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        long period = props.getInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("snapshot-writer").daemon().factory());
+        executor.scheduleWithFixedDelay(this::snapshotIfChanged, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        synchronized (this) {
+            executor.shutdown();
+            executor = null;
+        }
+        snapshotIfChanged();
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    /**
+     * @return a phase below the web server's, so this stops after it
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 4096;
+    }
+}
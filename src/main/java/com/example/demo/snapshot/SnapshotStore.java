@@ -0,0 +1,231 @@
+package com.example.demo.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.export.DatasetExporter;
+import com.example.demo.export.DatasetImporter;
+import com.example.demo.export.TransferStats;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes, validates and restores the snapshot file of {@code app.snapshot.file}.
+ * <p>
+ * A snapshot is a {@link SnapshotHeader} followed by an export of {@link DatasetExporter}. It is written to a
+ * temporary file, synced, then moved over the previous one, so a crash mid-write keeps the previous snapshot.
+ * On restore the payload is memory-mapped, checksummed and bulk-loaded by {@link DatasetImporter#bulkLoad}
+ * straight from the mapping, in regions of at most {@value #REGION_BYTES} bytes.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(SnapshotProperties.class)
+@ConditionalOnProperty(prefix = "app.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotStore {
+
+    /** A single mapping is limited to 2 GB. */
+    static final long REGION_BYTES = 1L << 30;
+
+    private final SnapshotProperties props;
+    private final DatasetExporter exporter;
+    private final DatasetImporter importer;
+
+    /**
+     * Replaces the snapshot file with the current content of the database.
+     *
+     * @return the header of the new snapshot
+     * @throws IOException  if writing the file fails; the previous snapshot is kept
+     * @throws SQLException if reading the database fails
+     */
+    public synchronized SnapshotHeader write() throws IOException, SQLException {
+        long start = System.nanoTime();
+        Path file = props.getFile().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        SnapshotHeader header;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ChecksumChannel payload = new ChecksumChannel(channel.position(SnapshotHeader.SIZE));
+            exporter.export(payload);
+            header = new SnapshotHeader(SnapshotHeader.VERSION, SnapshotHeader.LAYOUT,
+                    Instant.ofEpochMilli(System.currentTimeMillis()), payload.size, (int) payload.crc.getValue());
+            ByteBuffer bytes = header.encode();
+            for (long position = 0; bytes.hasRemaining(); ) {
+                position += channel.write(bytes, position);
+            }
+            channel.force(true);
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Snapshot written file={} bytes={} durationMs={}", file,
+                SnapshotHeader.SIZE + header.payloadLength(), (System.nanoTime() - start) / 1_000_000);
+        return header;
+    }
+
+    /**
+     * Checks that the snapshot file exists, is complete, matches the current format and tables, and that its
+     * payload checksum is intact.
+     *
+     * @return its header, or empty when there is no usable snapshot (the reason is logged)
+     */
+    public Optional<SnapshotHeader> validate() {
+        Path file = props.getFile();
+        if (!Files.isRegularFile(file)) {
+            log.info("No snapshot at {}", file);
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SnapshotHeader header = readHeader(channel);
+            CRC32C crc = new CRC32C();
+            for (long offset = 0; offset < header.payloadLength(); offset += REGION_BYTES) {
+                crc.update(map(channel, offset, header.payloadLength()));
+            }
+            if ((int) crc.getValue() != header.payloadCrc()) {
+                throw new IOException("Payload checksum mismatch");
+            }
+            return Optional.of(header);
+        } catch (IOException e) {
+            log.warn("Ignoring snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads the snapshot, which {@link #validate()} must have accepted, into a database holding only the schema.
+     *
+     * @return what was restored
+     * @throws IOException  if the file cannot be read
+     * @throws SQLException if loading the rows fails; the database is then partially loaded
+     */
+    public TransferStats restore() throws IOException, SQLException {
+        Path file = props.getFile();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            SnapshotHeader header = readHeader(channel);
+            TransferStats stats = importer.bulkLoad(new MappedChannel(channel, header.payloadLength()));
+            log.info("Snapshot restored file={} createdAt={} users={} pets={} durationMs={}", file,
+                    header.createdAt(), stats.users(), stats.pets(), stats.elapsed().toMillis());
+            return stats;
+        }
+    }
+
+    private static SnapshotHeader readHeader(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < SnapshotHeader.SIZE) {
+            throw new IOException("Truncated header");
+        }
+        SnapshotHeader header = SnapshotHeader.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                SnapshotHeader.SIZE));
+        if (header.version() != SnapshotHeader.VERSION) {
+            throw new IOException("Unsupported snapshot version " + header.version() + ", expected "
+                    + SnapshotHeader.VERSION);
+        }
+        if (header.layout() != SnapshotHeader.LAYOUT) {
+            throw new IOException("Snapshot of other tables or columns");
+        }
+        if (size != SnapshotHeader.SIZE + header.payloadLength()) {
+            throw new IOException("Expected " + (SnapshotHeader.SIZE + header.payloadLength()) + " bytes, found "
+                    + size);
+        }
+        return header;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long offset, long payloadLength) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, SnapshotHeader.SIZE + offset,
+                Math.min(REGION_BYTES, payloadLength - offset));
+    }
+
+    /**
+     * Writes through to the file, keeping the size and checksum of what was written.
+     */
+    private static final class ChecksumChannel implements WritableByteChannel {
+
+        private final FileChannel file;
+        private final CRC32C crc = new CRC32C();
+        private long size;
+
+        ChecksumChannel(FileChannel file) {
+            this.file = file;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int start = src.position();
+            int written = file.write(src);
+            crc.update(src.duplicate().position(start).limit(start + written));
+            size += written;
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the file is closed by its owner
+        }
+    }
+
+    /**
+     * Reads the payload from successive read-only mappings of the file.
+     */
+    private static final class MappedChannel implements ReadableByteChannel {
+
+        private final FileChannel file;
+        private final long payloadLength;
+        private long offset;
+        private ByteBuffer region = ByteBuffer.allocate(0);
+
+        MappedChannel(FileChannel file, long payloadLength) {
+            this.file = file;
+            this.payloadLength = payloadLength;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (!region.hasRemaining()) {
+                if (offset == payloadLength) {
+                    return -1;
+                }
+                region = map(file, offset, payloadLength);
+                offset += region.capacity();
+            }
+            int n = Math.min(dst.remaining(), region.remaining());
+            dst.put(region.slice(region.position(), n));
+            region.position(region.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // the file is closed by its owner
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.sql;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link SlowQueryDataSource} feeding the {@link SlowQueryLog}.
+ * Disable with {@code app.sql.slow-query.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.sql.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryDataSource)) {
+                    return new SlowQueryDataSource(dataSource, slowQueryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
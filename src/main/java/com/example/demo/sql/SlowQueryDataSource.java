@@ -0,0 +1,247 @@
+package com.example.demo.sql;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} wrapper timing every statement execution for the {@link SlowQueryLog}.
+ * <p>
+ * Connections, statements and result sets are JDK proxies: bind parameters are captured as they are set,
+ * and each {@code execute*} call is timed. A statement reaching the threshold is reported with its row count:
+ * the update count for DML, or the rows read from its result set, once that result set (or the statement)
+ * is closed. Fast statements return the driver's result set unwrapped.
+ * </p>
+ * <p>
+ * Closing this data source closes the wrapped one, so the pool is still shut down with the context.
+ * </p>
+ */
+public class SlowQueryDataSource extends DelegatingDataSource implements Closeable {
+
+    private static final ClassLoader CLASS_LOADER = SlowQueryDataSource.class.getClassLoader();
+    private static final Object[] NO_PARAMS = new Object[0];
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryDataSource(DataSource target, SlowQueryLog slowQueryLog) {
+        super(target);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(CLASS_LOADER, new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Handles the identity methods on the proxy itself, so proxies behave as distinct keys in the
+     * statement registries of connection pools and Hibernate.
+     */
+    private abstract static class Handler implements InvocationHandler {
+
+        @Override
+        public final Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(proxy, method, args == null ? NO_PARAMS : args);
+            };
+        }
+
+        abstract Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    private final class ConnectionHandler extends Handler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args.length > 0 && args[0] instanceof String s ? s : null;
+                return proxy(method.getReturnType(), new StatementHandler(target, statement, sql, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler extends Handler {
+        private final Connection connection;
+        private final Statement target;
+        private final String preparedSql;
+        private final Connection connectionProxy;
+        private Object[] params = NO_PARAMS;
+        private int paramCount;
+        private Pending pending;
+
+        StatementHandler(Connection connection, Statement target, String preparedSql, Connection connectionProxy) {
+            this.connection = connection;
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(proxy, method, args);
+            }
+            if (name.startsWith("set") && args.length >= 2 && args[0] instanceof Integer index
+                    && target instanceof PreparedStatement) {
+                bind(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                paramCount = 0;
+            } else if (name.equals("getConnection")) {
+                return connectionProxy;
+            } else if (name.equals("close")) {
+                report();
+            } else if (name.equals("getResultSet") && pending != null) {
+                ResultSet rs = (ResultSet) SlowQueryDataSource.invoke(target, method, args);
+                return rs == null ? null : count(rs, proxy);
+            }
+            return SlowQueryDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            report();
+            long start = System.nanoTime();
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            long elapsed = System.nanoTime() - start;
+            if (!slowQueryLog.isSlow(elapsed)) {
+                return result;
+            }
+            String sql = args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            pending = new Pending(sql, Arrays.copyOf(params, paramCount), elapsed);
+            if (result instanceof ResultSet rs) {
+                return count(rs, proxy);
+            }
+            if (result instanceof Boolean hasResultSet && hasResultSet) {
+                return result;
+            }
+            pending.rows = rows(result);
+            report();
+            return result;
+        }
+
+        private ResultSet count(ResultSet rs, Object statementProxy) {
+            return SlowQueryDataSource.proxy(ResultSet.class, new ResultSetHandler(rs, this, (Statement) statementProxy));
+        }
+
+        private long rows(Object result) throws SQLException {
+            return switch (result) {
+                case Integer n -> n;
+                case Long n -> n;
+                case int[] counts -> Arrays.stream(counts).asLongStream().filter(n -> n > 0).sum();
+                case long[] counts -> Arrays.stream(counts).filter(n -> n > 0).sum();
+                case Boolean ignored -> target.getUpdateCount();
+                default -> -1;
+            };
+        }
+
+        private void bind(int index, Object value) {
+            if (index > params.length) {
+                params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+            }
+            if (index > paramCount) {
+                Arrays.fill(params, paramCount, index - 1, null);
+                paramCount = index;
+            }
+            params[index - 1] = value;
+        }
+
+        void report() {
+            Pending p = pending;
+            if (p != null) {
+                pending = null;
+                slowQueryLog.record(p.sql, p.params, p.elapsedNanos, p.rows, connection);
+            }
+        }
+    }
+
+    private static final class ResultSetHandler extends Handler {
+        private final ResultSet target;
+        private final StatementHandler statement;
+        private final Statement statementProxy;
+
+        ResultSetHandler(ResultSet target, StatementHandler statement, Statement statementProxy) {
+            this.target = target;
+            this.statement = statement;
+            this.statementProxy = statementProxy;
+        }
+
+        @Override
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getStatement")) {
+                return statementProxy;
+            }
+            if (name.equals("close")) {
+                statement.report();
+            }
+            Object result = SlowQueryDataSource.invoke(target, method, args);
+            if (name.equals("next") && Boolean.TRUE.equals(result) && statement.pending != null) {
+                statement.pending.rows++;
+            }
+            return result;
+        }
+    }
+
+    private static final class Pending {
+        private final String sql;
+        private final Object[] params;
+        private final long elapsedNanos;
+        private long rows;
+
+        Pending(String sql, Object[] params, long elapsedNanos) {
+            this.sql = sql;
+            this.params = params;
+            this.elapsedNanos = elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.sql;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Actuator endpoint ({@code /management/slowqueries} on the management port) listing the slowest statement
+ * shapes of the recent window, slowest first.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<SlowQueryLog.SlowShape> slowestShapes() {
+        return slowQueryLog.slowestShapes();
+    }
+}
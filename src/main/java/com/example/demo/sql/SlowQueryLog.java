@@ -0,0 +1,204 @@
+package com.example.demo.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.MDC;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.filter.TraceIdFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logs and ranks the statements that {@link SlowQueryDataSource} timed above {@code app.sql.slow-query.threshold}.
+ * <p>
+ * A slow statement is logged at {@code WARN} with its duration, row count, trace ID, SQL, bind parameters
+ * (masked by {@link SqlParameterMasker}) and, if enabled, the {@code EXPLAIN} plan. At most
+ * {@code max-logged} statements are logged per {@code log-interval}; the next logged line reports how many
+ * were suppressed. Every slow statement, logged or not, is also ranked by its shape (the SQL with literals
+ * replaced by {@code ?}) for {@link SlowQueryEndpoint}.
+ * </p>
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(SlowQueryProperties.class)
+public class SlowQueryLog {
+
+    // no repeated groups per character or per list item: java.util.regex recurses on each repetition of a group,
+    // which overflows the stack on long literals and on IN lists of thousands of placeholders
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*+(?:''[^']*+)*+'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?\\s*,[\\s,?]*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<String> EXPLAINABLE = Set.of("select", "with", "insert", "update", "delete", "merge");
+
+    private final SlowQueryProperties props;
+    private final Set<String> maskedColumns;
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicInteger suppressed = new AtomicInteger();
+
+    public SlowQueryLog(SlowQueryProperties props) {
+        this.props = props;
+        this.maskedColumns = props.getMaskedColumns().stream()
+                .map(c -> c.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * @param elapsedNanos the execution time of a statement
+     * @return whether it reaches the slow-query threshold
+     */
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= props.getThreshold().toNanos();
+    }
+
+    /**
+     * Ranks a slow statement and logs it unless the rate limit is reached.
+     *
+     * @param sql          the executed SQL
+     * @param params       the bound parameters, indexed from 0 for placeholder 1
+     * @param elapsedNanos the execution time
+     * @param rows         rows returned or affected, {@code -1} if unknown
+     * @param connection   the unwrapped connection that ran the statement, used for {@code EXPLAIN}
+     */
+    void record(String sql, Object[] params, long elapsedNanos, long rows, Connection connection) {
+        String traceId = MDC.get(TraceIdFilter.TRACE_ID);
+        rank(shape(sql), elapsedNanos, rows, traceId);
+        int skipped = acquireLogPermit();
+        if (skipped < 0) {
+            return;
+        }
+        String plan = props.isExplain() ? explain(connection, sql, params) : null;
+        log.warn("Slow SQL durationMs={} rows={} traceId={} sql=[{}] params={}{}{}",
+                String.format(Locale.ROOT, "%.3f", elapsedNanos / 1_000_000.0), rows, traceId,
+                WHITESPACE.matcher(sql).replaceAll(" ").trim(),
+                SqlParameterMasker.render(sql, params, maskedColumns),
+                plan != null ? " plan=[" + plan + "]" : "",
+                skipped > 0 ? " suppressed=" + skipped : "");
+    }
+
+    /**
+     * @return the slowest statement shapes seen within the configured window, slowest first
+     */
+    public List<SlowShape> slowestShapes() {
+        long cutoff = System.nanoTime() - props.getWindow().toNanos();
+        shapes.values().removeIf(s -> s.lastSeen.get() - cutoff < 0);
+        return shapes.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingDouble(SlowShape::maxMs).reversed())
+                .limit(props.getTop())
+                .toList();
+    }
+
+    /**
+     * @return the SQL with whitespace collapsed, literals replaced by {@code ?} and {@code IN} lists folded,
+     *         so executions differing only in their values share one shape
+     */
+    static String shape(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    private void rank(String shape, long elapsedNanos, long rows, String traceId) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats == null) {
+            if (shapes.size() >= props.getMaxTrackedShapes()) {
+                return;
+            }
+            stats = shapes.computeIfAbsent(shape, k -> new ShapeStats());
+        }
+        stats.record(elapsedNanos, rows, traceId);
+    }
+
+    /**
+     * @return {@code -1} if the rate limit is reached, otherwise how many slow statements were suppressed
+     *         since the last logged one
+     */
+    private int acquireLogPermit() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= props.getLogInterval().toNanos() && windowStart.compareAndSet(start, now)) {
+            loggedInWindow.set(0);
+        }
+        if (loggedInWindow.incrementAndGet() > props.getMaxLogged()) {
+            suppressed.incrementAndGet();
+            return -1;
+        }
+        return suppressed.getAndSet(0);
+    }
+
+    private static String explain(Connection connection, String sql, Object[] params) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        if (!EXPLAINABLE.contains(trimmed.substring(0, end).toLowerCase(Locale.ROOT))) {
+            return null;
+        }
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + trimmed)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            StringJoiner plan = new StringJoiner(" | ");
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.add(WHITESPACE.matcher(rs.getString(1)).replaceAll(" ").trim());
+                }
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            return "unavailable: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Ranking of one statement shape, as listed by {@link SlowQueryEndpoint}.
+     */
+    public record SlowShape(String sql, long count, double maxMs, double meanMs, long maxRows, String lastTraceId) {
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong(-1);
+        private final AtomicLong lastSeen = new AtomicLong(System.nanoTime());
+        private volatile String lastTraceId;
+
+        void record(long elapsedNanos, long rows, String traceId) {
+            count.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+            maxRows.accumulateAndGet(rows, Math::max);
+            lastTraceId = traceId;
+            lastSeen.set(System.nanoTime());
+        }
+
+        SlowShape snapshot(String sql) {
+            long n = Math.max(1, count.sum());
+            return new SlowShape(sql, count.sum(), maxNanos.get() / 1_000_000.0,
+                    totalNanos.sum() / 1_000_000.0 / n, maxRows.get(), lastTraceId);
+        }
+    }
+}
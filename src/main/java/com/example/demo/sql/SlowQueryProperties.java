@@ -0,0 +1,42 @@
+package com.example.demo.sql;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the slow-query log ({@code app.sql.slow-query.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - wraps the {@code DataSource} so statement execution is timed.</li>
+ *   <li>{@code threshold} - statements running at least this long are logged and ranked.</li>
+ *   <li>{@code explain} - appends the database's {@code EXPLAIN} plan to the log line.</li>
+ *   <li>{@code maxLogged} / {@code logInterval} - at most {@code maxLogged} slow statements are logged per
+ *       interval; the others are only counted and ranked.</li>
+ *   <li>{@code maskedColumns} - bind parameters of these columns are logged as {@code ***}; so are string
+ *       parameters whose column cannot be determined from the SQL.</li>
+ *   <li>{@code window} - statement shapes that were not slow for this long drop out of the ranking.</li>
+ *   <li>{@code maxTrackedShapes} - upper bound on ranked shapes; new shapes are ignored once it is reached.</li>
+ *   <li>{@code top} - how many shapes the {@code slowqueries} endpoint returns.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.slow-query")
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+    private Duration threshold = Duration.ofMillis(100);
+    private boolean explain = true;
+    private int maxLogged = 10;
+    private Duration logInterval = Duration.ofMinutes(1);
+    private Set<String> maskedColumns = new LinkedHashSet<>(Set.of("name", "first_name", "address_name"));
+    private Duration window = Duration.ofMinutes(15);
+    private int maxTrackedShapes = 500;
+    private int top = 10;
+}
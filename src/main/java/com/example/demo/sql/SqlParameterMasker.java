@@ -0,0 +1,92 @@
+package com.example.demo.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders the bind parameters of a statement for the slow-query log, masking personal data.
+ * <p>
+ * The column a {@code ?} placeholder binds to is taken from the column list of an {@code INSERT}, or from the
+ * comparison preceding it ({@code u1_0.name=?}, {@code upper(a1_0.city)=upper(?)}, {@code x in (?,?)}).
+ * Values of masked columns, and string values whose column cannot be determined, are rendered as {@code ***}.
+ * </p>
+ */
+final class SqlParameterMasker {
+
+    static final String MASK = "***";
+
+    private static final int MAX_VALUE_LENGTH = 64;
+
+    private static final Pattern INSERT = Pattern.compile(
+            "^\\s*insert\\s+into\\s+[\\w.\"]+\\s*\\(([^)]*)\\)\\s*values\\s*\\((.*)\\)\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "([\\w\"]+)\\)?\\s*(?:=|<>|!=|<=|>=|<|>|\\blike\\b|\\bin\\b)\\s*\\(?\\s*(?:\\w+\\(\\s*)?(?:\\?\\s*,\\s*)*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private SqlParameterMasker() {
+    }
+
+    /**
+     * @param sql           the statement with {@code ?} placeholders
+     * @param params        the bound values, indexed from 0 for placeholder 1
+     * @param maskedColumns lower-case column names whose values must not be logged
+     * @return the rendered values, in placeholder order
+     */
+    static List<String> render(String sql, Object[] params, Set<String> maskedColumns) {
+        List<String> columns = columns(sql);
+        List<String> rendered = new ArrayList<>(params.length);
+        for (int i = 0; i < params.length; i++) {
+            String column = i < columns.size() ? columns.get(i) : null;
+            rendered.add(render(params[i], column, maskedColumns));
+        }
+        return rendered;
+    }
+
+    /**
+     * @return the column bound by each placeholder of {@code sql}, {@code null} where it is unknown
+     */
+    static List<String> columns(String sql) {
+        List<String> columns = new ArrayList<>();
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.matches()) {
+            String[] names = insert.group(1).split(",");
+            String[] values = insert.group(2).split(",");
+            for (int i = 0; i < values.length; i++) {
+                if (values[i].trim().equals("?")) {
+                    columns.add(i < names.length ? normalize(names[i]) : null);
+                }
+            }
+            return columns;
+        }
+        for (int i = sql.indexOf('?'); i >= 0; i = sql.indexOf('?', i + 1)) {
+            Matcher m = COMPARED_COLUMN.matcher(sql.substring(Math.max(0, i - 128), i));
+            columns.add(m.find() ? normalize(m.group(1)) : null);
+        }
+        return columns;
+    }
+
+    private static String render(Object value, String column, Set<String> maskedColumns) {
+        if (value == null) {
+            return "null";
+        }
+        boolean text = value instanceof CharSequence;
+        if ((column != null && maskedColumns.contains(column)) || (column == null && text)) {
+            return MASK;
+        }
+        String s = String.valueOf(value);
+        if (s.length() > MAX_VALUE_LENGTH) {
+            s = s.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return text ? "'" + s + "'" : s;
+    }
+
+    private static String normalize(String column) {
+        String c = column.trim().replace("\"", "");
+        return c.substring(c.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.sql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.Getter;
+
+/**
+ * SQL statements executed on behalf of one HTTP request.
+ * <p>
+ * Counts every statement prepared by Hibernate, accumulates JDBC execution time and keeps the number
+ * of executions per distinct SQL string, which is what exposes N+1 patterns.
+ * </p>
+ */
+public final class SqlRequestStats {
+
+    @Getter
+    private final String traceId;
+    @Getter
+    private final String endpoint;
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong dbNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executionsBySql = new ConcurrentHashMap<>();
+
+    SqlRequestStats(String traceId, String endpoint) {
+        this.traceId = traceId;
+        this.endpoint = endpoint;
+    }
+
+    void recordStatement(String sql) {
+        statements.incrementAndGet();
+        executionsBySql.computeIfAbsent(sql, s -> new AtomicInteger()).incrementAndGet();
+    }
+
+    void recordDbTime(long nanos) {
+        dbNanos.addAndGet(nanos);
+    }
+
+    public int getStatementCount() {
+        return statements.get();
+    }
+
+    public long getDbTimeNanos() {
+        return dbNanos.get();
+    }
+
+    /**
+     * @return the SQL string executed most often in this request, or {@code null} if none was executed
+     */
+    public Map.Entry<String, Integer> getMostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue((a, b) -> Integer.compare(a.get(), b.get())))
+                .map(e -> Map.entry(e.getKey(), e.getValue().get()))
+                .orElse(null);
+    }
+}
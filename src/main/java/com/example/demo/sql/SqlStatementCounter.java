@@ -0,0 +1,21 @@
+package com.example.demo.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the statements of the current request.
+ * The SQL is returned unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStats stats = SqlStatementTracker.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.sql;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.MDC;
+
+import com.example.demo.filter.TraceIdFilter;
+import com.example.demo.trace.TraceContext;
+
+/**
+ * Registry of the {@link SqlRequestStats} of in-flight requests, keyed by the span ID {@link TraceIdFilter} opens
+ * for each request. The trace ID would not do: requests continuing the same incoming trace share it.
+ * <p>
+ * Hibernate instantiates {@link SqlTimingListener} itself and the statement inspector is shared by all
+ * sessions, so both find the stats of the current request through the span ID in the {@link MDC}.
+ * Statements executed outside a tracked request (start-up, warm-up, scheduled work) are ignored.
+ * </p>
+ */
+public final class SqlStatementTracker {
+
+    private static final ConcurrentMap<String, SqlRequestStats> ACTIVE = new ConcurrentHashMap<>();
+    private static final List<Consumer<SqlRequestStats>> OBSERVERS = new CopyOnWriteArrayList<>();
+
+    private SqlStatementTracker() {
+    }
+
+    /**
+     * Starts tracking the request identified by {@code spanId}.
+     *
+     * @param spanId   the span ID of the request
+     * @param traceId  the trace ID of the request
+     * @param endpoint a label for the request, e.g. {@code GET /ownerships/pets-by-user}
+     * @return the stats that will collect the request's statements
+     */
+    public static SqlRequestStats start(String spanId, String traceId, String endpoint) {
+        SqlRequestStats stats = new SqlRequestStats(traceId, endpoint);
+        ACTIVE.put(spanId, stats);
+        return stats;
+    }
+
+    /**
+     * Stops tracking the request and hands its stats to the registered observers.
+     *
+     * @param spanId the span ID passed to {@link #start(String, String, String)}
+     * @return the final stats, or {@code null} if the request was not tracked
+     */
+    public static SqlRequestStats stop(String spanId) {
+        SqlRequestStats stats = ACTIVE.remove(spanId);
+        if (stats != null) {
+            OBSERVERS.forEach(o -> o.accept(stats));
+        }
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request bound to the current thread, or {@code null} if it is not tracked
+     */
+    public static SqlRequestStats current() {
+        String spanId = MDC.get(TraceContext.SPAN_ID);
+        return spanId == null ? null : ACTIVE.get(spanId);
+    }
+
+    /**
+     * Registers a callback invoked with the stats of every request when it completes (used by test budgets).
+     */
+    public static void addObserver(Consumer<SqlRequestStats> observer) {
+        OBSERVERS.add(observer);
+    }
+
+    public static void removeObserver(Consumer<SqlRequestStats> observer) {
+        OBSERVERS.remove(observer);
+    }
+}
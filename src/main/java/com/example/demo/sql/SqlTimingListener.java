@@ -0,0 +1,44 @@
+package com.example.demo.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate {@link SessionEventListener} that adds JDBC execution time to the current request's stats.
+ * <p>
+ * Hibernate creates one instance per session (see {@code hibernate.session.events.auto}), and a session
+ * is used by one thread at a time, so the start timestamp can live in a plain field.
+ * </p>
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStats stats = SqlStatementTracker.current();
+        if (stats != null) {
+            stats.recordDbTime(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the per-request SQL tracking hooks with Hibernate.
+ * <p>
+ * {@link SqlStatementCounter} counts statements and {@link SqlTimingListener} measures JDBC time;
+ * {@code TraceIdFilter} opens and closes the tracking scope of each request and reports the result.
+ * Disable with {@code app.sql.tracking.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.sql.tracking", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlTrackingHibernateCustomizer() {
+        return props -> {
+            props.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            props.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlTimingListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for per-request SQL statement tracking ({@code app.sql.tracking.*}).
+ *
+ * <ul>
+ *   <li>{@code enabled} - turns statement counting, DB timing and the {@code Server-Timing} header on or off.</li>
+ *   <li>{@code warnStatements} - logs a warning when a request executes more statements than this.</li>
+ *   <li>{@code warnRepeated} - logs a possible N+1 warning when the same statement is executed this many
+ *       times in one request.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.sql.tracking")
+public class SqlTrackingProperties {
+
+    private boolean enabled = true;
+    private int warnStatements = 20;
+    private int warnRepeated = 5;
+}
@@ -0,0 +1,34 @@
+package com.example.demo.trace;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default {@link TraceIdGenerator} backed by {@link ThreadLocalRandom}.
+ * <p>
+ * Trace ids only need to be unique, not unpredictable, so there is no reason to pay for
+ * {@code UUID.randomUUID()}: it draws from a shared {@code SecureRandom} that serialises concurrent callers.
+ * {@code ThreadLocalRandom} keeps its state per thread and never blocks.
+ * </p>
+ */
+public class RandomTraceIdGenerator implements TraceIdGenerator {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    @Override
+    public String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        return HEX.toHexDigits(high) + HEX.toHexDigits(low);
+    }
+
+    @Override
+    public String newSpanId() {
+        long id = ThreadLocalRandom.current().nextLong();
+        return HEX.toHexDigits(id == 0 ? 1 : id);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.trace;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Propagates the trace context to asynchronous work (see {@link TraceContextTaskDecorator}).
+ */
+@Configuration(proxyBeanMethods = false)
+public class TraceConfig {
+
+    @Bean
+    public TaskDecorator traceContextTaskDecorator() {
+        return new TraceContextTaskDecorator();
+    }
+}
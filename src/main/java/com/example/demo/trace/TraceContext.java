@@ -0,0 +1,76 @@
+package com.example.demo.trace;
+
+import org.slf4j.MDC;
+
+import com.example.demo.filter.TraceIdFilter;
+
+/**
+ * W3C trace context of the unit of work running on the current thread.
+ *
+ * @param traceId      32 lowercase hex characters, shared by every service taking part in the trace
+ * @param spanId       16 lowercase hex characters identifying this service's span
+ * @param parentSpanId the caller's span id from an incoming {@code traceparent}, or {@code null}
+ * @param sampled      whether the trace is recorded; propagated to downstream services
+ */
+public record TraceContext(String traceId, String spanId, String parentSpanId, boolean sampled) {
+
+    public static final String SPAN_ID = "spanId";
+
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * @return the {@code traceparent} header value identifying this span, for outgoing calls and responses
+     */
+    public String traceparent() {
+        return W3CTraceparent.format(this);
+    }
+
+    /**
+     * @return the context bound to the current thread, or {@code null} outside a traced unit of work
+     */
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds this context to the current thread and puts its ids into the MDC ({@code traceId}, {@code spanId})
+     * until the returned scope is closed, which restores whatever was bound before.
+     *
+     * @return the scope to close when the unit of work ends
+     */
+    public Scope makeCurrent() {
+        TraceContext previous = CURRENT.get();
+        String previousTraceId = MDC.get(TraceIdFilter.TRACE_ID);
+        String previousSpanId = MDC.get(SPAN_ID);
+        CURRENT.set(this);
+        MDC.put(TraceIdFilter.TRACE_ID, traceId);
+        MDC.put(SPAN_ID, spanId);
+        return () -> {
+            restore(TraceIdFilter.TRACE_ID, previousTraceId);
+            restore(SPAN_ID, previousSpanId);
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, value);
+        }
+    }
+
+    /**
+     * An active {@link #makeCurrent()} binding.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Creates the {@link TraceContext} of an incoming request.
+ * <p>
+ * A valid incoming {@code traceparent} is continued: same trace id, a new span id, and the caller's sampling
+ * decision. Otherwise a new trace is started and sampled with probability {@code app.trace.sample-rate}.
+ * Ids come from the {@link TraceIdGenerator} bean if one is declared, else from {@link RandomTraceIdGenerator}.
+ * </p>
+ * <p>
+ * Registered by {@code TraceIdFilter} through {@code @Import}, so it is also available in web slice tests.
+ * </p>
+ */
+@EnableConfigurationProperties(TraceProperties.class)
+public class TraceContextFactory {
+
+    private final TraceProperties props;
+    private final TraceIdGenerator ids;
+
+    @Autowired
+    public TraceContextFactory(TraceProperties props, ObjectProvider<TraceIdGenerator> ids) {
+        this(props, ids.getIfAvailable(RandomTraceIdGenerator::new));
+    }
+
+    public TraceContextFactory(TraceProperties props, TraceIdGenerator ids) {
+        this.props = props;
+        this.ids = ids;
+    }
+
+    /**
+     * @param traceparent the incoming {@code traceparent} header, may be {@code null}
+     * @return the context of the server span handling the request
+     */
+    public TraceContext create(String traceparent) {
+        TraceContext parent = props.isAcceptIncoming() ? W3CTraceparent.parse(traceparent) : null;
+        if (parent != null) {
+            return new TraceContext(parent.traceId(), ids.newSpanId(), parent.spanId(), parent.sampled());
+        }
+        return new TraceContext(ids.newTraceId(), ids.newSpanId(), null, sample());
+    }
+
+    private boolean sample() {
+        double rate = props.getSampleRate();
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.trace;
+
+import java.util.Map;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Carries the submitting thread's {@link TraceContext} and MDC into tasks run by Spring-managed executors.
+ * <p>
+ * Spring Boot applies a {@link TaskDecorator} bean to the auto-configured {@code applicationTaskExecutor}, which
+ * backs {@code @Async} methods and runs on virtual threads when {@code spring.threads.virtual.enabled=true}.
+ * The worker's previous MDC is restored after the task, so pooled threads do not leak context.
+ * </p>
+ */
+public class TraceContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        TraceContext context = TraceContext.current();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        if (context == null && (mdc == null || mdc.isEmpty())) {
+            return task;
+        }
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setMdc(mdc);
+            TraceContext.Scope scope = context == null ? null : context.makeCurrent();
+            try {
+                task.run();
+            } finally {
+                if (scope != null) {
+                    scope.close();
+                }
+                setMdc(previous);
+            }
+        };
+    }
+
+    private static void setMdc(Map<String, String> values) {
+        if (values == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(values);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.demo.trace;
+
+/**
+ * Source of W3C trace and span ids. Declare a bean of this type to replace {@link RandomTraceIdGenerator}.
+ */
+public interface TraceIdGenerator {
+
+    /**
+     * @return a new, non-zero trace id of 32 lowercase hex characters
+     */
+    String newTraceId();
+
+    /**
+     * @return a new, non-zero span id of 16 lowercase hex characters
+     */
+    String newSpanId();
+}
@@ -0,0 +1,25 @@
+package com.example.demo.trace;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for W3C trace context handling ({@code app.trace.*}).
+ *
+ * <ul>
+ *   <li>{@code acceptIncoming} - continue the trace of an incoming {@code traceparent} header (set to {@code false}
+ *       when the service is exposed directly to untrusted clients).</li>
+ *   <li>{@code sampleRate} - probability that a trace started here is marked as sampled; continued traces keep
+ *       the caller's decision.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.trace")
+public class TraceProperties {
+
+    private boolean acceptIncoming = true;
+    private double sampleRate = 0.1;
+}
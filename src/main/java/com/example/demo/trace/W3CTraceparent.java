@@ -0,0 +1,77 @@
+package com.example.demo.trace;
+
+/**
+ * Parsing and formatting of the W3C {@code traceparent} header
+ * ({@code version-traceid-parentid-flags}, e.g. {@code 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01}).
+ */
+public final class W3CTraceparent {
+
+    public static final String HEADER = "traceparent";
+
+    private static final int TRACE_ID_LENGTH = 32;
+    private static final int SPAN_ID_LENGTH = 16;
+    private static final int HEADER_LENGTH = 55;
+
+    private W3CTraceparent() {
+    }
+
+    /**
+     * Parses an incoming {@code traceparent} header.
+     * <p>
+     * Returns {@code null} for a missing or malformed header, for version {@code ff}, for all-zero ids and for
+     * version {@code 00} headers with trailing data, so the caller starts a new trace as the specification requires.
+     * Higher versions are accepted if their first four fields are valid.
+     * </p>
+     *
+     * @param header the header value, may be {@code null}
+     * @return a context carrying the caller's trace id, span id (as {@code spanId}) and sampled flag, or {@code null}
+     */
+    public static TraceContext parse(String header) {
+        if (header == null || header.length() < HEADER_LENGTH) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.length() < HEADER_LENGTH
+                || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || !isHex(value, 0, 2) || value.startsWith("ff")) {
+            return null;
+        }
+        if (value.length() > HEADER_LENGTH && (value.startsWith("00") || value.charAt(HEADER_LENGTH) != '-')) {
+            return null;
+        }
+        String traceId = value.substring(3, 3 + TRACE_ID_LENGTH);
+        String spanId = value.substring(36, 36 + SPAN_ID_LENGTH);
+        if (!isHex(value, 3, 35) || !isHex(value, 36, 52) || !isHex(value, 53, 55)
+                || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        boolean sampled = (Character.digit(value.charAt(54), 16) & 0x01) != 0;
+        return new TraceContext(traceId, spanId, null, sampled);
+    }
+
+    /**
+     * @return the version {@code 00} {@code traceparent} value for the given context's span
+     */
+    public static String format(TraceContext context) {
+        return "00-" + context.traceId() + "-" + context.spanId() + (context.sampled() ? "-01" : "-00");
+    }
+
+    private static boolean isHex(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String id) {
+        for (int i = 0; i < id.length(); i++) {
+            if (id.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
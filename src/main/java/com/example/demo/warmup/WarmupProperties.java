@@ -0,0 +1,36 @@
+package com.example.demo.warmup;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration for the start-up warm-up phase ({@code app.warmup.*}).
+ * <p>
+ * The warm-up runs before the readiness state flips to {@code ACCEPTING_TRAFFIC}, so every
+ * setting here directly trades deploy time against first-minute latency.
+ * </p>
+ *
+ * <ul>
+ *   <li>{@code enabled} - turns the warm-up phase on or off.</li>
+ *   <li>{@code hotAddresses} - how many of the most populated addresses are preloaded.</li>
+ *   <li>{@code iterations} - how many times the synthetic request mix is replayed.</li>
+ *   <li>{@code maxDuration} - hard time budget; the replay stops early once it is spent.</li>
+ *   <li>{@code writeEvery} - replays the create/link requests, inside a rolled-back transaction, on every
+ *       N-th iteration; {@code 0} disables the write replay.</li>
+ * </ul>
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+    private int hotAddresses = 10;
+    private int iterations = 300;
+    private Duration maxDuration = Duration.ofSeconds(30);
+    private int writeEvery = 10;
+}
@@ -0,0 +1,222 @@
+package com.example.demo.warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.controller.OwnershipController;
+import com.example.demo.controller.PetController;
+import com.example.demo.controller.UserController;
+import com.example.demo.dto.AddressCreateDto;
+import com.example.demo.dto.OwnershipCreateDto;
+import com.example.demo.dto.PetCreateDto;
+import com.example.demo.dto.UserCreateDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.Address;
+import com.example.demo.model.Gender;
+import com.example.demo.model.PetType;
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.service.AddressService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Warms the application up before it reports itself ready.
+ * <p>
+ * Spring Boot flips the readiness state to {@code ACCEPTING_TRAFFIC} only after all
+ * {@link ApplicationRunner}s have returned, so running here keeps the readiness probe
+ * {@code OUT_OF_SERVICE} until the warm-up is done. The runner:
+ * </p>
+ * <ul>
+ *   <li>Preloads the most populated addresses through {@link AddressService#findOrCreate(AddressCreateDto)}
+ *       and runs the city queries for their cities (connection pool, H2 pages, Hibernate query plans).</li>
+ *   <li>Replays a synthetic request mix in-process against {@link OwnershipController}, {@link UserController}
+ *       and {@link PetController}, including JSON serialization, so the JIT compiles the request paths.</li>
+ *   <li>Every {@code write-every} iterations, replays the create/link write paths inside a transaction
+ *       that is always rolled back (the inserts are far slower than the reads, so they are sampled).</li>
+ *   <li>Records the elapsed time in the {@value #METRIC} timer.</li>
+ * </ul>
+ * <p>
+ * Warm-up is best effort: a failure is logged and start-up continues.
+ * </p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(WarmupProperties.class)
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class WarmupRunner implements ApplicationRunner {
+
+    public static final String METRIC = "app.warmup.duration";
+
+    private static final String WARMUP_CITY = "warmup";
+
+    private final WarmupProperties props;
+    private final ApplicationEventPublisher publisher;
+    private final AddressRepository addressRepository;
+    private final AddressService addressService;
+    private final UserController userController;
+    private final PetController petController;
+    private final OwnershipController ownershipController;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate writeTx;
+    private final Timer timer;
+
+    public WarmupRunner(WarmupProperties props,
+                        ApplicationEventPublisher publisher,
+                        AddressRepository addressRepository,
+                        AddressService addressService,
+                        UserController userController,
+                        PetController petController,
+                        OwnershipController ownershipController,
+                        ObjectMapper objectMapper,
+                        PlatformTransactionManager txManager,
+                        MeterRegistry meterRegistry) {
+        this.props = props;
+        this.publisher = publisher;
+        this.addressRepository = addressRepository;
+        this.addressService = addressService;
+        this.userController = userController;
+        this.petController = petController;
+        this.ownershipController = ownershipController;
+        this.objectMapper = objectMapper;
+        this.readTx = new TransactionTemplate(txManager);
+        this.readTx.setReadOnly(true);
+        this.writeTx = new TransactionTemplate(txManager);
+        this.timer = Timer.builder(METRIC)
+                .description("Time spent warming caches and request paths before readiness")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        long deadline = start + props.getMaxDuration().toNanos();
+        int replayed = 0;
+        try {
+            List<Address> hot = readTx.execute(status -> addressRepository.findMostPopulated(
+                    PageRequest.of(0, Math.max(1, props.getHotAddresses()))));
+            if (hot == null || hot.isEmpty()) {
+                log.info("Warm-up skipped: no addresses to preload");
+                return;
+            }
+            List<UserDto> people = preload(hot);
+            while (replayed < props.getIterations() && System.nanoTime() < deadline) {
+                replay(hot.get(replayed % hot.size()), people, replayed);
+                replayed++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up aborted after {} iterations: {}", replayed, e.toString());
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(Duration.ofNanos(elapsed));
+            log.info("Warm-up finished iterations={} durationMs={}", replayed, elapsed / 1_000_000);
+        }
+    }
+
+    /**
+     * Resolves the hot addresses through the de-duplication path and runs the city queries once,
+     * collecting a sample of users whose names drive the by-name queries of the replay.
+     */
+    private List<UserDto> preload(List<Address> hot) {
+        Set<String> cities = new LinkedHashSet<>();
+        for (Address a : hot) {
+            addressService.findOrCreate(toCreateDto(a));
+            cities.add(a.getCity());
+        }
+        List<UserDto> people = new ArrayList<>();
+        readTx.executeWithoutResult(status -> {
+            for (String city : cities) {
+                ownershipController.petsByCity(city, null);
+                ownershipController.petsByWomenInCity(city, null);
+                for (PetType type : PetType.values()) {
+                    people.addAll(ownershipController.usersByPetTypeAndCity(type, city, null));
+                }
+            }
+        });
+        return people;
+    }
+
+    private void replay(Address address, List<UserDto> people, int i) {
+        String city = address.getCity();
+        PetType type = PetType.values()[i % PetType.values().length];
+        readTx.executeWithoutResult(status -> {
+            serialize(ownershipController.petsByCity(city, null));
+            serialize(ownershipController.usersByPetTypeAndCity(type, city, null));
+            serialize(ownershipController.petsByWomenInCity(city, null));
+            if (!people.isEmpty()) {
+                UserDto u = people.get(i % people.size());
+                serialize(userController.byName(u.name(), u.firstName(), null, false));
+                serialize(ownershipController.petsByUser(u.name(), u.firstName(), null));
+            }
+        });
+        if (props.getWriteEvery() > 0 && i % props.getWriteEvery() == 0) {
+            writeTx.executeWithoutResult(status -> {
+                try {
+                    replayWrites(i);
+                } finally {
+                    status.setRollbackOnly();
+                }
+            });
+        }
+    }
+
+    private void replayWrites(int i) {
+        AddressCreateDto addr = new AddressCreateDto(WARMUP_CITY, "road", "warmup", String.valueOf(i));
+        UserCreateDto userDto = read(serialize(new UserCreateDto("Warmup", "User", 30, Gender.OTHER, addr)),
+                UserCreateDto.class);
+        PetCreateDto petDto = read(serialize(new PetCreateDto("Warmup", 1, PetType.OTHER, addr)),
+                PetCreateDto.class);
+        UserDto user = serializeAndReturn(userController.create(userDto));
+        var pet = serializeAndReturn(petController.create(petDto));
+        ownershipController.link(new OwnershipCreateDto(user.id(), pet.id()));
+    }
+
+    private static AddressCreateDto toCreateDto(Address a) {
+        return new AddressCreateDto(a.getCity(), a.getType(), a.getAddressName(), a.getNumber());
+    }
+
+    private <T> T serializeAndReturn(T value) {
+        serialize(value);
+        return value;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Warm-up serialization failed", e);
+        }
+    }
+
+    private <T> T read(byte[] json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Warm-up deserialization failed", e);
+        }
+    }
+}
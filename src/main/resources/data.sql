@@ -79,3 +79,9 @@ INSERT INTO user_pet_ownership (user_id, pet_id) VALUES (4, 3);
 -- Pune (address_id=5)
 -- Arjun Rao owns Rocky (deceased pet)
 INSERT INTO user_pet_ownership (user_id, pet_id) VALUES (8, 10);
+
+-- =========================
+-- Dates of death (archived by DeceasedArchiver once older than app.archive.after)
+-- =========================
+UPDATE users SET deceased_at = TIMESTAMP '2024-02-10 09:30:00' WHERE id = 10;
+UPDATE pet SET deceased_at = TIMESTAMP '2024-06-21 18:00:00' WHERE id = 10;
@@ -15,6 +15,7 @@ CREATE TABLE users (
     gender VARCHAR(10),
     address_id BIGINT not null,
     is_deceased BOOLEAN DEFAULT FALSE,
+    deceased_at TIMESTAMP,
     CONSTRAINT fk_user_address FOREIGN KEY (address_id) REFERENCES address(id)
 );
 
@@ -24,6 +25,7 @@ CREATE TABLE pet (
     age INT,
     type VARCHAR(20),
     is_deceased BOOLEAN DEFAULT FALSE,
+    deceased_at TIMESTAMP,
     address_id BIGINT NOT NULL,
     CONSTRAINT fk_pet_address FOREIGN KEY (address_id) REFERENCES address(id)
 );
@@ -36,3 +38,42 @@ CREATE TABLE user_pet_ownership (
     CONSTRAINT fk_ownership_pet FOREIGN KEY (pet_id) REFERENCES pet(id),
     CONSTRAINT uc_ownership UNIQUE (user_id, pet_id)
 );
+
+-- Lets the archiver find the rows due without scanning the living ones (deceased_at is null for them)
+CREATE INDEX ix_users_deceased_at ON users (deceased_at);
+CREATE INDEX ix_pet_deceased_at ON pet (deceased_at);
+
+-- Cold tables: users and pets deceased for longer than app.archive.after, and their ownerships, moved out of the
+-- hot tables by DeceasedArchiver with their original ids. An archived ownership may still point at a hot row
+-- (a living pet of an archived user), hence no foreign keys to users or pet.
+CREATE TABLE users_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    first_name VARCHAR(100) NOT NULL,
+    age INT,
+    gender VARCHAR(10),
+    address_id BIGINT NOT NULL,
+    is_deceased BOOLEAN DEFAULT TRUE,
+    deceased_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_archive_address FOREIGN KEY (address_id) REFERENCES address(id)
+);
+
+CREATE TABLE pet_archive (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    age INT,
+    type VARCHAR(20),
+    is_deceased BOOLEAN DEFAULT TRUE,
+    deceased_at TIMESTAMP,
+    address_id BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_pet_archive_address FOREIGN KEY (address_id) REFERENCES address(id)
+);
+
+CREATE TABLE user_pet_ownership_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    pet_id BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,80 @@
+package com.example.demo.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.readmodel.ReadModelService;
+import com.example.demo.search.UserSearchIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The seeded deceased user (id 10, died 2024-02-10) and pet (id 10, died 2024-06-21) move to the archive tables
+ * with their ownerships, and stay readable with {@code includeArchived}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false",
+        "app.archive.batch-size=1"
+})
+class DeceasedArchiverTest {
+
+    @Autowired private DeceasedArchiver archiver;
+    @Autowired private ReadModelService readModel;
+    @Autowired private UserSearchIndex searchIndex;
+    @Autowired private ChangeLog changeLog;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void archive_movesTheRowsDeceasedBeforeTheCutoff_andKeepsThemReadable() {
+        assertThat(archiver.archive(LocalDateTime.of(2024, 1, 1, 0, 0)).users()).isZero();
+        long seq = changeLog.lastSeq();
+
+        ArchiveRun run = archiver.archive(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertThat(run.users()).isEqualTo(1);
+        assertThat(run.pets()).isEqualTo(1);
+        // user 10 owned the living pet 8, and the living user 8 owned pet 10
+        assertThat(run.ownerships()).isEqualTo(2);
+        assertThat(count("users")).isEqualTo(11);
+        assertThat(count("pet")).isEqualTo(11);
+        assertThat(count("user_pet_ownership_archive")).isEqualTo(2);
+        assertThat(jdbc.queryForObject("select count(*) from user_pet_ownership where user_id = 10 or pet_id = 10",
+                Long.class)).isZero();
+        assertThat(changeLog.lastSeq()).isEqualTo(seq + 2);
+        assertThat(searchIndex.search("shah amit", 10)).isEmpty();
+        assertThat(meterRegistry.get(DeceasedArchiver.HOT_ROWS_METRIC).tag("table", "users").gauge().value())
+                .isEqualTo(11);
+
+        assertThat(readModel.usersByIds(List.of(10L, 9L), null, false).missing()).containsExactly(10L);
+        List<UserDto> users = readModel.usersByIds(List.of(10L, 9L), null, true).items();
+        assertThat(users).extracting(UserDto::id).containsExactly(10L, 9L);
+        assertThat(users.get(0).deceased()).isTrue();
+        assertThat(users.get(0).address().city()).isEqualTo("mumbai");
+        assertThat(readModel.usersByIds(List.of(10L), Set.of("id", "name"), true).items())
+                .singleElement().satisfies(user -> assertThat(user.address()).isNull());
+        assertThat(readModel.usersByName("Shah", "Amit", null, false)).isEmpty();
+        assertThat(readModel.usersByName("Shah", "Amit", null, true)).extracting(UserDto::id).containsExactly(10L);
+        assertThat(readModel.petsByIds(List.of(10L, 1L), true).items())
+                .extracting(PetDto::id, PetDto::name).containsExactly(tuple(10L, "Rocky"), tuple(1L, "Buddy"));
+
+        assertThat(archiver.archive(LocalDateTime.of(2025, 1, 1, 0, 0)).users()).isZero();
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
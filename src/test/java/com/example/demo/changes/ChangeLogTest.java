@@ -0,0 +1,87 @@
+package com.example.demo.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ChangeLogTest {
+
+    private final ChangeLog log = changeLog(3);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void after_returnsTheFollowingChanges_inOrder_upToMax() {
+        log.append(ChangeType.USER_CREATED, 1L, null);
+        log.append(ChangeType.PET_CREATED, null, 2L);
+        log.append(ChangeType.OWNERSHIP_LINKED, 1L, 2L);
+
+        assertThat(log.after(0, 10)).extracting(ChangeEvent::seq, ChangeEvent::type).containsExactly(
+                tuple(1L, ChangeType.USER_CREATED),
+                tuple(2L, ChangeType.PET_CREATED),
+                tuple(3L, ChangeType.OWNERSHIP_LINKED));
+        assertThat(log.after(1, 1)).extracting(ChangeEvent::seq).containsExactly(2L);
+        assertThat(log.after(3, 10)).isEmpty();
+    }
+
+    @Test
+    void after_returnsNull_onceThePositionIsOverwritten_orUnknown() {
+        for (int i = 0; i < 5; i++) {
+            log.append(ChangeType.USER_UPDATED, (long) i, null);
+        }
+
+        assertThat(log.lastSeq()).isEqualTo(5);
+        assertThat(log.after(2, 10)).extracting(ChangeEvent::seq).containsExactly(3L, 4L, 5L);
+        assertThat(log.after(1, 10)).isNull();
+        assertThat(log.after(6, 10)).isNull();
+        assertThat(log.after(-1, 10)).isNull();
+    }
+
+    @Test
+    void publish_waitsForTheCommit_andIgnoresRollbacks() {
+        AtomicInteger notified = new AtomicInteger();
+        log.addListener(notified::incrementAndGet);
+        TransactionSynchronizationManager.initSynchronization();
+        log.publish(ChangeType.USER_DECEASED, 7L, null);
+        log.publish(ChangeType.PET_DECEASED, null, 8L);
+
+        assertThat(log.lastSeq()).isZero();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(log.after(0, 10)).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(ChangeType.USER_DECEASED);
+            assertThat(e.userId()).isEqualTo(7L);
+            assertThat(e.petId()).isNull();
+            assertThat(e.at()).isNotNull();
+        });
+        assertThat(notified).hasValue(1);
+    }
+
+    @Test
+    void publish_appendsRightAway_outsideATransaction() {
+        log.publish(ChangeType.PET_UPDATED, null, 4L);
+
+        assertThat(log.after(0, 10)).extracting(ChangeEvent::petId).containsExactly(4L);
+    }
+
+    static ChangeLog changeLog(int bufferSize) {
+        ChangeProperties props = new ChangeProperties();
+        props.setBufferSize(bufferSize);
+        return new ChangeLog(props);
+    }
+}
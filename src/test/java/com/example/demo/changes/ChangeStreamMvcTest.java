@@ -0,0 +1,72 @@
+package com.example.demo.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Committed changes reach the open streams as {@code text/event-stream} events; failed requests publish nothing,
+ * and a reconnecting client resumes after its {@code Last-Event-ID}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changestream;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class ChangeStreamMvcTest {
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\ndata:(\\{.*})\n\n");
+
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void committedChanges_areStreamed_andResumedAfterLastEventId() throws Exception {
+        MvcResult live = mvc.perform(get("/changes/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(patch("/users/404/death")).andExpect(status().isNotFound());
+        mvc.perform(patch("/users/3/death")).andExpect(status().isOk());
+        mvc.perform(patch("/pets/3/death")).andExpect(status().isOk());
+
+        Matcher events = EVENT.matcher(awaitEvents(live, 2));
+        assertThat(live.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(events.find()).isTrue();
+        String firstId = events.group(1);
+        assertThat(events.group(2)).startsWith("{\"seq\":" + firstId + ",\"type\":\"USER_DECEASED\",\"userId\":3,\"at\":");
+        assertThat(events.find()).isTrue();
+        assertThat(events.group(2)).contains("\"type\":\"PET_DECEASED\",\"petId\":3,").doesNotContain("userId");
+        assertThat(events.find()).isFalse();
+
+        MvcResult resumed = mvc.perform(get("/changes/stream").header("Last-Event-ID", firstId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(awaitEvents(resumed, 1)).contains("\"type\":\"PET_DECEASED\"").doesNotContain("USER_DECEASED");
+    }
+
+    private static String awaitEvents(MvcResult result, int count) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String body = result.getResponse().getContentAsString();
+        while (EVENT.matcher(body).results().count() < count) {
+            assertThat(System.nanoTime()).as("%d events expected, got %s", count, body).isLessThan(deadline);
+            Thread.sleep(10);
+            body = result.getResponse().getContentAsString();
+        }
+        return body;
+    }
+}
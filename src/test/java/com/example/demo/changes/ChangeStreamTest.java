@@ -0,0 +1,220 @@
+package com.example.demo.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChangeStreamTest {
+
+    private final ChangeProperties props = new ChangeProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ChangeLog log;
+    private ChangeStream stream;
+
+    @AfterEach
+    void stop() {
+        if (stream != null && stream.isRunning()) {
+            stream.stop();
+        }
+    }
+
+    @Test
+    void newSubscriber_receivesTheChangesCommittedAfterIt() {
+        init(10);
+        log.append(ChangeType.USER_CREATED, 1L, null);
+        CapturingEmitter emitter = new CapturingEmitter();
+
+        assertThat(stream.subscribe(emitter, null)).isTrue();
+        log.append(ChangeType.OWNERSHIP_LINKED, 1L, 2L);
+
+        await(() -> emitter.frames.size() == 1);
+        assertThat(emitter.frames).containsExactly("id:2\ndata:OWNERSHIP_LINKED#2\n\n");
+    }
+
+    @Test
+    void resume_replaysTheChangesAfterLastEventId() {
+        init(10);
+        for (long id = 1; id <= 5; id++) {
+            log.append(ChangeType.PET_UPDATED, null, id);
+        }
+        CapturingEmitter emitter = new CapturingEmitter();
+
+        stream.subscribe(emitter, 2L);
+
+        await(() -> emitter.frames.size() == 3);
+        assertThat(emitter.frames).containsExactly(
+                "id:3\ndata:PET_UPDATED#3\n\n", "id:4\ndata:PET_UPDATED#4\n\n", "id:5\ndata:PET_UPDATED#5\n\n");
+    }
+
+    @Test
+    void resume_fromAnOverwrittenOrUnknownId_sendsAReset_thenTheNewChanges() {
+        init(4);
+        for (long id = 1; id <= 10; id++) {
+            log.append(ChangeType.USER_UPDATED, id, null);
+        }
+        CapturingEmitter stale = new CapturingEmitter();
+        CapturingEmitter unknown = new CapturingEmitter();
+
+        stream.subscribe(stale, 2L);
+        stream.subscribe(unknown, 42L);
+        await(() -> stale.frames.size() == 1 && unknown.frames.size() == 1);
+        log.append(ChangeType.USER_DECEASED, 3L, null);
+
+        await(() -> stale.frames.size() == 2 && unknown.frames.size() == 2);
+        assertThat(stale.frames).containsExactly("event:reset\nid:10\ndata:10\n\n", "id:11\ndata:USER_DECEASED#11\n\n");
+        assertThat(unknown.frames).isEqualTo(stale.frames);
+    }
+
+    @Test
+    void slowSubscriber_isDisconnectedOnceOverwritten_withoutHoldingUpTheOthers() throws InterruptedException {
+        init(4);
+        CapturingEmitter slow = new CapturingEmitter();
+        CapturingEmitter fast = new CapturingEmitter();
+        stream.subscribe(slow, null);
+        stream.subscribe(fast, null);
+        CountDownLatch gate = slow.block();
+
+        for (long id = 1; id <= 10; id++) {
+            log.append(ChangeType.PET_CREATED, null, id);
+            long sent = id;
+            await(() -> fast.frames.size() == sent);
+        }
+
+        assertThat(slow.frames).isEmpty();
+        assertThat(meterRegistry.get(ChangeStream.SUBSCRIBERS_METRIC).gauge().value()).isEqualTo(2);
+
+        gate.countDown();
+
+        assertThat(slow.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.frames).singleElement().isEqualTo("id:1\ndata:PET_CREATED#1\n\n");
+        assertThat(meterRegistry.get(ChangeStream.DROPPED_METRIC).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(ChangeStream.SUBSCRIBERS_METRIC).gauge().value()).isEqualTo(1);
+        assertThat(fast.completed.getCount()).isOne();
+    }
+
+    @Test
+    void subscribe_refusesStreamsBeyondMaxSubscribers_untilOneCloses() {
+        props.setMaxSubscribers(1);
+        init(10);
+        CapturingEmitter broken = new CapturingEmitter();
+        broken.failing = true;
+
+        assertThat(stream.subscribe(broken, null)).isTrue();
+        assertThat(stream.subscribe(new CapturingEmitter(), null)).isFalse();
+
+        log.append(ChangeType.USER_CREATED, 1L, null); // the send fails: the client is gone
+        await(() -> stream.subscribe(new CapturingEmitter(), null));
+    }
+
+    @Test
+    void unexpectedSendFailure_closesTheSubscriber_andFreesItsSlot() {
+        props.setMaxSubscribers(1);
+        init(10);
+        CapturingEmitter broken = new CapturingEmitter();
+        broken.unwritable = true;
+        stream.subscribe(broken, null);
+
+        log.append(ChangeType.USER_CREATED, 1L, null);
+        await(() -> stream.subscribe(new CapturingEmitter(), null));
+        assertThat(meterRegistry.get(ChangeStream.SUBSCRIBERS_METRIC).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeats_keepIdleStreamsOpen_andStopCompletesThem() throws InterruptedException {
+        props.setHeartbeat(Duration.ofMillis(20));
+        init(10);
+        CapturingEmitter emitter = new CapturingEmitter();
+        stream.subscribe(emitter, null);
+
+        stream.start();
+
+        await(() -> emitter.frames.contains(":heartbeat\n\n"));
+        stream.stop();
+        assertThat(emitter.completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stream.isRunning()).isFalse();
+        assertThat(meterRegistry.get(ChangeStream.SUBSCRIBERS_METRIC).gauge().value()).isZero();
+    }
+
+    @Test
+    void open_returnsAnEmitterWithTheConfiguredTimeout() {
+        props.setTimeout(Duration.ofMinutes(5));
+        init(10);
+
+        assertThat(stream.open(null)).hasValueSatisfying(e -> assertThat(e.getTimeout()).isEqualTo(300_000L));
+    }
+
+    private void init(int bufferSize) {
+        props.setBufferSize(bufferSize);
+        props.setBatchSize(2);
+        log = new ChangeLog(props);
+        stream = new ChangeStream(log, props, meterRegistry);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5s").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Records each event as its SSE text, with a change rendered as {@code TYPE#seq}; can block or fail its sends.
+     */
+    static class CapturingEmitter extends SseEmitter {
+
+        final List<String> frames = new CopyOnWriteArrayList<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+        volatile boolean failing;
+        volatile boolean unwritable;
+        private volatile CountDownLatch gate;
+
+        CountDownLatch block() {
+            gate = new CountDownLatch(1);
+            return gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            if (unwritable) {
+                throw new HttpMessageNotWritableException("Could not write JSON");
+            }
+            CountDownLatch blocked = gate;
+            if (blocked != null) {
+                try {
+                    blocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder frame = new StringBuilder();
+            builder.build().forEach(part -> frame.append(part.getData() instanceof ChangeEvent e
+                    ? e.type() + "#" + e.seq()
+                    : part.getData()));
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public void complete() {
+            super.complete();
+            completed.countDown();
+        }
+    }
+}
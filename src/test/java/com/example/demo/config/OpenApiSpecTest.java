@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Keeps the precomputed spec served by the {@code prod} profile in sync with what springdoc generates.
+ * Regenerate it with {@code mvn test -Dtest=OpenApiSpecTest -Dopenapi.update=true}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapispec;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class OpenApiSpecTest {
+
+    static final Path SPEC = Path.of("src/main/resources/static/openapi.json");
+
+    @Autowired private MockMvc mvc;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    void precomputedSpec_matchesTheGeneratedOne() throws Exception {
+        String body = mvc.perform(get("/api-docs/public"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        ObjectNode generated = (ObjectNode) objectMapper.readTree(body);
+        // the server URL depends on the request
+        generated.remove("servers");
+
+        if (Boolean.getBoolean("openapi.update")) {
+            Files.writeString(SPEC, objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(generated) + "\n");
+        }
+
+        JsonNode committed = objectMapper.readTree(SPEC.toFile());
+        assertThat(committed)
+                .as("%s is stale, regenerate it with mvn test -Dtest=OpenApiSpecTest -Dopenapi.update=true", SPEC)
+                .isEqualTo(generated);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * With open-session-in-view off, no entity manager and no pooled connection may be held while a response
+ * is serialized, and the endpoints mapping lazy associations must still find them loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openinview;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@Import(OpenInViewDisabledTest.SerializationProbe.class)
+class OpenInViewDisabledTest {
+
+    @Autowired private MockMvc mvc;
+    @Autowired private SerializationProbe probe;
+
+    @BeforeEach
+    void reset() {
+        probe.observations.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/users/by-name?name=Doe&firstName=John",
+            "/users?ids=1,2,404",
+            "/ownerships/pets-by-city?city=paris",
+            "/ownerships/users-by-pet-type-and-city?petType=DOG&city=mumbai"
+    })
+    void queries_releaseTheConnectionBeforeSerialization(String uri) throws Exception {
+        mvc.perform(get(uri)).andExpect(status().isOk());
+
+        assertThat(probe.observations).containsExactly(new Observation(false, 0));
+    }
+
+    @Test
+    void markDeceased_fetchesTheAddress_andReleasesTheConnectionBeforeSerialization() throws Exception {
+        mvc.perform(patch("/users/3/death"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deceased").value(true))
+                .andExpect(jsonPath("$.address.city").isNotEmpty());
+
+        assertThat(probe.observations).containsExactly(new Observation(false, 0));
+    }
+
+    @Test
+    void update_mapsTheNewAddress_andReleasesTheConnectionBeforeSerialization() throws Exception {
+        mvc.perform(put("/users/2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name":"Rao","firstName":"Arjun","age":41,"gender":"MALE",
+                                 "address":{"city":"pune","type":"road","addressName":"fc","number":"7"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.address.city").value("pune"));
+
+        assertThat(probe.observations).containsExactly(new Observation(false, 0));
+    }
+
+    record Observation(boolean entityManagerBound, int activeConnections) {
+    }
+
+    /**
+     * Records, right before the body is written, whether an entity manager is bound to the request thread
+     * and how many pooled connections are in use.
+     */
+    @RestControllerAdvice
+    static class SerializationProbe implements ResponseBodyAdvice<Object> {
+
+        final List<Observation> observations = new ArrayList<>();
+        private final EntityManagerFactory emf;
+        private final HikariDataSource pool;
+
+        SerializationProbe(EntityManagerFactory emf, DataSource dataSource) throws SQLException {
+            this.emf = emf;
+            this.pool = dataSource.unwrap(HikariDataSource.class);
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                      Class<? extends HttpMessageConverter<?>> converterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            observations.add(new Observation(TransactionSynchronizationManager.hasResource(emf),
+                    pool.getHikariPoolMXBean().getActiveConnections()));
+            return body;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.demo.controller.OwnershipController;
+import com.example.demo.dataset.DatasetSize;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prodprofile;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@ActiveProfiles("prod")
+@AutoConfigureMockMvc
+class ProdProfileTest {
+
+    @Autowired private ConfigurableApplicationContext context;
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void hotPathIsEager_andTheRestIsLazy() {
+        var beanFactory = context.getBeanFactory();
+
+        assertThat(beanFactory.getBeanDefinition("ownershipController").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("userService").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("globalExceptionHandler").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("lockContentionEndpoint").isLazyInit()).isTrue();
+        assertThat(beanFactory.containsSingleton("ownershipController")).isTrue();
+        assertThat(context.getBeanNamesForType(OpenApiConfig.class)).isEmpty();
+    }
+
+    @Test
+    void servesRequests_andThePrecomputedSpecInsteadOfSpringdoc_butNoExport() throws Exception {
+        mvc.perform(get("/ownerships/pets-by-city").param("city", "paris"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/openapi.json"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.info.title").value("User & Pet Management API"));
+        mvc.perform(get("/api-docs"))
+                .andExpect(status().is4xxClientError());
+        mvc.perform(get("/admin/export"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void isHotPath_matchesControllersAdviceAndServices() {
+        assertThat(StartupConfig.isHotPath(OwnershipController.class)).isTrue();
+        assertThat(StartupConfig.isHotPath(DatasetSize.class)).isFalse();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.controller;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.changes.ChangeStream;
+
+@WebMvcTest(ChangeController.class)
+class ChangeControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockitoBean
+    private ChangeStream changeStream;
+
+    @Test
+    void stream_opensAnEventStream_fromTheLatestChange() throws Exception {
+        given(changeStream.open(null)).willReturn(Optional.of(new SseEmitter()));
+
+        mvc.perform(get("/changes/stream"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void stream_resumesAfterLastEventId() throws Exception {
+        given(changeStream.open(41L)).willReturn(Optional.of(new SseEmitter()));
+
+        mvc.perform(get("/changes/stream").header(ChangeController.LAST_EVENT_ID, " 41"))
+                .andExpect(request().asyncStarted());
+
+        then(changeStream).should().open(41L);
+    }
+
+    @Test
+    void stream_mapsAnIdItDidNotIssue_toAReset() throws Exception {
+        given(changeStream.open(-1L)).willReturn(Optional.of(new SseEmitter()));
+
+        mvc.perform(get("/changes/stream").header(ChangeController.LAST_EVENT_ID, "abc"))
+                .andExpect(request().asyncStarted());
+
+        then(changeStream).should().open(-1L);
+    }
+
+    @Test
+    void stream_returns503_whenTooManyStreamsAreOpen() throws Exception {
+        given(changeStream.open(null)).willReturn(Optional.empty());
+
+        mvc.perform(get("/changes/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"));
+    }
+}
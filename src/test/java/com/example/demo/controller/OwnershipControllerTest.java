@@ -12,6 +12,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +22,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.HouseholdDto;
+import com.example.demo.dto.HouseholdMemberDto;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
 import com.example.demo.exception.GlobalExceptionHandler;
 import com.example.demo.model.Address;
 import com.example.demo.model.Gender;
@@ -28,6 +34,7 @@ import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.model.User;
 import com.example.demo.model.UserPetOwnership;
+import com.example.demo.readmodel.ReadModelService;
 import com.example.demo.service.PetService;
 import com.example.demo.service.UserPetOwnershipService;
 import com.example.demo.service.UserService;
@@ -48,6 +55,8 @@ class OwnershipControllerTest {
     private PetService petService;
     @MockitoBean
     private UserPetOwnershipService ownershipService;
+    @MockitoBean
+    private ReadModelService readModel;
 
     // ---- helpers ----
     private Address addr(long id, String city) {
@@ -83,14 +92,6 @@ class OwnershipControllerTest {
         return p;
     }
 
-    private UserPetOwnership own(long id, User u, Pet p) {
-        UserPetOwnership o = new UserPetOwnership();
-        o.setId(id);
-        o.setUser(u);
-        o.setPet(p);
-        return o;
-    }
-
     @Test
     void link_success_sameAddress_returns200_andSaves() throws Exception {
         var a = addr(1L, "paris");
@@ -134,23 +135,9 @@ class OwnershipControllerTest {
     }
 
     @Test
-    void petsByUser_handlesHomonyms_filtersDeceased_distinct() throws Exception {
-        // two users same name/firstName
-        var a = addr(1L, "paris");
-        var u1 = user(1L, a, "Doe", "John", Gender.MALE);
-        var u2 = user(2L, a, "Doe", "John", Gender.MALE);
-
-        var petAlive = pet(100L, a, "Buddy", PetType.DOG, false);
-        var petDeceased = pet(101L, a, "Shadow", PetType.CAT, true);
-
-        // duplicate ownerships to test distinct
-        var o1 = own(11L, u1, petAlive);
-        var o2 = own(12L, u2, petAlive);
-        var o3 = own(13L, u1, petDeceased);
-
-        given(userService.byNameFirstName("Doe", "John")).willReturn(List.of(u1, u2));
-        given(ownershipService.byUser(u1)).willReturn(List.of(o1, o3));
-        given(ownershipService.byUser(u2)).willReturn(List.of(o2));
+    void petsByUser_delegatesToReadModel() throws Exception {
+        given(readModel.petsByUser("Doe", "John"))
+                .willReturn(List.of(new PetDto(100L, "Buddy", 5, PetType.DOG, false)));
 
         mvc.perform(get("/ownerships/pets-by-user")
                 .param("name", "Doe")
@@ -161,29 +148,32 @@ class OwnershipControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Buddy"))
                 .andExpect(jsonPath("$[0].type").value("DOG"))
                 .andExpect(jsonPath("$[0].deceased").value(false));
+
+        then(userService).shouldHaveNoInteractions();
+        then(ownershipService).shouldHaveNoInteractions();
     }
 
     @Test
-    void petsByCity_delegatesToPetService_andMaps() throws Exception {
-        var a = addr(1L, "paris");
-        var p1 = pet(1L, a, "Buddy", PetType.DOG, false);
-        var p2 = pet(2L, a, "Pixie", PetType.CAT, false);
-        given(petService.byCity("paris")).willReturn(List.of(p1, p2));
+    void petsByCity_delegatesToReadModel() throws Exception {
+        given(readModel.petsByCity("paris")).willReturn(List.of(
+                new PetDto(1L, "Buddy", 5, PetType.DOG, false),
+                new PetDto(2L, "Pixie", 5, PetType.CAT, false)));
 
         mvc.perform(get("/ownerships/pets-by-city").param("city", "paris"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[1].name").value("Pixie"));
+
+        then(petService).shouldHaveNoInteractions();
     }
 
     @Test
     void usersByPetTypeAndCity_returnsUserDtos_withAddress() throws Exception {
-        var a = addr(1L, "paris");
-        var u1 = user(10L, a, "Doe", "Jane", Gender.FEMALE);
-        var u2 = user(11L, a, "Smith", "Anna", Gender.FEMALE);
-
-        given(ownershipService.usersByPetTypeAndCity(PetType.DOG, "paris")).willReturn(List.of(u1, u2));
+        var a = new AddressDto(1L, "paris", "road", "antoine lavoisier", "10");
+        given(readModel.usersByPetTypeAndCity(PetType.DOG, "paris", null)).willReturn(List.of(
+                new UserDto(10L, "Doe", "Jane", 30, Gender.FEMALE, a, false),
+                new UserDto(11L, "Smith", "Anna", 30, Gender.FEMALE, a, false)));
 
         mvc.perform(get("/ownerships/users-by-pet-type-and-city")
                 .param("petType", "DOG")
@@ -196,21 +186,50 @@ class OwnershipControllerTest {
     }
 
     @Test
-    void petsByWomenInCity_filtersDeceased_distinct() throws Exception {
-        var a = addr(1L, "mumbai");
-        var woman1 = user(100L, a, "Patel", "Priya", Gender.FEMALE);
-        var woman2 = user(101L, a, "Khan", "Sara", Gender.FEMALE);
+    void usersByPetTypeAndCity_withFields_passesThemToReadModel_andWritesOnlyThose() throws Exception {
+        given(readModel.usersByPetTypeAndCity(PetType.DOG, "paris", Set.of("firstName", "id"))).willReturn(List.of(
+                new UserDto(10L, "Doe", "Jane", 30, Gender.FEMALE, null, false)));
+
+        mvc.perform(get("/ownerships/users-by-pet-type-and-city")
+                .param("petType", "DOG")
+                .param("city", "paris")
+                .param("fields", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[0].firstName").value("Jane"))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].deceased").doesNotExist())
+                .andExpect(jsonPath("$[0].address").doesNotExist());
+    }
+
+    @Test
+    void petsByCity_withFields_writesOnlyThose() throws Exception {
+        given(readModel.petsByCity("paris")).willReturn(List.of(new PetDto(1L, "Rex", 3, PetType.DOG, false)));
+
+        mvc.perform(get("/ownerships/pets-by-city").param("city", "paris").param("fields", "name", "type"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(3))
+                .andExpect(jsonPath("$[0].type").value("DOG"))
+                .andExpect(jsonPath("$[0].age").doesNotExist());
+    }
 
-        var petAlive = pet(7L, a, "Bruno", PetType.DOG, false);
-        var petDeceased = pet(8L, a, "Rocky", PetType.DOG, true);
+    @Test
+    void petsByUser_withUnknownField_returns400() throws Exception {
+        mvc.perform(get("/ownerships/pets-by-user")
+                .param("name", "Doe")
+                .param("firstName", "John")
+                .param("fields", "address"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Unknown field 'address' for PetDto, expected one of [id, name, age, type, deceased]"));
 
-        var o1 = own(31L, woman1, petAlive);
-        var o2 = own(32L, woman1, petDeceased);
-        var o3 = own(33L, woman2, petAlive); // duplicate pet → expect distinct
+        then(readModel).shouldHaveNoInteractions();
+    }
 
-        given(userService.womenInCity("mumbai")).willReturn(List.of(woman1, woman2));
-        given(ownershipService.byUser(woman1)).willReturn(List.of(o1, o2));
-        given(ownershipService.byUser(woman2)).willReturn(List.of(o3));
+    @Test
+    void petsByWomenInCity_delegatesToReadModel() throws Exception {
+        given(readModel.petsByWomenInCity("mumbai"))
+                .willReturn(List.of(new PetDto(7L, "Bruno", 5, PetType.DOG, false)));
 
         mvc.perform(get("/ownerships/pets-by-women-in-city").param("city", "mumbai"))
                 .andExpect(status().isOk())
@@ -219,4 +238,27 @@ class OwnershipControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Bruno"))
                 .andExpect(jsonPath("$[0].deceased").value(false));
     }
+
+    @Test
+    void household_delegatesToReadModel_withDefaultDepthAndLimit() throws Exception {
+        given(userService.getOrThrow(2L)).willReturn(user(2L, addr(2L, "mumbai"), "Smith", "Anna", Gender.FEMALE));
+        given(readModel.household(2L, 2, 100)).willReturn(new HouseholdDto(
+                List.of(new HouseholdMemberDto(5L, "Patel", "Priya", 1)), false));
+
+        mvc.perform(get("/ownerships/household/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.members.length()").value(1))
+                .andExpect(jsonPath("$.members[0].id").value(5))
+                .andExpect(jsonPath("$.members[0].depth").value(1))
+                .andExpect(jsonPath("$.truncated").value(false));
+    }
+
+    @Test
+    void household_unknownUser_returns404() throws Exception {
+        given(userService.getOrThrow(404L)).willThrow(new RuntimeException("User not found: 404"));
+
+        mvc.perform(get("/ownerships/household/404").param("depth", "3").param("limit", "10"))
+                .andExpect(status().isNotFound());
+        then(readModel).should(never()).household(any(Long.class), any(Integer.class), any(Integer.class));
+    }
 }
@@ -4,12 +4,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.then;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -20,9 +22,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.PetDto;
 import com.example.demo.model.Address;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
+import com.example.demo.readmodel.ReadModelService;
 import com.example.demo.service.AddressService;
 import com.example.demo.service.PetService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,6 +40,7 @@ class PetControllerTest {
 
     @MockitoBean private PetService petService;
     @MockitoBean private AddressService addressService;
+    @MockitoBean private ReadModelService readModel;
 
     private Address addr(long id) {
         Address a = new Address();
@@ -167,4 +173,36 @@ class PetControllerTest {
                 .content(objectMapper.writeValueAsString(badBody)))
            .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void byIds_returnsPetsInRequestOrder_andMissingIds() throws Exception {
+        given(readModel.petsByIds(List.of(12L, 404L, 1L), false)).willReturn(new BatchDto<>(
+                List.of(new PetDto(12L, "Pixie", 2, PetType.CAT, false), new PetDto(1L, "Buddy", 5, PetType.DOG, false)),
+                List.of(404L)));
+
+        mvc.perform(get("/pets").param("ids", "12,404,1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items.length()").value(2))
+            .andExpect(jsonPath("$.items[0].id").value(12))
+            .andExpect(jsonPath("$.items[1].name").value("Buddy"))
+            .andExpect(jsonPath("$.missing[0]").value(404));
+    }
+
+    @Test
+    void byIdsInBody_acceptsLargeIdSets_andRejectsAMissingList() throws Exception {
+        given(readModel.petsByIds(List.of(1L, 2L), false)).willReturn(new BatchDto<>(
+                List.of(new PetDto(1L, "Buddy", 5, PetType.DOG, false)), List.of(2L)));
+
+        mvc.perform(post("/pets/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", List.of(1, 2)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].id").value(1))
+            .andExpect(jsonPath("$.missing[0]").value(2));
+
+        mvc.perform(post("/pets/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isBadRequest());
+    }
 }
@@ -13,6 +13,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Test;
@@ -22,9 +23,15 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.dto.UserSearchHit;
 import com.example.demo.model.Address;
 import com.example.demo.model.Gender;
 import com.example.demo.model.User;
+import com.example.demo.readmodel.ReadModelService;
+import com.example.demo.search.UserSearchIndex;
 import com.example.demo.service.AddressService;
 import com.example.demo.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -44,6 +51,10 @@ class UserControllerTest {
     private UserService userService;
     @MockitoBean
     private AddressService addressService;
+    @MockitoBean
+    private ReadModelService readModel;
+    @MockitoBean
+    private UserSearchIndex searchIndex;
 
     private Address addr(Long id) {
         Address a = new Address();
@@ -164,11 +175,10 @@ class UserControllerTest {
 
     @Test
     void byName_returnsListOfUserDtos() throws Exception {
-        User u1 = user(10L, addr(1L));
-        User u2 = user(11L, addr(1L));
-        u2.setFirstName("Johnny");
-
-        given(userService.byNameFirstName("Doe", "John")).willReturn(List.of(u1, u2));
+        var a = new AddressDto(1L, "paris", "road", "antoine lavoisier", "10");
+        given(readModel.usersByName("Doe", "John", null, false)).willReturn(List.of(
+                new UserDto(10L, "Doe", "John", 30, Gender.MALE, a, false),
+                new UserDto(11L, "Doe", "Johnny", 30, Gender.MALE, a, false)));
 
         mvc.perform(get("/users/by-name")
                 .param("name", "Doe")
@@ -178,6 +188,83 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].id").value(10))
                 .andExpect(jsonPath("$[1].firstName").value("Johnny"));
 
-        then(userService).should().byNameFirstName("Doe", "John");
+        then(userService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void byName_withFields_writesOnlyThose() throws Exception {
+        given(readModel.usersByName("Doe", "John", Set.of("name", "gender", "id"), false)).willReturn(List.of(
+                new UserDto(10L, "Doe", "John", 30, Gender.MALE, null, false)));
+
+        mvc.perform(get("/users/by-name")
+                .param("name", "Doe")
+                .param("firstName", "John")
+                .param("fields", "name,gender"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].length()").value(3))
+                .andExpect(jsonPath("$[0].gender").value("MALE"))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist());
+    }
+
+    @Test
+    void fieldsParameter_isIgnored_byEndpointsWithoutSparseFieldsets() throws Exception {
+        given(userService.markDeceased(5L)).willReturn(user(5L, addr(1L)));
+
+        mvc.perform(patch("/users/5/death").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").exists())
+                .andExpect(jsonPath("$.address.id").value(1));
+    }
+
+    @Test
+    void search_returnsRankedHits_withDefaultLimit() throws Exception {
+        given(searchIndex.search("dupon jean", 20)).willReturn(List.of(
+                new UserSearchHit(1L, "Dupont", "Jean", 5.8),
+                new UserSearchHit(2L, "Dupond", "Jean", 4.6)));
+
+        mvc.perform(get("/users/search").param("q", "dupon jean"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[1].name").value("Dupond"))
+                .andExpect(jsonPath("$[1].score").value(4.6));
+    }
+
+    @Test
+    void byIds_returnsUsersInRequestOrder_andMissingIds() throws Exception {
+        var a = new AddressDto(1L, "paris", "road", "antoine lavoisier", "10");
+        given(readModel.usersByIds(List.of(3L, 1L, 404L), null, false)).willReturn(new BatchDto<>(
+                List.of(new UserDto(3L, "Doe", "Jane", 28, Gender.FEMALE, a, false),
+                        new UserDto(1L, "Doe", "John", 30, Gender.MALE, a, false)),
+                List.of(404L)));
+
+        mvc.perform(get("/users").param("ids", "3", "1", "404"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(3))
+                .andExpect(jsonPath("$.items[1].address.city").value("paris"))
+                .andExpect(jsonPath("$.missing[0]").value(404));
+    }
+
+    @Test
+    void byIdsInBody_delegatesToReadModel() throws Exception {
+        given(readModel.usersByIds(List.of(1L), null, false)).willReturn(new BatchDto<>(List.of(), List.of(1L)));
+
+        mvc.perform(post("/users/by-ids")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", List.of(1)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.missing[0]").value(1));
+    }
+
+    @Test
+    void byIds_includeArchived_isPassedToReadModel() throws Exception {
+        given(readModel.usersByIds(List.of(10L), null, true)).willReturn(new BatchDto<>(
+                List.of(new UserDto(10L, "Shah", "Amit", 38, Gender.MALE, null, true)), List.of()));
+
+        mvc.perform(get("/users").param("ids", "10").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(10))
+                .andExpect(jsonPath("$.items[0].deceased").value(true));
     }
 }
@@ -0,0 +1,135 @@
+package com.example.demo.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dataset.DatasetGenerator.DatasetStats;
+
+class DatasetGeneratorTest {
+
+    private static int databases;
+
+    @Test
+    void load_insertsAfterTheSeed_andRestartsIdentities() throws SQLException {
+        DatasetProperties props = props(2_000, 42);
+        try (Connection c = database()) {
+            DatasetStats stats = new DatasetGenerator(props).load(c);
+
+            assertThat(stats.users()).isEqualTo(2_000);
+            assertThat(count(c, "select count(*) from users")).isEqualTo(12 + 2_000);
+            assertThat(count(c, "select count(*) from pet")).isEqualTo(12 + stats.pets());
+            assertThat(count(c, "select count(*) from user_pet_ownership")).isEqualTo(17 + stats.ownerships());
+            assertThat(c.getAutoCommit()).isTrue();
+
+            try (Statement s = c.createStatement()) {
+                s.execute("insert into address (city, type, address_name, number) values ('x', 'road', 'y', '1')");
+            }
+            assertThat(count(c, "select max(id) from address")).isEqualTo(6 + stats.addresses() + 1);
+        }
+    }
+
+    @Test
+    void sameSeed_producesTheSameRows_andAnotherSeedDifferentOnes() throws SQLException {
+        String rows = "select u.name, u.first_name, u.age, u.gender, u.is_deceased, a.city, a.address_name "
+                + "from users u join address a on a.id = u.address_id order by u.id";
+        try (Connection a = database(); Connection b = database(); Connection other = database()) {
+            new DatasetGenerator(props(500, 7)).load(a);
+            new DatasetGenerator(props(500, 7)).load(b);
+            new DatasetGenerator(props(500, 8)).load(other);
+
+            assertThat(rows(a, rows)).isEqualTo(rows(b, rows)).isNotEqualTo(rows(other, rows));
+        }
+    }
+
+    @Test
+    void distributions_areSkewed_andOwnershipsRespectTheSameAddressRule() throws SQLException {
+        DatasetProperties props = props(5_000, 42);
+        try (Connection c = database()) {
+            DatasetStats stats = new DatasetGenerator(props).load(c);
+
+            assertThat(count(c, "select count(*) from user_pet_ownership o join users u on u.id = o.user_id "
+                    + "join pet p on p.id = o.pet_id where u.address_id <> p.address_id")).isZero();
+            assertThat(count(c, "select count(*) from pet p where not exists "
+                    + "(select 1 from user_pet_ownership o where o.pet_id = p.id)")).isZero();
+
+            long largestCity = count(c, "select max(n) from (select count(*) n from address group by city)");
+            assertThat(largestCity).isGreaterThan(stats.addresses() / 10);
+            long largestHomonym = count(c,
+                    "select max(n) from (select count(*) n from users group by name, first_name)");
+            assertThat(largestHomonym).isGreaterThan(10);
+            long coOwned = count(c,
+                    "select count(*) from (select pet_id from user_pet_ownership group by pet_id having count(*) > 1)");
+            assertThat(coOwned).isPositive();
+
+            double deceased = count(c, "select count(*) from users where is_deceased") / (double) (12 + 5_000);
+            assertThat(deceased).isBetween(0.01, 0.06);
+        }
+    }
+
+    @Test
+    void zipf_favoursLowRanks_andNamesStayDistinct() {
+        DatasetGenerator.Zipf zipf = new DatasetGenerator.Zipf(100, 1.1);
+        SplittableRandom rnd = new SplittableRandom(1);
+        int[] hits = new int[100];
+        for (int i = 0; i < 10_000; i++) {
+            hits[zipf.sample(rnd)]++;
+        }
+        assertThat(hits[0]).isGreaterThan(hits[9] * 5);
+
+        assertThat(DatasetGenerator.cityName(0)).isEqualTo("paris");
+        assertThat(DatasetGenerator.cityName(99)).isEqualTo("city 100");
+        assertThat(DatasetGenerator.surname(20)).isNotEqualTo(DatasetGenerator.surname(21));
+        assertThat(DatasetGenerator.surname(20)).isNotEqualTo(DatasetGenerator.surname(20 + 300));
+    }
+
+    private static DatasetProperties props(int users, long seed) {
+        DatasetProperties props = new DatasetProperties();
+        props.setUsers(users);
+        props.setSeed(seed);
+        props.setBatchSize(256);
+        return props;
+    }
+
+    private static Connection database() throws SQLException {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:dataset" + (++databases) + ";DB_CLOSE_DELAY=-1");
+        Connection c = h2.getConnection();
+        try (Statement s = c.createStatement()) {
+            s.execute("runscript from 'classpath:schema.sql'");
+            s.execute("runscript from 'classpath:data.sql'");
+        }
+        return c;
+    }
+
+    private static long count(Connection c, String sql) throws SQLException {
+        try (Statement s = c.createStatement(); ResultSet rs = s.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<String> rows(Connection c, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement s = c.createStatement(); ResultSet rs = s.executeQuery(sql)) {
+            int columns = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 1; i <= columns; i++) {
+                    row.append(rs.getString(i)).append('|');
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+}
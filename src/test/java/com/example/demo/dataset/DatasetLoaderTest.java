@@ -0,0 +1,34 @@
+package com.example.demo.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.demo.model.Address;
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.repository.UserRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:datasetloader;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false",
+        "app.dataset.enabled=true",
+        "app.dataset.users=300"
+})
+class DatasetLoaderTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private AddressRepository addressRepository;
+
+    @Test
+    void loadsTheDatasetAtStartUp_andTheApplicationKeepsInsertingAfterIt() {
+        assertThat(userRepository.count()).isEqualTo(12 + 300);
+
+        long before = addressRepository.count();
+        Address saved = addressRepository.save(Address.builder()
+                .city("paris").type("road").addressName("after dataset").number("1").build());
+
+        assertThat(saved.getId()).isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ColumnarFormatTest {
+
+    private static final String LONG_NAME = "x".repeat(40) + "é";
+
+    private final ExportProperties props = new ExportProperties();
+
+    ColumnarFormatTest() {
+        // tiny buffer and blocks, so values straddle buffers and tables span several blocks
+        props.setBufferSize(DataSize.ofBytes(16));
+        props.setBlockRows(3);
+        props.setDictionaryMaxEntries(2);
+    }
+
+    @Test
+    void roundTrip_preservesEveryValue_acrossBlocksAndBuffers() throws IOException {
+        List<Object[]> users = List.of(
+                new Object[] {1L, "Doe", "John", 30, "MALE", 7L, false, null},
+                new Object[] {2L, "Doe", null, null, "FEMALE", 3L, true, LocalDateTime.of(2024, 2, 10, 8, 30, 0, 123_456_000)},
+                new Object[] {5L, "Smith", "Anna", -4, "FEMALE", 3L, true, LocalDateTime.of(1969, 12, 31, 0, 0)},
+                new Object[] {6L, LONG_NAME, "Jane", 0, null, 1L, false, null},
+                new Object[] {9L, "Smith", "John", 99, "MALE", 12L, true, LocalDateTime.of(1970, 1, 1, 0, 0)},
+                new Object[] {10L, "Doe", "Ana", 41, "OTHER", 2L, false, null},
+                new Object[] {11L, "Patel", "Ravi", 7, "MALE", 2L, true, LocalDateTime.of(1899, 6, 21, 17, 59, 59, 999_999_000)});
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarWriter writer = new ColumnarWriter(Channels.newChannel(out), props);
+
+        writer.writeHeader();
+        writer.startTable(ExportTable.USERS);
+        for (Object[] row : users) {
+            write(writer, ExportTable.USERS, row);
+        }
+        assertThat(writer.endTable()).isEqualTo(7);
+        writer.startTable(ExportTable.OWNERSHIP);
+        assertThat(writer.endTable()).isZero();
+        long size = writer.finish();
+
+        assertThat(size).isEqualTo(out.size());
+        ColumnarReader reader = reader(out.toByteArray());
+        reader.readHeader();
+        assertThat(reader.nextTable()).isEqualTo(ExportTable.USERS);
+        assertThat(readAll(reader, ExportTable.USERS)).containsExactlyElementsOf(users.stream().map(Arrays::asList).toList());
+        assertThat(reader.nextTable()).isEqualTo(ExportTable.OWNERSHIP);
+        assertThat(reader.nextBlock()).isZero();
+        assertThat(reader.nextTable()).isNull();
+        assertThat(reader.bytesRead()).isEqualTo(size);
+    }
+
+    @Test
+    void ascendingIds_andRepeatedStrings_takeOneByteEach() throws IOException {
+        props.setBufferSize(DataSize.ofKilobytes(64));
+        props.setBlockRows(1_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarWriter writer = new ColumnarWriter(Channels.newChannel(out), props);
+        writer.startTable(ExportTable.OWNERSHIP);
+        long header = out.size();
+        for (long id = 1; id <= 1_000; id++) {
+            writer.setLong(0, id);
+            writer.setLong(1, id / 3);
+            writer.setLong(2, id);
+            writer.endRow();
+        }
+        writer.endTable();
+        long size = writer.finish();
+
+        // 3 bytes per row, plus the table descriptor, block and table terminators
+        assertThat(size - header).isLessThan(3_000 + 60);
+    }
+
+    @Test
+    void reader_rejectsOtherFiles() {
+        assertThatThrownBy(() -> reader("PK\u0003\u0004x".getBytes()).readHeader())
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not a pet manager export");
+        assertThatThrownBy(() -> reader(new byte[] {'U', 'P', 'M', 'X', 9}).readHeader())
+                .isInstanceOf(IOException.class)
+                .hasMessage("Unsupported export version 9, expected 3");
+    }
+
+    @Test
+    void reader_rejectsTruncatedFiles() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ColumnarWriter writer = new ColumnarWriter(Channels.newChannel(out), props);
+        writer.writeHeader();
+        writer.startTable(ExportTable.ADDRESS);
+        write(writer, ExportTable.ADDRESS, new Object[] {1L, "paris", "road", "antoine lavoisier", "10"});
+        writer.endTable();
+        writer.finish();
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 3);
+
+        ColumnarReader reader = reader(truncated);
+        reader.readHeader();
+        reader.nextTable();
+
+        assertThatThrownBy(() -> readAll(reader, ExportTable.ADDRESS))
+                .isInstanceOf(EOFException.class)
+                .hasMessageStartingWith("Truncated export file");
+    }
+
+    private ColumnarReader reader(byte[] bytes) {
+        return new ColumnarReader(Channels.newChannel(new ByteArrayInputStream(bytes)), props);
+    }
+
+    private static void write(ColumnarWriter writer, ExportTable table, Object[] row) throws IOException {
+        for (int c = 0; c < row.length; c++) {
+            Object value = row[c];
+            switch (table.columns().get(c).kind()) {
+                case ID, REF -> writer.setLong(c, (Long) value);
+                case INT -> {
+                    if (value == null) {
+                        writer.setNull(c);
+                    } else {
+                        writer.setLong(c, (Integer) value);
+                    }
+                }
+                case TIMESTAMP -> writer.setTimestamp(c, (LocalDateTime) value);
+                case STRING -> writer.setString(c, (String) value);
+                case BOOL -> writer.setBoolean(c, (Boolean) value);
+            }
+        }
+        writer.endRow();
+    }
+
+    private static List<List<Object>> readAll(ColumnarReader reader, ExportTable table) throws IOException {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int n = reader.nextBlock(); n > 0; n = reader.nextBlock()) {
+            for (int r = 0; r < n; r++) {
+                List<Object> row = new ArrayList<>();
+                for (int c = 0; c < table.columns().size(); c++) {
+                    row.add(switch (table.columns().get(c).kind()) {
+                        case ID, REF -> reader.getLong(c, r);
+                        case INT -> reader.getLong(c, r) == ColumnarWriter.NULL ? null : (int) reader.getLong(c, r);
+                        case STRING -> reader.getString(c, r);
+                        case BOOL -> reader.getBoolean(c, r);
+                        case TIMESTAMP -> reader.getTimestamp(c, r);
+                    });
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
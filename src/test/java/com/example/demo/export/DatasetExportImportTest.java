@@ -0,0 +1,170 @@
+package com.example.demo.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.demo.archive.ArchiveRun;
+import com.example.demo.archive.DeceasedArchiver;
+
+/**
+ * An export downloaded from {@code GET /admin/export} restores the exact table contents when imported, and a
+ * broken file leaves the database untouched.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exportimport;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false",
+        "app.export.enabled=true"
+})
+@AutoConfigureMockMvc
+class DatasetExportImportTest {
+
+    @Autowired private MockMvc mvc;
+    @Autowired private DatasetImporter importer;
+    @Autowired private DeceasedArchiver archiver;
+    @Autowired private JdbcTemplate jdbc;
+
+    @Test
+    void importingAnExport_restoresEveryTable_andTheIdentityColumns() throws Exception {
+        jdbc.update("insert into users_archive (id, name, first_name, age, gender, address_id, is_deceased, "
+                + "deceased_at, archived_at) values (100, 'Old', 'Timer', 90, 'MALE', 1, true, "
+                + "timestamp '2020-01-02 03:04:05', timestamp '2021-01-02 03:04:05')");
+        jdbc.update("insert into pet_archive (id, name, age, type, is_deceased, deceased_at, address_id, archived_at) "
+                + "values (100, 'Fido', null, 'DOG', true, null, 1, timestamp '2021-01-02 03:04:05')");
+        jdbc.update("insert into user_pet_ownership_archive (id, user_id, pet_id, archived_at) "
+                + "values (100, 100, 100, timestamp '2021-01-02 03:04:05')");
+        Map<ExportTable, List<Map<String, Object>>> before = snapshot();
+        byte[] export = download();
+
+        jdbc.update("delete from user_pet_ownership where id = 1");
+        jdbc.update("update users set name = 'Renamed', age = null where id = 2");
+        jdbc.update("insert into address (city, type, address_name, number) values ('oslo', 'road', 'x', '1')");
+
+        TransferStats stats = importer.importFrom(Channels.newChannel(new ByteArrayInputStream(export)));
+
+        assertThat(snapshot()).isEqualTo(before);
+        assertThat(stats.addresses()).isEqualTo(before.get(ExportTable.ADDRESS).size());
+        assertThat(stats.users()).isEqualTo(12);
+        assertThat(stats.pets()).isEqualTo(12);
+        assertThat(stats.ownerships()).isEqualTo(before.get(ExportTable.OWNERSHIP).size());
+        assertThat(stats.archived()).isEqualTo(3);
+        assertThat(stats.bytes()).isEqualTo(export.length);
+        jdbc.update("insert into users (name, first_name, address_id) values ('New', 'User', 1)");
+        // after the archived user 100, not after the highest hot id
+        assertThat(jdbc.queryForObject("select max(id) from users", Long.class)).isEqualTo(101);
+        jdbc.update("delete from users where name = 'New'");
+        jdbc.update("delete from user_pet_ownership_archive");
+        jdbc.update("delete from pet_archive");
+        jdbc.update("delete from users_archive");
+    }
+
+    @Test
+    void timestamps_keepTheirMicroseconds_whenImportedInAnotherTimeZone() throws Exception {
+        LocalDateTime died = LocalDateTime.of(2024, 2, 10, 8, 30, 15, 123_456_000);
+        jdbc.update("update users set is_deceased = true, deceased_at = ? where id = 3", died);
+        byte[] export = download();
+        jdbc.update("update users set is_deceased = false, deceased_at = null where id = 3");
+
+        TimeZone zone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+        try {
+            importer.importFrom(Channels.newChannel(new ByteArrayInputStream(export)));
+        } finally {
+            TimeZone.setDefault(zone);
+        }
+
+        assertThat(jdbc.queryForObject("select deceased_at from users where id = 3", LocalDateTime.class))
+                .isEqualTo(died);
+        jdbc.update("update users set is_deceased = false, deceased_at = null where id = 3");
+    }
+
+    @Test
+    void importingAnExport_neverReusesTheIdsOfArchivedRows() throws Exception {
+        byte[] original = download();
+        long lastUser = jdbc.queryForObject("select max(id) from users", Long.class);
+        long lastPet = jdbc.queryForObject("select max(id) from pet", Long.class);
+        markDeceased(lastUser, lastPet);
+        ArchiveRun archived = archiver.archive(LocalDateTime.of(2021, 1, 1, 0, 0));
+        assertThat(archived.users()).isEqualTo(1);
+        assertThat(archived.pets()).isEqualTo(1);
+
+        importer.importFrom(Channels.newChannel(new ByteArrayInputStream(download())));
+        jdbc.update("insert into users (name, first_name, address_id) values ('New', 'User', 1)");
+        jdbc.update("insert into pet (name, age, type, address_id) values ('New', 1, 'DOG', 1)");
+        long newUser = jdbc.queryForObject("select max(id) from users", Long.class);
+        long newPet = jdbc.queryForObject("select max(id) from pet", Long.class);
+        jdbc.update("insert into user_pet_ownership (user_id, pet_id) values (?, ?)", newUser, newPet);
+
+        assertThat(newUser).isEqualTo(lastUser + 1);
+        assertThat(newPet).isEqualTo(lastPet + 1);
+        markDeceased(newUser, newPet);
+        ArchiveRun again = archiver.archive(LocalDateTime.of(2021, 1, 1, 0, 0));
+        assertThat(again.users()).isEqualTo(1);
+        assertThat(again.pets()).isEqualTo(1);
+        assertThat(again.ownerships()).isEqualTo(1);
+
+        importer.importFrom(Channels.newChannel(new ByteArrayInputStream(original)));
+    }
+
+    @Test
+    void aTruncatedExport_isRejected_andRolledBack() throws Exception {
+        Map<ExportTable, List<Map<String, Object>>> before = snapshot();
+        byte[] truncated = Arrays.copyOf(download(), 200);
+
+        assertThatThrownBy(() -> importer.importFrom(Channels.newChannel(new ByteArrayInputStream(truncated))))
+                .isInstanceOf(IOException.class);
+
+        assertThat(snapshot()).isEqualTo(before);
+    }
+
+    private void markDeceased(long userId, long petId) {
+        jdbc.update("update users set is_deceased = true, deceased_at = timestamp '2020-01-01 00:00:00' where id = ?",
+                userId);
+        jdbc.update("update pet set is_deceased = true, deceased_at = timestamp '2020-01-01 00:00:00' where id = ?",
+                petId);
+    }
+
+    private byte[] download() throws Exception {
+        MvcResult started = mvc.perform(get("/admin/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/vnd.pet-manager.columnar"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"pet-manager.upmx\""))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private Map<ExportTable, List<Map<String, Object>>> snapshot() {
+        return Map.of(
+                ExportTable.ADDRESS, jdbc.queryForList("select * from address order by id"),
+                ExportTable.USERS, jdbc.queryForList("select * from users order by id"),
+                ExportTable.PET, jdbc.queryForList("select * from pet order by id"),
+                ExportTable.OWNERSHIP, jdbc.queryForList("select * from user_pet_ownership order by id"),
+                ExportTable.USERS_ARCHIVE, jdbc.queryForList("select * from users_archive order by id"),
+                ExportTable.PET_ARCHIVE, jdbc.queryForList("select * from pet_archive order by id"),
+                ExportTable.OWNERSHIP_ARCHIVE,
+                jdbc.queryForList("select * from user_pet_ownership_archive order by id"));
+    }
+}
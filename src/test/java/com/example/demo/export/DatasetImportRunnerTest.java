@@ -0,0 +1,58 @@
+package com.example.demo.export;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+
+class DatasetImportRunnerTest {
+
+    @TempDir
+    private Path dir;
+
+    private final ExportProperties props = new ExportProperties();
+    private final DatasetImporter importer = mock(DatasetImporter.class);
+    private final DatasetImportRunner runner = new DatasetImportRunner(props, importer);
+
+    @Test
+    void run_importsTheConfiguredFile() throws Exception {
+        Path file = Files.write(dir.resolve("backup.upmx"), new byte[] {1, 2, 3});
+        props.setImportFile(file.toString());
+
+        runner.run(new DefaultApplicationArguments());
+
+        then(importer).should().importFrom(any(ReadableByteChannel.class));
+    }
+
+    @Test
+    void run_failsTheStartUp_whenTheImportFails() throws Exception {
+        Path file = Files.write(dir.resolve("broken.upmx"), new byte[] {1});
+        props.setImportFile(file.toString());
+        given(importer.importFrom(any())).willThrow(new IOException("Not a pet manager export"));
+
+        assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Importing " + file + " failed")
+                .hasRootCauseMessage("Not a pet manager export");
+    }
+
+    @Test
+    void run_failsTheStartUp_whenTheFileIsMissing() {
+        props.setImportFile(dir.resolve("missing.upmx").toString());
+
+        assertThatThrownBy(() -> runner.run(new DefaultApplicationArguments()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseInstanceOf(NoSuchFileException.class);
+    }
+}
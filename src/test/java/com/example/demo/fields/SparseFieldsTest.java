@@ -0,0 +1,41 @@
+package com.example.demo.fields;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+
+class SparseFieldsTest {
+
+    @Test
+    void parse_splitsOnCommas_dropsBlanks_andAlwaysKeepsId() {
+        assertThat(SparseFields.parse(List.of("name, firstName,", "address"), UserDto.class))
+                .containsExactly("name", "firstName", "address", "id");
+    }
+
+    @Test
+    void parse_returnsNull_whenNoFieldIsRequested() {
+        assertThat(SparseFields.parse(null, UserDto.class)).isNull();
+        assertThat(SparseFields.parse(List.of(" ", ","), PetDto.class)).isNull();
+    }
+
+    @Test
+    void parse_rejectsUnknownFields() {
+        assertThatThrownBy(() -> SparseFields.parse(List.of("name,address"), PetDto.class))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field 'address' for PetDto, expected one of [id, name, age, type, deceased]");
+    }
+
+    @Test
+    void includes_treatsNullAsEveryField() {
+        assertThat(SparseFields.includes(null, "address")).isTrue();
+        assertThat(SparseFields.includes(Set.of("id", "name"), "name")).isTrue();
+        assertThat(SparseFields.includes(Set.of("id", "name"), "address")).isFalse();
+    }
+}
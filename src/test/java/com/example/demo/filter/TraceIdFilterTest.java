@@ -4,19 +4,36 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
+import com.example.demo.sql.SqlStatementCounter;
+import com.example.demo.sql.SqlTrackingProperties;
+import com.example.demo.trace.RandomTraceIdGenerator;
+import com.example.demo.trace.TraceContext;
+import com.example.demo.trace.TraceContextFactory;
+import com.example.demo.trace.TraceProperties;
+import com.example.demo.trace.W3CTraceparent;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
 
 class TraceIdFilterTest {
 
-    private final TraceIdFilter filter = new TraceIdFilter();
+    private final TraceIdFilter filter = filter(new SqlTrackingProperties(), new AccessLogProperties());
+    private final ListAppender<ILoggingEvent> logs = attachLogs();
 
     @Test
     void setsHeader_putsMdc_thenClearsAfterSuccess() throws Exception {
@@ -74,4 +91,156 @@ class TraceIdFilterTest {
         assertThat(t2).isNotBlank();
         assertThat(t1).isNotEqualTo(t2);
     }
+
+    @Test
+    void addsServerTimingHeader_beforeBodyIsWritten() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/body");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+
+        filter.doFilter(req, res, (request, response) -> {
+            response.getWriter().write("{}");
+            response.flushBuffer();
+        });
+
+        assertThat(res.isCommitted()).isTrue();
+        assertThat(res.getHeader("Server-Timing")).matches("db;dur=\\d+\\.\\d{3};desc=\"0 statements\"");
+    }
+
+    @Test
+    void addsServerTimingHeader_forEmptyBody() throws Exception {
+        MockHttpServletResponse res = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/empty"), res, (r, s) -> {});
+
+        assertThat(res.getHeaders("Server-Timing")).hasSize(1);
+    }
+
+    @Test
+    void skipsServerTimingHeader_whenSqlTrackingDisabled() throws Exception {
+        SqlTrackingProperties disabled = new SqlTrackingProperties();
+        disabled.setEnabled(false);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+
+        filter(disabled, new AccessLogProperties()).doFilter(new MockHttpServletRequest("GET", "/off"), res, (r, s) -> {});
+
+        assertThat(res.getHeader(TraceIdFilter.TRACE_ID)).isNotBlank();
+        assertThat(res.getHeader("Server-Timing")).isNull();
+    }
+
+    @Test
+    void continuesIncomingTraceparent_withNewSpan() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/traced");
+        req.addHeader(W3CTraceparent.HEADER, "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        AtomicReference<TraceContext> seenInChain = new AtomicReference<>();
+
+        filter.doFilter(req, res, (request, response) -> seenInChain.set(TraceContext.current()));
+
+        assertThat(res.getHeader(TraceIdFilter.TRACE_ID)).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(seenInChain.get().parentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(seenInChain.get().sampled()).isTrue();
+        assertThat(res.getHeader(W3CTraceparent.HEADER))
+                .matches("00-4bf92f3577b34da6a3ce929d0e0e4736-[0-9a-f]{16}-01")
+                .doesNotContain("00f067aa0ba902b7");
+        assertThat(TraceContext.current()).isNull();
+        assertThat(MDC.get(TraceContext.SPAN_ID)).isNull();
+    }
+
+    @Test
+    void sqlStats_areKeptPerRequest_whenRequestsShareAnIncomingTrace() throws Exception {
+        String traceparent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+        SqlStatementCounter counter = new SqlStatementCounter();
+        MockHttpServletRequest outer = new MockHttpServletRequest("GET", "/outer");
+        outer.addHeader(W3CTraceparent.HEADER, traceparent);
+        MockHttpServletRequest inner = new MockHttpServletRequest("GET", "/inner");
+        inner.addHeader(W3CTraceparent.HEADER, traceparent);
+        MockHttpServletResponse outerRes = new MockHttpServletResponse();
+        MockHttpServletResponse innerRes = new MockHttpServletResponse();
+
+        filter.doFilter(outer, outerRes, (request, response) -> {
+            counter.inspect("select 1");
+            // a second request of the same trace starts and ends while the first one is in flight
+            filter.doFilter(inner, innerRes, (r, s) -> counter.inspect("select 2"));
+            counter.inspect("select 3");
+        });
+
+        assertThat(innerRes.getHeader(TraceIdFilter.TRACE_ID)).isEqualTo(outerRes.getHeader(TraceIdFilter.TRACE_ID));
+        assertThat(innerRes.getHeader("Server-Timing")).endsWith("desc=\"1 statements\"");
+        assertThat(outerRes.getHeader("Server-Timing")).endsWith("desc=\"2 statements\"");
+    }
+
+    @Test
+    void startsNewTrace_whenTraceparentIsMalformed() throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/traced");
+        req.addHeader(W3CTraceparent.HEADER, "00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+        MockHttpServletResponse res = new MockHttpServletResponse();
+
+        filter.doFilter(req, res, (r, s) -> {});
+
+        assertThat(res.getHeader(TraceIdFilter.TRACE_ID)).matches("[0-9a-f]{32}").isNotEqualTo("0".repeat(32));
+    }
+
+    @Test
+    void accessLog_skipsSuccessfulFastRequests_whenSampledOut() throws Exception {
+        TraceIdFilter sampledOut = filter(new SqlTrackingProperties(), accessLog(0.0, Duration.ofMinutes(1)));
+
+        sampledOut.doFilter(new MockHttpServletRequest("GET", "/ok"), new MockHttpServletResponse(), (r, s) -> {});
+
+        assertThat(endLines()).isEmpty();
+    }
+
+    @Test
+    void accessLog_alwaysLogsErrorsAndExceptions() throws Exception {
+        TraceIdFilter sampledOut = filter(new SqlTrackingProperties(), accessLog(0.0, Duration.ofMinutes(1)));
+
+        sampledOut.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (r, s) -> ((HttpServletResponse) s).setStatus(404));
+        assertThatThrownBy(() -> sampledOut.doFilter(new MockHttpServletRequest("GET", "/boom"),
+                new MockHttpServletResponse(), (r, s) -> {
+                    throw new ServletException("boom");
+                })).isInstanceOf(ServletException.class);
+
+        assertThat(endLines()).hasSize(2);
+        assertThat(endLines().get(0)).contains("path=/missing", "status=404", "statements=0");
+    }
+
+    @Test
+    void accessLog_alwaysLogsSlowRequests() throws Exception {
+        TraceIdFilter sampledOut = filter(new SqlTrackingProperties(), accessLog(0.0, Duration.ZERO));
+
+        sampledOut.doFilter(new MockHttpServletRequest("GET", "/slow"), new MockHttpServletResponse(), (r, s) -> {});
+
+        assertThat(endLines()).singleElement().asString().contains("path=/slow", "durationMs=");
+    }
+
+    @AfterEach
+    void detachLogs() {
+        ((Logger) LoggerFactory.getLogger(TraceIdFilter.class)).detachAppender(logs);
+    }
+
+    private static ListAppender<ILoggingEvent> attachLogs() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(TraceIdFilter.class)).addAppender(appender);
+        return appender;
+    }
+
+    private List<String> endLines() {
+        return logs.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(m -> m.startsWith("REQ end"))
+                .toList();
+    }
+
+    private static TraceIdFilter filter(SqlTrackingProperties sqlTracking, AccessLogProperties accessLog) {
+        return new TraceIdFilter(sqlTracking, accessLog,
+                new TraceContextFactory(new TraceProperties(), new RandomTraceIdGenerator()));
+    }
+
+    private static AccessLogProperties accessLog(double sampleRate, Duration slowThreshold) {
+        AccessLogProperties props = new AccessLogProperties();
+        props.setSampleRate(sampleRate);
+        props.setSlowThreshold(slowThreshold);
+        return props;
+    }
 }
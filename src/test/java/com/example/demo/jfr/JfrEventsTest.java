@@ -0,0 +1,162 @@
+package com.example.demo.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.dto.AddressCreateDto;
+import com.example.demo.metrics.LockMetrics;
+import com.example.demo.metrics.LockMetricsProperties;
+import com.example.demo.model.Address;
+import com.example.demo.model.User;
+import com.example.demo.model.UserPetOwnership;
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.repository.UserPetOwnershipRepository;
+import com.example.demo.service.AddressService;
+import com.example.demo.service.UserPetOwnershipService;
+import com.example.demo.trace.TraceContext;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Records the application events with the shipped settings profile and checks what they carry.
+ */
+class JfrEventsTest {
+
+    private static final Path PROFILE = Path.of("src/main/jfr/pet-manager.jfc");
+    private static final TraceContext TRACE =
+            new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, true);
+
+    @TempDir
+    Path dir;
+
+    private final AddressRepository addressRepo = mock(AddressRepository.class);
+    private final UserPetOwnershipRepository ownershipRepo = mock(UserPetOwnershipRepository.class);
+
+    @Test
+    void events_areDisabledByDefault() throws IOException {
+        List<RecordedEvent> events = record(new Recording(), () -> {
+            new DtoMappingEvent().finish(String.class, 1L);
+            new OwnershipQueryEvent().finish("byUser", 3);
+        });
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void addressLookup_recordsHitInsertAndRaceRetry_withTraceId() throws IOException, ParseException {
+        Address existing = Address.builder().id(1L).city("paris").build();
+        when(addressRepo.findByCityIgnoreCaseAndTypeIgnoreCaseAndAddressNameIgnoreCaseAndNumberIgnoreCase(
+                anyString(), anyString(), anyString(), anyString()))
+                .thenReturn(Optional.of(existing))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(addressRepo.save(any(Address.class)))
+                .thenAnswer(inv -> inv.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+        AddressService service = new AddressService(addressRepo);
+        AddressCreateDto dto = new AddressCreateDto(" Paris ", "road", "lavoisier", "10");
+
+        List<RecordedEvent> events = record(profile(), () -> {
+            TraceContext.Scope scope = TRACE.makeCurrent();
+            try {
+                service.findOrCreate(dto);
+                service.findOrCreate(dto);
+                service.findOrCreate(dto);
+            } finally {
+                scope.close();
+            }
+        });
+
+        assertThat(events).extracting(e -> e.getString("outcome")).containsExactly("HIT", "INSERT", "RACE_RETRY");
+        assertThat(events).allSatisfy(e -> {
+            assertThat(e.getEventType().getName()).isEqualTo(AddressLookupEvent.NAME);
+            assertThat(e.getString("city")).isEqualTo("paris");
+            assertThat(e.getString("traceId")).isEqualTo(TRACE.traceId());
+        });
+    }
+
+    @Test
+    void ownershipQuery_recordsRowsReturned() throws IOException, ParseException {
+        User user = User.builder().id(1L).build();
+        when(ownershipRepo.findByUser(user)).thenReturn(List.of(new UserPetOwnership(), new UserPetOwnership()));
+        UserPetOwnershipService service = new UserPetOwnershipService(ownershipRepo, mock(ChangeLog.class));
+
+        List<RecordedEvent> events = record(profile(), () -> service.byUser(user));
+
+        assertThat(events).singleElement().satisfies(e -> {
+            assertThat(e.getString("query")).isEqualTo("byUser");
+            assertThat(e.getInt("rows")).isEqualTo(2);
+            assertThat(e.getString("traceId")).isNull();
+        });
+    }
+
+    @Test
+    void pessimisticLock_recordsEachAttempt() throws IOException, ParseException {
+        LockMetrics lockMetrics = new LockMetrics(new SimpleMeterRegistry(), new LockMetricsProperties());
+
+        List<RecordedEvent> events = record(profile(), () -> {
+            lockMetrics.lock("User", 5L, () -> "row");
+            assertThatThrownBy(() -> lockMetrics.lock("Pet", 6L, () -> {
+                throw new CannotAcquireLockException("busy");
+            })).isInstanceOf(CannotAcquireLockException.class);
+        });
+
+        assertThat(events).extracting(e -> e.getString("entity")).containsExactly("User", "Pet");
+        assertThat(events).extracting(e -> e.getBoolean("acquired")).containsExactly(true, false);
+        assertThat(events).extracting(e -> e.getLong("entityId")).containsExactly(5L, 6L);
+        assertThat(events).allSatisfy(e -> assertThat(e.getInt("attempt")).isEqualTo(1));
+    }
+
+    @Test
+    void dtoMapping_recordsDtoTypeAndEntityId() throws IOException, ParseException {
+        List<RecordedEvent> events = record(profile(), () -> {
+            DtoMappingEvent event = new DtoMappingEvent();
+            event.begin();
+            event.finish(String.class, 9L);
+        });
+
+        assertThat(events).singleElement().satisfies(e -> {
+            assertThat(e.getString("dtoType")).isEqualTo("String");
+            assertThat(e.getLong("entityId")).isEqualTo(9L);
+        });
+    }
+
+    private static Recording profile() throws IOException, ParseException {
+        return new Recording(Configuration.create(PROFILE));
+    }
+
+    private List<RecordedEvent> record(Recording recording, Runnable work) throws IOException {
+        Path file = Files.createTempFile(dir, "events", ".jfr");
+        try (recording) {
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().startsWith("com.example.demo."))
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+class OverflowPolicyAsyncAppenderTest {
+
+    private final LoggerContext context = newContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private OverflowPolicyAsyncAppender async;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (async != null) {
+            async.stop();
+        }
+    }
+
+    @Test
+    void dropInfo_shedsInfoWhenNearlyFull_butKeepsWarnings() throws Exception {
+        async = start(OverflowPolicyAsyncAppender.OverflowPolicy.DROP_INFO);
+
+        // the stalled delegate holds the first event; INFO is shed once fewer than 4 of the 8 slots remain
+        for (int i = 0; i < 20; i++) {
+            async.doAppend(event(Level.INFO, "info-" + i));
+        }
+        async.doAppend(event(Level.WARN, "warn"));
+
+        assertThat(async.getDroppedCount()).isPositive();
+        release.countDown();
+        awaitWritten("warn");
+        assertThat(written).contains("info-0", "warn").hasSizeLessThan(21);
+    }
+
+    @Test
+    void block_keepsEveryEvent() throws Exception {
+        async = start(OverflowPolicyAsyncAppender.OverflowPolicy.BLOCK);
+        release.countDown();
+
+        for (int i = 0; i < 50; i++) {
+            async.doAppend(event(Level.INFO, "info-" + i));
+        }
+
+        awaitWritten("info-49");
+        assertThat(written).hasSize(50);
+        assertThat(async.getDroppedCount()).isZero();
+    }
+
+    private OverflowPolicyAsyncAppender start(OverflowPolicyAsyncAppender.OverflowPolicy policy) {
+        AppenderBase<ILoggingEvent> stalled = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event.getFormattedMessage());
+            }
+        };
+        stalled.setContext(context);
+        stalled.start();
+
+        OverflowPolicyAsyncAppender appender = new OverflowPolicyAsyncAppender();
+        appender.setContext(context);
+        appender.setRingBufferSize(8);
+        appender.setOverflowPolicy(policy);
+        appender.setDiscardingThreshold(4);
+        appender.addAppender(stalled);
+        appender.start();
+        return appender;
+    }
+
+    private void awaitWritten(String message) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!written.contains(message) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    private static LoggerContext newContext() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        return context;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+
+class StreamingConsoleAppenderTest {
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream console = new ByteArrayOutputStream();
+    private final LoggerContext context = newContext();
+
+    @BeforeEach
+    void captureConsole() {
+        System.setOut(new PrintStream(console, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void restoreConsole() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void streamingEncoder_isBufferedUntilFlush() throws Exception {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        StreamingConsoleAppender appender = appender(encoder, false);
+
+        appender.doAppend(event("first"));
+        appender.doAppend(event("second"));
+        assertThat(console.size()).isZero();
+
+        appender.flush();
+
+        String out = console.toString(StandardCharsets.UTF_8);
+        assertThat(out).contains("\"message\":\"first\"", "\"message\":\"second\"");
+        assertThat(out.lines()).hasSize(2);
+    }
+
+    @Test
+    void nonStreamingEncoder_fallsBack_andHonoursImmediateFlush() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%msg%n");
+        encoder.start();
+        StreamingConsoleAppender appender = appender(encoder, true);
+
+        appender.doAppend(event("plain"));
+
+        assertThat(console.toString(StandardCharsets.UTF_8)).isEqualTo("plain" + System.lineSeparator());
+    }
+
+    @Test
+    void stop_flushesPendingEvents() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        StreamingConsoleAppender appender = appender(encoder, false);
+
+        appender.doAppend(event("pending"));
+        appender.stop();
+
+        assertThat(console.toString(StandardCharsets.UTF_8)).contains("\"message\":\"pending\"");
+    }
+
+    private StreamingConsoleAppender appender(Encoder<ILoggingEvent> encoder, boolean immediateFlush) {
+        StreamingConsoleAppender appender = new StreamingConsoleAppender();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(immediateFlush);
+        appender.start();
+        return appender;
+    }
+
+    private LoggingEvent event(String message) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.INFO, message, null, null);
+    }
+
+    private static LoggerContext newContext() {
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        return context;
+    }
+}
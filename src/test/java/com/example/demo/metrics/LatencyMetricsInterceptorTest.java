@@ -0,0 +1,78 @@
+package com.example.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.example.demo.controller.UserController;
+import com.example.demo.service.AddressService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LatencyMetricsInterceptorTest {
+
+    static class Echo {
+        public String echo(String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("null");
+            }
+            return value;
+        }
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private Echo proxy() {
+        ProxyFactory factory = new ProxyFactory(new Echo());
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new LatencyMetricsInterceptor("test.latency", () -> registry));
+        return (Echo) factory.getProxy();
+    }
+
+    @Test
+    void recordsSuccess_taggedByClassAndMethod() {
+        Echo echo = proxy();
+
+        assertThat(echo.echo("a")).isEqualTo("a");
+        assertThat(echo.echo("b")).isEqualTo("b");
+
+        Timer timer = registry.get("test.latency")
+                .tags("class", "Echo", "method", "echo", "outcome", "SUCCESS", "exception", "none")
+                .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(registry.find("test.latency").tag("outcome", "ERROR").timer()).isNull();
+    }
+
+    @Test
+    void recordsError_withExceptionName_andRethrows() {
+        Echo echo = proxy();
+
+        assertThatThrownBy(() -> echo.echo(null)).isInstanceOf(IllegalArgumentException.class);
+
+        Timer timer = registry.get("test.latency")
+                .tags("outcome", "ERROR", "exception", "IllegalArgumentException")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void configAdvisors_matchControllersAndApplicationTransactions() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        var provider = beans.getBeanProvider(MeterRegistry.class);
+
+        var controller = (PointcutAdvisor) LatencyMetricsConfig.controllerLatencyAdvisor(provider);
+        var service = (PointcutAdvisor) LatencyMetricsConfig.transactionLatencyAdvisor(provider);
+
+        assertThat(controller.getPointcut().getClassFilter().matches(UserController.class)).isTrue();
+        assertThat(controller.getPointcut().getClassFilter().matches(Echo.class)).isFalse();
+        assertThat(service.getPointcut().getClassFilter().matches(AddressService.class)).isTrue();
+        assertThat(service.getPointcut().getClassFilter().matches(String.class)).isFalse();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.demo.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LockMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final LockMetricsProperties props = new LockMetricsProperties();
+    private final LockMetrics metrics = new LockMetrics(registry, props);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lock_recordsWait_andHoldUntilTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThat(metrics.lock("User", 1L, () -> "row")).isEqualTo("row");
+
+        assertThat(registry.get(LockMetrics.WAIT_METRIC).tags("entity", "User", "outcome", "ACQUIRED").timer().count())
+                .isEqualTo(1);
+        assertThat(registry.find(LockMetrics.HOLD_METRIC).timer()).isNull();
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(registry.get(LockMetrics.HOLD_METRIC).tags("entity", "User", "outcome", "ROLLED_BACK").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void lock_recordsFailedWait_andTracksRowAsContended() {
+        assertThatThrownBy(() -> metrics.lock("Pet", 7L, () -> {
+            throw new CannotAcquireLockException("busy");
+        })).isInstanceOf(CannotAcquireLockException.class);
+
+        assertThat(registry.get(LockMetrics.WAIT_METRIC).tags("entity", "Pet", "outcome", "FAILED").timer().count())
+                .isEqualTo(1);
+        assertThat(metrics.hottestRows()).singleElement().satisfies(row -> {
+            assertThat(row.entity()).isEqualTo("Pet");
+            assertThat(row.id()).isEqualTo(7L);
+            assertThat(row.failed()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void hottestRows_ranksByWaitTime_andIgnoresUncontendedRows() {
+        props.setContentionThreshold(Duration.ofMillis(1));
+
+        metrics.lock("User", 1L, () -> "fast");
+        metrics.lock("User", 2L, () -> sleep(5));
+        metrics.lock("User", 3L, () -> sleep(20));
+
+        assertThat(metrics.hottestRows()).extracting(LockMetrics.HotRow::id).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void hottestRows_dropsRowsOutsideTheWindow_andRespectsLimits() {
+        props.setContentionThreshold(Duration.ZERO);
+        props.setMaxTrackedRows(2);
+        props.setTop(1);
+
+        metrics.lock("User", 1L, () -> "a");
+        metrics.lock("User", 2L, () -> "b");
+        metrics.lock("User", 3L, () -> "c");
+
+        assertThat(metrics.hottestRows()).hasSize(1);
+
+        props.setWindow(Duration.ZERO);
+        assertThat(metrics.hottestRows()).isEmpty();
+    }
+
+    @Test
+    void retryAndExhaustionCounters_areTaggedByEntity() {
+        metrics.retried("User", 2);
+        metrics.exhausted("User");
+
+        assertThat(registry.get(LockMetrics.RETRY_METRIC).tag("entity", "User").counter().count()).isEqualTo(2);
+        assertThat(registry.get(LockMetrics.EXHAUSTED_METRIC).tag("entity", "User").counter().count()).isEqualTo(1);
+    }
+
+    private static String sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "slow";
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.demo.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.AddressDto;
+import com.example.demo.dto.BatchDto;
+import com.example.demo.dto.HouseholdDto;
+import com.example.demo.dto.HouseholdMemberDto;
+import com.example.demo.dto.PetDto;
+import com.example.demo.dto.UserDto;
+import com.example.demo.model.Address;
+import com.example.demo.model.Pet;
+import com.example.demo.model.PetType;
+import com.example.demo.model.User;
+import com.example.demo.model.UserPetOwnership;
+import com.example.demo.service.PetService;
+import com.example.demo.service.UserPetOwnershipService;
+import com.example.demo.service.UserService;
+
+/**
+ * Checks the projections against the entity-based queries they replace, on the seed data.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readmodel;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+class ReadModelServiceTest {
+
+    @Autowired private ReadModelService readModel;
+    @Autowired private UserService userService;
+    @Autowired private PetService petService;
+    @Autowired private UserPetOwnershipService ownershipService;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private ReadModelProperties props;
+    @Autowired private JdbcTemplate jdbc;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"paris", "PARIS", "mumbai", "london", "pune", "nowhere"})
+    void cityQueries_matchTheEntityPath(String city) {
+        assertThat(readModel.petsByCity(city))
+                .containsExactlyInAnyOrderElementsOf(inTx(() -> petService.byCity(city).stream()
+                        .map(ReadModelServiceTest::toPetDto).toList()));
+        assertThat(readModel.petsByWomenInCity(city))
+                .containsExactlyInAnyOrderElementsOf(inTx(() -> petsOf(userService.womenInCity(city))));
+        for (PetType type : PetType.values()) {
+            assertThat(readModel.usersByPetTypeAndCity(type, city, null))
+                    .containsExactlyInAnyOrderElementsOf(inTx(() -> ownershipService.usersByPetTypeAndCity(type, city)
+                            .stream().map(ReadModelServiceTest::toUserDto).toList()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Doe:John", "Doe:Jane", "Smith:Anna", "Shah:Amit", "Rao:Arjun", "Doe:john"})
+    void nameQueries_matchTheEntityPath(String fullName) {
+        String name = fullName.split(":")[0];
+        String firstName = fullName.split(":")[1];
+
+        assertThat(readModel.usersByName(name, firstName, null, false))
+                .containsExactlyElementsOf(inTx(() -> userService.byNameFirstName(name, firstName).stream()
+                        .map(ReadModelServiceTest::toUserDto).toList()));
+        assertThat(readModel.petsByUser(name, firstName))
+                .containsExactlyInAnyOrderElementsOf(inTx(() -> petsOf(userService.byNameFirstName(name, firstName))));
+    }
+
+    @Test
+    void petsByUser_mergesHomonyms_andDropsDeceasedPets() {
+        assertThat(readModel.petsByUser("Doe", "John")).extracting(PetDto::id).containsExactly(1L, 3L, 4L, 12L);
+        assertThat(readModel.petsByUser("Rao", "Arjun")).isEmpty();
+    }
+
+    @Test
+    void usersByPetTypeAndCity_returnsCoOwnersOnce_andSharesRepeatedStrings() {
+        List<UserDto> owners = readModel.usersByPetTypeAndCity(PetType.DOG, "mumbai", null);
+
+        assertThat(owners).extracting(UserDto::id).containsExactly(2L, 5L, 6L, 9L);
+        String city = owners.get(0).address().city();
+        assertThat(owners).allSatisfy(u -> assertThat(u.address().city()).isSameAs(city));
+    }
+
+    @Test
+    void userQueries_withoutAddressField_returnSameUsers_withoutAddress() {
+        Set<String> names = Set.of("id", "name", "firstName");
+
+        List<UserDto> full = readModel.usersByPetTypeAndCity(PetType.DOG, "mumbai", null);
+        assertThat(readModel.usersByPetTypeAndCity(PetType.DOG, "mumbai", names))
+                .containsExactlyElementsOf(full.stream().map(ReadModelServiceTest::withoutAddress).toList());
+        assertThat(readModel.usersByName("Doe", "John", names, false))
+                .extracting(UserDto::id, UserDto::address)
+                .containsExactly(tuple(1L, null), tuple(4L, null));
+        assertThat(readModel.usersByIds(List.of(12L, 404L), names, false).items())
+                .singleElement()
+                .isEqualTo(withoutAddress(readModel.usersByIds(List.of(12L), null, false).items().get(0)));
+    }
+
+    @Test
+    void usersByIds_keepsRequestOrder_dropsDuplicates_andReportsMissingIds() {
+        BatchDto<UserDto> batch = readModel.usersByIds(Arrays.asList(4L, 999L, 1L, 4L, null, 10L), null, false);
+
+        assertThat(batch.items()).extracting(UserDto::id).containsExactly(4L, 1L, 10L);
+        assertThat(batch.items().get(0).address().city()).isEqualTo("london");
+        assertThat(batch.missing()).containsExactly(999L);
+    }
+
+    @Test
+    void petsByIds_splitsLargeIdSetsIntoChunks_andKeepsDeceasedPets() {
+        List<Long> ids = LongStream.rangeClosed(1, 14).boxed().toList();
+        int chunkSize = props.getBatchChunkSize();
+        props.setBatchChunkSize(5);
+        try {
+            BatchDto<PetDto> batch = readModel.petsByIds(ids.reversed(), false);
+
+            assertThat(batch.items()).extracting(PetDto::id).containsExactlyElementsOf(ids.subList(0, 12).reversed());
+            assertThat(batch.items()).filteredOn(PetDto::deceased).extracting(PetDto::name).containsExactly("Rocky");
+            assertThat(batch.missing()).containsExactly(14L, 13L);
+        } finally {
+            props.setBatchChunkSize(chunkSize);
+        }
+    }
+
+    @Test
+    void byIds_rejectsTooManyIds() {
+        int maxIds = props.getBatchMaxIds();
+        props.setBatchMaxIds(2);
+        try {
+            assertThatThrownBy(() -> readModel.petsByIds(List.of(1L, 2L, 3L), false))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("At most 2 ids");
+            assertThat(readModel.petsByIds(List.of(1L, 1L, 2L), false).items()).hasSize(2);
+        } finally {
+            props.setBatchMaxIds(maxIds);
+        }
+    }
+
+    @Test
+    void household_followsSharedLivingPets_toTheRequestedDepth() {
+        assertThat(readModel.household(2L, 1, 100).members())
+                .extracting(HouseholdMemberDto::id, HouseholdMemberDto::depth)
+                .containsExactly(tuple(5L, 1), tuple(6L, 1));
+        assertThat(readModel.household(9L, 2, 100).members()).as("deceased co-owner").isEmpty();
+        assertThat(readModel.household(8L, 2, 100).members()).as("no pet shared").isEmpty();
+
+        // Sara Khan co-owns Kaa with Priya Patel; Jane Doe and Arjun Rao share Rocky, who is deceased
+        withRolledBack("insert into user_pet_ownership (user_id, pet_id) values (9, 11), (3, 10)", () -> {
+            assertThat(readModel.household(2L, 3, 100).members())
+                    .extracting(HouseholdMemberDto::id, HouseholdMemberDto::depth)
+                    .containsExactly(tuple(5L, 1), tuple(6L, 1), tuple(9L, 2));
+            assertThat(readModel.household(2L, 1, 100).members()).extracting(HouseholdMemberDto::id)
+                    .containsExactly(5L, 6L);
+            assertThat(readModel.household(9L, 4, 100).members())
+                    .extracting(HouseholdMemberDto::id, HouseholdMemberDto::depth)
+                    .containsExactly(tuple(5L, 1), tuple(2L, 2), tuple(6L, 2));
+            assertThat(readModel.household(3L, 4, 100).members()).extracting(HouseholdMemberDto::id)
+                    .containsExactly(1L);
+        });
+    }
+
+    @Test
+    void household_clampsDepthAndLimit_andReportsTruncation() {
+        HouseholdDto first = readModel.household(2L, 0, 1);
+        assertThat(first.members()).extracting(HouseholdMemberDto::id).containsExactly(5L);
+        assertThat(first.truncated()).isTrue();
+        assertThat(readModel.household(2L, 2, 2).truncated()).isFalse();
+
+        int maxMembers = props.getHouseholdMaxMembers();
+        props.setHouseholdMaxMembers(1);
+        try {
+            assertThat(readModel.household(2L, 99, 100).members()).hasSize(1);
+        } finally {
+            props.setHouseholdMaxMembers(maxMembers);
+        }
+    }
+
+    private void withRolledBack(String sql, Runnable assertions) {
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            jdbc.execute(sql);
+            assertions.run();
+            status.setRollbackOnly();
+        });
+    }
+
+    private <T> T inTx(Supplier<T> call) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        return tx.execute(status -> call.get());
+    }
+
+    private List<PetDto> petsOf(List<User> users) {
+        return users.stream()
+                .flatMap(u -> ownershipService.byUser(u).stream())
+                .map(UserPetOwnership::getPet)
+                .filter(p -> !p.isDeceased())
+                .distinct()
+                .map(ReadModelServiceTest::toPetDto)
+                .toList();
+    }
+
+    private static PetDto toPetDto(Pet p) {
+        return new PetDto(p.getId(), p.getName(), p.getAge(), p.getType(), p.isDeceased());
+    }
+
+    private static UserDto toUserDto(User u) {
+        Address a = u.getAddress();
+        return new UserDto(u.getId(), u.getName(), u.getFirstName(), u.getAge(), u.getGender(),
+                new AddressDto(a.getId(), a.getCity(), a.getType(), a.getAddressName(), a.getNumber()),
+                u.isDeceased());
+    }
+
+    private static UserDto withoutAddress(UserDto u) {
+        return new UserDto(u.id(), u.name(), u.firstName(), u.age(), u.gender(), null, u.deceased());
+    }
+}
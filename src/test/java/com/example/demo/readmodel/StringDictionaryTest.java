@@ -0,0 +1,48 @@
+package com.example.demo.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StringDictionaryTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ReadModelProperties props = new ReadModelProperties();
+    private final StringDictionary dictionary = new StringDictionary(props, registry);
+
+    @Test
+    void intern_returnsOneSharedInstancePerValue() {
+        String first = dictionary.intern(new String("paris"));
+        String second = dictionary.intern(new String("paris"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(dictionary.intern(null)).isNull();
+        assertThat(dictionary.size()).isEqualTo(1);
+        assertThat(registry.get(StringDictionary.METRIC).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void intern_passesLongValuesThrough() {
+        props.setDictionaryMaxLength(4);
+
+        String longValue = new String("mumbai");
+
+        assertThat(dictionary.intern(longValue)).isSameAs(longValue);
+        assertThat(dictionary.size()).isZero();
+    }
+
+    @Test
+    void intern_stopsGrowingAtTheBound_butKeepsServingKnownValues() {
+        props.setDictionaryMaxEntries(1);
+        String paris = dictionary.intern(new String("paris"));
+
+        String london = new String("london");
+
+        assertThat(dictionary.intern(london)).isSameAs(london);
+        assertThat(dictionary.intern(new String("paris"))).isSameAs(paris);
+        assertThat(dictionary.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.Gender;
+import com.example.demo.model.Pet;
+import com.example.demo.model.PetType;
+import com.example.demo.model.User;
+import com.example.demo.model.UserPetOwnership;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * The entity list queries must load read-only entities even when they join a read-write transaction:
+ * no snapshot is kept and changes made to them are never flushed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:readonlyqueries;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+class ReadOnlyQueriesTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private UserPetOwnershipRepository ownershipRepository;
+    @Autowired private PlatformTransactionManager txManager;
+    @Autowired private JdbcTemplate jdbc;
+    @PersistenceContext private EntityManager em;
+
+    @Test
+    void listQueries_loadReadOnlyEntities_insideAReadWriteTransaction() {
+        User doe = new TransactionTemplate(txManager).execute(status -> userRepository.findById(1L).orElseThrow());
+        Pet rocky = new TransactionTemplate(txManager).execute(status -> petRepository.findById(1L).orElseThrow());
+
+        assertReadOnly(() -> userRepository.findByNameAndFirstName("Doe", "John"));
+        assertReadOnly(() -> userRepository.findByGenderAndAddress_CityIgnoreCase(Gender.FEMALE, "mumbai"));
+        assertReadOnly(() -> petRepository.findByType(PetType.DOG));
+        assertReadOnly(() -> petRepository.findByAddress_CityIgnoreCaseAndDeceasedFalse("paris"));
+        assertReadOnly(() -> ownershipRepository.findDistinctUsersByPetTypeAndCity(PetType.DOG, "mumbai"));
+        assertReadOnly(() -> {
+            List<Object> loaded = new ArrayList<>();
+            for (UserPetOwnership o : ownershipRepository.findByUser(doe)) {
+                loaded.add(o);
+                loaded.add(o.getPet());
+            }
+            return loaded;
+        });
+        assertReadOnly(() -> {
+            List<Object> loaded = new ArrayList<>();
+            for (UserPetOwnership o : ownershipRepository.findByPet(rocky)) {
+                loaded.add(o);
+                loaded.add(o.getUser());
+            }
+            return loaded;
+        });
+    }
+
+    @Test
+    void changesToReadOnlyEntities_areNeverFlushed() {
+        new TransactionTemplate(txManager).executeWithoutResult(status ->
+                petRepository.findByAddress_CityIgnoreCaseAndDeceasedFalse("paris").forEach(p -> p.setName("Renamed")));
+
+        assertThat(jdbc.queryForObject("select count(*) from pet where name = 'Renamed'", Integer.class)).isZero();
+    }
+
+    private void assertReadOnly(Supplier<? extends List<?>> query) {
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            List<?> loaded = query.get();
+            assertThat(loaded).isNotEmpty();
+            Session session = em.unwrap(Session.class);
+            assertThat(loaded).allSatisfy(entity -> assertThat(session.isReadOnly(entity)).isTrue());
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Validates the entity mappings against {@code schema.sql} once, at build time, so the {@code prod} profile can
+ * boot with {@code ddl-auto=none}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemavalidation;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "app.warmup.enabled=false"
+})
+class SchemaValidationTest {
+
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void entitiesMatchSchemaSql() {
+        assertThat(userRepository.count()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.model.Gender;
+import com.example.demo.model.User;
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.service.UserService;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:usersearch;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+class UserSearchIndexLoaderTest {
+
+    @Autowired private UserSearchIndex index;
+    @Autowired private UserService userService;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private PlatformTransactionManager txManager;
+
+    @Test
+    void indexesTheSeedAtStartUp_andFollowsCommittedWrites() {
+        assertThat(index.search("doe john", 10)).extracting(UserSearchHit::id).containsExactly(1L, 4L);
+
+        User saved = userService.save(User.builder().name("Dupond").firstName("Jean").age(40).gender(Gender.MALE)
+                .address(addressRepository.findById(1L).orElseThrow()).build());
+        userService.updateWithPessimisticLockAndRetry(saved.getId(), u -> u.setName("Dupont"));
+        TransactionTemplate rolledBack = new TransactionTemplate(txManager);
+        rolledBack.executeWithoutResult(status -> {
+            userService.save(User.builder().name("Ghost").firstName("User").age(1).gender(Gender.OTHER)
+                    .address(addressRepository.findById(1L).orElseThrow()).build());
+            status.setRollbackOnly();
+        });
+
+        // the seed already has a "Dupont Jean" (id 12); the renamed user is no longer found as "Dupond"
+        assertThat(index.search("dupond", 10)).allSatisfy(hit -> {
+            assertThat(hit.name()).isEqualTo("Dupont");
+            assertThat(hit.score()).isLessThan(2 * 3);
+        }).extracting(UserSearchHit::id).containsExactly(12L, saved.getId());
+        assertThat(index.search("ghost", 10)).isEmpty();
+    }
+}
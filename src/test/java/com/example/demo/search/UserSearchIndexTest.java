@@ -0,0 +1,154 @@
+package com.example.demo.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.UserSearchHit;
+import com.example.demo.model.User;
+
+class UserSearchIndexTest {
+
+    private final SearchProperties props = new SearchProperties();
+    private final UserSearchIndex index = new UserSearchIndex(props);
+
+    @BeforeEach
+    void seed() {
+        index.put(1, "Dupont", "Jean");
+        index.put(2, "Dupond", "Jean");
+        index.put(3, "Dupontel", "Albert");
+        index.put(4, "Müller", "Anna");
+        index.put(5, "Doe", "John");
+        index.put(6, "Doe", "Jane");
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void search_ranksExactThenPrefixThenTypo() {
+        assertThat(index.search("dupont", 10)).extracting(UserSearchHit::id).containsExactly(1L, 3L, 2L);
+    }
+
+    @Test
+    void search_findsPrefixes_andIgnoresCaseAndAccents() {
+        assertThat(index.search("DUP", 10)).extracting(UserSearchHit::id).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("muller", 10)).singleElement().satisfies(hit -> {
+            assertThat(hit.name()).isEqualTo("Müller");
+            assertThat(hit.score()).isEqualTo(3.0);
+        });
+    }
+
+    @Test
+    void search_toleratesTyposAndTranspositions() {
+        assertThat(index.search("dupnot", 10)).extracting(UserSearchHit::id).contains(1L);
+        assertThat(index.search("jaen dupond", 10)).extracting(UserSearchHit::id).first().isEqualTo(2L);
+        // short words only get one edit, very short ones none
+        assertThat(index.search("dxx", 10)).isEmpty();
+        assertThat(index.search("jo", 10)).extracting(UserSearchHit::id).containsExactly(5L);
+    }
+
+    @Test
+    void search_requiresEveryWord_inAnyField() {
+        assertThat(index.search("john doe", 10)).extracting(UserSearchHit::id).containsExactly(5L);
+        assertThat(index.search("doe", 10)).extracting(UserSearchHit::id).containsExactly(5L, 6L);
+        assertThat(index.search("doe zzzzzz", 10)).isEmpty();
+        assertThat(index.search(" - ", 10)).isEmpty();
+    }
+
+    @Test
+    void search_capsTheLimit_andStopsAfterMaxCandidates() {
+        props.setMaxResults(1);
+        assertThat(index.search("dup", 10)).hasSize(1);
+
+        props.setMaxResults(50);
+        props.setMaxCandidates(2);
+        assertThat(index.search("dup", 10)).hasSize(2);
+    }
+
+    @Test
+    void put_replacesTheNamesOfAnIndexedUser() {
+        index.put(5, "Smith", "John");
+
+        assertThat(index.search("doe", 10)).extracting(UserSearchHit::id).containsExactly(6L);
+        assertThat(index.search("smith", 10)).extracting(UserSearchHit::id).containsExactly(5L);
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    void put_sharesTheDisplayNamesOfHomonyms() {
+        index.put(7, new String("Doe"), new String("Jane"));
+
+        List<UserSearchHit> hits = index.search("doe jane", 10);
+        assertThat(hits).extracting(UserSearchHit::id).containsExactly(6L, 7L);
+        assertThat(hits.get(1).name()).isSameAs(hits.get(0).name());
+        assertThat(hits.get(1).firstName()).isSameAs(hits.get(0).firstName());
+    }
+
+    @Test
+    void remove_dropsTheUser_untilItIsPutAgain() {
+        index.remove(5);
+        index.remove(5);
+        index.remove(404);
+
+        assertThat(index.search("doe", 10)).extracting(UserSearchHit::id).containsExactly(6L);
+        assertThat(index.size()).isEqualTo(5);
+
+        index.put(5, "Doe", "John");
+
+        assertThat(index.search("doe", 10)).extracting(UserSearchHit::id).containsExactly(5L, 6L);
+        assertThat(index.size()).isEqualTo(6);
+    }
+
+    @Test
+    void index_waitsForTheCommit_andIgnoresRollbacks() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.index(User.builder().id(7L).name("Curie").firstName("Marie").build());
+        index.index(User.builder().id(8L).name("Curiel").firstName("Pierre").build());
+
+        assertThat(index.search("curie", 10)).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(index.search("curie", 10)).extracting(UserSearchHit::id).containsExactly(7L);
+    }
+
+    @Test
+    void index_appliesRightAwayOutsideATransaction_andSkipsUnsavedUsers() {
+        index.index(User.builder().id(9L).name("Lovelace").firstName("Ada").build());
+        index.index(User.builder().name("Unsaved").firstName("User").build());
+
+        assertThat(index.search("lovelace", 10)).extracting(UserSearchHit::id).containsExactly(9L);
+        assertThat(index.search("unsaved", 10)).isEmpty();
+    }
+
+    @Test
+    void idMap_growsPastItsInitialCapacity() {
+        for (long id = 100; id < 3_100; id++) {
+            index.put(id, "Bulk" + id, "User");
+        }
+        index.put(2_000, "Renamed", "User");
+
+        assertThat(index.size()).isEqualTo(6 + 3_000);
+        assertThat(index.search("renamed", 10)).extracting(UserSearchHit::id).containsExactly(2_000L);
+    }
+
+    @Test
+    void distance_countsTranspositionsAsOneEdit_andStopsAtTheBound() {
+        assertThat(UserSearchIndex.distance("dupont", "dupond", 2)).isEqualTo(1);
+        assertThat(UserSearchIndex.distance("dupnot", "dupont", 2)).isEqualTo(1);
+        assertThat(UserSearchIndex.distance("abc", "xyzxyz", 2)).isEqualTo(3);
+    }
+}
@@ -165,4 +165,12 @@ class AddressServiceTest {
                         isNull(), eq("road"), eq("antoine lavoisier"), eq("10"));
         verify(repo, times(1)).save(any(Address.class));
     }
+
+    @Test
+    void norm_collapsesEveryRegexWhitespaceRun_andSkipsSingleSpacedInput() {
+        assertThat(AddressService.norm("Antoine Lavoisier")).isEqualTo("antoine lavoisier");
+        assertThat(AddressService.norm(" Rue\tde\n\n la  Paix\r\f")).isEqualTo("rue de la paix");
+        assertThat(AddressService.norm("a \u000B b")).isEqualTo("a b");
+        assertThat(AddressService.norm("   ")).isEmpty();
+    }
 }
@@ -9,6 +9,7 @@ import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -30,12 +31,19 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.metrics.LockMetrics;
+import com.example.demo.metrics.LockRetryListener;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.repository.PetRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(SpringExtension.class)
-@Import({PetService.class, PetServiceTest.Config.class})
+@Import({PetService.class, LockMetrics.class, LockRetryListener.class, PetServiceTest.Config.class})
 class PetServiceTest {
 
     @TestConfiguration
@@ -43,6 +51,11 @@ class PetServiceTest {
     @EnableTransactionManagement
     static class Config {
         // Minimal TM so @Transactional works without a real DataSource
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
         @Bean
         PlatformTransactionManager txManager() {
             return new AbstractPlatformTransactionManager() {
@@ -57,9 +70,15 @@ class PetServiceTest {
     @MockitoBean
     private PetRepository repo;
 
+    @MockitoBean
+    private ChangeLog changeLog;
+
     @Autowired
     private PetService service;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     void save_delegatesToRepository() {
         Pet p = Pet.builder().id(1L).name("Buddy").build();
@@ -69,6 +88,17 @@ class PetServiceTest {
 
         assertThat(saved).isSameAs(p);
         then(repo).should().save(argThat(x -> "Buddy".equals(x.getName())));
+        then(changeLog).should().publish(ChangeType.PET_CREATED, null, 1L);
+    }
+
+    @Test
+    void save_publishesAnUpdate_whenThePetExists() {
+        Pet p = Pet.builder().id(3L).name("Buddy").build();
+        given(repo.save(p)).willReturn(p);
+
+        service.save(p);
+
+        then(changeLog).should().publish(ChangeType.PET_UPDATED, null, 3L);
     }
 
     @Test
@@ -125,6 +155,7 @@ class PetServiceTest {
         assertThat(updated.getAge()).isEqualTo(2);
         then(repo).should(times(1)).lockForUpdate(5L);
         then(repo).should().saveAndFlush(locked);
+        then(changeLog).should().publish(ChangeType.PET_UPDATED, null, 5L);
     }
 
     @Test
@@ -146,6 +177,7 @@ class PetServiceTest {
         assertThat(updated.getAge()).isEqualTo(8);
         then(repo).should(times(3)).lockForUpdate(6L);
         then(repo).should(times(1)).saveAndFlush(locked);
+        assertThat(meterRegistry.get(LockMetrics.RETRY_METRIC).tag("entity", "Pet").counter().count()).isEqualTo(2);
     }
 
     @Test
@@ -172,6 +204,19 @@ class PetServiceTest {
         ArgumentCaptor<Pet> captor = ArgumentCaptor.forClass(Pet.class);
         then(repo).should().save(captor.capture());
         assertThat(captor.getValue().isDeceased()).isTrue();
+        assertThat(captor.getValue().getDeceasedAt()).isNotNull();
+        then(changeLog).should().publish(ChangeType.PET_DECEASED, null, 9L);
+    }
+
+    @Test
+    void markDeceased_alreadyDeceased_keepsTheDate_andPublishesNothing() {
+        LocalDateTime died = LocalDateTime.of(2024, 6, 21, 10, 0);
+        Pet p = Pet.builder().id(9L).name("Tiger").deceased(true).deceasedAt(died).build();
+        given(repo.findById(9L)).willReturn(Optional.of(p));
+        given(repo.save(any(Pet.class))).willAnswer(inv -> inv.getArgument(0));
+
+        assertThat(service.markDeceased(9L).getDeceasedAt()).isEqualTo(died);
+        then(changeLog).shouldHaveNoInteractions();
     }
 }
 
@@ -15,6 +15,8 @@ import org.springframework.context.annotation.Import;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
 import com.example.demo.model.Pet;
 import com.example.demo.model.PetType;
 import com.example.demo.model.User;
@@ -28,6 +30,9 @@ class UserPetOwnershipServiceTest {
     @MockitoBean
     private UserPetOwnershipRepository repo;
 
+    @MockitoBean
+    private ChangeLog changeLog;
+
     @Autowired
     private UserPetOwnershipService service;
 
@@ -43,6 +48,7 @@ class UserPetOwnershipServiceTest {
 
         assertThat(result).isSameAs(ownership);
         then(repo).should().save(argThat(o -> o.getUser() == u && o.getPet() == p));
+        then(changeLog).should().publish(ChangeType.OWNERSHIP_LINKED, 1L, 2L);
     }
 
     @Test
@@ -10,6 +10,7 @@ import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -31,12 +32,20 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeType;
+import com.example.demo.metrics.LockMetrics;
+import com.example.demo.metrics.LockRetryListener;
 import com.example.demo.model.Gender;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.UserSearchIndex;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(SpringExtension.class)
-@Import({UserService.class, UserServiceTest.Config.class})
+@Import({UserService.class, LockMetrics.class, LockRetryListener.class, UserServiceTest.Config.class})
 class UserServiceTest {
 
   /** Minimal TX infra: no DataSource/H2; satisfies @Transactional(REQUIRES_NEW). */
@@ -45,6 +54,11 @@ class UserServiceTest {
   @EnableTransactionManagement
   static class Config {
         // Minimal TM so @Transactional works without a real DataSource
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
         @Bean
         PlatformTransactionManager txManager() {
             return new AbstractPlatformTransactionManager() {
@@ -59,9 +73,18 @@ class UserServiceTest {
   @MockitoBean
   private UserRepository repo;
 
+  @MockitoBean
+  private UserSearchIndex searchIndex;
+
+  @MockitoBean
+  private ChangeLog changeLog;
+
   @Autowired
   private UserService service;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @Test
   void save_delegatesToRepository() {
     var u = User.builder().id(1L).name("Doe").firstName("John").build();
@@ -71,6 +94,18 @@ class UserServiceTest {
 
     assertThat(saved).isSameAs(u);
     then(repo).should().save(argThat(x -> "Doe".equals(x.getName()) && "John".equals(x.getFirstName())));
+    then(searchIndex).should().index(u);
+    then(changeLog).should().publish(ChangeType.USER_CREATED, 1L, null);
+  }
+
+  @Test
+  void save_publishesAnUpdate_whenTheUserExists() {
+    var u = User.builder().id(3L).name("Doe").build();
+    given(repo.save(u)).willReturn(u);
+
+    service.save(u);
+
+    then(changeLog).should().publish(ChangeType.USER_UPDATED, 3L, null);
   }
 
   @Test
@@ -120,6 +155,8 @@ class UserServiceTest {
     assertThat(updated.getAge()).isEqualTo(31);
     then(repo).should(times(1)).lockForUpdate(5L);
     then(repo).should().saveAndFlush(locked);
+    then(searchIndex).should().index(locked);
+    then(changeLog).should().publish(ChangeType.USER_UPDATED, 5L, null);
   }
 
   @Test
@@ -135,11 +172,30 @@ class UserServiceTest {
     });
     given(repo.saveAndFlush(any(User.class))).willAnswer(inv -> inv.getArgument(0));
 
+    double retriesBefore = count(LockMetrics.RETRY_METRIC);
+    long heldBefore = holds("COMMITTED");
+
     var updated = service.updateWithPessimisticLockAndRetry(6L, u -> u.setAge(u.getAge() + 5));
 
     assertThat(updated.getAge()).isEqualTo(25);
     then(repo).should(times(3)).lockForUpdate(6L);
     then(repo).should(times(1)).saveAndFlush(locked);
+    assertThat(count(LockMetrics.RETRY_METRIC) - retriesBefore).isEqualTo(2);
+    assertThat(holds("COMMITTED") - heldBefore).isEqualTo(1);
+  }
+
+  @Test
+  void updateWithPessimisticLockAndRetry_countsExhaustion_whenLockNeverAcquired() {
+    given(repo.lockForUpdate(7L)).willThrow(new org.springframework.dao.CannotAcquireLockException("busy"));
+    double exhaustedBefore = count(LockMetrics.EXHAUSTED_METRIC);
+
+    assertThatThrownBy(() -> service.updateWithPessimisticLockAndRetry(7L, u -> {}))
+        .isInstanceOf(org.springframework.dao.CannotAcquireLockException.class);
+
+    then(repo).should(times(3)).lockForUpdate(7L);
+    assertThat(count(LockMetrics.EXHAUSTED_METRIC) - exhaustedBefore).isEqualTo(1);
+    assertThat(meterRegistry.get(LockMetrics.WAIT_METRIC).tags("entity", "User", "outcome", "FAILED").timer().count())
+        .isGreaterThanOrEqualTo(3);
   }
 
   @Test
@@ -154,9 +210,9 @@ class UserServiceTest {
   }
 
   @Test
-  void markDeceased_setsFlagAndSaves() {
+  void markDeceased_loadsUserWithAddress_setsFlagAndSaves() {
     var u = User.builder().id(9L).deceased(false).build();
-    given(repo.findById(9L)).willReturn(Optional.of(u));
+    given(repo.findWithAddressById(9L)).willReturn(Optional.of(u));
     given(repo.save(any(User.class))).willAnswer(inv -> inv.getArgument(0));
 
     var result = service.markDeceased(9L);
@@ -165,6 +221,28 @@ class UserServiceTest {
     var cap = ArgumentCaptor.forClass(User.class);
     then(repo).should().save(cap.capture());
     assertThat(cap.getValue().isDeceased()).isTrue();
+    assertThat(cap.getValue().getDeceasedAt()).isNotNull();
+    then(changeLog).should().publish(ChangeType.USER_DECEASED, 9L, null);
   }
-}
 
+  @Test
+  void markDeceased_alreadyDeceased_keepsTheDate_andPublishesNothing() {
+    var died = LocalDateTime.of(2024, 2, 10, 8, 30);
+    var u = User.builder().id(9L).deceased(true).deceasedAt(died).build();
+    given(repo.findWithAddressById(9L)).willReturn(Optional.of(u));
+    given(repo.save(any(User.class))).willAnswer(inv -> inv.getArgument(0));
+
+    assertThat(service.markDeceased(9L).getDeceasedAt()).isEqualTo(died);
+    then(changeLog).shouldHaveNoInteractions();
+  }
+
+  private double count(String metric) {
+    var counter = meterRegistry.find(metric).tag("entity", "User").counter();
+    return counter == null ? 0 : counter.count();
+  }
+
+  private long holds(String outcome) {
+    var timer = meterRegistry.find(LockMetrics.HOLD_METRIC).tags("entity", "User", "outcome", outcome).timer();
+    return timer == null ? 0 : timer.count();
+  }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.demo.UserPetManagerApplication;
+
+/**
+ * Warm restart: the first instance seeds from {@code data.sql} and leaves a snapshot on shutdown, the next one
+ * restores it instead of running {@code data.sql}, and an instance finding a corrupted snapshot falls back to
+ * {@code data.sql}.
+ */
+class SnapshotRestoreTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void aSnapshotWrittenOnShutdown_isRestoredAtTheNextStartUp() throws Exception {
+        Path file = dir.resolve("pet-manager.snapshot");
+        List<Map<String, Object>> users;
+        try (ConfigurableApplicationContext first = start("snapshotfirst", file)) {
+            assertThat(first.getBean(SnapshotDatabaseInitializer.class).isRestored()).isFalse();
+            JdbcTemplate jdbc = first.getBean(JdbcTemplate.class);
+            jdbc.update("update users set name = 'Snapshotted', age = null where id = 3");
+            jdbc.update("delete from user_pet_ownership where id = 1");
+            users = jdbc.queryForList("select * from users order by id");
+        }
+        assertThat(file).exists();
+
+        try (ConfigurableApplicationContext second = start("snapshotsecond", file)) {
+            JdbcTemplate jdbc = second.getBean(JdbcTemplate.class);
+            assertThat(second.getBean(SnapshotDatabaseInitializer.class).isRestored()).isTrue();
+            assertThat(jdbc.queryForList("select * from users order by id")).isEqualTo(users);
+            assertThat(jdbc.queryForObject("select count(*) from user_pet_ownership where id = 1", Long.class))
+                    .isZero();
+        }
+
+        byte[] corrupted = Files.readAllBytes(file);
+        corrupted[corrupted.length - 2] ^= 1;
+        Files.write(file, corrupted);
+        try (ConfigurableApplicationContext third = start("snapshotthird", file)) {
+            JdbcTemplate jdbc = third.getBean(JdbcTemplate.class);
+            assertThat(third.getBean(SnapshotDatabaseInitializer.class).isRestored()).isFalse();
+            assertThat(jdbc.queryForObject("select name from users where id = 3", String.class))
+                    .isNotEqualTo("Snapshotted");
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String database, Path file) {
+        return new SpringApplicationBuilder(UserPetManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+                        "--app.warmup.enabled=false",
+                        "--app.snapshot.enabled=true",
+                        "--app.snapshot.file=" + file,
+                        "--app.snapshot.interval=1h");
+    }
+}
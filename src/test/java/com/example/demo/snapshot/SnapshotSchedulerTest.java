@@ -0,0 +1,77 @@
+package com.example.demo.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.demo.changes.ChangeLog;
+import com.example.demo.changes.ChangeProperties;
+import com.example.demo.changes.ChangeType;
+
+class SnapshotSchedulerTest {
+
+    private final SnapshotProperties props = new SnapshotProperties();
+    private final SnapshotStore store = mock(SnapshotStore.class);
+    private final SnapshotDatabaseInitializer initializer = mock(SnapshotDatabaseInitializer.class);
+    private final ChangeLog changeLog = new ChangeLog(new ChangeProperties());
+
+    @Test
+    void aSeededDatabase_isSnapshotted_thenOnlyAfterChanges() throws Exception {
+        SnapshotScheduler scheduler = new SnapshotScheduler(store, initializer, changeLog, props);
+
+        scheduler.snapshotIfChanged();
+        scheduler.snapshotIfChanged();
+        then(store).should(times(1)).write();
+
+        changeLog.publish(ChangeType.USER_CREATED, 1L, null);
+        scheduler.snapshotIfChanged();
+        then(store).should(times(2)).write();
+    }
+
+    @Test
+    void aRestoredDatabase_isNotSnapshottedUntilItChanges() throws Exception {
+        given(initializer.isRestored()).willReturn(true);
+        SnapshotScheduler scheduler = new SnapshotScheduler(store, initializer, changeLog, props);
+
+        scheduler.snapshotIfChanged();
+        then(store).should(never()).write();
+
+        changeLog.publish(ChangeType.PET_DECEASED, null, 4L);
+        scheduler.snapshotIfChanged();
+        then(store).should().write();
+    }
+
+    @Test
+    void aFailedWrite_isRetriedAtTheNextTick() throws Exception {
+        given(store.write()).willThrow(new IOException("disk full")).willReturn(null);
+        SnapshotScheduler scheduler = new SnapshotScheduler(store, initializer, changeLog, props);
+
+        scheduler.snapshotIfChanged();
+        scheduler.snapshotIfChanged();
+        scheduler.snapshotIfChanged();
+
+        then(store).should(times(2)).write();
+    }
+
+    @Test
+    void stop_writesAFinalSnapshot_afterTheWebServer() throws Exception {
+        props.setInterval(Duration.ofHours(1));
+        SnapshotScheduler scheduler = new SnapshotScheduler(store, initializer, changeLog, props);
+
+        scheduler.start();
+        assertThat(scheduler.isRunning()).isTrue();
+        scheduler.stop();
+
+        assertThat(scheduler.isRunning()).isFalse();
+        then(store).should().write();
+        assertThat(scheduler.getPhase()).isLessThan(Integer.MAX_VALUE - 2048);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.demo.export.DatasetExporter;
+import com.example.demo.export.DatasetImporter;
+import com.example.demo.export.ExportTable;
+import com.example.demo.export.TransferStats;
+
+class SnapshotStoreTest {
+
+    private static final byte[] PAYLOAD = "UPMX-columnar-export-payload".repeat(100).getBytes();
+
+    @TempDir
+    private Path dir;
+
+    private final SnapshotProperties props = new SnapshotProperties();
+    private final DatasetExporter exporter = mock(DatasetExporter.class);
+    private final DatasetImporter importer = mock(DatasetImporter.class);
+    private final SnapshotStore store = new SnapshotStore(props, exporter, importer);
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = dir.resolve("nested/pet-manager.snapshot");
+        props.setFile(file);
+        given(exporter.export(any())).willAnswer(invocation -> {
+            WritableByteChannel channel = invocation.getArgument(0);
+            channel.write(ByteBuffer.wrap(PAYLOAD, 0, 1_000));
+            channel.write(ByteBuffer.wrap(PAYLOAD, 1_000, PAYLOAD.length - 1_000));
+            return null;
+        });
+    }
+
+    @Test
+    void write_thenRestore_streamsTheExportedPayloadToTheImporter() throws Exception {
+        ByteArrayOutputStream restored = new ByteArrayOutputStream();
+        given(importer.bulkLoad(any())).willAnswer(invocation -> {
+            ReadableByteChannel channel = invocation.getArgument(0);
+            ByteBuffer buffer = ByteBuffer.allocate(64);
+            while (channel.read(buffer) >= 0) {
+                restored.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+            return new TransferStats(1, 2, 3, 4, 0, PAYLOAD.length, Duration.ZERO);
+        });
+
+        SnapshotHeader written = store.write();
+
+        assertThat(written.payloadLength()).isEqualTo(PAYLOAD.length);
+        assertThat(Files.size(file)).isEqualTo(SnapshotHeader.SIZE + PAYLOAD.length);
+        assertThat(dir.resolve("nested/pet-manager.snapshot.tmp")).doesNotExist();
+        assertThat(store.validate()).contains(written);
+        assertThat(store.restore().users()).isEqualTo(2);
+        assertThat(restored.toByteArray()).isEqualTo(PAYLOAD);
+    }
+
+    @Test
+    void validate_rejectsMissingIncompleteOrCorruptedFiles() throws Exception {
+        assertThat(store.validate()).isEmpty();
+
+        SnapshotHeader header = store.write();
+        byte[] bytes = Files.readAllBytes(file);
+
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThat(store.validate()).as("truncated payload").isEmpty();
+
+        byte[] corrupted = bytes.clone();
+        corrupted[SnapshotHeader.SIZE + 10] ^= 1;
+        Files.write(file, corrupted);
+        assertThat(store.validate()).as("payload bit flip").isEmpty();
+
+        corrupted = bytes.clone();
+        corrupted[20] ^= 1;
+        Files.write(file, corrupted);
+        assertThat(store.validate()).as("header bit flip").isEmpty();
+
+        Files.write(file, withHeader(bytes, new SnapshotHeader(SnapshotHeader.VERSION - 1, header.layout(), header.createdAt(),
+                header.payloadLength(), header.payloadCrc())));
+        assertThat(store.validate()).as("other version").isEmpty();
+
+        Files.write(file, withHeader(bytes, new SnapshotHeader(header.version(),
+                SnapshotHeader.layoutOf(ExportTable.USERS), header.createdAt(), header.payloadLength(),
+                header.payloadCrc())));
+        assertThat(store.validate()).as("other tables").isEmpty();
+
+        Files.write(file, Arrays.copyOf(bytes, 10));
+        assertThat(store.validate()).as("truncated header").isEmpty();
+
+        Files.write(file, "PK".repeat(40).getBytes());
+        assertThat(store.validate()).as("other file").isEmpty();
+
+        Files.write(file, bytes);
+        assertThat(store.validate()).contains(header);
+    }
+
+    @Test
+    void write_keepsThePreviousSnapshot_whenTheExportFails() throws Exception {
+        store.write();
+        byte[] previous = Files.readAllBytes(file);
+        willThrow(new SQLException("connection lost")).given(exporter).export(any());
+
+        assertThatThrownBy(store::write).isInstanceOf(SQLException.class);
+
+        assertThat(Files.readAllBytes(file)).isEqualTo(previous);
+        assertThat(dir.resolve("nested/pet-manager.snapshot.tmp")).doesNotExist();
+    }
+
+    @Test
+    void header_roundTrips() throws Exception {
+        SnapshotHeader header = new SnapshotHeader(SnapshotHeader.VERSION, SnapshotHeader.LAYOUT,
+                Instant.ofEpochMilli(1_700_000_000_000L), 123_456_789_012L, -42);
+
+        assertThat(SnapshotHeader.decode(header.encode())).isEqualTo(header);
+    }
+
+    private static byte[] withHeader(byte[] file, SnapshotHeader header) {
+        byte[] copy = file.clone();
+        header.encode().get(copy, 0, SnapshotHeader.SIZE);
+        return copy;
+    }
+}
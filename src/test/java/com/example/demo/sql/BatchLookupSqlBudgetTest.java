@@ -0,0 +1,49 @@
+package com.example.demo.sql;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// same configuration as OwnershipSqlBudgetTest, so the context is shared
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@SqlStatementBudget(1)
+class BatchLookupSqlBudgetTest {
+
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void usersByIds_fetchesUsersAndAddressesInOneStatement() throws Exception {
+        mvc.perform(get("/users").param("ids", "1,2,3,4,5,6,7,8,9,10,11,12,404"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(12))
+                .andExpect(jsonPath("$.missing[0]").value(404));
+    }
+
+    @Test
+    @SqlStatementBudget(2)
+    void petsByIds_runsOneStatementPerChunk() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1_000).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        mvc.perform(post("/pets/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + ids + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(12))
+                .andExpect(jsonPath("$.missing.length()").value(988));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@SqlStatementBudget(3)
+class OwnershipSqlBudgetTest {
+
+    @Autowired private MockMvc mvc;
+
+    @Test
+    void petsByCity_staysWithinBudget() throws Exception {
+        mvc.perform(get("/ownerships/pets-by-city").param("city", "Paris"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")));
+    }
+
+    @Test
+    void usersByPetTypeAndCity_staysWithinBudget() throws Exception {
+        mvc.perform(get("/ownerships/users-by-pet-type-and-city").param("petType", "CAT").param("city", "Paris"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void petsByWomenInCity_staysWithinBudget() throws Exception {
+        mvc.perform(get("/ownerships/pets-by-women-in-city").param("city", "Paris"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void petsByUser_countsStatementsPerRequest() throws Exception {
+        List<SqlRequestStats> seen = new ArrayList<>();
+        Consumer<SqlRequestStats> observer = seen::add;
+        SqlStatementTracker.addObserver(observer);
+        try {
+            mvc.perform(get("/ownerships/pets-by-user").param("name", "Doe").param("firstName", "John"))
+                    .andExpect(status().isOk());
+        } finally {
+            SqlStatementTracker.removeObserver(observer);
+        }
+
+        assertThat(seen).singleElement().satisfies(s -> {
+            assertThat(s.getEndpoint()).isEqualTo("GET /ownerships/pets-by-user");
+            // homonyms, ownerships and pets are resolved by a single join in the read model
+            assertThat(s.getStatementCount()).isEqualTo(1);
+            assertThat(s.getDbTimeNanos()).isPositive();
+            assertThat(s.getMostRepeated().getValue()).isEqualTo(1);
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.demo.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import com.example.demo.filter.TraceIdFilter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class SlowQueryDataSourceTest {
+
+    private final ListAppender<ILoggingEvent> logs = attachLogs();
+    private final SlowQueryProperties props = new SlowQueryProperties();
+    private SlowQueryLog slowQueryLog;
+    private SlowQueryDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        props.setThreshold(Duration.ZERO);
+        props.setMaskedColumns(Set.of("NAME"));
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:slowquery;DB_CLOSE_DELAY=-1");
+        try (Connection c = h2.getConnection(); Statement s = c.createStatement()) {
+            s.execute("drop table if exists person");
+            s.execute("create table person (id bigint primary key, name varchar(50), age int)");
+        }
+        slowQueryLog = new SlowQueryLog(props);
+        dataSource = new SlowQueryDataSource(h2, slowQueryLog);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(SlowQueryLog.class)).detachAppender(logs);
+        MDC.clear();
+    }
+
+    @Test
+    void slowStatements_areLoggedWithMaskedBinds_rows_traceIdAndPlan() throws SQLException {
+        MDC.put(TraceIdFilter.TRACE_ID, "trace-1");
+        try (Connection c = dataSource.getConnection()) {
+            insert(c, 1, "Doe", 30);
+            insert(c, 2, "Roe", 40);
+            logs.list.clear();
+
+            try (PreparedStatement ps = c.prepareStatement("select id from person p where p.age>=?")) {
+                ps.setInt(1, 18);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        assertThat(rs.getStatement()).isSameAs(ps);
+                    }
+                }
+            }
+        }
+
+        assertThat(messages()).singleElement().asString().contains(
+                "rows=2", "traceId=trace-1", "sql=[select id from person p where p.age>=?]", "params=[18]",
+                "plan=[SELECT", "PUBLIC.PERSON");
+    }
+
+    @Test
+    void updates_reportTheUpdateCount_andMaskNames() throws SQLException {
+        props.setExplain(false);
+        try (Connection c = dataSource.getConnection()) {
+            insert(c, 1, "Doe", 30);
+        }
+
+        assertThat(messages()).singleElement().asString()
+                .contains("rows=1", "params=[1, ***, 30]")
+                .doesNotContain("Doe", "plan=");
+    }
+
+    @Test
+    void logging_isRateLimited_butEveryStatementIsRanked() throws SQLException {
+        props.setMaxLogged(1);
+        props.setLogInterval(Duration.ofHours(1));
+        try (Connection c = dataSource.getConnection(); Statement s = c.createStatement()) {
+            s.executeUpdate("insert into person values (1, 'Doe', 30)");
+            s.executeUpdate("insert into person values (2, 'Roe', 40)");
+            s.execute("select count(*) from person where id in (1, 2, 3)");
+        }
+
+        assertThat(messages()).hasSize(1);
+        assertThat(slowQueryLog.slowestShapes())
+                .extracting(SlowQueryLog.SlowShape::sql, SlowQueryLog.SlowShape::count)
+                .containsExactlyInAnyOrder(
+                        tuple("insert into person values (?...)", 2L),
+                        tuple("select count(*) from person where id in (?...)", 1L));
+    }
+
+    @Test
+    void shape_foldsLongInListsAndLiterals_withoutOverflowingTheStack() {
+        String ids = "?, ".repeat(10_000) + "?";
+        String name = "o''".repeat(10_000);
+
+        assertThat(SlowQueryLog.shape("delete from users where id in (" + ids + ")"))
+                .isEqualTo("delete from users where id in (?...)");
+        assertThat(SlowQueryLog.shape("select id from users where name = '" + name + "' and id in (?)"))
+                .isEqualTo("select id from users where name = ? and id in (?)");
+    }
+
+    @Test
+    void fastStatements_areNotRecorded() throws SQLException {
+        props.setThreshold(Duration.ofHours(1));
+        try (Connection c = dataSource.getConnection()) {
+            insert(c, 1, "Doe", 30);
+        }
+
+        assertThat(messages()).isEmpty();
+    }
+
+    @Test
+    void statementProxies_haveIdentitySemantics() throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             Statement first = c.createStatement();
+             Statement second = c.createStatement()) {
+            assertThat(first).isEqualTo(first).isNotEqualTo(second);
+            assertThat(first.hashCode()).isEqualTo(System.identityHashCode(first));
+            assertThat(first.getConnection()).isSameAs(c);
+        }
+    }
+
+    private static void insert(Connection c, long id, String name, int age) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("insert into person (id, name, age) values (?, ?, ?)")) {
+            ps.setLong(1, id);
+            ps.setString(2, name);
+            ps.setInt(3, age);
+            ps.executeUpdate();
+        }
+    }
+
+    private List<String> messages() {
+        return logs.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private static ListAppender<ILoggingEvent> attachLogs() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(SlowQueryLog.class)).addAppender(appender);
+        return appender;
+    }
+}
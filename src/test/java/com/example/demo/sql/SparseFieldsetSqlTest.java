@@ -0,0 +1,80 @@
+package com.example.demo.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+// same configuration as OwnershipSqlBudgetTest, so the context is shared
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudget;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+@SqlStatementBudget(1)
+class SparseFieldsetSqlTest {
+
+    @Autowired private MockMvc mvc;
+
+    private final List<String> statements = new ArrayList<>();
+    private final Consumer<SqlRequestStats> observer = s -> statements.add(s.getMostRepeated().getKey());
+
+    @BeforeEach
+    void observe() {
+        SqlStatementTracker.addObserver(observer);
+    }
+
+    @AfterEach
+    void stopObserving() {
+        SqlStatementTracker.removeObserver(observer);
+    }
+
+    @Test
+    void byName_withoutAddressField_skipsTheAddressJoin() throws Exception {
+        mvc.perform(get("/users/by-name").param("name", "Doe").param("firstName", "John")
+                        .param("fields", "name,firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[0].address").doesNotExist())
+                .andExpect(jsonPath("$[0].age").doesNotExist());
+
+        assertThat(statements).singleElement().asString().doesNotContainIgnoringCase("join");
+    }
+
+    @Test
+    void byName_withAddressField_keepsTheAddressJoin() throws Exception {
+        mvc.perform(get("/users/by-name").param("name", "Doe").param("firstName", "John")
+                        .param("fields", "address"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].address.city").value("london"))
+                .andExpect(jsonPath("$[1].name").doesNotExist());
+
+        assertThat(statements).singleElement().asString().containsIgnoringCase("join address");
+    }
+
+    @Test
+    void usersByIds_withoutAddressField_skipsTheAddressJoin() throws Exception {
+        mvc.perform(get("/users").param("ids", "4,1,404").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(4))
+                .andExpect(jsonPath("$.items[0].name").value("Doe"))
+                .andExpect(jsonPath("$.items[0].address").doesNotExist())
+                .andExpect(jsonPath("$.missing[0]").value(404));
+
+        assertThat(statements).singleElement().asString().doesNotContainIgnoringCase("join");
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.demo.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class SqlParameterMaskerTest {
+
+    private static final Set<String> MASKED = Set.of("name", "first_name");
+
+    @Test
+    void columns_followInsertColumnList_skippingNonPlaceholderValues() {
+        assertThat(SqlParameterMasker.columns(
+                "insert into users (age,first_name,name,id) values (?,?,?,default)"))
+                .containsExactly("age", "first_name", "name");
+    }
+
+    @Test
+    void columns_comeFromComparisons_includingFunctionsAndInLists() {
+        assertThat(SqlParameterMasker.columns(
+                "select u1_0.id from users u1_0 where upper(a1_0.city)=upper(?) and u1_0.name=? "
+                        + "and u1_0.age in (?, ?) and u1_0.id<>? limit ?"))
+                .containsExactly("city", "name", "age", "age", "id", null);
+    }
+
+    @Test
+    void render_masksConfiguredColumns_andStringsOfUnknownColumns() {
+        String sql = "select * from users u where u.name=? and u.first_name=? and u.age>? and u.gender=? "
+                + "fetch first ? rows only";
+
+        assertThat(SqlParameterMasker.render(sql, new Object[] {"Doe", "Jane", 30, "FEMALE", null}, MASKED))
+                .containsExactly("***", "***", "30", "'FEMALE'", "null");
+        assertThat(SqlParameterMasker.render("call f(?)", new Object[] {"secret"}, MASKED))
+                .containsExactly("***");
+    }
+
+    @Test
+    void render_truncatesLongValues() {
+        char[] chars = new char[100];
+        Arrays.fill(chars, 'x');
+
+        assertThat(SqlParameterMasker.render("select 1 from t where t.city=?", new Object[] {new String(chars)}, MASKED))
+                .singleElement().satisfies(v -> assertThat(v).hasSize(64 + 5).endsWith("...'"));
+    }
+}
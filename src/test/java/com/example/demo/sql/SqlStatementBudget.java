@@ -0,0 +1,28 @@
+package com.example.demo.sql;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Declares the maximum number of SQL statements each HTTP request issued by a test may execute.
+ * <p>
+ * Every request that passes through {@code TraceIdFilter} while the test runs is checked after the test;
+ * the test fails listing the offending endpoints. A method-level budget overrides a class-level one.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(SqlStatementBudgetExtension.class)
+public @interface SqlStatementBudget {
+
+    /**
+     * @return the maximum number of statements per request
+     */
+    int value();
+}
@@ -0,0 +1,53 @@
+package com.example.demo.sql;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**
+ * JUnit extension behind {@link SqlStatementBudget}: collects the {@link SqlRequestStats} of every request
+ * completed during a test and fails the test if one of them exceeded the declared budget.
+ */
+class SqlStatementBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SqlStatementBudgetExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Queue<SqlRequestStats> completed = new ConcurrentLinkedQueue<>();
+        Consumer<SqlRequestStats> observer = completed::add;
+        SqlStatementTracker.addObserver(observer);
+        context.getStore(NAMESPACE).put(context.getUniqueId(), new Recording(observer, completed));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Recording recording = context.getStore(NAMESPACE).remove(context.getUniqueId(), Recording.class);
+        SqlStatementTracker.removeObserver(recording.observer());
+        int budget = budget(context);
+        List<String> violations = recording.completed().stream()
+                .filter(s -> s.getStatementCount() > budget)
+                .map(s -> s.getEndpoint() + " executed " + s.getStatementCount() + " statements")
+                .toList();
+        if (!violations.isEmpty()) {
+            throw new AssertionError("SQL statement budget of " + budget + " exceeded: " + violations);
+        }
+    }
+
+    private static int budget(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), SqlStatementBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), SqlStatementBudget.class))
+                .map(SqlStatementBudget::value)
+                .orElseThrow();
+    }
+
+    private record Recording(Consumer<SqlRequestStats> observer, Queue<SqlRequestStats> completed) {
+    }
+}
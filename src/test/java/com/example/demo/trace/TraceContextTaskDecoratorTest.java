@@ -0,0 +1,63 @@
+package com.example.demo.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import com.example.demo.filter.TraceIdFilter;
+
+class TraceContextTaskDecoratorTest {
+
+    private final TraceContextTaskDecorator decorator = new TraceContextTaskDecorator();
+    private final TraceContext context = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7",
+            null, true);
+
+    @Test
+    void carriesContextAndMdc_intoVirtualThread_andCleansUp() throws Exception {
+        AtomicReference<TraceContext> seen = new AtomicReference<>();
+        AtomicReference<String> seenTraceId = new AtomicReference<>();
+        AtomicReference<String> afterTask = new AtomicReference<>("unset");
+        TraceContext.Scope scope = context.makeCurrent();
+        Runnable task = decorator.decorate(() -> {
+            seen.set(TraceContext.current());
+            seenTraceId.set(MDC.get(TraceIdFilter.TRACE_ID));
+        });
+        scope.close();
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().factory())) {
+            executor.submit(task).get();
+            executor.submit(() -> afterTask.set(MDC.get(TraceIdFilter.TRACE_ID))).get();
+        }
+
+        assertThat(seen.get()).isEqualTo(context);
+        assertThat(seenTraceId.get()).isEqualTo(context.traceId());
+        assertThat(afterTask.get()).isNull();
+    }
+
+    @Test
+    void returnsTaskUnchanged_whenNothingToPropagate() {
+        Runnable task = () -> { };
+
+        assertThat(decorator.decorate(task)).isSameAs(task);
+    }
+
+    @Test
+    void makeCurrent_restoresOuterContext() {
+        TraceContext inner = new TraceContext(context.traceId(), "1111111111111111", context.spanId(), true);
+
+        TraceContext.Scope outer = context.makeCurrent();
+        TraceContext.Scope nested = inner.makeCurrent();
+        assertThat(MDC.get(TraceContext.SPAN_ID)).isEqualTo("1111111111111111");
+        nested.close();
+        assertThat(TraceContext.current()).isEqualTo(context);
+        assertThat(MDC.get(TraceContext.SPAN_ID)).isEqualTo(context.spanId());
+        outer.close();
+        assertThat(TraceContext.current()).isNull();
+        assertThat(MDC.get(TraceIdFilter.TRACE_ID)).isNull();
+    }
+}
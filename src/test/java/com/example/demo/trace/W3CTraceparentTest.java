@@ -0,0 +1,60 @@
+package com.example.demo.trace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class W3CTraceparentTest {
+
+    @Test
+    void parse_readsIdsAndSampledFlag() {
+        TraceContext context = W3CTraceparent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        assertThat(context.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.spanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.sampled()).isTrue();
+        assertThat(W3CTraceparent.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00").sampled())
+                .isFalse();
+    }
+
+    @Test
+    void parse_acceptsFutureVersionsWithExtraFields() {
+        assertThat(W3CTraceparent.parse("01-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-03-extra"))
+                .isNotNull()
+                .extracting(TraceContext::sampled).isEqualTo(true);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7",          // missing flags
+            "00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01",       // upper case
+            "ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01",       // forbidden version
+            "00-00000000000000000000000000000000-00f067aa0ba902b7-01",       // zero trace id
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01",       // zero parent id
+            "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-extra", // trailing data on version 00
+            "00_4bf92f3577b34da6a3ce929d0e0e4736_00f067aa0ba902b7_01"
+    })
+    void parse_rejectsInvalidHeaders(String header) {
+        assertThat(W3CTraceparent.parse(header)).isNull();
+    }
+
+    @Test
+    void format_roundTrips() {
+        TraceContext context = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7", null, false);
+
+        assertThat(context.traceparent()).isEqualTo("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+        assertThat(W3CTraceparent.parse(context.traceparent())).isEqualTo(context);
+    }
+
+    @Test
+    void randomGenerator_producesValidIds() {
+        RandomTraceIdGenerator ids = new RandomTraceIdGenerator();
+
+        assertThat(ids.newTraceId()).matches("[0-9a-f]{32}").isNotEqualTo(ids.newTraceId());
+        assertThat(ids.newSpanId()).matches("[0-9a-f]{16}");
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.warmup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.example.demo.repository.AddressRepository;
+import com.example.demo.repository.PetRepository;
+import com.example.demo.repository.UserPetOwnershipRepository;
+import com.example.demo.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=5000",
+        "app.warmup.iterations=5",
+        "app.warmup.hot-addresses=3",
+        "app.warmup.write-every=2"
+})
+class WarmupRunnerTest {
+
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ApplicationAvailability availability;
+    @Autowired private AddressRepository addressRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PetRepository petRepository;
+    @Autowired private UserPetOwnershipRepository ownershipRepository;
+
+    @Test
+    void warmup_recordsDuration_beforeReadiness() {
+        Timer timer = meterRegistry.find(WarmupRunner.METRIC).timer();
+
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(availability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void warmup_rollsBackSyntheticWrites() {
+        // data.sql seeds 6 addresses, 12 users, 12 pets and 17 ownerships; the replay must leave them untouched
+        assertThat(addressRepository.count()).isEqualTo(6);
+        assertThat(userRepository.count()).isEqualTo(12);
+        assertThat(petRepository.count()).isEqualTo(12);
+        assertThat(ownershipRepository.count()).isEqualTo(17);
+    }
+
+    @Test
+    void findMostPopulated_ordersByResidents() {
+        var hottest = addressRepository.findMostPopulated(PageRequest.of(0, 2));
+
+        // Mumbai Marine Drive (id=2) has three residents in data.sql
+        assertThat(hottest).hasSize(2);
+        assertThat(hottest.get(0).getId()).isEqualTo(2L);
+    }
+}